@@ -143,6 +143,22 @@ public class DefaultObjectMapper {
         }
     }
 
+    @SuppressWarnings("removal")
+    public static <T> T readValue(byte[] bytes, Class<T> clazz) throws IOException {
+
+        final SecurityManager sm = System.getSecurityManager();
+
+        if (sm != null) {
+            sm.checkPermission(new SpecialPermission());
+        }
+
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<T>) () -> objectMapper.readValue(bytes, clazz));
+        } catch (final PrivilegedActionException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
     @SuppressWarnings("removal")
     public static JsonNode readTree(String string) throws IOException {
 
@@ -180,6 +196,22 @@ public class DefaultObjectMapper {
 
     }
 
+    @SuppressWarnings("removal")
+    public static byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+
+        final SecurityManager sm = System.getSecurityManager();
+
+        if (sm != null) {
+            sm.checkPermission(new SpecialPermission());
+        }
+
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<byte[]>) () -> objectMapper.writeValueAsBytes(value));
+        } catch (final PrivilegedActionException e) {
+            throw (JsonProcessingException) e.getCause();
+        }
+    }
+
     @SuppressWarnings("removal")
     public static <T> T readValue(String string, TypeReference<T> tr) throws IOException {
 
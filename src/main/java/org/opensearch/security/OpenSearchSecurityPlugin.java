@@ -91,6 +91,7 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
 import org.opensearch.common.util.BigArrays;
 import org.opensearch.common.util.PageCacheRecycler;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
@@ -114,6 +115,7 @@ import org.opensearch.plugins.ClusterPlugin;
 import org.opensearch.plugins.ExtensionAwarePlugin;
 import org.opensearch.plugins.IdentityPlugin;
 import org.opensearch.plugins.MapperPlugin;
+import org.opensearch.plugins.SearchPlugin;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
@@ -142,6 +144,7 @@ import org.opensearch.security.configuration.CompatConfig;
 import org.opensearch.security.configuration.ConfigurationRepository;
 import org.opensearch.security.configuration.DlsFlsRequestValve;
 import org.opensearch.security.configuration.DlsFlsValveImpl;
+import org.opensearch.security.configuration.MaskedOrdinalsCache;
 import org.opensearch.security.configuration.PrivilegesInterceptorImpl;
 import org.opensearch.security.configuration.Salt;
 import org.opensearch.security.configuration.SecurityFlsDlsIndexSearcherWrapper;
@@ -157,6 +160,7 @@ import org.opensearch.security.identity.SecurityTokenManager;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.privileges.PrivilegesInterceptor;
 import org.opensearch.security.privileges.RestLayerPrivilegesEvaluator;
+import org.opensearch.security.resolver.AliasAndDataStreamIndex;
 import org.opensearch.security.resolver.IndexResolverReplacer;
 import org.opensearch.security.rest.DashboardsInfoAction;
 import org.opensearch.security.rest.SecurityConfigUpdateAction;
@@ -178,6 +182,7 @@ import org.opensearch.security.support.GuardedSearchOperationWrapper;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.ModuleInfo;
 import org.opensearch.security.support.ReflectionHelper;
+import org.opensearch.security.support.RequestCacheKeyExtBuilder;
 import org.opensearch.security.support.SecuritySettings;
 import org.opensearch.security.support.SecurityUtils;
 import org.opensearch.security.support.WildcardMatcher;
@@ -188,6 +193,8 @@ import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserService;
 import org.opensearch.tasks.Task;
 import org.opensearch.telemetry.tracing.Tracer;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.RemoteClusterService;
 import org.opensearch.transport.Transport;
@@ -211,6 +218,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     implements
         ClusterPlugin,
         MapperPlugin,
+        SearchPlugin,
         // CS-SUPPRESS-SINGLE: RegexpSingleline get Extensions Settings
         ExtensionAwarePlugin,
         IdentityPlugin
@@ -248,6 +256,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     private final AtomicReference<NamedXContentRegistry> namedXContentRegistry = new AtomicReference<>(NamedXContentRegistry.EMPTY);;
     private volatile DlsFlsRequestValve dlsFlsValve = null;
     private volatile Salt salt;
+    private final MaskedOrdinalsCache maskedOrdinalsCache = new MaskedOrdinalsCache();
     private volatile OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting;
 
     public static boolean isActionTraceEnabled() {
@@ -528,7 +537,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 handlers.add(
                     new SecurityInfoAction(settings, restController, Objects.requireNonNull(evaluator), Objects.requireNonNull(threadPool))
                 );
-                handlers.add(new SecurityHealthAction(settings, restController, Objects.requireNonNull(backendRegistry)));
+                handlers.add(
+                    new SecurityHealthAction(settings, restController, Objects.requireNonNull(backendRegistry), Objects.requireNonNull(cr))
+                );
                 handlers.add(
                     new DashboardsInfoAction(
                         settings,
@@ -584,7 +595,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                         Objects.requireNonNull(auditLog),
                         sks,
                         Objects.requireNonNull(userService),
-                        sslCertReloadEnabled
+                        sslCertReloadEnabled,
+                        Objects.requireNonNull(dcf).getConfigModelBuildStats()
                     )
                 );
                 log.debug("Added {} rest handler(s)", handlers.size());
@@ -633,7 +645,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     auditLog,
                     ciol,
                     evaluator,
-                    salt
+                    salt,
+                    maskedOrdinalsCache
                 )
             );
             indexModule.forceQueryCacheProvider((indexSettings, nodeCache) -> new QueryCache() {
@@ -946,6 +959,22 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         return Collections.emptyMap();
     }
 
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        if (client || disabled) {
+            return Collections.emptyList();
+        }
+        // the role and tenant models are built with one task per role, tasks beyond the queue run in the building thread
+        return List.of(
+            new FixedExecutorBuilder(
+                settings,
+                ConfigConstants.SECURITY_CONFIG_MODEL_THREAD_POOL,
+                OpenSearchExecutors.allocatedProcessors(settings),
+                1000
+            )
+        );
+    }
+
     @Override
     public Collection<Object> createComponents(
         Client localClient,
@@ -993,10 +1022,12 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
 
         final ClusterInfoHolder cih = new ClusterInfoHolder(this.cs.getClusterName().value());
         this.cs.addListener(cih);
+        final AliasAndDataStreamIndex aliasAndDataStreamIndex = new AliasAndDataStreamIndex();
+        this.cs.addListener(aliasAndDataStreamIndex);
         this.salt = Salt.from(settings);
 
         final IndexNameExpressionResolver resolver = new IndexNameExpressionResolver(threadPool.getThreadContext());
-        irr = new IndexResolverReplacer(resolver, clusterService, cih);
+        irr = new IndexResolverReplacer(resolver, clusterService, cih, threadPool.getThreadContext());
 
         final String DEFAULT_INTERCLUSTER_REQUEST_EVALUATOR_CLASS = DefaultInterClusterRequestEvaluator.class.getName();
         InterClusterRequestEvaluator interClusterRequestEvaluator = new DefaultInterClusterRequestEvaluator(settings);
@@ -1042,7 +1073,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         backendRegistry = new BackendRegistry(settings, adminDns, xffResolver, auditLog, threadPool);
         tokenManager = new SecurityTokenManager(cs, threadPool, userService);
 
-        final CompatConfig compatConfig = new CompatConfig(environment, transportPassiveAuthSetting);
+        final CompatConfig compatConfig = new CompatConfig(environment, transportPassiveAuthSetting, threadPool.getThreadContext());
 
         // DLS-FLS is enabled if not client and not disabled and not SSL only.
         final boolean dlsFlsEnabled = !SSLConfig.isSslOnlyMode();
@@ -1082,7 +1113,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
             configPath,
             compatConfig
         );
-        dcf = new DynamicConfigFactory(cr, settings, configPath, localClient, threadPool, cih);
+        dcf = new DynamicConfigFactory(cr, settings, configPath, localClient, threadPool, cih, aliasAndDataStreamIndex);
         dcf.registerDCFListener(backendRegistry);
         dcf.registerDCFListener(compatConfig);
         dcf.registerDCFListener(irr);
@@ -1091,6 +1122,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         dcf.registerDCFListener(restLayerEvaluator);
         dcf.registerDCFListener(securityRestHandler);
         dcf.registerDCFListener(tokenManager);
+        if (dlsFlsValve instanceof DlsFlsValveImpl) {
+            dcf.registerDCFListener(dlsFlsValve);
+        }
         if (!(auditLog instanceof NullAuditLog)) {
             // Don't register if advanced modules is disabled in which case auditlog is instance of NullAuditLog
             dcf.registerDCFListener(auditLog);
@@ -1154,6 +1188,14 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         return builder.build();
     }
 
+    @Override
+    public List<SearchExtSpec<?>> getSearchExts() {
+        // registered even if security is disabled, so that nodes can always read requests which carry the extension
+        return Collections.singletonList(
+            new SearchExtSpec<>(RequestCacheKeyExtBuilder.NAME, RequestCacheKeyExtBuilder::new, RequestCacheKeyExtBuilder::fromXContent)
+        );
+    }
+
     @Override
     public List<Setting<?>> getSettings() {
         List<Setting<?>> settings = new ArrayList<Setting<?>>();
@@ -1822,6 +1864,43 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
             settings.add(
                 Setting.boolSetting(ConfigConstants.SECURITY_SSL_CERT_RELOAD_ENABLED, false, Property.NodeScope, Property.Filtered)
             );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_CONFIG_ENTITY_DOCUMENTS_ENABLED,
+                    false,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.boolSetting(ConfigConstants.SECURITY_CONFIG_UPDATE_PUSH_ENABLED, true, Property.NodeScope, Property.Filtered)
+            );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_ENABLED,
+                    false,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES,
+                    ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES_DEFAULT,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_CONFIG_UPDATE_COALESCE_WINDOW_MILLIS,
+                    0,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
             settings.add(
                 Setting.boolSetting(
                     ConfigConstants.SECURITY_UNSUPPORTED_ACCEPT_INVALID_CONFIG,
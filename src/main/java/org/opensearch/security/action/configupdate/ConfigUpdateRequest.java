@@ -32,14 +32,20 @@ import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.action.support.nodes.BaseNodesRequest;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.security.configuration.SerializedConfiguration;
+import org.opensearch.security.support.ConfigConstants;
 
 public class ConfigUpdateRequest extends BaseNodesRequest<ConfigUpdateRequest> {
 
     private String[] configTypes;
+    private SerializedConfiguration configuration;
 
     public ConfigUpdateRequest(StreamInput in) throws IOException {
         super(in);
         this.configTypes = in.readStringArray();
+        if (in.getVersion().onOrAfter(ConfigConstants.FIRST_CONFIG_UPDATE_PUSH_SUPPORTED_OS_VERSION)) {
+            this.configuration = in.readOptionalWriteable(SerializedConfiguration::new);
+        }
     }
 
     public ConfigUpdateRequest() {
@@ -55,6 +61,9 @@ public class ConfigUpdateRequest extends BaseNodesRequest<ConfigUpdateRequest> {
     public void writeTo(final StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeStringArray(configTypes);
+        if (out.getVersion().onOrAfter(ConfigConstants.FIRST_CONFIG_UPDATE_PUSH_SUPPORTED_OS_VERSION)) {
+            out.writeOptionalWriteable(configuration);
+        }
     }
 
     public String[] getConfigTypes() {
@@ -65,6 +74,18 @@ public class ConfigUpdateRequest extends BaseNodesRequest<ConfigUpdateRequest> {
         this.configTypes = configTypes;
     }
 
+    /**
+     * @return the configurations read from the index by the node which received the request, or null if every node
+     * has to read them from the index
+     */
+    public SerializedConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(final SerializedConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     @Override
     public ActionRequestValidationException validate() {
         if (configTypes == null || configTypes.length == 0) {
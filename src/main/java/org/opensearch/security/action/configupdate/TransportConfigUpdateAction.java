@@ -28,10 +28,17 @@ package org.opensearch.security.action.configupdate;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.OpenSearchException;
+import org.opensearch.OpenSearchTimeoutException;
+import org.opensearch.Version;
 import org.opensearch.action.FailedNodeException;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.nodes.TransportNodesAction;
@@ -39,12 +46,17 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.inject.Provider;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.security.auth.BackendRegistry;
+import org.opensearch.security.configuration.ConfigUpdateAlreadyInProgressException;
 import org.opensearch.security.configuration.ConfigurationRepository;
+import org.opensearch.security.configuration.SerializedConfiguration;
 import org.opensearch.security.securityconf.DynamicConfigFactory;
 import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportRequest;
 import org.opensearch.transport.TransportService;
@@ -55,10 +67,17 @@ public class TransportConfigUpdateAction extends TransportNodesAction<
     TransportConfigUpdateAction.NodeConfigUpdateRequest,
     ConfigUpdateNodeResponse> {
 
+    /**
+     * Configurations which are larger than this when compressed are read from the index by every node.
+     */
+    static final long MAX_PUSHED_CONFIGURATION_BYTES = 16 * 1024 * 1024;
+    private static final long UPDATE_TIMEOUT_SECONDS = 60;
+
     protected Logger logger = LogManager.getLogger(getClass());
     private final Provider<BackendRegistry> backendRegistry;
     private final ConfigurationRepository configurationRepository;
     private DynamicConfigFactory dynamicConfigFactory;
+    private final boolean pushEnabled;
 
     @Inject
     public TransportConfigUpdateAction(
@@ -86,6 +105,7 @@ public class TransportConfigUpdateAction extends TransportNodesAction<
         this.configurationRepository = configurationRepository;
         this.backendRegistry = backendRegistry;
         this.dynamicConfigFactory = dynamicConfigFactory;
+        this.pushEnabled = settings.getAsBoolean(ConfigConstants.SECURITY_CONFIG_UPDATE_PUSH_ENABLED, true);
     }
 
     public static class NodeConfigUpdateRequest extends TransportRequest {
@@ -123,9 +143,66 @@ public class TransportConfigUpdateAction extends TransportNodesAction<
 
     }
 
+    /**
+     * Reads the configuration once on the node which received the request and sends it to the other nodes, so that
+     * not every node has to read it from the security index.
+     */
+    @Override
+    protected void doExecute(Task task, ConfigUpdateRequest request, ActionListener<ConfigUpdateResponse> listener) {
+        if (!pushEnabled || request.getConfiguration() != null || !readableByAllNodes()) {
+            super.doExecute(task, request, listener);
+            return;
+        }
+        threadPool.executor(ThreadPool.Names.MANAGEMENT).execute(() -> {
+            try {
+                final SerializedConfiguration configuration = configurationRepository.getSerializedConfigurationsFromIndex(
+                    CType.fromStringValues(request.getConfigTypes())
+                );
+                if (configuration.getSizeInBytes() <= MAX_PUSHED_CONFIGURATION_BYTES) {
+                    request.setConfiguration(configuration);
+                } else {
+                    logger.debug("{} is too large to be sent to the nodes", configuration);
+                }
+            } catch (Exception e) {
+                logger.warn("Cannot read configuration to send it to the nodes, every node will read it from the index", e);
+            }
+            super.doExecute(task, request, listener);
+        });
+    }
+
+    private boolean readableByAllNodes() {
+        return readableByNodesOf(clusterService.state().nodes().getMinNodeVersion());
+    }
+
+    /**
+     * Nodes before {@link ConfigConstants#FIRST_CONFIG_UPDATE_PUSH_SUPPORTED_OS_VERSION} do not receive the configuration
+     * and read it from the index anyway.
+     */
+    static boolean readableByNodesOf(final Version minNodeVersion) {
+        return minNodeVersion.onOrAfter(ConfigConstants.FIRST_CONFIG_UPDATE_PUSH_SUPPORTED_OS_VERSION);
+    }
+
     @Override
     protected ConfigUpdateNodeResponse nodeOperation(final NodeConfigUpdateRequest request) {
-        configurationRepository.reloadConfiguration(CType.fromStringValues((request.request.getConfigTypes())));
+        final Set<CType> configTypes = CType.fromStringValues(request.request.getConfigTypes());
+        try {
+            configurationRepository.updateConfiguration(configTypes, request.request.getConfiguration())
+                .get(UPDATE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigUpdateAlreadyInProgressException("Interrupted config update");
+        } catch (TimeoutException e) {
+            throw new OpenSearchTimeoutException(
+                "Timeout after {}s while waiting for the config update of {}",
+                UPDATE_TIMEOUT_SECONDS,
+                configTypes
+            );
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OpenSearchException) {
+                throw (OpenSearchException) e.getCause();
+            }
+            throw new OpenSearchException(e.getCause());
+        }
         backendRegistry.get().invalidateCache();
         return new ConfigUpdateNodeResponse(clusterService.localNode(), request.request.getConfigTypes(), null);
     }
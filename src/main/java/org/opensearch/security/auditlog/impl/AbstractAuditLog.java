@@ -63,6 +63,7 @@ import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.auditlog.config.AuditConfig;
 import org.opensearch.security.compliance.ComplianceConfig;
+import org.opensearch.security.configuration.EntityDocuments;
 import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.support.Base64Helper;
@@ -565,36 +566,18 @@ public abstract class AbstractAuditLog implements AuditLog {
                 String originalSource = null;
                 String currentSource = null;
                 if (securityIndex.equals(shardId.getIndexName())) {
-                    try (
-                        XContentParser parser = XContentHelper.createParser(
-                            NamedXContentRegistry.EMPTY,
-                            THROW_UNSUPPORTED_OPERATION,
-                            originalResult.internalSourceRef(),
-                            XContentType.JSON
-                        )
-                    ) {
-                        Object base64 = parser.map().values().iterator().next();
-                        if (base64 instanceof String) {
-                            originalSource = (new String(BaseEncoding.base64().decode((String) base64), StandardCharsets.UTF_8));
-                        } else {
+                    try {
+                        originalSource = decodeSecurityConfigSource(id, originalResult.internalSourceRef());
+                        if (originalSource == null) {
                             originalSource = XContentHelper.convertToJson(originalResult.internalSourceRef(), false, XContentType.JSON);
                         }
                     } catch (Exception e) {
                         log.error(e.toString());
                     }
 
-                    try (
-                        XContentParser parser = XContentHelper.createParser(
-                            NamedXContentRegistry.EMPTY,
-                            THROW_UNSUPPORTED_OPERATION,
-                            currentIndex.source(),
-                            XContentType.JSON
-                        )
-                    ) {
-                        Object base64 = parser.map().values().iterator().next();
-                        if (base64 instanceof String) {
-                            currentSource = new String(BaseEncoding.base64().decode((String) base64), StandardCharsets.UTF_8);
-                        } else {
+                    try {
+                        currentSource = decodeSecurityConfigSource(id, currentIndex.source());
+                        if (currentSource == null) {
                             currentSource = XContentHelper.convertToJson(currentIndex.source(), false, XContentType.JSON);
                         }
                     } catch (Exception e) {
@@ -622,20 +605,10 @@ public abstract class AbstractAuditLog implements AuditLog {
         if (!complianceConfig.shouldLogWriteMetadataOnly()) {
             if (securityIndex.equals(shardId.getIndexName())) {
                 // current source, normally not null or empty
-                try (
-                    XContentParser parser = XContentHelper.createParser(
-                        NamedXContentRegistry.EMPTY,
-                        THROW_UNSUPPORTED_OPERATION,
-                        currentIndex.source(),
-                        XContentType.JSON
-                    )
-                ) {
-                    Object base64 = parser.map().values().iterator().next();
-                    if (base64 instanceof String) {
-                        msg.addSecurityConfigContentToRequestBody(
-                            new String(BaseEncoding.base64().decode((String) base64), StandardCharsets.UTF_8),
-                            id
-                        );
+                try {
+                    final String decodedSource = decodeSecurityConfigSource(id, currentIndex.source());
+                    if (decodedSource != null) {
+                        msg.addSecurityConfigContentToRequestBody(decodedSource, id);
                     } else {
                         msg.addSecurityConfigTupleToRequestBody(
                             new Tuple<XContentType, BytesReference>(XContentType.JSON, currentIndex.source()),
@@ -663,6 +636,37 @@ public abstract class AbstractAuditLog implements AuditLog {
         save(msg);
     }
 
+    /**
+     * Decodes the configuration JSON stored in a document of the security index. Base documents keep it as a base64
+     * blob in their only field, entity documents in their {@code entity} field.
+     *
+     * @return the decoded JSON, or null if the document holds plain JSON such as the layout marker or a tombstone
+     */
+    @VisibleForTesting
+    static String decodeSecurityConfigSource(final String id, final BytesReference source) throws IOException {
+        if (EntityDocuments.LAYOUT_ID.equals(id)) {
+            return null;
+        }
+        try (
+            XContentParser parser = XContentHelper.createParser(
+                NamedXContentRegistry.EMPTY,
+                THROW_UNSUPPORTED_OPERATION,
+                source,
+                XContentType.JSON
+            )
+        ) {
+            final Map<String, Object> map = parser.map();
+            if (EntityDocuments.isEntityDocument(map)) {
+                return EntityDocuments.entityJson(map);
+            }
+            final Object base64 = map.values().iterator().next();
+            if (base64 instanceof String) {
+                return new String(BaseEncoding.base64().decode((String) base64), StandardCharsets.UTF_8);
+            }
+            return null;
+        }
+    }
+
     @Override
     public void logDocumentDeleted(ShardId shardId, Delete delete, DeleteResult result) {
 
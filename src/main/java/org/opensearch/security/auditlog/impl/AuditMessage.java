@@ -481,6 +481,10 @@ public final class AuditMessage {
         return (String) this.auditInfo.get(ID);
     }
 
+    public Object getValue(final String field) {
+        return this.auditInfo.get(field);
+    }
+
     @Override
     public String toString() {
         try {
@@ -510,6 +514,17 @@ public final class AuditMessage {
         return this.toString();
     }
 
+    /**
+     * @return this message as UTF-8 encoded JSON, without building an intermediate String
+     */
+    public byte[] toJsonBytes() {
+        try {
+            return BytesReference.toBytes(BytesReference.bytes(JsonXContent.contentBuilder().map(getAsMap())));
+        } catch (final IOException e) {
+            throw ExceptionsHelper.convertToOpenSearchException(e);
+        }
+    }
+
     public String toUrlParameters() {
         URIBuilder builder = new URIBuilder();
         for (Entry<String, Object> entry : getAsMap().entrySet()) {
@@ -0,0 +1,274 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.AccessController;
+import java.security.KeyStore;
+import java.security.PrivilegedAction;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import javax.net.ssl.SSLContext;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.DefaultHostnameVerifier;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.ssl.SSLContextBuilder;
+import org.apache.hc.core5.ssl.TrustStrategy;
+import org.apache.hc.core5.util.Timeout;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.Strings;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Webhook sink which does not block the caller. Messages are grouped into batches and
+ * posted as a single NDJSON or JSON array payload through a pooled, keep-alive
+ * asynchronous HTTP client.
+ */
+public class AsyncWebhookSink extends BatchingAuditLogSink {
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    String webhookUrl = null;
+    final BatchFormat batchFormat;
+    final boolean verifySSL;
+
+    public AsyncWebhookSink(
+        final String name,
+        final Settings settings,
+        final String settingsPrefix,
+        final Path configPath,
+        AuditLogSink fallbackSink
+    ) throws Exception {
+        super(
+            name,
+            settings,
+            settingsPrefix,
+            fallbackSink,
+            settings.getAsSettings(settingsPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_MESSAGES, 100),
+            settings.getAsSettings(settingsPrefix).getAsLong(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_FLUSH_INTERVAL_MS, 1000L),
+            settings.getAsSettings(settingsPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_QUEUE_SIZE, 10000),
+            settings.getAsSettings(settingsPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_MAX_IN_FLIGHT, 4)
+        );
+
+        Settings sinkSettings = settings.getAsSettings(settingsPrefix);
+
+        final String webhookUrl = sinkSettings.get(ConfigConstants.SECURITY_AUDIT_WEBHOOK_URL);
+        final String format = sinkSettings.get(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_FORMAT);
+
+        this.verifySSL = sinkSettings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_WEBHOOK_SSL_VERIFY, true);
+        final int maxConnections = Math.max(
+            1,
+            sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_MAX_CONNECTIONS, maxInFlight)
+        );
+        final long timeoutMs = sinkSettings.getAsLong(ConfigConstants.SECURITY_AUDIT_WEBHOOK_TIMEOUT_MS, 5000L);
+
+        if (Strings.isEmpty(format)) {
+            batchFormat = BatchFormat.NDJSON;
+        } else {
+            BatchFormat parsedFormat;
+            try {
+                parsedFormat = BatchFormat.valueOf(format.toUpperCase());
+            } catch (Exception ex) {
+                log.error("Could not find batch format {}, falling back to 'ndjson'", format, ex);
+                parsedFormat = BatchFormat.NDJSON;
+            }
+            batchFormat = parsedFormat;
+        }
+
+        if (Strings.isEmpty(webhookUrl)) {
+            log.error("plugins.security.audit.config.webhook.url not provided, webhook audit log will not work");
+        } else {
+            try {
+                // Sanity - check URL validity
+                new URL(webhookUrl);
+                this.webhookUrl = webhookUrl;
+            } catch (MalformedURLException ex) {
+                log.error("URL {} is invalid, webhook audit log will not work.", webhookUrl, ex);
+            }
+        }
+
+        final KeyStore effectiveTruststore = WebhookSink.loadEffectiveTruststore(settings, settingsPrefix, configPath, log);
+        this.httpClient = createHttpClient(effectiveTruststore, maxConnections, timeoutMs);
+
+        if (httpClient == null) {
+            log.error("Could not create HttpClient, audit log not available.");
+            this.webhookUrl = null;
+        }
+    }
+
+    @Override
+    protected boolean isReady() {
+        return !Strings.isEmpty(webhookUrl);
+    }
+
+    @Override
+    @SuppressWarnings("removal")
+    protected void sendBatch(final List<AuditMessage> batch, final BatchCallback callback) {
+        final SimpleHttpRequest request = SimpleRequestBuilder.post(webhookUrl)
+            .setBody(formatBatch(batch), batchFormat.contentType)
+            .build();
+
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+            @Override
+            public Void run() {
+                httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+
+                    @Override
+                    public void completed(SimpleHttpResponse response) {
+                        final int responseCode = response.getCode();
+                        if (responseCode >= 200 && responseCode < 300) {
+                            callback.onSuccess();
+                        } else {
+                            log.error("Cannot POST to webhook URL '{}', server returned status {}", webhookUrl, responseCode);
+                            callback.onFailure();
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        log.error("Cannot POST to webhook URL '{}' due to '{}'", webhookUrl, e.getMessage(), e);
+                        callback.onFailure();
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        log.error("POST to webhook URL '{}' was cancelled", webhookUrl);
+                        callback.onFailure();
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Serializes a batch of messages. Each message is rendered with {@link #formatJson(AuditMessage)}
+     * and joined according to the configured {@link BatchFormat}.
+     */
+    String formatBatch(final List<AuditMessage> batch) {
+        final StringBuilder payload = new StringBuilder(batch.size() * 512);
+        if (batchFormat == BatchFormat.JSON_ARRAY) {
+            payload.append('[');
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    payload.append(',');
+                }
+                payload.append(formatJson(batch.get(i)));
+            }
+            payload.append(']');
+        } else {
+            for (AuditMessage msg : batch) {
+                payload.append(formatJson(msg)).append('\n');
+            }
+        }
+        return payload.toString();
+    }
+
+    /**
+     * Transforms an {@link AuditMessage} to a single line of JSON. Can be overridden by
+     * subclasses if a specific JSON format is needed.
+     *
+     * @param msg the AuditMessage to transform
+     * @return the JSON string
+     */
+    protected String formatJson(final AuditMessage msg) {
+        return msg.toJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (httpClient != null) {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private CloseableHttpAsyncClient createHttpClient(final KeyStore effectiveTruststore, final int maxConnections, final long timeoutMs) {
+        return AccessController.doPrivileged(new PrivilegedAction<CloseableHttpAsyncClient>() {
+            @Override
+            public CloseableHttpAsyncClient run() {
+                try {
+                    final RequestConfig config = RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutMs))
+                        .build();
+
+                    final PoolingAsyncClientConnectionManagerBuilder cmb = PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections);
+
+                    if (!verifySSL) {
+                        final TrustStrategy trustAllStrategy = (X509Certificate[] chain, String authType) -> true;
+                        final SSLContext sslContext = SSLContextBuilder.create().loadTrustMaterial(trustAllStrategy).build();
+                        cmb.setTlsStrategy(
+                            ClientTlsStrategyBuilder.create()
+                                .setSslContext(sslContext)
+                                .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                                .build()
+                        );
+                    } else if (effectiveTruststore != null) {
+                        final SSLContext sslContext = SSLContextBuilder.create().loadTrustMaterial(effectiveTruststore, null).build();
+                        cmb.setTlsStrategy(
+                            ClientTlsStrategyBuilder.create()
+                                .setSslContext(sslContext)
+                                .setHostnameVerifier(new DefaultHostnameVerifier())
+                                .build()
+                        );
+                    }
+
+                    final CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                        .setConnectionManager(cmb.build())
+                        .setDefaultRequestConfig(config)
+                        .build();
+                    client.start();
+                    return client;
+                } catch (Exception ex) {
+                    log.error("Could not create HTTPClient due to {}, audit log not available.", ex.getMessage(), ex);
+                    return null;
+                }
+            }
+        });
+    }
+
+    public static enum BatchFormat {
+        NDJSON(ContentType.create("application/x-ndjson", StandardCharsets.UTF_8)),
+        JSON_ARRAY(ContentType.APPLICATION_JSON.withCharset(StandardCharsets.UTF_8));
+
+        private final ContentType contentType;
+
+        private BatchFormat(ContentType contentType) {
+            this.contentType = contentType;
+        }
+
+        ContentType getContentType() {
+            return contentType;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+
+/**
+ * Base class for sinks which ship audit messages in batches without blocking the caller.
+ * Messages are put on a bounded queue and drained by a single flusher thread, either when
+ * a full batch is available or when the flush interval elapses. The number of batches
+ * being sent concurrently is bounded; a full queue or a failed batch is handed to the
+ * fallback sink.
+ */
+public abstract class BatchingAuditLogSink extends AuditLogSink {
+
+    private final BlockingQueue<AuditMessage> queue;
+    private final Semaphore inFlight;
+    private final ScheduledThreadPoolExecutor flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final SinkMetrics metrics;
+    private volatile boolean closed = false;
+
+    final int maxBatchMessages;
+    final long flushIntervalMs;
+    final int maxInFlight;
+
+    protected BatchingAuditLogSink(
+        final String name,
+        final Settings settings,
+        final String settingsPrefix,
+        final AuditLogSink fallbackSink,
+        final int maxBatchMessages,
+        final long flushIntervalMs,
+        final int queueSize,
+        final int maxInFlight
+    ) {
+        super(name, settings, settingsPrefix, fallbackSink);
+        this.maxBatchMessages = Math.max(1, maxBatchMessages);
+        this.flushIntervalMs = Math.max(1L, flushIntervalMs);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.maxBatchMessages, queueSize));
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.metrics = new SinkMetrics(queue::size, () -> this.maxInFlight - inFlight.availablePermits());
+        this.flusher = new ScheduledThreadPoolExecutor(1, OpenSearchExecutors.daemonThreadFactory("security-audit-" + getName()));
+        this.flusher.scheduleWithFixedDelay(this::flush, this.flushIntervalMs, this.flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true if the sink is configured properly and able to send batches
+     */
+    protected abstract boolean isReady();
+
+    /**
+     * Sends a batch asynchronously. Implementations must eventually complete the given
+     * callback exactly once, from any thread.
+     */
+    protected abstract void sendBatch(List<AuditMessage> batch, BatchCallback callback);
+
+    @Override
+    protected boolean doStore(AuditMessage msg) {
+        if (!isReady() || closed) {
+            log.debug("Sink {} is not ready or closed", getName());
+            return false;
+        }
+        if (msg == null) {
+            log.debug("Message is null");
+            return true;
+        }
+
+        if (!queue.offer(msg)) {
+            log.warn("Queue of sink {} is full, message will be stored on fallback sink", getName());
+            return false;
+        }
+
+        if (queue.size() >= maxBatchMessages && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (Exception e) {
+                flushScheduled.set(false);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isHandlingBackpressure() {
+        return true;
+    }
+
+    public SinkMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Drains the queue in batches of at most {@link #maxBatchMessages}. Blocks while the
+     * maximum number of batches is in flight, so that the queue absorbs slow endpoints.
+     */
+    void flush() {
+        flushScheduled.set(false);
+        while (!queue.isEmpty()) {
+            final List<AuditMessage> batch = new ArrayList<>(maxBatchMessages);
+            queue.drainTo(batch, maxBatchMessages);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                storeOnFallback(batch);
+                return;
+            }
+            final BatchCallback callback = new BatchCallback(batch);
+            try {
+                sendBatch(batch, callback);
+            } catch (Throwable t) {
+                log.error("Could not send batch of {} messages", batch.size(), t);
+                callback.onFailure();
+            }
+        }
+    }
+
+    private void storeOnFallback(final List<AuditMessage> messages) {
+        for (AuditMessage msg : messages) {
+            if (fallbackSink != null) {
+                fallbackSink.store(msg);
+            } else {
+                log.error(msg.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        flusher.shutdown();
+        try {
+            if (flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                flush();
+            }
+            // wait for pending batches before the subclass releases its resources
+            if (inFlight.tryAcquire(maxInFlight, 10, TimeUnit.SECONDS)) {
+                inFlight.release(maxInFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completion handle of a single batch. Records metrics, hands failed messages to the
+     * fallback sink and frees the in-flight slot of the batch.
+     */
+    protected final class BatchCallback {
+
+        private final List<AuditMessage> batch;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private BatchCallback(final List<AuditMessage> batch) {
+            this.batch = batch;
+        }
+
+        public void onSuccess() {
+            onCompleted(Collections.emptyList());
+        }
+
+        public void onFailure() {
+            onCompleted(batch);
+        }
+
+        /**
+         * @param failed the messages of the batch which could not be stored
+         */
+        public void onCompleted(final List<AuditMessage> failed) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                metrics.onCompleted(batch.size() - failed.size(), failed.size(), System.nanoTime() - start);
+                storeOnFallback(failed);
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+}
@@ -16,11 +16,13 @@ import java.nio.file.Path;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.security.auditlog.impl.AuditMessage;
 import org.opensearch.security.httpclient.HttpClient;
 import org.opensearch.security.httpclient.HttpClient.HttpClientBuilder;
@@ -34,13 +36,14 @@ import org.joda.time.format.DateTimeFormatter;
 import static org.opensearch.security.ssl.SecureSSLSettings.SSLSetting.SECURITY_SSL_TRANSPORT_KEYSTORE_PASSWORD;
 import static org.opensearch.security.ssl.SecureSSLSettings.SSLSetting.SECURITY_SSL_TRANSPORT_TRUSTSTORE_PASSWORD;
 
-public final class ExternalOpenSearchSink extends AuditLogSink {
+public final class ExternalOpenSearchSink extends BatchingAuditLogSink {
 
     private static final List<String> DEFAULT_TLS_PROTOCOLS = Arrays.asList(new String[] { "TLSv1.2", "TLSv1.1" });
     // config in opensearch.yml
     private final String index;
     private final String type;
     private final HttpClient client;
+    private final int maxRetries;
     private List<String> servers;
     private DateTimeFormatter indexPattern;
 
@@ -54,8 +57,19 @@ public final class ExternalOpenSearchSink extends AuditLogSink {
         AuditLogSink fallbackSink
     ) throws Exception {
 
-        super(name, settings, settingPrefix, fallbackSink);
+        super(
+            name,
+            settings,
+            settingPrefix,
+            fallbackSink,
+            settings.getAsSettings(settingPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_ACTIONS, 500),
+            settings.getAsSettings(settingPrefix)
+                .getAsLong(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_FLUSH_INTERVAL_MS, 1000L),
+            settings.getAsSettings(settingPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_QUEUE_SIZE, 10000),
+            settings.getAsSettings(settingPrefix).getAsInt(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_IN_FLIGHT, 2)
+        );
         Settings sinkSettings = settings.getAsSettings(settingPrefix);
+        this.maxRetries = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_RETRIES, 3);
         servers = sinkSettings.getAsList(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_HTTP_ENDPOINTS);
         if (servers == null || servers.size() == 0) {
             log.error("No http endpoints configured for external OpenSearch endpoint '{}', falling back to localhost.", name);
@@ -86,7 +100,8 @@ public final class ExternalOpenSearchSink extends AuditLogSink {
         final String user = sinkSettings.get(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_USERNAME);
         final String password = sinkSettings.get(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_PASSWORD);
 
-        final HttpClientBuilder builder = HttpClient.builder(servers.toArray(new String[0]));
+        final HttpClientBuilder builder = HttpClient.builder(servers.toArray(new String[0]))
+            .setCompression(sinkSettings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_EXTERNAL_OPENSEARCH_COMPRESSION, true));
 
         if (enableSsl) {
 
@@ -236,21 +251,44 @@ public final class ExternalOpenSearchSink extends AuditLogSink {
 
     @Override
     public void close() throws IOException {
+        super.close();
         if (client != null) {
             client.close();
         }
     }
 
-    public boolean doStore(final AuditMessage msg) {
-        try {
-            boolean successful = client.index(msg.toString(), getExpandedIndexName(indexPattern, index), type, true);
-            if (!successful) {
-                log.error("Unable to send audit log {} to one of these servers: {}", msg, servers);
-            }
-            return successful;
-        } catch (Exception e) {
-            log.error("Unable to send audit log {} due to", msg, e);
-            return false;
+    @Override
+    protected boolean isReady() {
+        return client != null;
+    }
+
+    @Override
+    protected void sendBatch(final List<AuditMessage> batch, final BatchCallback callback) {
+        final List<String> contents = new ArrayList<>(batch.size());
+        for (AuditMessage msg : batch) {
+            contents.add(msg.toString());
         }
+
+        client.bulkAsync(contents, getExpandedIndexName(indexPattern, index), maxRetries, new ActionListener<List<Integer>>() {
+            @Override
+            public void onResponse(List<Integer> failedSlots) {
+                if (failedSlots.isEmpty()) {
+                    callback.onSuccess();
+                    return;
+                }
+                log.error("Unable to send {} of {} audit messages to one of these servers: {}", failedSlots.size(), batch.size(), servers);
+                final List<AuditMessage> failed = new ArrayList<>(failedSlots.size());
+                for (Integer slot : failedSlots) {
+                    failed.add(batch.get(slot));
+                }
+                callback.onCompleted(failed);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.error("Unable to send {} audit messages due to", batch.size(), e);
+                callback.onFailure();
+            }
+        });
     }
 }
@@ -12,10 +12,13 @@
 package org.opensearch.security.auditlog.sink;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
@@ -23,8 +26,7 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
-import org.apache.kafka.common.serialization.LongSerializer;
-import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 
 import org.opensearch.SpecialPermission;
 import org.opensearch.common.settings.Settings;
@@ -32,13 +34,29 @@ import org.opensearch.security.auditlog.impl.AuditMessage;
 
 public class KafkaSink extends AuditLogSink {
 
-    private final String[] mandatoryProperties = new String[] { "bootstrap_servers", "topic_name" };
+    static final String TOPIC_NAME = "topic_name";
+    static final String KEY_FIELD = "key_field";
+
+    private final String[] mandatoryProperties = new String[] { "bootstrap_servers", TOPIC_NAME };
     private boolean valid = true;
-    private Producer<Long, String> producer;
+    private Producer<byte[], byte[]> producer;
     private String topicName;
+    private String keyField;
+    private final AtomicLong pending = new AtomicLong();
+    private final SinkMetrics metrics = new SinkMetrics(pending::get, pending::get);
 
-    @SuppressWarnings("removal")
     public KafkaSink(final String name, final Settings settings, final String settingsPrefix, AuditLogSink fallbackSink) {
+        this(name, settings, settingsPrefix, fallbackSink, KafkaProducer::new);
+    }
+
+    @SuppressWarnings("removal")
+    KafkaSink(
+        final String name,
+        final Settings settings,
+        final String settingsPrefix,
+        AuditLogSink fallbackSink,
+        final Function<Properties, Producer<byte[], byte[]>> producerFactory
+    ) {
         super(name, settings, settingsPrefix, fallbackSink);
 
         Settings sinkSettings = settings.getAsSettings(settingsPrefix);
@@ -51,15 +69,25 @@ public class KafkaSink extends AuditLogSink {
 
         final Properties producerProps = new Properties();
 
+        // throughput oriented defaults, all of them can be overridden by the sink settings
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, "20");
+        producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG, "65536");
+        producerProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        // messages are sent on the calling thread, so bound the time a full buffer may block it
+        producerProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, "5000");
+
         for (String key : sinkSettings.names()) {
-            if (!key.equals("topic_name")) {
+            if (!key.equals(TOPIC_NAME) && !key.equals(KEY_FIELD)) {
                 producerProps.put(key.replace('_', '.'), sinkSettings.get(key));
             }
         }
 
-        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class.getName());
-        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        topicName = sinkSettings.get("topic_name");
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        topicName = sinkSettings.get(TOPIC_NAME);
+        keyField = sinkSettings.get(KEY_FIELD);
 
         // map path of
         // ssl.keystore.location
@@ -73,10 +101,10 @@ public class KafkaSink extends AuditLogSink {
         }
 
         try {
-            this.producer = AccessController.doPrivileged(new PrivilegedExceptionAction<KafkaProducer<Long, String>>() {
+            this.producer = AccessController.doPrivileged(new PrivilegedExceptionAction<Producer<byte[], byte[]>>() {
                 @Override
-                public KafkaProducer<Long, String> run() throws Exception {
-                    return new KafkaProducer<Long, String>(producerProps);
+                public Producer<byte[], byte[]> run() throws Exception {
+                    return producerFactory.apply(producerProps);
                 }
             });
         } catch (PrivilegedActionException e) {
@@ -92,23 +120,51 @@ public class KafkaSink extends AuditLogSink {
             return false;
         }
 
-        ProducerRecord<Long, String> data = new ProducerRecord<Long, String>(topicName, msg.toJson());
-        producer.send(data, new Callback() {
+        final ProducerRecord<byte[], byte[]> data = new ProducerRecord<byte[], byte[]>(topicName, recordKey(msg), msg.toJsonBytes());
+        final long start = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            producer.send(data, new Callback() {
 
-            @Override
-            public void onCompletion(RecordMetadata metadata, Exception exception) {
-                if (exception == null) {
-                    // log trace?
-                } else {
-                    log.error("Could not store message on Kafka topic {}", topicName, exception);
-                    fallbackSink.store(msg);
-                }
+                @Override
+                public void onCompletion(RecordMetadata metadata, Exception exception) {
+                    pending.decrementAndGet();
+                    if (exception == null) {
+                        metrics.onCompleted(1, 0, System.nanoTime() - start);
+                    } else {
+                        metrics.onCompleted(0, 1, System.nanoTime() - start);
+                        log.error("Could not store message on Kafka topic {}", topicName, exception);
+                        fallbackSink.store(msg);
+                    }
 
-            }
-        });
+                }
+            });
+        } catch (Exception e) {
+            // send() throws if the producer is closed or the buffer stays full for max.block.ms
+            pending.decrementAndGet();
+            metrics.onCompleted(0, 1, System.nanoTime() - start);
+            log.error("Could not send message to Kafka topic {}", topicName, e);
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Records of the same key end up on the same partition, so keying by e.g. the effective
+     * user keeps the events of one user in order and close together.
+     */
+    private byte[] recordKey(final AuditMessage msg) {
+        if (keyField == null) {
+            return null;
+        }
+        final Object value = msg.getValue(keyField);
+        return value == null ? null : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public SinkMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public boolean isHandlingBackpressure() {
         return true;
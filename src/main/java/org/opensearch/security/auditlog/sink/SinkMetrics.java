@@ -0,0 +1,134 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Delivery counters of a batching audit log sink. All methods are thread safe and
+ * cheap enough to be called from I/O callbacks.
+ */
+public class SinkMetrics implements ToXContentObject {
+
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesFailed = new LongAdder();
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder requestsFailed = new LongAdder();
+    private final LongAdder latencyNanosTotal = new LongAdder();
+    private final AtomicLong latencyNanosMax = new AtomicLong();
+    private final LongSupplier backlog;
+    private final LongSupplier inFlight;
+
+    public SinkMetrics(final LongSupplier backlog, final LongSupplier inFlight) {
+        this.backlog = backlog;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Records a completed delivery attempt.
+     *
+     * @param sent number of messages which were stored
+     * @param failed number of messages which could not be stored
+     * @param latencyNanos duration of the attempt
+     */
+    public void onCompleted(final int sent, final int failed, final long latencyNanos) {
+        messagesSent.add(sent);
+        messagesFailed.add(failed);
+        if (failed == 0) {
+            requestsSent.increment();
+        } else {
+            requestsFailed.increment();
+        }
+        recordLatency(latencyNanos);
+    }
+
+    private void recordLatency(final long latencyNanos) {
+        latencyNanosTotal.add(latencyNanos);
+        latencyNanosMax.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getMessagesFailed() {
+        return messagesFailed.sum();
+    }
+
+    public long getRequestsSent() {
+        return requestsSent.sum();
+    }
+
+    public long getRequestsFailed() {
+        return requestsFailed.sum();
+    }
+
+    public long getBacklog() {
+        return backlog.getAsLong();
+    }
+
+    public long getInFlight() {
+        return inFlight.getAsLong();
+    }
+
+    public long getAvgLatencyMillis() {
+        final long requests = requestsSent.sum() + requestsFailed.sum();
+        return requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanosTotal.sum() / requests);
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyNanosMax.get());
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("messages_sent", getMessagesSent());
+        builder.field("messages_failed", getMessagesFailed());
+        builder.field("requests_sent", getRequestsSent());
+        builder.field("requests_failed", getRequestsFailed());
+        builder.field("backlog", getBacklog());
+        builder.field("in_flight", getInFlight());
+        builder.field("avg_latency_ms", getAvgLatencyMillis());
+        builder.field("max_latency_ms", getMaxLatencyMillis());
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "SinkMetrics [messagesSent="
+            + getMessagesSent()
+            + ", messagesFailed="
+            + getMessagesFailed()
+            + ", requestsSent="
+            + getRequestsSent()
+            + ", requestsFailed="
+            + getRequestsFailed()
+            + ", backlog="
+            + getBacklog()
+            + ", inFlight="
+            + getInFlight()
+            + ", avgLatencyMs="
+            + getAvgLatencyMillis()
+            + ", maxLatencyMs="
+            + getMaxLatencyMillis()
+            + "]";
+    }
+}
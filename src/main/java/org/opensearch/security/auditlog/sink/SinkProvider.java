@@ -149,6 +149,13 @@ public class SinkProvider {
                         log.error("Audit logging unavailable: Unable to setup WebhookAuditLog due to", e1);
                     }
                     break;
+                case "webhook_async":
+                    try {
+                        sink = new AsyncWebhookSink(name, settings, settingsPrefix, configPath, fallbackSink);
+                    } catch (Exception e1) {
+                        log.error("Audit logging unavailable: Unable to setup AsyncWebhookSink due to", e1);
+                    }
+                    break;
                 case "debug":
                     sink = new DebugSink(name, settings, fallbackSink);
                     break;
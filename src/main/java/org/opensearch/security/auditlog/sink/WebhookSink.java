@@ -41,6 +41,7 @@ import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.TrustStrategy;
 import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.Logger;
 
 import org.opensearch.common.settings.Settings;
 import org.opensearch.core.common.Strings;
@@ -311,8 +312,16 @@ public class WebhookSink extends AuditLogSink {
         }
     }
 
-    @SuppressWarnings("removal")
     private KeyStore getEffectiveKeyStore(final Path configPath) {
+        return loadEffectiveTruststore(settings, settingsPrefix, configPath, log);
+    }
+
+    /**
+     * Loads the truststore configured for a webhook sink, either from the PEM settings of
+     * the sink or from the transport truststore. Shared with {@link AsyncWebhookSink}.
+     */
+    @SuppressWarnings("removal")
+    static KeyStore loadEffectiveTruststore(final Settings settings, final String settingsPrefix, final Path configPath, final Logger log) {
 
         return AccessController.doPrivileged(new PrivilegedAction<KeyStore>() {
 
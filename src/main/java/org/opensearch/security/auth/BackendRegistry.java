@@ -43,6 +43,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -61,6 +62,7 @@ import org.opensearch.security.filter.SecurityRequestChannel;
 import org.opensearch.security.filter.SecurityResponse;
 import org.opensearch.security.http.XFFResolver;
 import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.user.User;
@@ -75,19 +77,13 @@ import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
 public class BackendRegistry {
 
     protected final Logger log = LogManager.getLogger(this.getClass());
-    private SortedSet<AuthDomain> restAuthDomains;
-    private Set<AuthorizationBackend> restAuthorizers;
-
-    private List<AuthFailureListener> ipAuthFailureListeners;
-    private Multimap<String, AuthFailureListener> authBackendFailureListeners;
-    private List<ClientBlockRegistry<InetAddress>> ipClientBlockRegistries;
-    private Multimap<String, ClientBlockRegistry<String>> authBackendClientBlockRegistries;
+    private final SecuritySnapshot.Key<AuthSettings> authSettingsKey = new SecuritySnapshot.Key<>("rest_auth_settings");
+    private volatile SecuritySnapshot latestSnapshot;
 
     private volatile boolean initialized;
     private volatile boolean injectedUserEnabled = false;
     private final AdminDNs adminDns;
     private final XFFResolver xffResolver;
-    private volatile boolean anonymousAuthEnabled = false;
     private final Settings opensearchSettings;
     // private final InternalAuthenticationBackend iab;
     private final AuditLog auditLog;
@@ -144,8 +140,6 @@ public class BackendRegistry {
         this.auditLog = auditLog;
         this.threadPool = threadPool;
         this.userInjector = new UserInjector(settings, threadPool, auditLog, xffResolver);
-        this.restAuthDomains = Collections.emptySortedSet();
-        this.ipAuthFailureListeners = Collections.emptyList();
 
         this.ttlInMin = settings.getAsInt(ConfigConstants.SECURITY_CACHE_TTL_MINUTES, 60);
 
@@ -167,22 +161,29 @@ public class BackendRegistry {
     }
 
     @Subscribe
-    public void onDynamicConfigModelChanged(DynamicConfigModel dcm) {
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
 
         invalidateCache();
-        anonymousAuthEnabled = dcm.isAnonymousAuthenticationEnabled()// config.dynamic.http.anonymous_auth_enabled
-            && !opensearchSettings.getAsBoolean(ConfigConstants.SECURITY_COMPLIANCE_DISABLE_ANONYMOUS_AUTHENTICATION, false);
+        latestSnapshot = snapshot;
+        final AuthSettings authSettings = snapshot.derived(authSettingsKey, this::buildAuthSettings);
 
-        restAuthDomains = Collections.unmodifiableSortedSet(dcm.getRestAuthDomains());
-        restAuthorizers = Collections.unmodifiableSet(dcm.getRestAuthorizers());
+        // OpenSearch Security no default authc
+        initialized = !authSettings.restAuthDomains.isEmpty() || authSettings.anonymousAuthEnabled || injectedUserEnabled;
+    }
 
-        ipAuthFailureListeners = dcm.getIpAuthFailureListeners();
-        authBackendFailureListeners = dcm.getAuthBackendFailureListeners();
-        ipClientBlockRegistries = dcm.getIpClientBlockRegistries();
-        authBackendClientBlockRegistries = dcm.getAuthBackendClientBlockRegistries();
+    private AuthSettings buildAuthSettings(final SecuritySnapshot snapshot) {
+        return new AuthSettings(
+            snapshot.getDynamicConfigModel(),
+            opensearchSettings.getAsBoolean(ConfigConstants.SECURITY_COMPLIANCE_DISABLE_ANONYMOUS_AUTHENTICATION, false)
+        );
+    }
 
-        // OpenSearch Security no default authc
-        initialized = !restAuthDomains.isEmpty() || anonymousAuthEnabled || injectedUserEnabled;
+    /**
+     * @return the authentication settings of the configuration snapshot of the current request
+     */
+    private AuthSettings authSettings() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadPool.getThreadContext(), latestSnapshot);
+        return snapshot != null ? snapshot.derived(authSettingsKey, this::buildAuthSettings) : AuthSettings.NONE;
     }
 
     /**
@@ -193,9 +194,10 @@ public class BackendRegistry {
      */
     public boolean authenticate(final SecurityRequestChannel request) {
         final boolean isDebugEnabled = log.isDebugEnabled();
+        final AuthSettings authSettings = authSettings();
         final boolean isBlockedBasedOnAddress = request.getRemoteAddress()
             .map(InetSocketAddress::getAddress)
-            .map(address -> isBlocked(address))
+            .map(address -> isBlocked(authSettings, address))
             .orElse(false);
         if (isBlockedBasedOnAddress) {
             if (isDebugEnabled) {
@@ -245,13 +247,13 @@ public class BackendRegistry {
         HTTPAuthenticator firstChallengingHttpAuthenticator = null;
 
         // loop over all http/rest auth domains
-        for (final AuthDomain authDomain : restAuthDomains) {
+        for (final AuthDomain authDomain : authSettings.restAuthDomains) {
             if (isDebugEnabled) {
                 log.debug(
                     "Check authdomain for rest {}/{} or {} in total",
                     authDomain.getBackend().getType(),
                     authDomain.getOrder(),
-                    restAuthDomains.size()
+                    authSettings.restAuthDomains.size()
                 );
             }
 
@@ -274,7 +276,7 @@ public class BackendRegistry {
                 continue;
             }
 
-            if (ac != null && isBlocked(authDomain.getBackend().getClass().getName(), ac.getUsername())) {
+            if (ac != null && isBlocked(authSettings, authDomain.getBackend().getClass().getName(), ac.getUsername())) {
                 if (isDebugEnabled) {
                     log.debug("Rejecting REST request because of blocked user: {}, authDomain: {}", ac.getUsername(), authDomain);
                 }
@@ -286,7 +288,7 @@ public class BackendRegistry {
 
             if (ac == null) {
                 // no credentials found in request
-                if (anonymousAuthEnabled) {
+                if (authSettings.anonymousAuthEnabled) {
                     continue;
                 }
 
@@ -297,7 +299,7 @@ public class BackendRegistry {
                         if (isTraceEnabled) {
                             log.trace("No 'Authorization' header, send 401 and 'WWW-Authenticate Basic'");
                         }
-                        notifyIpAuthFailureListeners(request, authCredentials);
+                        notifyIpAuthFailureListeners(authSettings, request, authCredentials);
                         request.queueForSending(restResponse.get());
                         return false;
                     }
@@ -314,7 +316,7 @@ public class BackendRegistry {
                     // credentials found in request but we need another client challenge
                     final Optional<SecurityResponse> restResponse = httpAuthenticator.reRequestAuthentication(request, ac);
                     if (restResponse.isPresent()) {
-                        notifyIpAuthFailureListeners(request, ac);
+                        notifyIpAuthFailureListeners(authSettings, request, ac);
                         request.queueForSending(restResponse.get());
                         return false;
                     } else {
@@ -326,7 +328,7 @@ public class BackendRegistry {
             }
 
             // http completed
-            authenticatedUser = authcz(userCache, restRoleCache, ac, authDomain.getBackend(), restAuthorizers);
+            authenticatedUser = authcz(userCache, restRoleCache, ac, authDomain.getBackend(), authSettings.restAuthorizers);
 
             if (authenticatedUser == null) {
                 if (isDebugEnabled) {
@@ -335,10 +337,10 @@ public class BackendRegistry {
                         ac.getUsername(),
                         authDomain.getBackend().getType(),
                         authDomain.getOrder(),
-                        restAuthDomains
+                        authSettings.restAuthDomains
                     );
                 }
-                for (AuthFailureListener authFailureListener : this.authBackendFailureListeners.get(
+                for (AuthFailureListener authFailureListener : authSettings.authBackendFailureListeners.get(
                     authDomain.getBackend().getClass().getName()
                 )) {
                     authFailureListener.onAuthFailure(
@@ -372,7 +374,7 @@ public class BackendRegistry {
         }// end looping auth domains
 
         if (authenticated) {
-            final User impersonatedUser = impersonate(request, authenticatedUser);
+            final User impersonatedUser = impersonate(authSettings, request, authenticatedUser);
             threadPool.getThreadContext()
                 .putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, impersonatedUser == null ? authenticatedUser : impersonatedUser);
             auditLog.logSucceededLogin(
@@ -383,10 +385,10 @@ public class BackendRegistry {
             );
         } else {
             if (isDebugEnabled) {
-                log.debug("User still not authenticated after checking {} auth domains", restAuthDomains.size());
+                log.debug("User still not authenticated after checking {} auth domains", authSettings.restAuthDomains.size());
             }
 
-            if (authCredentials == null && anonymousAuthEnabled) {
+            if (authCredentials == null && authSettings.anonymousAuthEnabled) {
                 final String tenant = resolveTenantFrom(request);
                 User anonymousUser = new User(User.ANONYMOUS.getName(), new HashSet<String>(User.ANONYMOUS.getRoles()), null);
                 anonymousUser.setRequestedTenant(tenant);
@@ -422,7 +424,7 @@ public class BackendRegistry {
             );
             auditLog.logFailedLogin(authCredentials == null ? null : authCredentials.getUsername(), false, null, request);
 
-            notifyIpAuthFailureListeners(request, authCredentials);
+            notifyIpAuthFailureListeners(authSettings, request, authCredentials);
 
             request.queueForSending(
                 challengeResponse.orElseGet(() -> new SecurityResponse(SC_UNAUTHORIZED, "Authentication finally failed"))
@@ -436,12 +438,13 @@ public class BackendRegistry {
         return Optional.ofNullable(request.header("securitytenant")).orElse(request.header("security_tenant"));
     }
 
-    private void notifyIpAuthFailureListeners(SecurityRequestChannel request, AuthCredentials authCredentials) {
-        notifyIpAuthFailureListeners(request.getRemoteAddress().map(InetSocketAddress::getAddress).orElse(null), authCredentials, request);
-    }
-
-    private void notifyIpAuthFailureListeners(InetAddress remoteAddress, AuthCredentials authCredentials, Object request) {
-        for (AuthFailureListener authFailureListener : this.ipAuthFailureListeners) {
+    private void notifyIpAuthFailureListeners(
+        AuthSettings authSettings,
+        SecurityRequestChannel request,
+        AuthCredentials authCredentials
+    ) {
+        final InetAddress remoteAddress = request.getRemoteAddress().map(InetSocketAddress::getAddress).orElse(null);
+        for (AuthFailureListener authFailureListener : authSettings.ipAuthFailureListeners) {
             authFailureListener.onAuthFailure(remoteAddress, authCredentials, request);
         }
     }
@@ -584,7 +587,8 @@ public class BackendRegistry {
         }
     }
 
-    private User impersonate(final SecurityRequest request, final User originalUser) throws OpenSearchSecurityException {
+    private User impersonate(final AuthSettings authSettings, final SecurityRequest request, final User originalUser)
+        throws OpenSearchSecurityException {
 
         final String impersonatedUserHeader = request.header("opendistro_security_impersonate_as");
 
@@ -611,7 +615,7 @@ public class BackendRegistry {
         } else {
             final boolean isDebugEnabled = log.isDebugEnabled();
             // loop over all http/rest auth domains
-            for (final AuthDomain authDomain : restAuthDomains) {
+            for (final AuthDomain authDomain : authSettings.restAuthDomains) {
                 final AuthenticationBackend authenticationBackend = authDomain.getBackend();
 
                 if (!authDomain.getHttpAuthenticator().supportsImpersonation()) {
@@ -622,7 +626,7 @@ public class BackendRegistry {
                     restImpersonationCache,
                     new User(impersonatedUserHeader),
                     authenticationBackend,
-                    restAuthorizers
+                    authSettings.restAuthorizers
                 );
 
                 if (impersonatedUser == null) {
@@ -657,12 +661,12 @@ public class BackendRegistry {
 
     }
 
-    private boolean isBlocked(InetAddress address) {
-        if (this.ipClientBlockRegistries == null || this.ipClientBlockRegistries.isEmpty()) {
+    private boolean isBlocked(AuthSettings authSettings, InetAddress address) {
+        if (authSettings.ipClientBlockRegistries == null || authSettings.ipClientBlockRegistries.isEmpty()) {
             return false;
         }
 
-        for (ClientBlockRegistry<InetAddress> clientBlockRegistry : ipClientBlockRegistries) {
+        for (ClientBlockRegistry<InetAddress> clientBlockRegistry : authSettings.ipClientBlockRegistries) {
             if (clientBlockRegistry.isBlocked(address)) {
                 return true;
             }
@@ -671,13 +675,13 @@ public class BackendRegistry {
         return false;
     }
 
-    private boolean isBlocked(String authBackend, String userName) {
+    private boolean isBlocked(AuthSettings authSettings, String authBackend, String userName) {
 
-        if (this.authBackendClientBlockRegistries == null) {
+        if (authSettings.authBackendClientBlockRegistries == null) {
             return false;
         }
 
-        Collection<ClientBlockRegistry<String>> clientBlockRegistries = this.authBackendClientBlockRegistries.get(authBackend);
+        Collection<ClientBlockRegistry<String>> clientBlockRegistries = authSettings.authBackendClientBlockRegistries.get(authBackend);
 
         if (clientBlockRegistries.isEmpty()) {
             return false;
@@ -692,4 +696,40 @@ public class BackendRegistry {
         return false;
     }
 
+    /**
+     * The authentication settings derived from the dynamic configuration of one configuration snapshot.
+     */
+    private static final class AuthSettings {
+
+        static final AuthSettings NONE = new AuthSettings();
+
+        private final SortedSet<AuthDomain> restAuthDomains;
+        private final Set<AuthorizationBackend> restAuthorizers;
+        private final List<AuthFailureListener> ipAuthFailureListeners;
+        private final Multimap<String, AuthFailureListener> authBackendFailureListeners;
+        private final List<ClientBlockRegistry<InetAddress>> ipClientBlockRegistries;
+        private final Multimap<String, ClientBlockRegistry<String>> authBackendClientBlockRegistries;
+        private final boolean anonymousAuthEnabled;
+
+        private AuthSettings() {
+            restAuthDomains = Collections.emptySortedSet();
+            restAuthorizers = Collections.emptySet();
+            ipAuthFailureListeners = Collections.emptyList();
+            authBackendFailureListeners = ImmutableMultimap.of();
+            ipClientBlockRegistries = Collections.emptyList();
+            authBackendClientBlockRegistries = ImmutableMultimap.of();
+            anonymousAuthEnabled = false;
+        }
+
+        private AuthSettings(final DynamicConfigModel dcm, final boolean anonymousAuthDisabled) {
+            restAuthDomains = Collections.unmodifiableSortedSet(dcm.getRestAuthDomains());
+            restAuthorizers = Collections.unmodifiableSet(dcm.getRestAuthorizers());
+            ipAuthFailureListeners = dcm.getIpAuthFailureListeners();
+            authBackendFailureListeners = dcm.getAuthBackendFailureListeners();
+            ipClientBlockRegistries = dcm.getIpClientBlockRegistries();
+            authBackendClientBlockRegistries = dcm.getAuthBackendClientBlockRegistries();
+            // config.dynamic.http.anonymous_auth_enabled
+            anonymousAuthEnabled = dcm.isAnonymousAuthenticationEnabled() && !anonymousAuthDisabled;
+        }
+    }
 }
@@ -30,17 +30,16 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 import org.bouncycastle.crypto.generators.OpenBSDBCrypt;
 
 import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.security.auth.AuthenticationBackend;
 import org.opensearch.security.auth.AuthorizationBackend;
 import org.opensearch.security.securityconf.InternalUsersModel;
+import org.opensearch.security.securityconf.InternalUsersModel.InternalUser;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.user.User;
 
@@ -48,36 +47,37 @@ import org.greenrobot.eventbus.Subscribe;
 
 public class InternalAuthenticationBackend implements AuthenticationBackend, AuthorizationBackend {
 
-    private InternalUsersModel internalUsersModel;
+    private final ThreadContext threadContext;
+    private volatile SecuritySnapshot latestSnapshot;
+
+    public InternalAuthenticationBackend(final ThreadContext threadContext) {
+        this.threadContext = threadContext;
+    }
+
+    /**
+     * @return the internal users of the configuration snapshot of the current request
+     */
+    private InternalUsersModel internalUsersModel() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null ? snapshot.getInternalUsersModel() : null;
+    }
 
     @Override
     public boolean exists(User user) {
 
+        final InternalUsersModel internalUsersModel = internalUsersModel();
         if (user == null || internalUsersModel == null) {
             return false;
         }
 
-        final boolean exists = internalUsersModel.exists(user.getName());
+        final InternalUser internalUser = internalUsersModel.getUser(user.getName());
 
-        if (exists) {
-            user.addRoles(internalUsersModel.getBackenRoles(user.getName()));
+        if (internalUser != null) {
+            user.addRoles(internalUser.getBackendRoles());
+            user.addSecurityRoles(internalUser.getSecurityRoles());
             // FIX https://github.com/opendistro-for-elasticsearch/security/pull/23
             // Credits to @turettn
-            final Map<String, String> customAttributes = internalUsersModel.getAttributes(user.getName());
-            Map<String, String> attributeMap = new HashMap<>();
-
-            if (customAttributes != null) {
-                for (Entry<String, String> attributeEntry : customAttributes.entrySet()) {
-                    attributeMap.put("attr.internal." + attributeEntry.getKey(), attributeEntry.getValue());
-                }
-            }
-
-            final List<String> securityRoles = internalUsersModel.getSecurityRoles(user.getName());
-            if (securityRoles != null) {
-                user.addSecurityRoles(securityRoles);
-            }
-
-            user.addAttributes(attributeMap);
+            user.addAttributes(internalUser.getCustomAttributes());
             return true;
         }
 
@@ -99,13 +99,15 @@ public class InternalAuthenticationBackend implements AuthenticationBackend, Aut
 
         boolean userExists;
 
+        final InternalUsersModel internalUsersModel = internalUsersModel();
         if (internalUsersModel == null) {
             throw new OpenSearchSecurityException("Internal authentication backend not configured. May be OpenSearch is not initialized.");
         }
 
+        final InternalUser internalUser = internalUsersModel.getUser(credentials.getUsername());
         final byte[] password;
         String hash;
-        if (!internalUsersModel.exists(credentials.getUsername())) {
+        if (internalUser == null) {
             userExists = false;
             password = credentials.getPassword();
             hash = "$2y$12$NmKhjNssNgSIj8iXT7SYxeXvMA1E95a9tCt4cySY9FrQ4fB18xEc2"; // Ensure the same cryptographic complexity for users not
@@ -113,7 +115,7 @@ public class InternalAuthenticationBackend implements AuthenticationBackend, Aut
         } else {
             userExists = true;
             password = credentials.getPassword();
-            hash = internalUsersModel.getHash(credentials.getUsername());
+            hash = internalUser.getHash();
         }
 
         if (password == null || password.length == 0) {
@@ -129,20 +131,10 @@ public class InternalAuthenticationBackend implements AuthenticationBackend, Aut
 
         try {
             if (passwordMatchesHash(hash, array) && userExists) {
-                final List<String> roles = internalUsersModel.getBackenRoles(credentials.getUsername());
-                final Map<String, String> customAttributes = internalUsersModel.getAttributes(credentials.getUsername());
-                if (customAttributes != null) {
-                    for (Entry<String, String> attributeName : customAttributes.entrySet()) {
-                        credentials.addAttribute("attr.internal." + attributeName.getKey(), attributeName.getValue());
-                    }
-                }
-
-                final User user = new User(credentials.getUsername(), roles, credentials);
+                internalUser.getCustomAttributes().forEach(credentials::addAttribute);
 
-                final List<String> securityRoles = internalUsersModel.getSecurityRoles(credentials.getUsername());
-                if (securityRoles != null) {
-                    user.addSecurityRoles(securityRoles);
-                }
+                final User user = new User(credentials.getUsername(), internalUser.getBackendRoles(), credentials);
+                user.addSecurityRoles(internalUser.getSecurityRoles());
                 return user;
             } else {
                 if (!userExists) {
@@ -165,25 +157,21 @@ public class InternalAuthenticationBackend implements AuthenticationBackend, Aut
     @Override
     public void fillRoles(User user, AuthCredentials credentials) throws OpenSearchSecurityException {
 
-        if (internalUsersModel == null) {
+        if (internalUsersModel() == null) {
             throw new OpenSearchSecurityException(
                 "Internal authentication backend not configured. May be OpenSearch Security is not initialized."
             );
 
         }
 
-        if (exists(user)) {
-            final List<String> roles = internalUsersModel.getBackenRoles(user.getName());
-            if (roles != null && !roles.isEmpty() && user != null) {
-                user.addRoles(roles);
-            }
-        }
+        // adds the backend roles, security roles and attributes of the user
+        exists(user);
 
     }
 
     @Subscribe
-    public void onInternalUsersModelChanged(InternalUsersModel ium) {
-        this.internalUsersModel = ium;
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        this.latestSnapshot = snapshot;
     }
 
 }
@@ -30,8 +30,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.env.Environment;
 import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.setting.OpensearchDynamicSetting;
 import org.opensearch.security.support.ConfigConstants;
 
@@ -43,19 +45,33 @@ public class CompatConfig {
 
     private final Logger log = LogManager.getLogger(getClass());
     private final Settings staticSettings;
-    private DynamicConfigModel dcm;
+    private volatile SecuritySnapshot latestSnapshot;
     private final OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting;
+    private final ThreadContext threadContext;
 
-    public CompatConfig(final Environment environment, final OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting) {
+    public CompatConfig(
+        final Environment environment,
+        final OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting,
+        final ThreadContext threadContext
+    ) {
         super();
         this.staticSettings = environment.settings();
         this.transportPassiveAuthSetting = transportPassiveAuthSetting;
+        this.threadContext = threadContext;
     }
 
     @Subscribe
-    public void onDynamicConfigModelChanged(DynamicConfigModel dcm) {
-        this.dcm = dcm;
-        log.debug("dynamicSecurityConfig updated?: {}", (dcm != null));
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        this.latestSnapshot = snapshot;
+        log.debug("dynamicSecurityConfig updated?: {}", (snapshot.getDynamicConfigModel() != null));
+    }
+
+    /**
+     * @return the dynamic configuration of the configuration snapshot of the current request
+     */
+    private DynamicConfigModel dcm() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null ? snapshot.getDynamicConfigModel() : null;
     }
 
     // true is default
@@ -66,6 +82,7 @@ public class CompatConfig {
         );
         final boolean isTraceEnabled = log.isTraceEnabled();
         if (restInitiallyDisabled) {
+            final DynamicConfigModel dcm = dcm();
             if (dcm == null) {
                 if (isTraceEnabled) {
                     log.trace("dynamicSecurityConfig is null, initially static restDisabled");
@@ -92,6 +109,7 @@ public class CompatConfig {
         );
         final boolean isTraceEnabled = log.isTraceEnabled();
         if (interClusterAuthInitiallyDisabled) {
+            final DynamicConfigModel dcm = dcm();
             if (dcm == null) {
                 if (isTraceEnabled) {
                     log.trace("dynamicSecurityConfig is null, initially static interClusterAuthDisabled");
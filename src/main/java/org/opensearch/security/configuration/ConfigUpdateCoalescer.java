@@ -0,0 +1,162 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.security.securityconf.impl.CType;
+
+/**
+ * Merges config updates which are requested while another one is pending or running into one update.
+ * <p>
+ * An update is started after a window, all updates requested until then are merged into it and their
+ * futures are completed when it is done. Without a window an update is started right away. Updates never run
+ * concurrently, updates requested while one is running are merged into the next one. A merged update applies the
+ * configuration sent with the request if it was requested once, otherwise it reads all requested types from the index.
+ */
+final class ConfigUpdateCoalescer {
+
+    private static final Logger LOGGER = LogManager.getLogger(ConfigUpdateCoalescer.class);
+
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final BiConsumer<Set<CType>, SerializedConfiguration> update;
+
+    private Batch pending;
+    private boolean scheduled;
+    private boolean running;
+
+    /**
+     * @param update runs an update of the given types, with the configuration sent with the request or null if
+     *               the types have to be read from the index
+     */
+    ConfigUpdateCoalescer(
+        long windowMillis,
+        ScheduledExecutorService scheduler,
+        Executor executor,
+        BiConsumer<Set<CType>, SerializedConfiguration> update
+    ) {
+        this.windowMillis = windowMillis;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.update = update;
+    }
+
+    /**
+     * @param configuration the configuration sent with the request, or null
+     * @return a future which is completed when an update which includes the requested types is done
+     */
+    synchronized CompletableFuture<Void> submit(Collection<CType> configTypes, SerializedConfiguration configuration) {
+        if (pending == null) {
+            pending = new Batch();
+        }
+        final Batch batch = pending;
+        batch.add(configTypes, configuration);
+        if (!scheduled && !running) {
+            schedule(windowMillis);
+        }
+        return batch.future;
+    }
+
+    private void schedule(long delayMillis) {
+        scheduled = true;
+        try {
+            if (delayMillis <= 0) {
+                executor.execute(this::run);
+            } else {
+                scheduler.schedule(this::execute, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException e) {
+            failPending(e);
+        }
+    }
+
+    private void execute() {
+        try {
+            executor.execute(this::run);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failPending(e);
+            }
+        }
+    }
+
+    /**
+     * Fails the pending requests if their update cannot be started, e.g. because the executor rejects it. Called
+     * holding the lock.
+     */
+    private void failPending(RuntimeException e) {
+        scheduled = false;
+        final Batch batch = pending;
+        pending = null;
+        if (batch != null) {
+            LOGGER.warn("Cannot start update of {}", batch.configTypes, e);
+            batch.future.completeExceptionally(e);
+        }
+    }
+
+    private void run() {
+        final Batch batch;
+        synchronized (this) {
+            batch = pending;
+            pending = null;
+            scheduled = false;
+            running = true;
+        }
+        try {
+            if (batch != null) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Updating {} for {} merged requests", batch.configTypes, batch.requests);
+                }
+                update.accept(batch.configTypes, batch.requests == 1 ? batch.configuration : null);
+                batch.future.complete(null);
+            }
+        } catch (Throwable t) {
+            // the requests of the batch wait for its future, it has to be completed whatever went wrong
+            LOGGER.warn("Updating {} failed", batch.configTypes, t);
+            batch.future.completeExceptionally(t);
+        } finally {
+            synchronized (this) {
+                running = false;
+                if (pending != null && !scheduled) {
+                    schedule(windowMillis);
+                }
+            }
+        }
+    }
+
+    private static final class Batch {
+        private final Set<CType> configTypes = EnumSet.noneOf(CType.class);
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private SerializedConfiguration configuration;
+        private int requests;
+
+        private void add(Collection<CType> configTypes, SerializedConfiguration configuration) {
+            this.configTypes.addAll(configTypes);
+            this.configuration = configuration != null && configuration.getConfigTypes().equals(this.configTypes)
+                ? configuration
+                : null;
+            this.requests++;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.OpenSearchException;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.get.MultiGetItemResponse;
 import org.opensearch.action.get.MultiGetRequest;
@@ -73,6 +74,7 @@ public class ConfigurationLoaderSecurity7 {
     private final ClusterService cs;
     private final Settings settings;
     private final AtomicBoolean isAuditConfigDocPresentInIndex = new AtomicBoolean();
+    private final EntityDocuments entityDocuments;
 
     ConfigurationLoaderSecurity7(final Client client, ThreadPool threadPool, final Settings settings, ClusterService cs) {
         super();
@@ -83,6 +85,7 @@ public class ConfigurationLoaderSecurity7 {
             ConfigConstants.OPENDISTRO_SECURITY_DEFAULT_CONFIG_INDEX
         );
         this.cs = cs;
+        this.entityDocuments = new EntityDocuments(client, securityIndex, settings);
         log.debug("Index is: {}", securityIndex);
     }
 
@@ -96,6 +99,7 @@ public class ConfigurationLoaderSecurity7 {
 
     Map<CType, SecurityDynamicConfiguration<?>> load(final CType[] events, long timeout, TimeUnit timeUnit, boolean acceptInvalid)
         throws InterruptedException, TimeoutException {
+        final long start = System.nanoTime();
         final CountDownLatch latch = new CountDownLatch(events.length);
         final Map<CType, SecurityDynamicConfiguration<?>> rs = new HashMap<>(events.length);
         final boolean isDebugEnabled = log.isDebugEnabled();
@@ -204,6 +208,13 @@ public class ConfigurationLoaderSecurity7 {
             );
         }
 
+        final long remaining = Math.max(timeUnit.toNanos(timeout) - (System.nanoTime() - start), 0);
+        try {
+            entityDocuments.apply(rs, remaining, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            throw new OpenSearchException("Cannot apply entity documents of " + securityIndex, e);
+        }
+
         return rs;
     }
 
@@ -234,6 +245,11 @@ public class ConfigurationLoaderSecurity7 {
                         if (singleGetResponse.isExists() && !singleGetResponse.isSourceEmpty()) {
                             // success
                             try {
+                                final SecurityDynamicConfiguration<?> unchanged = unchangedBase(singleGetResponse);
+                                if (unchanged != null) {
+                                    callback.success(unchanged);
+                                    continue;
+                                }
                                 final SecurityDynamicConfiguration<?> dConf = toConfig(singleGetResponse, acceptInvalid);
                                 if (dConf != null) {
                                     callback.success(dConf.deepClone());
@@ -263,6 +279,17 @@ public class ConfigurationLoaderSecurity7 {
 
     }
 
+    /**
+     * @return the configuration last loaded from the same document if its entities are stored in documents of their own
+     */
+    private SecurityDynamicConfiguration<?> unchangedBase(GetResponse singleGetResponse) {
+        final CType cType = CType.fromString(singleGetResponse.getId());
+        if (!EntityDocuments.ENTITY_TYPES.contains(cType)) {
+            return null;
+        }
+        return entityDocuments.unchangedBase(cType, singleGetResponse.getSeqNo(), singleGetResponse.getPrimaryTerm());
+    }
+
     private SecurityDynamicConfiguration<?> toConfig(GetResponse singleGetResponse, boolean acceptInvalid) throws Exception {
         final BytesReference ref = singleGetResponse.getSourceAsBytesRef();
         final String id = singleGetResponse.getId();
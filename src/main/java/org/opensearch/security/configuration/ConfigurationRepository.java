@@ -27,18 +27,23 @@
 package org.opensearch.security.configuration;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -83,17 +88,25 @@ public class ConfigurationRepository {
     private final String securityIndex;
     private final Client client;
     private final Cache<CType, SecurityDynamicConfiguration<?>> configCache;
+    private final AtomicLong configurationVersion = new AtomicLong();
     private final List<ConfigurationChangeListener> configurationChangedListener;
     private final ConfigurationLoaderSecurity7 cl;
+    private final ConfigurationLoaderSecurity7 rawLoader;
     private final Settings settings;
     private final ClusterService clusterService;
     private final AuditLog auditLog;
     private final ThreadPool threadPool;
     private DynamicConfigFactory dynamicConfigFactory;
     private static final int DEFAULT_CONFIG_VERSION = 2;
+    static final String LOCAL_SNAPSHOT_FILE_NAME = "security_config.snapshot";
     private final Thread bgThread;
     private final AtomicBoolean installDefaultConfig = new AtomicBoolean();
     private final boolean acceptInvalid;
+    private final ConfigUpdateCoalescer configUpdateCoalescer;
+    private final LocalConfigurationSnapshot localSnapshot;
+    private volatile boolean usingLocalSnapshot;
+    // the types which are still served from the local snapshot, guarded by LOCK
+    private final Set<CType> localSnapshotTypes = EnumSet.noneOf(CType.class);
 
     private ConfigurationRepository(
         Settings settings,
@@ -115,8 +128,38 @@ public class ConfigurationRepository {
         this.configurationChangedListener = new ArrayList<>();
         this.acceptInvalid = settings.getAsBoolean(ConfigConstants.SECURITY_UNSUPPORTED_ACCEPT_INVALID_CONFIG, false);
         cl = new ConfigurationLoaderSecurity7(client, threadPool, settings, clusterService);
+        rawLoader = new ConfigurationLoaderSecurity7(
+            client,
+            threadPool,
+            Settings.builder().put(settings).put(ConfigConstants.SECURITY_DISABLE_ENVVAR_REPLACEMENT, true).build(),
+            clusterService
+        );
 
         configCache = CacheBuilder.newBuilder().build();
+        localSnapshot = settings.getAsBoolean(ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_ENABLED, false)
+            ? new LocalConfigurationSnapshot(
+                new Environment(settings, configPath).dataFiles()[0].resolve(LOCAL_SNAPSHOT_FILE_NAME),
+                clusterService.getClusterName().value(),
+                TimeUnit.MINUTES.toMillis(
+                    settings.getAsInt(
+                        ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES,
+                        ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES_DEFAULT
+                    )
+                )
+            )
+            : null;
+        configUpdateCoalescer = new ConfigUpdateCoalescer(
+            settings.getAsInt(ConfigConstants.SECURITY_CONFIG_UPDATE_COALESCE_WINDOW_MILLIS, 0),
+            threadPool.scheduler(),
+            threadPool.generic(),
+            (configTypes, configuration) -> {
+                if (configuration != null) {
+                    applyConfiguration(configuration);
+                } else {
+                    reloadConfiguration(configTypes);
+                }
+            }
+        );
 
         bgThread = new Thread(() -> {
             try {
@@ -215,7 +258,8 @@ public class ConfigurationRepository {
                     }
                 }
 
-                while (!dynamicConfigFactory.isInitialized()) {
+                // a node which uses its local snapshot reads the configuration from the index nevertheless
+                while (!dynamicConfigFactory.isInitialized() || usingLocalSnapshot) {
                     try {
                         LOGGER.debug("Try to load config ...");
                         reloadConfiguration(Arrays.asList(CType.values()));
@@ -307,6 +351,9 @@ public class ConfigurationRepository {
     }
 
     public void initOnNodeStart() {
+        if (localSnapshot != null) {
+            applyLocalSnapshot();
+        }
         try {
             if (settings.getAsBoolean(ConfigConstants.SECURITY_ALLOW_DEFAULT_INIT_SECURITYINDEX, false)) {
                 LOGGER.info("Will attempt to create index {} and default configs if they are absent", securityIndex);
@@ -330,6 +377,65 @@ public class ConfigurationRepository {
         }
     }
 
+    /**
+     * Applies the configuration this node stored before it was restarted, so that it can serve requests before
+     * the security index is available.
+     */
+    private void applyLocalSnapshot() {
+        LOCK.lock();
+        try {
+            final SerializedConfiguration serialized = localSnapshot.read();
+            if (serialized == null) {
+                LOGGER.info("No local configuration snapshot found");
+                return;
+            }
+            if (!serialized.getConfigTypes().containsAll(Arrays.asList(CType.values()))) {
+                LOGGER.info("Local configuration snapshot is incomplete, contains only {}", serialized.getConfigTypes());
+                return;
+            }
+            final Map<CType, SecurityDynamicConfiguration<?>> decoded = serialized.decode(settings, this.acceptInvalid);
+            configCache.putAll(decoded);
+            configurationVersion.incrementAndGet();
+            localSnapshotTypes.addAll(decoded.keySet());
+            usingLocalSnapshot = true;
+            notifyAboutChanges(decoded);
+            LOGGER.warn(
+                "Running on local configuration snapshot written at {} until the configuration is read from index {}",
+                Instant.ofEpochMilli(localSnapshot.writeTimeMillis()),
+                securityIndex
+            );
+        } catch (Exception e) {
+            LOGGER.warn("Cannot use local configuration snapshot", e);
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * @return true if this node serves configurations of its local snapshot which were not read from the index yet
+     */
+    public boolean isUsingLocalSnapshot() {
+        return usingLocalSnapshot;
+    }
+
+    /**
+     * Marks the configurations of the given types as read from the index, which were read directly or by another node
+     */
+    private void replaceLocalSnapshot(Collection<CType> configTypes) {
+        if (usingLocalSnapshot && localSnapshotTypes.removeAll(configTypes) && localSnapshotTypes.isEmpty()) {
+            usingLocalSnapshot = false;
+            LOGGER.info("Replaced the local configuration snapshot with the configuration from index {}", securityIndex);
+        }
+    }
+
+    private void storeLocalSnapshot(SerializedConfiguration serialized) {
+        try {
+            localSnapshot.write(serialized);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot store local configuration snapshot", e);
+        }
+    }
+
     public boolean isAuditHotReloadingEnabled() {
         return cl.isAuditConfigDocPresentInIndex();
     }
@@ -370,8 +476,26 @@ public class ConfigurationRepository {
         return SecurityDynamicConfiguration.empty();
     }
 
+    /**
+     * @return a number which is increased whenever the configuration of this node changes, can be used as key
+     * for data derived from the configuration
+     */
+    public long getConfigurationVersion() {
+        return configurationVersion.get();
+    }
+
     private final Lock LOCK = new ReentrantLock();
 
+    /**
+     * Updates the configuration of the given types, merged with the updates requested by others in the meantime.
+     *
+     * @param configuration the configuration sent with the request, or null if it has to be read from the index
+     * @return a future which is completed when an update which includes the given types is done
+     */
+    public CompletableFuture<Void> updateConfiguration(Collection<CType> configTypes, SerializedConfiguration configuration) {
+        return configUpdateCoalescer.submit(configTypes, configuration);
+    }
+
     public void reloadConfiguration(Collection<CType> configTypes) throws ConfigUpdateAlreadyInProgressException {
         try {
             if (LOCK.tryLock(60, TimeUnit.SECONDS)) {
@@ -390,11 +514,80 @@ public class ConfigurationRepository {
     }
 
     private void reloadConfiguration0(Collection<CType> configTypes, boolean acceptInvalid) {
+        if (localSnapshot != null) {
+            // the snapshot contains the configuration before environment variables are replaced
+            final SerializedConfiguration serialized;
+            final Map<CType, SecurityDynamicConfiguration<?>> decoded;
+            try {
+                serialized = SerializedConfiguration.of(getConfigurationsFromIndex(rawLoader, configTypes, acceptInvalid));
+                decoded = serialized.decode(settings, acceptInvalid);
+            } catch (IOException e) {
+                throw new OpenSearchException(e);
+            }
+            configCache.putAll(decoded);
+            configurationVersion.incrementAndGet();
+            notifyAboutChanges(decoded);
+            replaceLocalSnapshot(decoded.keySet());
+            storeLocalSnapshot(serialized);
+            return;
+        }
         final Map<CType, SecurityDynamicConfiguration<?>> loaded = getConfigurationsFromIndex(configTypes, false, acceptInvalid);
         configCache.putAll(loaded);
+        configurationVersion.incrementAndGet();
         notifyAboutChanges(loaded);
     }
 
+    /**
+     * Applies configurations another node read from the index, reads them from the index instead if they cannot be
+     * decoded or if this node already knows a newer version of one of them.
+     */
+    public void applyConfiguration(SerializedConfiguration serialized) throws ConfigUpdateAlreadyInProgressException {
+        try {
+            if (LOCK.tryLock(60, TimeUnit.SECONDS)) {
+                try {
+                    applyConfiguration0(serialized);
+                } finally {
+                    LOCK.unlock();
+                }
+            } else {
+                throw new ConfigUpdateAlreadyInProgressException("A config update is already imn progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigUpdateAlreadyInProgressException("Interrupted config update");
+        }
+    }
+
+    private void applyConfiguration0(SerializedConfiguration serialized) {
+        final Set<CType> configTypes = serialized.getConfigTypes();
+        for (CType cType : configTypes) {
+            final SecurityDynamicConfiguration<?> cached = configCache.getIfPresent(cType);
+            if (cached != null
+                && (cached.getPrimaryTerm() > serialized.getPrimaryTerm(cType)
+                    || cached.getPrimaryTerm() == serialized.getPrimaryTerm(cType) && cached.getSeqNo() > serialized.getSeqNo(cType))) {
+                LOGGER.debug("Already know a newer version of {} than the one sent, reading it from the index", cType);
+                reloadConfiguration0(configTypes, this.acceptInvalid);
+                return;
+            }
+        }
+
+        final Map<CType, SecurityDynamicConfiguration<?>> decoded;
+        try {
+            decoded = serialized.decode(settings, this.acceptInvalid);
+        } catch (Exception e) {
+            LOGGER.warn("Cannot decode {}, reading it from the index", serialized, e);
+            reloadConfiguration0(configTypes, this.acceptInvalid);
+            return;
+        }
+        configCache.putAll(decoded);
+        configurationVersion.incrementAndGet();
+        notifyAboutChanges(decoded);
+        if (localSnapshot != null) {
+            replaceLocalSnapshot(decoded.keySet());
+            storeLocalSnapshot(serialized);
+        }
+    }
+
     public synchronized void subscribeOnChange(ConfigurationChangeListener listener) {
         configurationChangedListener.add(listener);
     }
@@ -411,6 +604,14 @@ public class ConfigurationRepository {
         }
     }
 
+    /**
+     * Reads the configurations from the index without replacing environment variables, so that they can be sent to
+     * nodes which replace them with their own values.
+     */
+    public SerializedConfiguration getSerializedConfigurationsFromIndex(Collection<CType> configTypes) throws IOException {
+        return SerializedConfiguration.of(getConfigurationsFromIndex(rawLoader, configTypes, this.acceptInvalid));
+    }
+
     /**
      * This retrieves the config directly from the index without caching involved
      * @param configTypes
@@ -429,6 +630,37 @@ public class ConfigurationRepository {
         boolean logComplianceEvent,
         boolean acceptInvalid
     ) {
+        final Map<CType, SecurityDynamicConfiguration<?>> retVal = getConfigurationsFromIndex(cl, configTypes, acceptInvalid);
+
+        if (logComplianceEvent) {
+            CType configurationType = configTypes.iterator().next();
+            logConfigurationRead(configurationType, retVal.get(configurationType));
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Logs a compliance read event for the configuration of the given type this node currently uses, for reads
+     * which are served without reading the configuration from the index.
+     */
+    public void logConfigurationRead(CType configurationType) {
+        logConfigurationRead(configurationType, configCache.getIfPresent(configurationType));
+    }
+
+    private void logConfigurationRead(CType configurationType, SecurityDynamicConfiguration<?> configuration) {
+        if (auditLog.getComplianceConfig() != null && auditLog.getComplianceConfig().isEnabled()) {
+            Map<String, String> fields = new HashMap<String, String>();
+            fields.put(configurationType.toLCString(), Strings.toString(MediaTypeRegistry.JSON, configuration));
+            auditLog.logDocumentRead(this.securityIndex, configurationType.toLCString(), null, fields);
+        }
+    }
+
+    private Map<CType, SecurityDynamicConfiguration<?>> getConfigurationsFromIndex(
+        ConfigurationLoaderSecurity7 loader,
+        Collection<CType> configTypes,
+        boolean acceptInvalid
+    ) {
 
         final ThreadContext threadContext = threadPool.getThreadContext();
         final Map<CType, SecurityDynamicConfiguration<?>> retVal = new HashMap<>();
@@ -446,14 +678,14 @@ public class ConfigurationRepository {
                     LOGGER.debug("security index exists and was created with ES 7 (new layout)");
                 }
                 retVal.putAll(
-                    validate(cl.load(configTypes.toArray(new CType[0]), 10, TimeUnit.SECONDS, acceptInvalid), configTypes.size())
+                    validate(loader.load(configTypes.toArray(new CType[0]), 10, TimeUnit.SECONDS, acceptInvalid), configTypes.size())
                 );
 
             } else {
                 // wait (and use new layout)
                 LOGGER.debug("security index not exists (yet)");
                 retVal.putAll(
-                    validate(cl.load(configTypes.toArray(new CType[0]), 10, TimeUnit.SECONDS, acceptInvalid), configTypes.size())
+                    validate(loader.load(configTypes.toArray(new CType[0]), 10, TimeUnit.SECONDS, acceptInvalid), configTypes.size())
                 );
             }
 
@@ -461,13 +693,6 @@ public class ConfigurationRepository {
             throw new OpenSearchException(e);
         }
 
-        if (logComplianceEvent && auditLog.getComplianceConfig() != null && auditLog.getComplianceConfig().isEnabled()) {
-            CType configurationType = configTypes.iterator().next();
-            Map<String, String> fields = new HashMap<String, String>();
-            fields.put(configurationType.toLCString(), Strings.toString(MediaTypeRegistry.JSON, retVal.get(configurationType)));
-            auditLog.logDocumentRead(this.securityIndex, configurationType.toLCString(), null, fields);
-        }
-
         return retVal;
     }
 
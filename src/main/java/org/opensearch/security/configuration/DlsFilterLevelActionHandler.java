@@ -50,7 +50,6 @@ import org.opensearch.index.mapper.MapperService;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.index.query.TermsQueryBuilder;
 import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.indices.IndicesService;
 import org.opensearch.script.mustache.MultiSearchTemplateAction;
@@ -58,12 +57,10 @@ import org.opensearch.script.mustache.SearchTemplateAction;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.security.privileges.DocumentAllowList;
-import org.opensearch.security.queries.QueryBuilderTraverser;
 import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
 import org.opensearch.security.securityconf.EvaluatedDlsFlsConfig;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.ReflectiveAttributeAccessors;
-import org.opensearch.security.support.SecurityUtils;
 
 public class DlsFilterLevelActionHandler {
     private static final Logger log = LogManager.getLogger(DlsFilterLevelActionHandler.class);
@@ -83,7 +80,7 @@ public class DlsFilterLevelActionHandler {
         ClusterService clusterService,
         IndicesService indicesService,
         IndexNameExpressionResolver resolver,
-        DlsQueryParser dlsQueryParser,
+        DlsQueryComposer dlsQueryComposer,
         ThreadContext threadContext
     ) {
 
@@ -121,7 +118,7 @@ public class DlsFilterLevelActionHandler {
             clusterService,
             indicesService,
             resolver,
-            dlsQueryParser,
+            dlsQueryComposer,
             threadContext
         ).handle();
     }
@@ -133,7 +130,7 @@ public class DlsFilterLevelActionHandler {
     private final Resolved resolved;
     private final boolean requiresIndexScoping;
     private final Client nodeClient;
-    private final DlsQueryParser dlsQueryParser;
+    private final DlsQueryComposer dlsQueryComposer;
     private final ClusterService clusterService;
     private final IndicesService indicesService;
     private final ThreadContext threadContext;
@@ -151,7 +148,7 @@ public class DlsFilterLevelActionHandler {
         ClusterService clusterService,
         IndicesService indicesService,
         IndexNameExpressionResolver resolver,
-        DlsQueryParser dlsQueryParser,
+        DlsQueryComposer dlsQueryComposer,
         ThreadContext threadContext
     ) {
         this.action = action;
@@ -162,7 +159,7 @@ public class DlsFilterLevelActionHandler {
         this.nodeClient = nodeClient;
         this.clusterService = clusterService;
         this.indicesService = indicesService;
-        this.dlsQueryParser = dlsQueryParser;
+        this.dlsQueryComposer = dlsQueryComposer;
         this.threadContext = threadContext;
         this.resolver = resolver;
 
@@ -466,80 +463,19 @@ public class DlsFilterLevelActionHandler {
     }
 
     private boolean modifyQuery(String localClusterAlias) throws IOException {
-        Map<String, Set<String>> filterLevelQueries = evaluatedDlsFlsConfig.getDlsQueriesByIndex();
-
-        BoolQueryBuilder dlsQueryBuilder = QueryBuilders.boolQuery().minimumShouldMatch(1);
-        DocumentAllowList documentAllowlist = new DocumentAllowList();
-
-        int queryCount = 0;
-
-        Set<String> indices = resolved.getAllIndicesResolved(clusterService, resolver);
-
-        for (String index : indices) {
-            String dlsEval = SecurityUtils.evalMap(filterLevelQueries, index);
-
-            String prefixedIndex;
-
-            if (localClusterAlias != null) {
-                prefixedIndex = localClusterAlias + ":" + index;
-            } else {
-                prefixedIndex = index;
-            }
-
-            if (dlsEval == null) {
-                if (requiresIndexScoping) {
-                    // This index has no DLS configured, thus it is unrestricted.
-                    // To allow the index in a complex query, we need to add the query below to let the index pass.
-                    dlsQueryBuilder.should(QueryBuilders.termQuery("_index", prefixedIndex));
-                }
-                continue;
-            }
-
-            Set<String> unparsedDlsQueries = filterLevelQueries.get(dlsEval);
-
-            if (unparsedDlsQueries == null || unparsedDlsQueries.isEmpty()) {
-                if (requiresIndexScoping) {
-                    // This index has no DLS configured, thus it is unrestricted.
-                    // To allow the index in a complex query, we need to add the query below to let the index pass.
-                    dlsQueryBuilder.should(QueryBuilders.termQuery("_index", prefixedIndex));
-                }
-                continue;
-            }
-
-            for (String unparsedDlsQuery : unparsedDlsQueries) {
-                queryCount++;
-
-                QueryBuilder parsedDlsQuery = dlsQueryParser.parse(unparsedDlsQuery);
-
-                if (!requiresIndexScoping) {
-                    dlsQueryBuilder.should(parsedDlsQuery);
-                } else {
-                    // The original request referred to several indices. That's why we have to scope each query to the index it is meant for
-                    dlsQueryBuilder.should(
-                        QueryBuilders.boolQuery().must(QueryBuilders.termQuery("_index", prefixedIndex)).must(parsedDlsQuery)
-                    );
-                }
-
-                Set<QueryBuilder> queryBuilders = QueryBuilderTraverser.findAll(
-                    parsedDlsQuery,
-                    (q) -> (q instanceof TermsQueryBuilder) && ((TermsQueryBuilder) q).termsLookup() != null
-                );
-
-                for (QueryBuilder queryBuilder : queryBuilders) {
-                    TermsQueryBuilder termsQueryBuilder = (TermsQueryBuilder) queryBuilder;
-
-                    documentAllowlist.add(termsQueryBuilder.termsLookup().index(), termsQueryBuilder.termsLookup().id());
-                }
-            }
-
-        }
+        DlsQueryComposer.Composition composition = dlsQueryComposer.compose(
+            evaluatedDlsFlsConfig.getDlsQueriesByIndex(),
+            resolved.getAllIndicesResolved(clusterService, resolver),
+            localClusterAlias,
+            requiresIndexScoping
+        );
 
-        if (queryCount == 0) {
+        if (composition == null) {
             // Return false to indicate that no query manipulation is necessary
             return false;
         } else {
-            this.filterLevelQueryBuilder = dlsQueryBuilder;
-            this.documentAllowlist = documentAllowlist;
+            this.filterLevelQueryBuilder = composition.toQueryBuilder();
+            this.documentAllowlist = composition.getDocumentAllowlist();
             return true;
         }
     }
@@ -20,14 +20,12 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
-import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import org.apache.lucene.codecs.StoredFieldsReader;
@@ -65,47 +63,38 @@ import org.apache.lucene.util.automaton.CompiledAutomaton;
 
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.cluster.service.ClusterService;
-import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.opensearch.common.util.concurrent.ThreadContext;
-import org.opensearch.common.xcontent.XContentHelper;
-import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.common.xcontent.support.XContentMapValues;
-import org.opensearch.core.common.bytes.BytesArray;
-import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.index.shard.ShardId;
-import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.IndexService;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.compliance.ComplianceConfig;
 import org.opensearch.security.compliance.FieldReadCallback;
-import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
-import org.opensearch.security.support.MapUtils;
 import org.opensearch.security.support.SecurityUtils;
 import org.opensearch.security.support.WildcardMatcher;
 
 class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
     private static final String KEYWORD = ".keyword";
-    private static final String[] EMPTY_STRING_ARRAY = new String[0];
     private final Set<String> includesSet;
     private final Set<String> excludesSet;
     private final FieldInfos flsFieldInfos;
     private final boolean flsEnabled;
-    private String[] includes;
-    private String[] excludes;
     private boolean canOptimize = true;
-    private Function<Map<String, ?>, Map<String, Object>> filterFunction;
+    private final FlsSourceFilter sourceFilter;
     private final IndexService indexService;
     private final ThreadContext threadContext;
     private final ClusterService clusterService;
     private final AuditLog auditlog;
     private final MaskedFieldsMap maskedFieldsMap;
+    private final MaskedSourceFilter maskedSourceFilter;
     private final ShardId shardId;
     private final boolean maskFields;
     private final Salt salt;
+    private final MaskedOrdinalsCache maskedOrdinalsCache;
+    private volatile MaskedFieldsMap runtimeMaskedFieldsMap;
 
     private DlsGetEvaluator dge = null;
 
@@ -119,7 +108,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         final AuditLog auditlog,
         final Set<String> maskedFields,
         final ShardId shardId,
-        final Salt salt
+        final Salt salt,
+        final MaskedOrdinalsCache maskedOrdinalsCache
     ) {
         super(delegate);
 
@@ -130,7 +120,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         this.clusterService = clusterService;
         this.auditlog = auditlog;
         this.salt = salt;
+        this.maskedOrdinalsCache = maskedOrdinalsCache;
         this.maskedFieldsMap = MaskedFieldsMap.extractMaskedFields(maskFields, maskedFields, salt);
+        this.maskedSourceFilter = maskFields ? new MaskedSourceFilter(field -> maskedFieldsMap.getMaskedField(field).orElse(null)) : null;
 
         this.shardId = shardId;
         flsEnabled = includesExcludes != null && !includesExcludes.isEmpty();
@@ -182,9 +174,6 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                             fa[i++] = info;
                         }
                     }
-
-                    this.excludes = excludesSet.toArray(EMPTY_STRING_ARRAY);
-
                 } else {
                     WildcardMatcher matcher = WildcardMatcher.from(includesSet);
                     for (final FieldInfo info : infos) {
@@ -192,17 +181,11 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                             fa[i++] = info;
                         }
                     }
-
-                    this.includes = includesSet.toArray(EMPTY_STRING_ARRAY);
-                }
-
-                if (!excludesSet.isEmpty()) {
-                    filterFunction = XContentMapValues.filter(null, excludes);
-                } else {
-                    filterFunction = XContentMapValues.filter(includes, null);
                 }
             }
 
+            this.sourceFilter = new FlsSourceFilter(includesSet, excludesSet);
+
             final FieldInfo[] tmp = new FieldInfo[i];
             System.arraycopy(fa, 0, tmp, 0, i);
             this.flsFieldInfos = new FieldInfos(tmp);
@@ -211,6 +194,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.includesSet = null;
             this.excludesSet = null;
             this.flsFieldInfos = null;
+            this.sourceFilter = null;
         }
 
         try {
@@ -286,26 +270,37 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
     }
 
     private static class MaskedFieldsMap {
+        private final Set<String> maskedFields;
         private final Map<WildcardMatcher, MaskedField> maskedFieldsMap;
+        private final Map<String, Optional<MaskedField>> maskedFieldByName = new ConcurrentHashMap<>();
 
-        private MaskedFieldsMap(Map<WildcardMatcher, MaskedField> maskedFieldsMap) {
+        private MaskedFieldsMap(Set<String> maskedFields, Map<WildcardMatcher, MaskedField> maskedFieldsMap) {
+            this.maskedFields = maskedFields;
             this.maskedFieldsMap = maskedFieldsMap;
         }
 
         public static MaskedFieldsMap extractMaskedFields(boolean maskFields, Set<String> maskedFields, final Salt salt) {
             if (maskFields) {
                 return new MaskedFieldsMap(
+                    maskedFields,
                     maskedFields.stream()
                         .map(mf -> new MaskedField(mf, salt))
                         .collect(ImmutableMap.toImmutableMap(mf -> WildcardMatcher.from(mf.getName()), Function.identity()))
                 );
             } else {
-                return new MaskedFieldsMap(Collections.emptyMap());
+                return new MaskedFieldsMap(Collections.emptySet(), Collections.emptyMap());
             }
         }
 
         public Optional<MaskedField> getMaskedField(String fieldName) {
-            return maskedFieldsMap.entrySet().stream().filter(entry -> entry.getKey().test(fieldName)).map(Map.Entry::getValue).findFirst();
+            final Optional<MaskedField> maskedField = maskedFieldByName.get(fieldName);
+            if (maskedField != null) {
+                return maskedField;
+            }
+            return maskedFieldByName.computeIfAbsent(
+                fieldName,
+                k -> maskedFieldsMap.entrySet().stream().filter(entry -> entry.getKey().test(k)).map(Map.Entry::getValue).findFirst()
+            );
         }
 
         public boolean anyMatch(String fieldName) {
@@ -329,6 +324,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final Set<String> maskedFields;
         private final ShardId shardId;
         private final Salt salt;
+        private final MaskedOrdinalsCache maskedOrdinalsCache;
 
         public DlsFlsSubReaderWrapper(
             final Set<String> includes,
@@ -339,7 +335,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final Set<String> maskedFields,
             ShardId shardId,
-            final Salt salt
+            final Salt salt,
+            final MaskedOrdinalsCache maskedOrdinalsCache
         ) {
             this.includes = includes;
             this.dlsQuery = dlsQuery;
@@ -350,6 +347,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.maskedFields = maskedFields;
             this.shardId = shardId;
             this.salt = salt;
+            this.maskedOrdinalsCache = maskedOrdinalsCache;
         }
 
         @Override
@@ -364,7 +362,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 maskedFields,
                 shardId,
-                salt
+                salt,
+                maskedOrdinalsCache
             );
         }
 
@@ -381,6 +380,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final Set<String> maskedFields;
         private final ShardId shardId;
         private final Salt salt;
+        private final MaskedOrdinalsCache maskedOrdinalsCache;
 
         public DlsFlsDirectoryReader(
             final DirectoryReader in,
@@ -392,7 +392,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final Set<String> maskedFields,
             ShardId shardId,
-            final Salt salt
+            final Salt salt,
+            final MaskedOrdinalsCache maskedOrdinalsCache
         ) throws IOException {
             super(
                 in,
@@ -405,7 +406,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                     auditlog,
                     maskedFields,
                     shardId,
-                    salt
+                    salt,
+                    maskedOrdinalsCache
                 )
             );
             this.includes = includes;
@@ -417,6 +419,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.maskedFields = maskedFields;
             this.shardId = shardId;
             this.salt = salt;
+            this.maskedOrdinalsCache = maskedOrdinalsCache;
         }
 
         @Override
@@ -431,7 +434,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 maskedFields,
                 shardId,
-                salt
+                salt,
+                maskedOrdinalsCache
             );
         }
 
@@ -643,19 +647,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         public void binaryField(final FieldInfo fieldInfo, final byte[] value) throws IOException {
 
             if (fieldInfo.name.equals("_source")) {
-                Map<String, Object> filteredSource = Utils.byteArrayToMutableJsonMap(value);
-
-                if (!canOptimize) {
-                    filteredSource = filterFunction.apply(filteredSource);
-                } else {
-                    if (!excludesSet.isEmpty()) {
-                        filteredSource.keySet().removeAll(excludesSet);
-                    } else {
-                        filteredSource.keySet().retainAll(includesSet);
-                    }
-                }
-
-                delegate.binaryField(fieldInfo, Utils.jsonMapToByteArray(filteredSource));
+                delegate.binaryField(fieldInfo, sourceFilter.filter(value));
             } else {
                 delegate.binaryField(fieldInfo, value);
             }
@@ -715,16 +707,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         public void binaryField(final FieldInfo fieldInfo, final byte[] value) throws IOException {
 
             if (fieldInfo.name.equals("_source")) {
-                final BytesReference bytesRef = new BytesArray(value);
-                final Tuple<XContentType, Map<String, Object>> bytesRefTuple = XContentHelper.convertToMap(
-                    bytesRef,
-                    false,
-                    XContentType.JSON
-                );
-                Map<String, Object> filteredSource = bytesRefTuple.v2();
-                MapUtils.deepTraverseMap(filteredSource, HASH_CB);
-                final XContentBuilder xBuilder = XContentBuilder.builder(bytesRefTuple.v1().xContent()).map(filteredSource);
-                delegate.binaryField(fieldInfo, BytesReference.toBytes(BytesReference.bytes(xBuilder)));
+                delegate.binaryField(fieldInfo, maskedSourceFilter.filter(value));
             } else {
                 delegate.binaryField(fieldInfo, value);
             }
@@ -771,47 +754,6 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         }
     }
 
-    private final MapUtils.Callback HASH_CB = new HashingCallback();
-
-    private class HashingCallback implements MapUtils.Callback {
-        @SuppressWarnings({ "rawtypes", "unchecked" })
-        @Override
-        public void call(String key, Map<String, Object> map, List<String> stack) {
-            Object v = map.get(key);
-
-            if (v instanceof List) {
-                final String field = stack.isEmpty() ? key : Joiner.on('.').join(stack) + "." + key;
-                final MaskedField mf = maskedFieldsMap.getMaskedField(field).orElse(null);
-                if (mf != null) {
-                    final List listField = (List) v;
-                    for (ListIterator iterator = listField.listIterator(); iterator.hasNext();) {
-                        final Object listFieldItem = iterator.next();
-
-                        if (listFieldItem instanceof String) {
-                            iterator.set(mf.mask(((String) listFieldItem)));
-                        } else if (listFieldItem instanceof byte[]) {
-                            iterator.set(mf.mask(((byte[]) listFieldItem)));
-                        }
-                    }
-                }
-            }
-
-            if (v != null && (v instanceof String || v instanceof byte[])) {
-
-                final String field = stack.isEmpty() ? key : Joiner.on('.').join(stack) + "." + key;
-                final MaskedField mf = maskedFieldsMap.getMaskedField(field).orElse(null);
-                if (mf != null) {
-                    if (v instanceof String) {
-                        map.replace(key, mf.mask(((String) v)));
-                    } else {
-                        map.replace(key, mf.mask(((byte[]) v)));
-                    }
-                }
-            }
-        }
-
-    }
-
     @Override
     public Fields getTermVectors(final int docID) throws IOException {
         final Fields fields = in.getTermVectors(docID);
@@ -914,6 +856,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final MaskedField mf = maskedFieldsMap.getMaskedField(handleKeyword(field)).orElse(null);
 
             if (mf != null) {
+                final MaskedOrdinals maskedOrdinals = maskedOrdinalsCache.forSegment(
+                    in.getCoreCacheHelper(),
+                    field,
+                    mf,
+                    sortedDocValues.getValueCount()
+                );
                 return new SortedDocValues() {
 
                     @Override
@@ -923,12 +871,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public TermsEnum termsEnum() throws IOException {
-                        return new MaskedTermsEnum(sortedDocValues.termsEnum(), mf);
+                        return new MaskedTermsEnum(sortedDocValues.termsEnum(), mf, maskedOrdinals);
                     }
 
                     @Override
                     public TermsEnum intersect(CompiledAutomaton automaton) throws IOException {
-                        return new MaskedTermsEnum(sortedDocValues.intersect(automaton), mf);
+                        return new MaskedTermsEnum(sortedDocValues.intersect(automaton), mf, maskedOrdinals);
                     }
 
                     @Override
@@ -963,7 +911,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public BytesRef lookupOrd(int ord) throws IOException {
-                        return mf.mask(sortedDocValues.lookupOrd(ord));
+                        final BytesRef masked = maskedOrdinals.get(ord);
+                        return masked != null ? masked : maskedOrdinals.put(ord, mf.mask(sortedDocValues.lookupOrd(ord)));
                     }
 
                     @Override
@@ -994,6 +943,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             MaskedField mf = maskedFieldsMap.getMaskedField(handleKeyword(field)).orElse(null);
 
             if (mf != null) {
+                final MaskedOrdinals maskedOrdinals = maskedOrdinalsCache.forSegment(
+                    in.getCoreCacheHelper(),
+                    field,
+                    mf,
+                    sortedSetDocValues.getValueCount()
+                );
                 return new SortedSetDocValues() {
 
                     @Override
@@ -1003,12 +958,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public TermsEnum termsEnum() throws IOException {
-                        return new MaskedTermsEnum(sortedSetDocValues.termsEnum(), mf);
+                        return new MaskedTermsEnum(sortedSetDocValues.termsEnum(), mf, maskedOrdinals);
                     }
 
                     @Override
                     public TermsEnum intersect(CompiledAutomaton automaton) throws IOException {
-                        return new MaskedTermsEnum(sortedSetDocValues.intersect(automaton), mf);
+                        return new MaskedTermsEnum(sortedSetDocValues.intersect(automaton), mf, maskedOrdinals);
                     }
 
                     @Override
@@ -1048,7 +1003,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public BytesRef lookupOrd(long ord) throws IOException {
-                        return mf.mask(sortedSetDocValues.lookupOrd(ord));
+                        final BytesRef masked = maskedOrdinals.get(ord);
+                        return masked != null ? masked : maskedOrdinals.put(ord, mf.mask(sortedSetDocValues.lookupOrd(ord)));
                     }
 
                     @Override
@@ -1210,7 +1166,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         if (maskedEval != null) {
             final Set<String> mf = maskedFieldsMap.get(maskedEval);
             if (mf != null && !mf.isEmpty()) {
-                return MaskedFieldsMap.extractMaskedFields(true, mf, salt);
+                // reuse the compiled masked fields as long as the masked fields of the request do not change
+                final MaskedFieldsMap cached = runtimeMaskedFieldsMap;
+                if (cached != null && cached.maskedFields.equals(mf)) {
+                    return cached;
+                }
+                return runtimeMaskedFieldsMap = MaskedFieldsMap.extractMaskedFields(true, mf, salt);
             }
 
         }
@@ -1229,11 +1190,13 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
         private final TermsEnum delegate;
         private final MaskedField mf;
+        private final MaskedOrdinals maskedOrdinals;
 
-        public MaskedTermsEnum(TermsEnum delegate, MaskedField mf) {
+        public MaskedTermsEnum(TermsEnum delegate, MaskedField mf, MaskedOrdinals maskedOrdinals) {
             super();
             this.delegate = delegate;
             this.mf = mf;
+            this.maskedOrdinals = maskedOrdinals;
         }
 
         @Override
@@ -1268,7 +1231,13 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
         @Override
         public BytesRef term() throws IOException {
-            return mf.mask(delegate.term());
+            final BytesRef term = delegate.term();
+            if (term == null) {
+                return null;
+            }
+            final long ord = delegate.ord();
+            final BytesRef masked = maskedOrdinals.get(ord);
+            return masked != null ? masked : maskedOrdinals.put(ord, mf.mask(term));
         }
 
         @Override
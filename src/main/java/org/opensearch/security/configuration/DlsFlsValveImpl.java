@@ -15,7 +15,9 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -26,9 +28,9 @@ import java.util.stream.StreamSupport;
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
-import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.util.BytesRef;
 
 import org.opensearch.OpenSearchException;
@@ -50,9 +52,7 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
-import org.opensearch.core.xcontent.MediaTypeRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.ParsedQuery;
 import org.opensearch.search.DocValueFormat;
@@ -74,22 +74,31 @@ import org.opensearch.search.query.QuerySearchResult;
 import org.opensearch.security.OpenSearchSecurityPlugin;
 import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
 import org.opensearch.security.securityconf.EvaluatedDlsFlsConfig;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.Base64Helper;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
+import org.opensearch.security.support.RequestCacheKeyExtBuilder;
+import org.opensearch.security.support.RestrictionDigests;
 import org.opensearch.security.support.SecurityUtils;
+import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.threadpool.ThreadPool;
 
+import org.greenrobot.eventbus.Subscribe;
+
 public class DlsFlsValveImpl implements DlsFlsRequestValve {
 
     private static final String MAP_EXECUTION_HINT = "map";
+    private static final String KEYWORD = ".keyword";
     private static final Logger log = LogManager.getLogger(DlsFlsValveImpl.class);
 
     private final Client nodeClient;
     private final ClusterService clusterService;
     private final ThreadContext threadContext;
     private final Mode mode;
-    private final DlsQueryParser dlsQueryParser;
+    private final DlsQueries initialDlsQueries;
+    private final SecuritySnapshot.Key<DlsQueries> dlsQueriesKey = new SecuritySnapshot.Key<>("dls_queries");
+    private volatile SecuritySnapshot latestSnapshot;
     private final IndexNameExpressionResolver resolver;
 
     public DlsFlsValveImpl(
@@ -106,7 +115,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         this.resolver = resolver;
         this.threadContext = threadContext;
         this.mode = Mode.get(settings);
-        this.dlsQueryParser = new DlsQueryParser(namedXContentRegistry);
+        this.initialDlsQueries = new DlsQueries(new DlsQueryParser(namedXContentRegistry));
     }
 
     /**
@@ -149,6 +158,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         }
 
         EvaluatedDlsFlsConfig filteredDlsFlsConfig = evaluatedDlsFlsConfig.filter(resolved);
+        final DlsQueries dlsQueries = dlsQueries();
 
         boolean doFilterLevelDls;
 
@@ -163,7 +173,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                 doFilterLevelDls = true;
                 log.debug("Doing filter-level DLS due to header");
             } else {
-                doFilterLevelDls = dlsQueryParser.containsTermLookupQuery(filteredDlsFlsConfig.getAllQueries());
+                doFilterLevelDls = dlsQueries.parser.containsTermLookupQuery(filteredDlsFlsConfig.getAllQueries());
 
                 if (doFilterLevelDls) {
                     setDlsModeHeader(Mode.FILTER_LEVEL);
@@ -192,66 +202,24 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
 
             SearchRequest searchRequest = ((SearchRequest) request);
 
-            // When we encounter a terms or sampler aggregation with masked fields activated we forcibly
-            // need to switch off global ordinals because field masking can break ordering
+            // When we encounter a terms or sampler aggregation on a masked field we forcibly
+            // need to switch off global ordinals because field masking can break ordering.
+            // Aggregations on fields which are not masked keep using global ordinals.
             // CS-SUPPRESS-SINGLE: RegexpSingleline Ignore term inside of url
             // https://www.elastic.co/guide/en/elasticsearch/reference/master/eager-global-ordinals.html#_avoiding_global_ordinal_loading
             // CS-ENFORCE-SINGLE
-            if (evaluatedDlsFlsConfig.hasFieldMasking()) {
-
-                if (searchRequest.source() != null && searchRequest.source().aggregations() != null) {
-                    for (AggregationBuilder aggregationBuilder : searchRequest.source().aggregations().getAggregatorFactories()) {
-                        if (aggregationBuilder instanceof TermsAggregationBuilder) {
-                            ((TermsAggregationBuilder) aggregationBuilder).executionHint(MAP_EXECUTION_HINT);
-                        }
-
-                        if (aggregationBuilder instanceof SignificantTermsAggregationBuilder) {
-                            ((SignificantTermsAggregationBuilder) aggregationBuilder).executionHint(MAP_EXECUTION_HINT);
-                        }
-
-                        if (aggregationBuilder instanceof DiversifiedAggregationBuilder) {
-                            ((DiversifiedAggregationBuilder) aggregationBuilder).executionHint(MAP_EXECUTION_HINT);
-                        }
-                    }
-                }
+            if (evaluatedDlsFlsConfig.hasFieldMasking()
+                && searchRequest.source() != null
+                && searchRequest.source().aggregations() != null) {
+                forceMapExecutionHint(
+                    searchRequest.source().aggregations().getAggregatorFactories(),
+                    maskedFieldMatcher(evaluatedDlsFlsConfig.getFieldMaskingByIndex())
+                );
             }
 
-            if (!evaluatedDlsFlsConfig.hasFls() && !evaluatedDlsFlsConfig.hasDls() && searchRequest.source().aggregations() != null) {
-
-                boolean cacheable = true;
-
-                for (AggregationBuilder af : searchRequest.source().aggregations().getAggregatorFactories()) {
-
-                    if (!af.getType().equals("cardinality") && !af.getType().equals("count")) {
-                        cacheable = false;
-                        continue;
-                    }
-
-                    StringBuilder sb = new StringBuilder();
-
-                    if (searchRequest.source() != null) {
-                        sb.append(Strings.toString(MediaTypeRegistry.JSON, searchRequest.source()) + System.lineSeparator());
-                    }
-
-                    sb.append(Strings.toString(MediaTypeRegistry.JSON, af) + System.lineSeparator());
-
-                    LogManager.getLogger("debuglogger").error(sb.toString());
-
-                }
-
-                if (!cacheable) {
-                    searchRequest.requestCache(Boolean.FALSE);
-                } else {
-                    LogManager.getLogger("debuglogger")
-                        .error(
-                            "Shard requestcache enabled for "
-                                + (searchRequest.source() == null
-                                    ? "<NULL>"
-                                    : Strings.toString(MediaTypeRegistry.JSON, searchRequest.source()))
-                        );
-                }
-
-            } else {
+            // The restrictions are applied at the shard, so they become part of the request cache key
+            // instead of bypassing the shard request cache
+            if (!addRequestCacheKey(searchRequest, evaluatedDlsFlsConfig)) {
                 searchRequest.requestCache(Boolean.FALSE);
             }
         }
@@ -333,7 +301,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                 clusterService,
                 OpenSearchSecurityPlugin.GuiceHolder.getIndicesService(),
                 resolver,
-                dlsQueryParser,
+                dlsQueries.composer,
                 threadContext
             );
         } else {
@@ -341,6 +309,25 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         }
     }
 
+    @Subscribe
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        latestSnapshot = snapshot;
+        // DLS queries are cached per configuration snapshot
+        snapshot.derived(dlsQueriesKey, this::buildDlsQueries);
+    }
+
+    private DlsQueries buildDlsQueries(final SecuritySnapshot snapshot) {
+        return new DlsQueries(initialDlsQueries.parser.forConfigVersion(snapshot));
+    }
+
+    /**
+     * @return the DLS query parser and composer of the configuration snapshot of the current request
+     */
+    private DlsQueries dlsQueries() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null ? snapshot.derived(dlsQueriesKey, this::buildDlsQueries) : initialDlsQueries;
+    }
+
     @Override
     public void handleSearchContext(SearchContext context, ThreadPool threadPool, NamedXContentRegistry namedXContentRegistry) {
         try {
@@ -363,12 +350,20 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                 final Set<String> unparsedDlsQueries = queries.get(dlsEval);
 
                 if (unparsedDlsQueries != null && !unparsedDlsQueries.isEmpty()) {
-                    BooleanQuery.Builder queryBuilder = dlsQueryParser.parse(
+                    final BooleanQuery dlsQueries = dlsQueries().parser.parse(
                         unparsedDlsQueries,
-                        context.getQueryShardContext(),
-                        (q) -> new ConstantScoreQuery(q)
+                        context.indexShard().shardId(),
+                        context.indexShard().indexSettings().getIndexMetadata().getMappingVersion(),
+                        context::getQueryShardContext,
+                        true
                     );
 
+                    BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
+                    queryBuilder.setMinimumNumberShouldMatch(dlsQueries.getMinimumNumberShouldMatch());
+                    for (BooleanClause clause : dlsQueries) {
+                        queryBuilder.add(clause);
+                    }
+
                     queryBuilder.add(context.parsedQuery().query(), Occur.MUST);
 
                     ParsedQuery dlsQuery = new ParsedQuery(queryBuilder.build());
@@ -428,6 +423,84 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         return buckets;
     }
 
+    private static void forceMapExecutionHint(Collection<AggregationBuilder> aggregationBuilders, WildcardMatcher maskedFields) {
+        for (AggregationBuilder aggregationBuilder : aggregationBuilders) {
+            if (aggregationBuilder instanceof TermsAggregationBuilder) {
+                final TermsAggregationBuilder termsAggregationBuilder = (TermsAggregationBuilder) aggregationBuilder;
+                if (isMaskedField(termsAggregationBuilder.field(), maskedFields)) {
+                    termsAggregationBuilder.executionHint(MAP_EXECUTION_HINT);
+                }
+            }
+
+            if (aggregationBuilder instanceof SignificantTermsAggregationBuilder) {
+                final SignificantTermsAggregationBuilder significantTermsAggregationBuilder =
+                    (SignificantTermsAggregationBuilder) aggregationBuilder;
+                if (isMaskedField(significantTermsAggregationBuilder.field(), maskedFields)) {
+                    significantTermsAggregationBuilder.executionHint(MAP_EXECUTION_HINT);
+                }
+            }
+
+            if (aggregationBuilder instanceof DiversifiedAggregationBuilder) {
+                final DiversifiedAggregationBuilder diversifiedAggregationBuilder = (DiversifiedAggregationBuilder) aggregationBuilder;
+                if (isMaskedField(diversifiedAggregationBuilder.field(), maskedFields)) {
+                    diversifiedAggregationBuilder.executionHint(MAP_EXECUTION_HINT);
+                }
+            }
+
+            forceMapExecutionHint(aggregationBuilder.getSubAggregations(), maskedFields);
+        }
+    }
+
+    private static boolean isMaskedField(String field, WildcardMatcher maskedFields) {
+        if (field == null) {
+            // the values of a script can not be attributed to a field
+            return true;
+        }
+        return maskedFields.test(field)
+            || (field.endsWith(KEYWORD) && maskedFields.test(field.substring(0, field.length() - KEYWORD.length())));
+    }
+
+    private static WildcardMatcher maskedFieldMatcher(Map<String, Set<String>> maskedFieldsByIndex) {
+        final Set<String> names = new HashSet<>();
+        for (Set<String> maskedFields : maskedFieldsByIndex.values()) {
+            for (String maskedField : maskedFields) {
+                // masked fields are given as name::algorithm or name::regex::replacement
+                final int separator = maskedField.indexOf("::");
+                names.add(separator < 0 ? maskedField : maskedField.substring(0, separator));
+            }
+        }
+        return WildcardMatcher.from(names);
+    }
+
+    private boolean addRequestCacheKey(SearchRequest searchRequest, EvaluatedDlsFlsConfig dlsFls) {
+        if (Boolean.FALSE.equals(searchRequest.requestCache())) {
+            return true;
+        }
+        boolean added = true;
+        if (!dlsFls.getDlsQueriesByIndex().isEmpty()) {
+            added &= RequestCacheKeyExtBuilder.addTo(
+                clusterService,
+                searchRequest,
+                "dls:" + RestrictionDigests.digest(dlsFls.getDlsQueriesByIndex())
+            );
+        }
+        if (!dlsFls.getFlsByIndex().isEmpty()) {
+            added &= RequestCacheKeyExtBuilder.addTo(
+                clusterService,
+                searchRequest,
+                "fls:" + RestrictionDigests.digest(dlsFls.getFlsByIndex())
+            );
+        }
+        if (!dlsFls.getFieldMaskingByIndex().isEmpty()) {
+            added &= RequestCacheKeyExtBuilder.addTo(
+                clusterService,
+                searchRequest,
+                "masked_fields:" + RestrictionDigests.digest(dlsFls.getFieldMaskingByIndex())
+            );
+        }
+        return added;
+    }
+
     private void setDlsHeaders(EvaluatedDlsFlsConfig dlsFls, ActionRequest request) {
         if (!dlsFls.getDlsQueriesByIndex().isEmpty()) {
             Map<String, Set<String>> dlsQueries = dlsFls.getDlsQueriesByIndex();
@@ -717,4 +790,15 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
             }
         }
     }
+
+    private static final class DlsQueries {
+
+        private final DlsQueryParser parser;
+        private final DlsQueryComposer composer;
+
+        private DlsQueries(final DlsQueryParser parser) {
+            this.parser = parser;
+            this.composer = new DlsQueryComposer(parser);
+        }
+    }
 }
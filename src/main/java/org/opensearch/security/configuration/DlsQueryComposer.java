@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.security.privileges.DocumentAllowList;
+import org.opensearch.security.queries.QueryBuilderTraverser;
+import org.opensearch.security.support.RestrictionDigests;
+import org.opensearch.security.support.SecurityUtils;
+
+/**
+ * Composes the filter level DLS query of a request which spans several indices.
+ * <p>
+ * Indices are grouped by their set of DLS queries, so that each query is added once per group and
+ * scoped to the indices of the group with a single {@code terms} query on {@code _index}. Indices
+ * without DLS are allowed by one {@code terms} query on {@code _index} as well.
+ * <p>
+ * Compositions are cached by a digest of the DLS queries of the user and a digest of the resolved
+ * indices, as wildcard searches of the same user over the same indices compose the same query.
+ */
+final class DlsQueryComposer {
+
+    private final DlsQueryParser dlsQueryParser;
+    private final Cache<String, Composition> compositionCache = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .expireAfterWrite(1, TimeUnit.HOURS)
+        .build();
+
+    DlsQueryComposer(DlsQueryParser dlsQueryParser) {
+        this.dlsQueryParser = dlsQueryParser;
+    }
+
+    /**
+     * @param queriesByIndex the unparsed DLS queries by index pattern
+     * @param indices the resolved indices of the request
+     * @param localClusterAlias the alias the indices are prefixed with, null for none
+     * @param requiresIndexScoping whether the queries must be scoped to the indices they are meant for
+     * @return the composition or null if none of the indices has DLS queries
+     */
+    Composition compose(
+        Map<String, Set<String>> queriesByIndex,
+        Set<String> indices,
+        String localClusterAlias,
+        boolean requiresIndexScoping
+    ) {
+        final String key = RestrictionDigests.digest(queriesByIndex)
+            + '/'
+            + RestrictionDigests.digest(indices)
+            + '/'
+            + localClusterAlias
+            + '/'
+            + requiresIndexScoping;
+
+        try {
+            final Composition composition = compositionCache.get(
+                key,
+                () -> doCompose(queriesByIndex, indices, localClusterAlias, requiresIndexScoping)
+            );
+            return composition.queryCount == 0 ? null : composition;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while composing DLS query", e.getCause());
+        }
+    }
+
+    private Composition doCompose(
+        Map<String, Set<String>> queriesByIndex,
+        Set<String> indices,
+        String localClusterAlias,
+        boolean requiresIndexScoping
+    ) {
+        final Set<String> unrestrictedIndices = new TreeSet<>();
+        final Map<Set<String>, Set<String>> indicesByQueries = new LinkedHashMap<>();
+
+        for (String index : indices) {
+            final String dlsEval = SecurityUtils.evalMap(queriesByIndex, index);
+            final Set<String> unparsedDlsQueries = dlsEval != null ? queriesByIndex.get(dlsEval) : null;
+            final String prefixedIndex = localClusterAlias != null ? localClusterAlias + ":" + index : index;
+
+            if (unparsedDlsQueries == null || unparsedDlsQueries.isEmpty()) {
+                // This index has no DLS configured, thus it is unrestricted.
+                unrestrictedIndices.add(prefixedIndex);
+            } else {
+                indicesByQueries.computeIfAbsent(unparsedDlsQueries, k -> new TreeSet<>()).add(prefixedIndex);
+            }
+        }
+
+        final List<QueryBuilder> shouldClauses = new ArrayList<>();
+        final DocumentAllowList documentAllowlist = new DocumentAllowList();
+        int queryCount = 0;
+
+        if (requiresIndexScoping && !unrestrictedIndices.isEmpty()) {
+            // To allow the unrestricted indices in a complex query, we need to add the query below to let them pass.
+            shouldClauses.add(QueryBuilders.termsQuery("_index", unrestrictedIndices));
+        }
+
+        for (Map.Entry<Set<String>, Set<String>> entry : indicesByQueries.entrySet()) {
+            final QueryBuilder indexScope = requiresIndexScoping ? QueryBuilders.termsQuery("_index", entry.getValue()) : null;
+
+            for (String unparsedDlsQuery : entry.getKey()) {
+                queryCount++;
+
+                final QueryBuilder parsedDlsQuery = dlsQueryParser.parse(unparsedDlsQuery);
+
+                if (indexScope == null) {
+                    shouldClauses.add(parsedDlsQuery);
+                } else {
+                    // The original request referred to several indices. That's why we have to scope each query to the indices it is
+                    // meant for
+                    shouldClauses.add(QueryBuilders.boolQuery().must(indexScope).must(parsedDlsQuery));
+                }
+
+                for (QueryBuilder queryBuilder : QueryBuilderTraverser.findAll(
+                    parsedDlsQuery,
+                    (q) -> (q instanceof TermsQueryBuilder) && ((TermsQueryBuilder) q).termsLookup() != null
+                )) {
+                    final TermsQueryBuilder termsQueryBuilder = (TermsQueryBuilder) queryBuilder;
+                    documentAllowlist.add(termsQueryBuilder.termsLookup().index(), termsQueryBuilder.termsLookup().id());
+                }
+            }
+        }
+
+        return new Composition(Collections.unmodifiableList(shouldClauses), documentAllowlist, queryCount);
+    }
+
+    /**
+     * A composed DLS query. Compositions are shared between requests and must not be modified.
+     */
+    static final class Composition {
+        private final List<QueryBuilder> shouldClauses;
+        private final DocumentAllowList documentAllowlist;
+        private final int queryCount;
+
+        private Composition(List<QueryBuilder> shouldClauses, DocumentAllowList documentAllowlist, int queryCount) {
+            this.shouldClauses = shouldClauses;
+            this.documentAllowlist = documentAllowlist;
+            this.queryCount = queryCount;
+        }
+
+        /**
+         * @return a new query builder, which may be modified by the caller
+         */
+        BoolQueryBuilder toQueryBuilder() {
+            final BoolQueryBuilder dlsQueryBuilder = QueryBuilders.boolQuery().minimumShouldMatch(1);
+            for (QueryBuilder shouldClause : shouldClauses) {
+                dlsQueryBuilder.should(shouldClause);
+            }
+            return dlsQueryBuilder;
+        }
+
+        DocumentAllowList getDocumentAllowlist() {
+            return documentAllowlist;
+        }
+    }
+}
@@ -11,11 +11,13 @@
 
 package org.opensearch.security.configuration;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -24,6 +26,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
@@ -31,6 +34,7 @@ import org.apache.lucene.search.join.BitSetProducer;
 import org.apache.lucene.search.join.ToChildBlockJoinQuery;
 
 import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.xcontent.DeprecationHandler;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
@@ -55,19 +59,43 @@ public final class DlsQueryParser {
             .build();
     }
 
-    private static Cache<String, QueryBuilder> parsedQueryCache = CacheBuilder.newBuilder()
+    private final Cache<String, QueryBuilder> parsedQueryCache = CacheBuilder.newBuilder()
         .maximumSize(10000)
         .expireAfterWrite(4, TimeUnit.HOURS)
         .build();
-    private static Cache<String, Boolean> queryContainsTlqCache = CacheBuilder.newBuilder()
+    private final Cache<String, Boolean> queryContainsTlqCache = CacheBuilder.newBuilder()
         .maximumSize(10000)
         .expireAfterWrite(4, TimeUnit.HOURS)
         .build();
+    // scoped to the configuration version like all caches of a parser, see forConfigVersion(); entries of shards
+    // which are no longer searched, e.g. because they were relocated or their index was deleted, expire
+    private final Cache<ShardQueryKey, BooleanQuery> shardQueryCache = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
 
     private final NamedXContentRegistry namedXContentRegistry;
+    private final Object configVersion;
 
     public DlsQueryParser(NamedXContentRegistry namedXContentRegistry) {
+        this(namedXContentRegistry, null);
+    }
+
+    private DlsQueryParser(NamedXContentRegistry namedXContentRegistry, Object configVersion) {
         this.namedXContentRegistry = namedXContentRegistry;
+        this.configVersion = configVersion;
+    }
+
+    /**
+     * Returns a parser for the given version of the security configuration. All caches of a parser
+     * are scoped to the configuration version it was created for, so a configuration change starts
+     * over with empty caches.
+     *
+     * @param configVersion an object which is replaced whenever the security configuration changes
+     * @return this parser if it was created for the given version, otherwise a new parser
+     */
+    public DlsQueryParser forConfigVersion(Object configVersion) {
+        return this.configVersion == configVersion ? this : new DlsQueryParser(namedXContentRegistry, configVersion);
     }
 
     public BooleanQuery.Builder parse(Set<String> unparsedDlsQueries, QueryShardContext queryShardContext) {
@@ -107,6 +135,40 @@ public final class DlsQueryParser {
         return dlsQueryBuilder;
     }
 
+    /**
+     * Returns the same query as {@link #parse(Set, QueryShardContext, Function)} as a built query, cached per shard
+     * and mapping version of the index. Queries which depend on per request state, like the current time, are not
+     * cached.
+     *
+     * @param constantScoreClauses whether each DLS query is wrapped into a {@link ConstantScoreQuery}
+     * @return the query or null if there are no DLS queries
+     */
+    public BooleanQuery parse(
+        Set<String> unparsedDlsQueries,
+        ShardId shardId,
+        long mappingVersion,
+        Supplier<QueryShardContext> queryShardContextSupplier,
+        boolean constantScoreClauses
+    ) {
+        if (unparsedDlsQueries == null || unparsedDlsQueries.isEmpty()) {
+            return null;
+        }
+
+        final ShardQueryKey key = new ShardQueryKey(shardId, mappingVersion, unparsedDlsQueries, constantScoreClauses);
+        final BooleanQuery cached = shardQueryCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final QueryShardContext queryShardContext = queryShardContextSupplier.get();
+        final BooleanQuery query = parse(unparsedDlsQueries, queryShardContext, constantScoreClauses ? ConstantScoreQuery::new : null)
+            .build();
+        if (queryShardContext.isCacheable()) {
+            shardQueryCache.put(key, query);
+        }
+        return query;
+    }
+
     private static void handleNested(
         final QueryShardContext queryShardContext,
         final BooleanQuery.Builder dlsQueryBuilder,
@@ -171,4 +233,33 @@ public final class DlsQueryParser {
         }
     }
 
+    private static final class ShardQueryKey {
+        private final ShardId shardId;
+        private final long mappingVersion;
+        private final Set<String> unparsedDlsQueries;
+        private final boolean constantScoreClauses;
+
+        ShardQueryKey(ShardId shardId, long mappingVersion, Set<String> unparsedDlsQueries, boolean constantScoreClauses) {
+            this.shardId = shardId;
+            this.mappingVersion = mappingVersion;
+            this.unparsedDlsQueries = unparsedDlsQueries;
+            this.constantScoreClauses = constantScoreClauses;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shardId, mappingVersion, unparsedDlsQueries, constantScoreClauses);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ShardQueryKey)) return false;
+            final ShardQueryKey other = (ShardQueryKey) obj;
+            return mappingVersion == other.mappingVersion
+                && constantScoreClauses == other.constantScoreClauses
+                && shardId.equals(other.shardId)
+                && unparsedDlsQueries.equals(other.unparsedDlsQueries);
+        }
+    }
 }
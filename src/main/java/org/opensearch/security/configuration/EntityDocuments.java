@@ -0,0 +1,448 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.mapper.SeqNoFieldMapper;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.SecurityUtils;
+
+/**
+ * Opt-in storage layout which keeps the entities of a configuration type in one document each.
+ * <p>
+ * The document of a configuration type, as uploaded by securityadmin, stays the base of the configuration.
+ * Changes of single entities are written as documents with the id {@code ctype#seqno.primaryterm#name}, which
+ * refer to the sequence number and primary term of the base document they apply to. Deleted entities are
+ * written as tombstones. A new base document thus replaces all entity documents written before it, they are
+ * deleted once the REST API rewrote the base document.
+ * <p>
+ * The layout must be enabled on all nodes or on none, nodes which did not enable it neither read nor write
+ * entity documents and their writes replace the base documents. The first write of entity documents records
+ * the layout in the security index, until then nodes which enabled it look for the record on every load.
+ * Entity documents are written with the sequence number and primary term they were loaded with, or are created
+ * if they did not exist yet, so that concurrent changes of the same entity conflict. A change of the base document does not conflict with
+ * entity documents written at the same time, these are lost.
+ * <p>
+ * Entity documents are read in the order of their sequence numbers. After the first load of a
+ * configuration type only the entity documents written since the last load are fetched, and the base
+ * document is not parsed again as long as it did not change.
+ */
+public final class EntityDocuments {
+
+    /**
+     * The configuration types whose entities can be stored in documents of their own.
+     */
+    public static final Set<CType> ENTITY_TYPES = EnumSet.of(
+        CType.INTERNALUSERS,
+        CType.ROLES,
+        CType.ROLESMAPPING,
+        CType.ACTIONGROUPS,
+        CType.TENANTS
+    );
+
+    static final String TYPE_FIELD = "entity_type";
+    static final String NAME_FIELD = "entity_name";
+    static final String BASE_SEQ_NO_FIELD = "base_seq_no";
+    static final String BASE_PRIMARY_TERM_FIELD = "base_primary_term";
+    static final String DELETED_FIELD = "deleted";
+    static final String ENTITY_FIELD = "entity";
+
+    /**
+     * The id of the document which records that the security index uses entity documents.
+     */
+    public static final String LAYOUT_ID = "entity_documents";
+
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * The number of entity documents of a base document after which the REST API rewrites the base document
+     */
+    static final int COMPACT_AFTER = PAGE_SIZE;
+    private static final Logger LOGGER = LogManager.getLogger(EntityDocuments.class);
+
+    private final Client client;
+    private final String securityIndex;
+    private final Settings settings;
+    private final Map<CType, Applied> applied = new ConcurrentHashMap<>();
+    private volatile boolean layoutRecorded;
+
+    EntityDocuments(Client client, String securityIndex, Settings settings) {
+        this.client = client;
+        this.securityIndex = securityIndex;
+        this.settings = settings;
+    }
+
+    public static boolean isEnabled(Settings settings) {
+        return settings.getAsBoolean(ConfigConstants.SECURITY_CONFIG_ENTITY_DOCUMENTS_ENABLED, false);
+    }
+
+    public static String id(CType cType, SecurityDynamicConfiguration<?> base, String name) {
+        return cType.toLCString() + "#" + base.getSeqNo() + "." + base.getPrimaryTerm() + "#" + name;
+    }
+
+    /**
+     * Creates the requests which write the entities which differ between the configuration as it was loaded
+     * and the changed configuration.
+     *
+     * @param loaded the entities of the configuration as it was loaded from the index
+     * @param next the changed configuration, loaded from the base document with the sequence number it refers to
+     * @return the bulk request, which has no requests if no entity changed
+     */
+    public static BulkRequest changedEntities(String index, CType cType, Loaded loaded, SecurityDynamicConfiguration<?> next)
+        throws IOException {
+        final SecurityDynamicConfiguration<?> previous = loaded.config.deepClone();
+        previous.removeStatic();
+        next.removeStatic();
+
+        final List<IndexRequest> requests = new ArrayList<>();
+        for (Map.Entry<String, ?> entry : next.getCEntries().entrySet()) {
+            final String json = DefaultObjectMapper.writeValueAsString(entry.getValue(), false);
+            final Object previousEntity = previous.getCEntry(entry.getKey());
+            if (previousEntity == null || !json.equals(DefaultObjectMapper.writeValueAsString(previousEntity, false))) {
+                requests.add(entityRequest(index, cType, entry.getKey(), next, json, loaded.versions.get(entry.getKey())));
+            }
+        }
+        for (String name : previous.getCEntries().keySet()) {
+            if (!next.exists(name)) {
+                requests.add(entityRequest(index, cType, name, next, null, loaded.versions.get(name)));
+            }
+        }
+
+        final BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+        if (!requests.isEmpty() && !loaded.layoutRecorded) {
+            // recorded before the entity documents, so that no entity document is written without it
+            bulkRequest.add(new IndexRequest(index).id(LAYOUT_ID).source(Map.of("layout", LAYOUT_ID)));
+        }
+        requests.forEach(bulkRequest::add);
+        return bulkRequest;
+    }
+
+    private static IndexRequest entityRequest(
+        String index,
+        CType cType,
+        String name,
+        SecurityDynamicConfiguration<?> base,
+        String json,
+        Version version
+    ) throws IOException {
+        final XContentBuilder source = XContentFactory.jsonBuilder()
+            .startObject()
+            .field(TYPE_FIELD, cType.toLCString())
+            .field(NAME_FIELD, name)
+            .field(BASE_SEQ_NO_FIELD, base.getSeqNo())
+            .field(BASE_PRIMARY_TERM_FIELD, base.getPrimaryTerm())
+            .field(DELETED_FIELD, json == null);
+        if (json != null) {
+            source.field(ENTITY_FIELD, json.getBytes(StandardCharsets.UTF_8));
+        }
+        final IndexRequest request = new IndexRequest(index).id(id(cType, base, name)).source(source.endObject());
+        if (version == null) {
+            return request.opType(DocWriteRequest.OpType.CREATE);
+        }
+        return request.setIfSeqNo(version.seqNo).setIfPrimaryTerm(version.primaryTerm);
+    }
+
+    /**
+     * Deletes the entity documents of a configuration type which do not refer to the given base document, after
+     * the base document was rewritten with all entities.
+     */
+    public static void deleteObsolete(Client client, String index, CType cType, long baseSeqNo, long basePrimaryTerm) {
+        final SearchSourceBuilder source = new SearchSourceBuilder().query(
+            QueryBuilders.boolQuery()
+                .filter(QueryBuilders.matchQuery(TYPE_FIELD, cType.toLCString()))
+                .mustNot(
+                    QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termQuery(BASE_SEQ_NO_FIELD, baseSeqNo))
+                        .filter(QueryBuilders.termQuery(BASE_PRIMARY_TERM_FIELD, basePrimaryTerm))
+                )
+        ).size(PAGE_SIZE).seqNoAndPrimaryTerm(true).fetchSource(false);
+        client.search(new SearchRequest(index).source(source), new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                final SearchHit[] hits = response.getHits().getHits();
+                if (hits.length == 0) {
+                    return;
+                }
+                final BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+                for (SearchHit hit : hits) {
+                    bulkRequest.add(
+                        new DeleteRequest(index, hit.getId()).setIfSeqNo(hit.getSeqNo()).setIfPrimaryTerm(hit.getPrimaryTerm())
+                    );
+                }
+                client.bulk(bulkRequest, new ActionListener<BulkResponse>() {
+                    @Override
+                    public void onResponse(BulkResponse bulkResponse) {
+                        if (bulkResponse.hasFailures()) {
+                            LOGGER.warn("Cannot delete obsolete entity documents of {}: {}", cType, bulkResponse.buildFailureMessage());
+                        } else if (hits.length == PAGE_SIZE) {
+                            deleteObsolete(client, index, cType, baseSeqNo, basePrimaryTerm);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        LOGGER.warn("Cannot delete obsolete entity documents of {}", cType, e);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOGGER.warn("Cannot find obsolete entity documents of {}", cType, e);
+            }
+        });
+    }
+
+    /**
+     * @return the last configuration of the type if its base document has the given sequence number and primary term
+     */
+    SecurityDynamicConfiguration<?> unchangedBase(CType cType, long seqNo, long primaryTerm) {
+        final Applied last = applied.get(cType);
+        if (last != null && last.config.getSeqNo() == seqNo && last.config.getPrimaryTerm() == primaryTerm) {
+            return last.config.deepClone();
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the security index uses entity documents, or this node is about to write the first ones
+     */
+    private boolean isActive(long timeout, TimeUnit timeUnit) {
+        if (!isEnabled(settings)) {
+            return false;
+        }
+        if (layoutRecorded) {
+            return true;
+        }
+        try {
+            layoutRecorded = client.get(new GetRequest(securityIndex, LAYOUT_ID)).actionGet(timeout, timeUnit).isExists();
+        } catch (IndexNotFoundException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Applies the entity documents to the configurations loaded from the base documents, and attaches the entities
+     * as they were loaded to the configurations.
+     */
+    void apply(Map<CType, SecurityDynamicConfiguration<?>> configs, long timeout, TimeUnit timeUnit) throws IOException {
+        final long start = System.nanoTime();
+        if (!isActive(timeout, timeUnit)) {
+            return;
+        }
+        for (Map.Entry<CType, SecurityDynamicConfiguration<?>> entry : configs.entrySet()) {
+            if (!ENTITY_TYPES.contains(entry.getKey())) {
+                continue;
+            }
+            final CType cType = entry.getKey();
+            final SecurityDynamicConfiguration<?> config = entry.getValue();
+            final Applied last = applied.get(cType);
+            final boolean incremental = last != null
+                && last.config.getSeqNo() == config.getSeqNo()
+                && last.config.getPrimaryTerm() == config.getPrimaryTerm();
+            final long afterSeqNo = incremental ? last.maxSeqNo : -1;
+            final Map<String, Version> versions = incremental ? new HashMap<>(last.versions) : new HashMap<>();
+
+            long maxSeqNo = afterSeqNo;
+            int changed = 0;
+            if (layoutRecorded) {
+                final long remaining = Math.max(timeUnit.toNanos(timeout) - (System.nanoTime() - start), 0);
+                for (SearchHit hit : fetch(cType, config, afterSeqNo, remaining, TimeUnit.NANOSECONDS)) {
+                    versions.put(apply(config, hit), new Version(hit.getSeqNo(), hit.getPrimaryTerm()));
+                    maxSeqNo = Math.max(maxSeqNo, hit.getSeqNo());
+                    changed++;
+                }
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Applied {} entity documents to {} (incremental: {})", changed, cType, incremental);
+            }
+            final Applied current = !incremental || changed > 0 ? new Applied(config, maxSeqNo, versions) : last;
+            applied.put(cType, current);
+            config.setLoadedEntities(new Loaded(current.config, current.versions, layoutRecorded));
+        }
+    }
+
+    private List<SearchHit> fetch(CType cType, SecurityDynamicConfiguration<?> base, long afterSeqNo, long timeout, TimeUnit timeUnit) {
+        final List<SearchHit> hits = new ArrayList<>();
+        Object[] searchAfter = null;
+        while (true) {
+            final SearchSourceBuilder source = searchSource(cType, base.getSeqNo(), base.getPrimaryTerm(), afterSeqNo);
+            if (searchAfter != null) {
+                source.searchAfter(searchAfter);
+            }
+
+            final SearchResponse response = client.search(new SearchRequest(securityIndex).source(source)).actionGet(timeout, timeUnit);
+            final SearchHit[] page = response.getHits().getHits();
+            for (SearchHit hit : page) {
+                hits.add(hit);
+            }
+            if (page.length < PAGE_SIZE) {
+                return hits;
+            }
+            searchAfter = page[page.length - 1].getSortValues();
+        }
+    }
+
+    /**
+     * @return the search for the entity documents of a base document written after the given sequence number, in the order
+     * in which they were written, with pages of {@link SearchSourceBuilder#size()} hits
+     */
+    public static SearchSourceBuilder searchSource(CType cType, long baseSeqNo, long basePrimaryTerm, long afterSeqNo) {
+        return new SearchSourceBuilder().query(
+            QueryBuilders.boolQuery()
+                .filter(QueryBuilders.matchQuery(TYPE_FIELD, cType.toLCString()))
+                .filter(QueryBuilders.termQuery(BASE_SEQ_NO_FIELD, baseSeqNo))
+                .filter(QueryBuilders.termQuery(BASE_PRIMARY_TERM_FIELD, basePrimaryTerm))
+                .filter(QueryBuilders.rangeQuery(SeqNoFieldMapper.NAME).gt(afterSeqNo))
+        ).sort(SeqNoFieldMapper.NAME, SortOrder.ASC).size(PAGE_SIZE).seqNoAndPrimaryTerm(true);
+    }
+
+    /**
+     * Applies an entity document to the JSON of a configuration as it is stored in the index, without replacing
+     * environment variables.
+     */
+    public static void applyTo(ObjectNode configuration, Map<String, Object> source) throws IOException {
+        final String name = (String) source.get(NAME_FIELD);
+        final String json = entityJson(source);
+        if (json == null) {
+            configuration.remove(name);
+        } else {
+            configuration.set(name, DefaultObjectMapper.readTree(json));
+        }
+    }
+
+    /**
+     * @return true if the source is that of an entity document rather than of a base document or the layout marker
+     */
+    public static boolean isEntityDocument(Map<String, Object> source) {
+        return source.containsKey(TYPE_FIELD) && source.containsKey(NAME_FIELD);
+    }
+
+    /**
+     * @return the JSON of the entity of an entity document, or null if the document is a tombstone
+     */
+    public static String entityJson(Map<String, Object> source) {
+        if (Boolean.TRUE.equals(source.get(DELETED_FIELD))) {
+            return null;
+        }
+        return new String(Base64.getDecoder().decode((String) source.get(ENTITY_FIELD)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the name of the entity the document was applied to
+     */
+    private String apply(SecurityDynamicConfiguration<?> config, SearchHit hit) throws IOException {
+        final Map<String, Object> source = hit.getSourceAsMap();
+        final String name = (String) source.get(NAME_FIELD);
+        final String json = entityJson(source);
+        if (json == null) {
+            config.remove(name);
+            return name;
+        }
+        config.putCObject(name, DefaultObjectMapper.readValue(SecurityUtils.replaceEnvVars(json, settings), config.getImplementingClass()));
+        return name;
+    }
+
+    /**
+     * @return the sequence number of the last entity document applied per configuration type, for diagnostics
+     */
+    Map<CType, Long> appliedSeqNos() {
+        final Map<CType, Long> seqNos = new HashMap<>();
+        applied.forEach((cType, last) -> seqNos.put(cType, last.maxSeqNo));
+        return seqNos;
+    }
+
+    private static final class Applied {
+        private final SecurityDynamicConfiguration<?> config;
+        private final long maxSeqNo;
+        private final Map<String, Version> versions;
+
+        private Applied(SecurityDynamicConfiguration<?> config, long maxSeqNo, Map<String, Version> versions) {
+            this.config = Objects.requireNonNull(config).deepClone();
+            this.maxSeqNo = maxSeqNo;
+            this.versions = Collections.unmodifiableMap(versions);
+        }
+    }
+
+    /**
+     * The entities of a configuration as they were loaded from the index, with the versions of their entity documents.
+     */
+    public static final class Loaded {
+        private final SecurityDynamicConfiguration<?> config;
+        private final Map<String, Version> versions;
+        private final boolean layoutRecorded;
+
+        Loaded(SecurityDynamicConfiguration<?> config, Map<String, Version> versions, boolean layoutRecorded) {
+            this.config = config;
+            this.versions = versions;
+            this.layoutRecorded = layoutRecorded;
+        }
+
+        /**
+         * @return whether the base document should be rewritten with all entities instead of writing more entity documents
+         */
+        public boolean shouldCompact() {
+            return versions.size() >= COMPACT_AFTER;
+        }
+    }
+
+    static final class Version {
+        private final long seqNo;
+        private final long primaryTerm;
+
+        Version(long seqNo, long primaryTerm) {
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParser.Token;
+
+/**
+ * Streaming field level security filter for the {@code _source} of a document. Tokens are copied from
+ * the parser to the generator while paths which are not allowed are skipped, so no intermediate map
+ * of the document is built.
+ * <p>
+ * The filter is either include or exclude based and follows the semantics of
+ * {@link org.opensearch.common.xcontent.support.XContentMapValues#filter(String[], String[])}: a pattern
+ * matches a dotted path or any of its parents, {@code *} matches any sequence of characters including
+ * dots, and objects which become empty because none of their children were included are dropped.
+ * <p>
+ * Literal patterns are compiled into a character trie; wildcard patterns are matched against the
+ * current path. Instances are immutable and can be shared between threads.
+ */
+final class FlsSourceFilter {
+
+    private final boolean excludes;
+    private final Node root = new Node();
+    private final String[] wildcardPatterns;
+
+    /**
+     * @param includes field patterns to keep, only used if {@code excludes} is empty
+     * @param excludes field patterns to remove
+     */
+    FlsSourceFilter(final Collection<String> includes, final Collection<String> excludes) {
+        this.excludes = !excludes.isEmpty();
+        final List<String> wildcards = new ArrayList<>();
+        for (final String pattern : this.excludes ? excludes : includes) {
+            if (pattern.indexOf('*') > -1) {
+                wildcards.add(pattern);
+            } else {
+                root.add(pattern);
+            }
+        }
+        this.wildcardPatterns = wildcards.toArray(new String[0]);
+    }
+
+    /**
+     * Filters a JSON encoded {@code _source}.
+     *
+     * @param source the original source
+     * @return the filtered source, JSON encoded
+     */
+    byte[] filter(final byte[] source) throws IOException {
+        try (
+            XContentParser parser = JsonXContent.jsonXContent.createParser(
+                NamedXContentRegistry.EMPTY,
+                DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                source
+            );
+            XContentBuilder builder = JsonXContent.contentBuilder()
+        ) {
+            if (parser.nextToken() != Token.START_OBJECT) {
+                throw new IOException("_source is not a json object but " + parser.currentToken());
+            }
+            final Filtering filtering = new Filtering(parser, builder);
+            filtering.open(null, false);
+            filtering.ensureOpen();
+            filtering.object(root, 0);
+            filtering.close(true);
+            return BytesReference.toBytes(BytesReference.bytes(builder));
+        }
+    }
+
+    private boolean matches(final Node node, final CharSequence path) {
+        if (node != null && node.terminal) {
+            return true;
+        }
+        for (final String pattern : wildcardPatterns) {
+            for (int end = 0; end <= path.length(); end++) {
+                // like a literal pattern, a wildcard pattern also matches everything below the paths it matches
+                if ((end == path.length() || path.charAt(end) == '.') && matches(pattern, path, end, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean mayMatchBelow(final Node node, final StringBuilder path) {
+        if (node != null && node.child('.') != null) {
+            return true;
+        }
+        if (wildcardPatterns.length == 0) {
+            return false;
+        }
+        final int length = path.length();
+        path.append('.');
+        try {
+            for (final String pattern : wildcardPatterns) {
+                if (matches(pattern, path, path.length(), true)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            path.setLength(length);
+        }
+    }
+
+    private boolean mayMatch(final Node node, final CharSequence path) {
+        if (node != null) {
+            return true;
+        }
+        for (final String pattern : wildcardPatterns) {
+            if (matches(pattern, path, path.length(), true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Simple wildcard matching where {@code *} matches any sequence of characters.
+     *
+     * @param end the number of leading characters of the path to match
+     * @param prefix if true, returns whether the path is a prefix of a string matched by the pattern
+     */
+    static boolean matches(final String pattern, final CharSequence path, final int end, final boolean prefix) {
+        int p = 0;
+        int t = 0;
+        int star = -1;
+        int starT = 0;
+        while (t < end) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                starT = t;
+            } else if (p < pattern.length() && pattern.charAt(p) == path.charAt(t)) {
+                p++;
+                t++;
+            } else if (star != -1) {
+                p = star + 1;
+                t = ++starT;
+            } else {
+                return false;
+            }
+        }
+        if (prefix) {
+            return true;
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * Per document state: the current dotted path and the objects and arrays which were entered
+     * but not yet written because it is not known whether they will have content.
+     */
+    private final class Filtering {
+
+        private final XContentParser parser;
+        private final XContentBuilder builder;
+        private final StringBuilder path = new StringBuilder(64);
+        private String[] pendingNames = new String[8];
+        private boolean[] pendingArrays = new boolean[8];
+        private int depth = 0;
+        private int written = 0;
+
+        Filtering(final XContentParser parser, final XContentBuilder builder) {
+            this.parser = parser;
+            this.builder = builder;
+        }
+
+        /**
+         * Filters the fields of the current object; the parser is positioned on its start.
+         */
+        void object(final Node node, final int pathLength) throws IOException {
+            Token token;
+            while ((token = parser.nextToken()) == Token.FIELD_NAME) {
+                final String name = parser.currentName();
+                path.setLength(pathLength);
+                if (pathLength > 0) {
+                    path.append('.');
+                }
+                path.append(name);
+                final Node child = Node.step(pathLength > 0 ? Node.step(node, '.') : node, name);
+                token = parser.nextToken();
+                field(name, child, token);
+            }
+            path.setLength(pathLength);
+            if (token != Token.END_OBJECT) {
+                throw new IOException("Unexpected token " + token);
+            }
+        }
+
+        private void field(final String name, final Node node, final Token token) throws IOException {
+            final int pathLength = path.length();
+            final boolean accepted;
+
+            if (excludes) {
+                if (matches(node, path)) {
+                    parser.skipChildren();
+                    return;
+                }
+                accepted = true;
+                if (!mayMatchBelow(node, path)) {
+                    copy(name);
+                    return;
+                }
+            } else {
+                if (!mayMatch(node, path)) {
+                    parser.skipChildren();
+                    return;
+                }
+                accepted = matches(node, path);
+                if (accepted) {
+                    copy(name);
+                    return;
+                }
+            }
+
+            if (token == Token.START_OBJECT) {
+                if (!excludes && !mayMatchBelow(node, path)) {
+                    parser.skipChildren();
+                    return;
+                }
+                open(name, false);
+                object(node, pathLength);
+                close(accepted);
+            } else if (token == Token.START_ARRAY) {
+                open(name, true);
+                array(node, pathLength, accepted);
+                close(accepted);
+            } else if (accepted) {
+                copy(name);
+            }
+        }
+
+        private void array(final Node node, final int pathLength, final boolean accepted) throws IOException {
+            Token token;
+            while ((token = parser.nextToken()) != Token.END_ARRAY) {
+                if (token == Token.START_OBJECT) {
+                    open(null, false);
+                    object(node, pathLength);
+                    close(false);
+                } else if (token == Token.START_ARRAY) {
+                    open(null, true);
+                    array(node, pathLength, accepted);
+                    close(false);
+                } else if (accepted) {
+                    copy(null);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void copy(final String name) throws IOException {
+            ensureOpen();
+            if (name != null) {
+                builder.field(name);
+            }
+            builder.copyCurrentStructure(parser);
+        }
+
+        void open(final String name, final boolean array) {
+            if (depth == pendingNames.length) {
+                pendingNames = Arrays.copyOf(pendingNames, depth * 2);
+                pendingArrays = Arrays.copyOf(pendingArrays, depth * 2);
+            }
+            pendingNames[depth] = name;
+            pendingArrays[depth] = array;
+            depth++;
+        }
+
+        /**
+         * Leaves the current object or array. If nothing was written for it, it is only emitted
+         * when {@code keepEmpty} is set.
+         */
+        void close(final boolean keepEmpty) throws IOException {
+            if (written < depth && keepEmpty) {
+                ensureOpen();
+            }
+            depth--;
+            if (written > depth) {
+                written = depth;
+                if (pendingArrays[depth]) {
+                    builder.endArray();
+                } else {
+                    builder.endObject();
+                }
+            }
+        }
+
+        void ensureOpen() throws IOException {
+            for (; written < depth; written++) {
+                if (pendingNames[written] != null) {
+                    builder.field(pendingNames[written]);
+                }
+                if (pendingArrays[written]) {
+                    builder.startArray();
+                } else {
+                    builder.startObject();
+                }
+            }
+        }
+    }
+
+    /**
+     * Node of the character trie of literal patterns.
+     */
+    private static final class Node {
+
+        /**
+         * Reached when leaving a matched path through a dot: a pattern matches all paths below it.
+         */
+        private static final Node ALL = new Node();
+
+        static {
+            ALL.terminal = true;
+        }
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        void add(final String pattern) {
+            Node node = this;
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                Node next = node.child(c);
+                if (next == null) {
+                    next = new Node();
+                    node.labels = Arrays.copyOf(node.labels, node.labels.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.labels[node.labels.length - 1] = c;
+                    node.children[node.children.length - 1] = next;
+                }
+                node = next;
+            }
+            node.terminal = true;
+        }
+
+        Node child(final char c) {
+            if (this == ALL || (terminal && c == '.')) {
+                return ALL;
+            }
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        static Node step(Node node, final char c) {
+            return node == null ? null : node.child(c);
+        }
+
+        static Node step(Node node, final String name) {
+            for (int i = 0; node != null && i < name.length(); i++) {
+                node = node.child(name.charAt(i));
+            }
+            return node;
+        }
+    }
+}
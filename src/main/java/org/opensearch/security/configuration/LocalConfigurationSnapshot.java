@@ -0,0 +1,158 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.util.io.IOUtils;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+/**
+ * The configuration last applied by this node, stored in the data path of the node so that the node can use it
+ * right after a restart, before the security index is available.
+ * <p>
+ * The file is bound to the cluster name and ends with a SHA-256 digest of its content. Files written for another
+ * cluster, truncated or modified files are not used, nor are files written longer than the max age ago. The file is
+ * synced to disk and replaced atomically.
+ * <p>
+ * The digest only detects damaged files, it does not prove who wrote the file. Until the node reads the security
+ * index it also accepts credentials which were revoked after the file was written, which is why the max age is short
+ * by default.
+ */
+final class LocalConfigurationSnapshot {
+
+    private static final int MAGIC = 0x53434653;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private final Path file;
+
+    private final String clusterName;
+
+    private final long maxAgeMillis;
+
+    private final LongSupplier currentTimeMillis;
+
+    private SerializedConfiguration current;
+
+    private long writeTimeMillis = -1;
+
+    LocalConfigurationSnapshot(Path file, String clusterName, long maxAgeMillis) {
+        this(file, clusterName, maxAgeMillis, System::currentTimeMillis);
+    }
+
+    LocalConfigurationSnapshot(Path file, String clusterName, long maxAgeMillis, LongSupplier currentTimeMillis) {
+        this.file = file;
+        this.clusterName = clusterName;
+        this.maxAgeMillis = maxAgeMillis;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * @return the stored configuration, or null if there is none
+     * @throws IOException if the stored configuration cannot be read, was not written for this cluster or is older
+     * than the max age
+     */
+    synchronized SerializedConfiguration read() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < DIGEST_LENGTH) {
+            throw new IOException("Configuration snapshot " + file + " is truncated");
+        }
+        final byte[] content = Arrays.copyOf(bytes, bytes.length - DIGEST_LENGTH);
+        if (!MessageDigest.isEqual(digest(content), Arrays.copyOfRange(bytes, content.length, bytes.length))) {
+            throw new IOException("Digest mismatch for configuration snapshot " + file);
+        }
+        try (StreamInput in = new BytesArray(content).streamInput()) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a configuration snapshot");
+            }
+            final int formatVersion = in.readVInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + formatVersion + " of configuration snapshot " + file);
+            }
+            final String snapshotClusterName = in.readString();
+            if (!clusterName.equals(snapshotClusterName)) {
+                throw new IOException("Configuration snapshot " + file + " was written for cluster " + snapshotClusterName);
+            }
+            final long snapshotWriteTimeMillis = in.readLong();
+            final long ageMillis = currentTimeMillis.getAsLong() - snapshotWriteTimeMillis;
+            if (ageMillis > maxAgeMillis) {
+                throw new IOException(
+                    "Configuration snapshot " + file + " was written " + ageMillis + " ms ago, max age is " + maxAgeMillis + " ms"
+                );
+            }
+            current = new SerializedConfiguration(in);
+            writeTimeMillis = snapshotWriteTimeMillis;
+            return current;
+        }
+    }
+
+    /**
+     * Stores the given configurations together with the configurations of other types stored before.
+     */
+    synchronized void write(SerializedConfiguration configuration) throws IOException {
+        final SerializedConfiguration merged = current == null ? configuration : current.merge(configuration);
+        final long now = currentTimeMillis.getAsLong();
+        final byte[] content;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeInt(MAGIC);
+            out.writeVInt(FORMAT_VERSION);
+            out.writeString(clusterName);
+            out.writeLong(now);
+            merged.writeTo(out);
+            content = BytesReference.toBytes(out.bytes());
+        }
+        Files.createDirectories(file.getParent());
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            out.write(content);
+            out.write(digest(content));
+        }
+        // neither the content nor the rename may be lost after a crash
+        IOUtils.fsync(tmp, false);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        IOUtils.fsync(file.getParent(), true);
+        current = merged;
+        writeTimeMillis = now;
+    }
+
+    /**
+     * @return the time the configuration last read or written was written, or -1 if none was read or written yet
+     */
+    synchronized long writeTimeMillis() {
+        return writeTimeMillis;
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
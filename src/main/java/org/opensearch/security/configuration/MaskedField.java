@@ -16,8 +16,11 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import com.google.common.base.Splitter;
 import org.apache.lucene.util.BytesRef;
@@ -26,6 +29,11 @@ import org.bouncycastle.util.encoders.Hex;
 
 public class MaskedField {
 
+    /**
+     * Digest instances are not thread safe but expensive to create, so every thread keeps its own.
+     */
+    private static final ThreadLocal<Digests> DIGESTS = ThreadLocal.withInitial(Digests::new);
+
     private final String name;
     private String algo = null;
     private List<RegexReplacement> regexReplacements;
@@ -136,44 +144,59 @@ public class MaskedField {
 
     private byte[] customHash(byte[] in) {
         if (algo != null) {
-            try {
-                MessageDigest digest = MessageDigest.getInstance(algo);
-                return Hex.encode(digest.digest(in));
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalArgumentException(e);
-            }
+            return messageDigest(in, 0, in.length);
         } else if (regexReplacements != null) {
-            String cur = new String(in, StandardCharsets.UTF_8);
-            for (RegexReplacement rr : regexReplacements) {
-                cur = cur.replaceAll(rr.getRegex(), rr.getReplacement());
-            }
-            return cur.getBytes(StandardCharsets.UTF_8);
-
+            return regexReplace(new String(in, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
         } else {
             throw new IllegalArgumentException();
         }
     }
 
     private BytesRef customHash(BytesRef in) {
-        final BytesRef copy = BytesRef.deepCopyOf(in);
-        return new BytesRef(customHash(copy.bytes));
+        if (algo != null) {
+            return new BytesRef(messageDigest(in.bytes, in.offset, in.length));
+        } else if (regexReplacements != null) {
+            return new BytesRef(regexReplace(in.utf8ToString()));
+        } else {
+            throw new IllegalArgumentException();
+        }
     }
 
     private String customHash(String in) {
+        if (algo == null && regexReplacements != null) {
+            return regexReplace(in);
+        }
         return new String(customHash(in.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
     }
 
+    private String regexReplace(String in) {
+        String cur = in;
+        for (RegexReplacement rr : regexReplacements) {
+            cur = rr.replaceAll(cur);
+        }
+        return cur;
+    }
+
+    private byte[] messageDigest(byte[] in, int offset, int length) {
+        final MessageDigest digest = DIGESTS.get().messageDigest(algo);
+        digest.update(in, offset, length);
+        return Hex.encode(digest.digest());
+    }
+
     private byte[] blake2bHash(byte[] in) {
-        final Blake2bDigest hash = new Blake2bDigest(null, 32, null, defaultSalt);
-        hash.update(in, 0, in.length);
-        final byte[] out = new byte[hash.getDigestSize()];
-        hash.doFinal(out, 0);
-        return Hex.encode(out);
+        return blake2bHash(in, 0, in.length);
     }
 
     private BytesRef blake2bHash(BytesRef in) {
-        final BytesRef copy = BytesRef.deepCopyOf(in);
-        return new BytesRef(blake2bHash(copy.bytes));
+        return new BytesRef(blake2bHash(in.bytes, in.offset, in.length));
+    }
+
+    private byte[] blake2bHash(byte[] in, int offset, int length) {
+        final Digests digests = DIGESTS.get();
+        final Blake2bDigest hash = digests.blake2b(defaultSalt);
+        hash.update(in, offset, length);
+        hash.doFinal(digests.blake2bOut, 0);
+        return Hex.encode(digests.blake2bOut);
     }
 
     private String blake2bHash(String in) {
@@ -183,11 +206,17 @@ public class MaskedField {
     private static class RegexReplacement {
         private final String regex;
         private final String replacement;
+        private final Pattern pattern;
 
         public RegexReplacement(String regex, String replacement) {
             super();
             this.regex = regex.substring(1).substring(0, regex.length() - 2);
             this.replacement = replacement;
+            this.pattern = Pattern.compile(this.regex);
+        }
+
+        public String replaceAll(String value) {
+            return pattern.matcher(value).replaceAll(replacement);
         }
 
         public String getRegex() {
@@ -228,4 +257,38 @@ public class MaskedField {
         }
 
     }
+
+    /**
+     * Per thread digest instances. The blake2b digest is keyed by the salt it was created with, which is
+     * the same for all masked fields of a node unless the salt setting changes.
+     */
+    private static final class Digests {
+        private final byte[] blake2bOut = new byte[32];
+        private final Map<String, MessageDigest> messageDigests = new HashMap<>();
+        private Blake2bDigest blake2b;
+        private byte[] blake2bSalt;
+
+        Blake2bDigest blake2b(final byte[] salt) {
+            if (blake2b == null || !Arrays.equals(blake2bSalt, salt)) {
+                blake2b = new Blake2bDigest(null, blake2bOut.length, null, salt);
+                blake2bSalt = salt;
+            }
+            blake2b.reset();
+            return blake2b;
+        }
+
+        MessageDigest messageDigest(final String algo) {
+            MessageDigest digest = messageDigests.get(algo);
+            if (digest == null) {
+                try {
+                    digest = MessageDigest.getInstance(algo);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                messageDigests.put(algo, digest);
+            }
+            digest.reset();
+            return digest;
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Memo of the masked values of the terms of a segment by ordinal, so that the values of a segment
+ * are only hashed once while they are looked up over and over by sorting and aggregations.
+ * <p>
+ * The ordinals themselves are left untouched: global ordinals are cached on the reader key of the
+ * shard, which is shared by masked and unmasked readers, so the ordinal structure of a masked field
+ * must stay the same as the one of the unmasked field.
+ * <p>
+ * For segments with up to {@link #MAX_SHARED_VALUE_COUNT} values the masked values are kept in a
+ * table which is shared through the {@link MaskedOrdinalsCache} of the node. Larger segments fall back
+ * to a bounded, direct mapped memo which only lives as long as the doc values instance.
+ */
+abstract class MaskedOrdinals {
+
+    static final int MAX_SHARED_VALUE_COUNT = 1 << 14;
+
+    private static final int MAX_LOCAL_SIZE = 4096;
+
+    /**
+     * @return the memoized masked value of the ordinal or null if it was not memoized yet
+     */
+    abstract BytesRef get(long ord);
+
+    /**
+     * Memoizes the masked value of an ordinal. The value must not be modified afterwards.
+     *
+     * @return the masked value
+     */
+    abstract BytesRef put(long ord, BytesRef masked);
+
+    /**
+     * Lazily filled table of all masked values of a segment. Concurrent threads might mask the same
+     * value twice, which is harmless since masking is deterministic.
+     */
+    static final class Shared extends MaskedOrdinals {
+
+        private final AtomicReferenceArray<BytesRef> values;
+
+        Shared(final int valueCount) {
+            this.values = new AtomicReferenceArray<>(valueCount);
+        }
+
+        int valueCount() {
+            return values.length();
+        }
+
+        @Override
+        BytesRef get(final long ord) {
+            return values.get((int) ord);
+        }
+
+        @Override
+        BytesRef put(final long ord, final BytesRef masked) {
+            values.set((int) ord, masked);
+            return masked;
+        }
+    }
+
+    /**
+     * Direct mapped memo, a slot is overwritten by the next ordinal which maps to it. Doc values are
+     * not shared between threads, so no synchronization is needed.
+     */
+    static final class Local extends MaskedOrdinals {
+
+        private final long[] ords;
+        private final BytesRef[] values;
+
+        Local(final long valueCount) {
+            final int size = (int) Math.max(1, Math.min(valueCount, MAX_LOCAL_SIZE));
+            this.ords = new long[size];
+            this.values = new BytesRef[size];
+            Arrays.fill(ords, -1);
+        }
+
+        @Override
+        BytesRef get(final long ord) {
+            final int slot = (int) (ord % ords.length);
+            return ords[slot] == ord ? values[slot] : null;
+        }
+
+        @Override
+        BytesRef put(final long ord, final BytesRef masked) {
+            final int slot = (int) (ord % ords.length);
+            ords[slot] = ord;
+            values[slot] = masked;
+            return masked;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.lucene.index.IndexReader;
+
+/**
+ * Node wide cache of the tables of masked values of segments, see {@link MaskedOrdinals}. A table is keyed on the
+ * core cache key of its segment and on how a field is masked, so that it is shared by all requests masking the
+ * field the same way.
+ * <p>
+ * The cache is bounded by the number of values of all cached tables. Tables are dropped when their segment is
+ * closed, or evicted earlier when the bound is reached.
+ */
+public final class MaskedOrdinalsCache {
+
+    /**
+     * The number of values of all cached tables, about 32 MB of references without the masked values themselves
+     */
+    static final long DEFAULT_MAX_VALUE_COUNT = 1 << 22;
+
+    private final Cache<Key, MaskedOrdinals.Shared> tables;
+    // segments the cache listens to for being closed
+    private final Set<IndexReader.CacheKey> segments = ConcurrentHashMap.newKeySet();
+
+    public MaskedOrdinalsCache() {
+        this(DEFAULT_MAX_VALUE_COUNT);
+    }
+
+    MaskedOrdinalsCache(final long maxValueCount) {
+        this.tables = CacheBuilder.newBuilder()
+            .maximumWeight(maxValueCount)
+            .weigher((Key key, MaskedOrdinals.Shared table) -> table.valueCount())
+            .build();
+    }
+
+    /**
+     * @param coreCacheHelper the core cache helper of the segment, may be null if the segment can not be cached on
+     * @param field the name of the doc values field
+     * @param maskedField how the values of the field are masked
+     * @param valueCount the number of distinct values of the field in the segment
+     */
+    MaskedOrdinals forSegment(
+        final IndexReader.CacheHelper coreCacheHelper,
+        final String field,
+        final MaskedField maskedField,
+        final long valueCount
+    ) {
+        if (coreCacheHelper == null || valueCount > MaskedOrdinals.MAX_SHARED_VALUE_COUNT) {
+            return new MaskedOrdinals.Local(valueCount);
+        }
+        final IndexReader.CacheKey segment = coreCacheHelper.getKey();
+        if (segments.add(segment)) {
+            coreCacheHelper.addClosedListener(this::segmentClosed);
+        }
+        return tables.asMap().computeIfAbsent(new Key(segment, field, maskedField), k -> new MaskedOrdinals.Shared((int) valueCount));
+    }
+
+    long tableCount() {
+        tables.cleanUp();
+        return tables.size();
+    }
+
+    private void segmentClosed(final IndexReader.CacheKey segment) {
+        segments.remove(segment);
+        tables.asMap().keySet().removeIf(key -> key.segment == segment);
+    }
+
+    private static final class Key {
+        private final IndexReader.CacheKey segment;
+        private final String field;
+        private final MaskedField maskedField;
+
+        Key(final IndexReader.CacheKey segment, final String field, final MaskedField maskedField) {
+            this.segment = segment;
+            this.field = field;
+            this.maskedField = maskedField;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * segment.hashCode() + field.hashCode()) + maskedField.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key other = (Key) obj;
+            return segment == other.segment && field.equals(other.field) && Objects.equals(maskedField, other.maskedField);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParser.Token;
+
+/**
+ * Streaming rewrite of the {@code _source} of a document which masks the values of masked fields.
+ * String values of a masked field, and string elements of an array of a masked field, are replaced
+ * by their masked value; everything else is copied as is. Arrays of objects are not descended into.
+ */
+final class MaskedSourceFilter {
+
+    private final Function<String, MaskedField> maskedFieldLookup;
+
+    /**
+     * @param maskedFieldLookup returns the masked field for a dotted field name or null if the field is not masked
+     */
+    MaskedSourceFilter(final Function<String, MaskedField> maskedFieldLookup) {
+        this.maskedFieldLookup = maskedFieldLookup;
+    }
+
+    /**
+     * Masks a JSON encoded {@code _source}.
+     *
+     * @param source the original source
+     * @return the source with masked values, JSON encoded
+     */
+    byte[] filter(final byte[] source) throws IOException {
+        try (
+            XContentParser parser = JsonXContent.jsonXContent.createParser(
+                NamedXContentRegistry.EMPTY,
+                DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                source
+            );
+            XContentBuilder builder = JsonXContent.contentBuilder()
+        ) {
+            if (parser.nextToken() != Token.START_OBJECT) {
+                throw new IOException("_source is not a json object but " + parser.currentToken());
+            }
+            builder.startObject();
+            object(parser, builder, new StringBuilder(64), 0);
+            builder.endObject();
+            return BytesReference.toBytes(BytesReference.bytes(builder));
+        }
+    }
+
+    private void object(final XContentParser parser, final XContentBuilder builder, final StringBuilder path, final int pathLength)
+        throws IOException {
+        Token token;
+        while ((token = parser.nextToken()) == Token.FIELD_NAME) {
+            final String name = parser.currentName();
+            path.setLength(pathLength);
+            if (pathLength > 0) {
+                path.append('.');
+            }
+            path.append(name);
+
+            token = parser.nextToken();
+            builder.field(name);
+
+            if (token == Token.START_OBJECT) {
+                builder.startObject();
+                object(parser, builder, path, path.length());
+                builder.endObject();
+            } else if (token == Token.VALUE_STRING || token == Token.START_ARRAY) {
+                final MaskedField maskedField = maskedFieldLookup.apply(path.toString());
+                if (maskedField == null) {
+                    builder.copyCurrentStructure(parser);
+                } else if (token == Token.VALUE_STRING) {
+                    builder.value(maskedField.mask(parser.text()));
+                } else {
+                    array(parser, builder, maskedField);
+                }
+            } else {
+                builder.copyCurrentStructure(parser);
+            }
+        }
+        if (token != Token.END_OBJECT) {
+            throw new IOException("Unexpected token " + token);
+        }
+    }
+
+    private void array(final XContentParser parser, final XContentBuilder builder, final MaskedField maskedField) throws IOException {
+        builder.startArray();
+        Token token;
+        while ((token = parser.nextToken()) != Token.END_ARRAY) {
+            if (token == Token.VALUE_STRING) {
+                builder.value(maskedField.mask(parser.text()));
+            } else {
+                builder.copyCurrentStructure(parser);
+            }
+        }
+        builder.endArray();
+    }
+}
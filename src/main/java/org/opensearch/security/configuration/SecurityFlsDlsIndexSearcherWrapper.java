@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
 
 import com.google.common.collect.Sets;
@@ -24,14 +25,15 @@ import org.apache.lucene.search.Query;
 
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.index.Index;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.index.IndexService;
 import org.opensearch.index.mapper.IgnoredFieldMapper;
-import org.opensearch.index.query.QueryShardContext;
 import org.opensearch.index.shard.ShardUtils;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.compliance.ComplianceIndexingOperationListener;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.SecurityUtils;
@@ -57,12 +59,18 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SecurityIndexSearcherWra
         "_ttl",
         "_type"
     );
+    // the DLS query parsers of the indices, per configuration snapshot
+    private static final SecuritySnapshot.Key<Map<Index, DlsQueryParser>> DLS_QUERY_PARSERS = new SecuritySnapshot.Key<>(
+        "dls_query_parsers"
+    );
     private final ClusterService clusterService;
     private final IndexService indexService;
     private final AuditLog auditlog;
     private final LongSupplier nowInMillis;
+    private final PrivilegesEvaluator privilegesEvaluator;
     private final DlsQueryParser dlsQueryParser;
     private final Salt salt;
+    private final MaskedOrdinalsCache maskedOrdinalsCache;
 
     public SecurityFlsDlsIndexSearcherWrapper(
         final IndexService indexService,
@@ -72,13 +80,15 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SecurityIndexSearcherWra
         final AuditLog auditlog,
         final ComplianceIndexingOperationListener ciol,
         final PrivilegesEvaluator evaluator,
-        final Salt salt
+        final Salt salt,
+        final MaskedOrdinalsCache maskedOrdinalsCache
     ) {
         super(indexService, settings, adminDNs, evaluator);
         ciol.setIs(indexService);
         this.clusterService = clusterService;
         this.indexService = indexService;
         this.auditlog = auditlog;
+        this.privilegesEvaluator = evaluator;
         this.dlsQueryParser = new DlsQueryParser(indexService.xContentRegistry());
         final boolean allowNowinDlsQueries = settings.getAsBoolean(ConfigConstants.SECURITY_UNSUPPORTED_ALLOW_NOW_IN_DLS, false);
         if (allowNowinDlsQueries) {
@@ -88,6 +98,7 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SecurityIndexSearcherWra
         }
         log.debug("FLS/DLS {} enabled for index {}", this, indexService.index().getName());
         this.salt = salt;
+        this.maskedOrdinalsCache = maskedOrdinalsCache;
     }
 
     @SuppressWarnings("unchecked")
@@ -127,10 +138,17 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SecurityIndexSearcherWra
                 Set<String> unparsedDlsQueries = queries.get(dlsEval);
 
                 if (unparsedDlsQueries != null && !unparsedDlsQueries.isEmpty()) {
-                    QueryShardContext queryShardContext = this.indexService.newQueryShardContext(shardId.getId(), null, nowInMillis, null);
                     // no need for scoring here, so its possible to wrap this in a
                     // ConstantScoreQuery
-                    dlsQuery = new ConstantScoreQuery(dlsQueryParser.parse(unparsedDlsQueries, queryShardContext).build());
+                    dlsQuery = new ConstantScoreQuery(
+                        getDlsQueryParser().parse(
+                            unparsedDlsQueries,
+                            shardId,
+                            indexService.getMetadata().getMappingVersion(),
+                            () -> this.indexService.newQueryShardContext(shardId.getId(), null, nowInMillis, null),
+                            false
+                        )
+                    );
                 }
             }
 
@@ -150,7 +168,18 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SecurityIndexSearcherWra
             auditlog,
             maskedFields,
             shardId,
-            salt
+            salt,
+            maskedOrdinalsCache
         );
     }
+
+    private DlsQueryParser getDlsQueryParser() {
+        // the cached DLS queries belong to the configuration snapshot of the request
+        final SecuritySnapshot snapshot = privilegesEvaluator.getRequestSnapshot();
+        if (snapshot == null) {
+            return dlsQueryParser;
+        }
+        return snapshot.derived(DLS_QUERY_PARSERS, s -> new ConcurrentHashMap<>())
+            .computeIfAbsent(index, i -> dlsQueryParser.forConfigVersion(snapshot));
+    }
 }
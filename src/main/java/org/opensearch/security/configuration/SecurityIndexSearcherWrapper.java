@@ -40,14 +40,11 @@ import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.core.index.Index;
 import org.opensearch.index.IndexService;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
-import org.opensearch.security.securityconf.ConfigModel;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.User;
 
-import org.greenrobot.eventbus.Subscribe;
-
 public class SecurityIndexSearcherWrapper implements CheckedFunction<DirectoryReader, DirectoryReader, IOException> {
 
     protected final Logger log = LogManager.getLogger(this.getClass());
@@ -55,7 +52,6 @@ public class SecurityIndexSearcherWrapper implements CheckedFunction<DirectoryRe
     protected final Index index;
     protected final String securityIndex;
     private final AdminDNs adminDns;
-    private ConfigModel configModel;
     private final PrivilegesEvaluator evaluator;
     private final WildcardMatcher protectedIndexMatcher;
     private final WildcardMatcher allowedRolesMatcher;
@@ -93,11 +89,6 @@ public class SecurityIndexSearcherWrapper implements CheckedFunction<DirectoryRe
         this.systemIndexMatcher = WildcardMatcher.from(settings.getAsList(ConfigConstants.SECURITY_SYSTEM_INDICES_KEY));
     }
 
-    @Subscribe
-    public void onConfigModelChanged(ConfigModel cm) {
-        this.configModel = cm;
-    }
-
     @Override
     public final DirectoryReader apply(DirectoryReader reader) throws IOException {
 
@@ -160,6 +151,7 @@ public class SecurityIndexSearcherWrapper implements CheckedFunction<DirectoryRe
     }
 
     protected final boolean isPermittedOnIndex() {
+        // the roles are mapped with the configuration snapshot of the request
         final User user = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
         final TransportAddress caller = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_REMOTE_ADDRESS);
         final Set<String> securityRoles = evaluator.mapRoles(user, caller);
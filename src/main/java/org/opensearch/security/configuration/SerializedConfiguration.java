@@ -0,0 +1,180 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.support.SecurityUtils;
+
+/**
+ * Configuration documents as read from the security index, compressed and checksummed so that they can be sent to
+ * other nodes with a config update request.
+ * <p>
+ * The configurations are serialized before environment variables are replaced, the receiving nodes replace them
+ * with their own values while decoding.
+ */
+public final class SerializedConfiguration implements Writeable {
+
+    private final Map<CType, Entry> entries;
+
+    private SerializedConfiguration(Map<CType, Entry> entries) {
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public SerializedConfiguration(StreamInput in) throws IOException {
+        final int size = in.readVInt();
+        final Map<CType, Entry> entries = new EnumMap<>(CType.class);
+        for (int i = 0; i < size; i++) {
+            final CType cType = in.readEnum(CType.class);
+            entries.put(cType, new Entry(in.readVInt(), in.readZLong(), in.readVLong(), in.readLong(), in.readByteArray()));
+        }
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * @param configurations the configurations as read from the index without replacing environment variables
+     */
+    public static SerializedConfiguration of(Map<CType, SecurityDynamicConfiguration<?>> configurations) throws IOException {
+        final Map<CType, Entry> entries = new EnumMap<>(CType.class);
+        for (Map.Entry<CType, SecurityDynamicConfiguration<?>> configuration : configurations.entrySet()) {
+            final SecurityDynamicConfiguration<?> config = configuration.getValue();
+            final byte[] json = DefaultObjectMapper.writeValueAsString(config, false).getBytes(StandardCharsets.UTF_8);
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(compressed)) {
+                out.write(json);
+            }
+            entries.put(
+                configuration.getKey(),
+                new Entry(config.getVersion(), config.getSeqNo(), config.getPrimaryTerm(), checksum(json), compressed.toByteArray())
+            );
+        }
+        return new SerializedConfiguration(entries);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(entries.size());
+        for (Map.Entry<CType, Entry> entry : entries.entrySet()) {
+            final Entry e = entry.getValue();
+            out.writeEnum(entry.getKey());
+            out.writeVInt(e.version);
+            out.writeZLong(e.seqNo);
+            out.writeVLong(e.primaryTerm);
+            out.writeLong(e.checksum);
+            out.writeByteArray(e.compressed);
+        }
+    }
+
+    /**
+     * @return the configurations of this and the given instance, with the ones of the given instance for types contained in both
+     */
+    public SerializedConfiguration merge(SerializedConfiguration newer) {
+        final Map<CType, Entry> merged = new EnumMap<>(CType.class);
+        merged.putAll(entries);
+        merged.putAll(newer.entries);
+        return new SerializedConfiguration(merged);
+    }
+
+    public Set<CType> getConfigTypes() {
+        return entries.keySet();
+    }
+
+    public long getSeqNo(CType cType) {
+        return entries.get(cType).seqNo;
+    }
+
+    public long getPrimaryTerm(CType cType) {
+        return entries.get(cType).primaryTerm;
+    }
+
+    /**
+     * @return the size of the compressed configurations in bytes
+     */
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Entry entry : entries.values()) {
+            size += entry.compressed.length;
+        }
+        return size;
+    }
+
+    /**
+     * Decompresses and parses the configurations, replacing environment variables with the values of this node.
+     *
+     * @throws IOException if a configuration cannot be decompressed or does not match its checksum
+     */
+    public Map<CType, SecurityDynamicConfiguration<?>> decode(Settings settings, boolean acceptInvalid) throws IOException {
+        final Map<CType, SecurityDynamicConfiguration<?>> configurations = new HashMap<>(entries.size());
+        for (Map.Entry<CType, Entry> entry : entries.entrySet()) {
+            final Entry e = entry.getValue();
+            final byte[] json;
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(e.compressed))) {
+                json = in.readAllBytes();
+            }
+            if (checksum(json) != e.checksum) {
+                throw new IOException("Checksum mismatch for serialized configuration " + entry.getKey().toLCString());
+            }
+            final String jsonAsString = SecurityUtils.replaceEnvVars(new String(json, StandardCharsets.UTF_8), settings);
+            configurations.put(
+                entry.getKey(),
+                SecurityDynamicConfiguration.fromJson(jsonAsString, entry.getKey(), e.version, e.seqNo, e.primaryTerm, acceptInvalid)
+            );
+        }
+        return configurations;
+    }
+
+    private static long checksum(byte[] bytes) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return crc32.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "SerializedConfiguration [configTypes=" + entries.keySet() + ", sizeInBytes=" + getSizeInBytes() + "]";
+    }
+
+    private static final class Entry {
+        private final int version;
+        private final long seqNo;
+        private final long primaryTerm;
+        private final long checksum;
+        private final byte[] compressed;
+
+        private Entry(int version, long seqNo, long primaryTerm, long checksum, byte[] compressed) {
+            this.version = version;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+            this.checksum = checksum;
+            this.compressed = compressed;
+        }
+    }
+}
@@ -28,6 +28,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
@@ -42,6 +45,7 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.BytesRestResponse;
@@ -51,6 +55,7 @@ import org.opensearch.rest.RestRequest.Method;
 import org.opensearch.security.action.configupdate.ConfigUpdateAction;
 import org.opensearch.security.action.configupdate.ConfigUpdateRequest;
 import org.opensearch.security.action.configupdate.ConfigUpdateResponse;
+import org.opensearch.security.configuration.EntityDocuments;
 import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.dlic.rest.validation.EndpointValidator;
 import org.opensearch.security.dlic.rest.validation.RequestContentValidator;
@@ -73,6 +78,7 @@ import static org.opensearch.security.dlic.rest.api.Responses.forbidden;
 import static org.opensearch.security.dlic.rest.api.Responses.forbiddenMessage;
 import static org.opensearch.security.dlic.rest.api.Responses.internalSeverError;
 import static org.opensearch.security.dlic.rest.api.Responses.payload;
+import static org.opensearch.security.dlic.rest.api.Responses.response;
 import static org.opensearch.security.dlic.rest.support.Utils.withIOException;
 
 public abstract class AbstractApiAction extends BaseRestHandler {
@@ -97,6 +103,8 @@ public abstract class AbstractApiAction extends BaseRestHandler {
 
     protected final SecurityApiDependencies securityApiDependencies;
 
+    private final ConfigurationResponseCache responseCache = new ConfigurationResponseCache();
+
     protected AbstractApiAction(
         final Endpoint endpoint,
         final ClusterService clusterService,
@@ -118,7 +126,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
             .withSaveOrUpdateConfigurationHandler(this::saveOrUpdateConfiguration)
             .add(Method.POST, methodNotImplementedHandler)
             .add(Method.PATCH, methodNotImplementedHandler)
-            .onGetRequest(this::processGetRequest)
+            .add(Method.GET, this::processGetRequest)
             .onChangeRequest(Method.DELETE, this::processDeleteRequest)
             .onChangeRequest(Method.PUT, this::processPutRequest);
     }
@@ -136,8 +144,34 @@ public abstract class AbstractApiAction extends BaseRestHandler {
         return ValidationResult.success(securityConfiguration);
     }
 
+    /**
+     * Serves the configuration from the cached response for the current configuration version of this node if there is one.
+     * The configuration is loaded and checked by the endpoint validator for every request, only its serialization is cached.
+     */
+    private void processGetRequest(final RestChannel channel, final RestRequest request, final Client client) throws IOException {
+        // read before the configuration is loaded, so that a response is never cached for a newer version than its content
+        final long configurationVersion = securityApiDependencies.configurationRepository().getConfigurationVersion();
+        processGetRequest(request).valid(securityConfiguration -> {
+            try (final var builder = channel.newBuilder()) {
+                final List<Object> key = List.of(
+                    configurationVersion,
+                    securityApiDependencies.restApiAdminPrivilegesEvaluator().isCurrentUserAdminFor(endpoint),
+                    Objects.toString(nameParam(request), ""),
+                    builder.contentType(),
+                    builder.isPrettyPrint()
+                );
+                var cachedResponse = responseCache.get(key);
+                if (cachedResponse == null) {
+                    securityConfiguration.configuration().toXContent(builder, ToXContent.EMPTY_PARAMS);
+                    cachedResponse = responseCache.put(key, builder, securityConfiguration.configuration());
+                }
+                channel.sendResponse(cachedResponse.toRestResponse(request));
+            }
+        }).error((status, toXContent) -> response(channel, status, toXContent));
+    }
+
     protected final ValidationResult<SecurityConfiguration> processGetRequest(final RestRequest request) throws IOException {
-        return loadConfiguration(getConfigType(), true, true).map(
+        return loadCurrentConfiguration(getConfigType(), nameParam(request)).map(
             configuration -> ValidationResult.success(SecurityConfiguration.of(nameParam(request), configuration))
         ).map(endpointValidator::onConfigLoad).map(securityConfiguration -> securityConfiguration.maybeEntityName().map(entityName -> {
             securityConfiguration.configuration().removeOthers(entityName);
@@ -160,31 +194,48 @@ public abstract class AbstractApiAction extends BaseRestHandler {
 
     protected final ValidationResult<JsonNode> withPatchRequestContent(final RestRequest request) {
         try {
-            final var parsedPatchRequestContent = Utils.toJsonNode(request.content().utf8ToString());
-            if (!(parsedPatchRequestContent instanceof ArrayNode)) {
-                return ValidationResult.error(RestStatus.BAD_REQUEST, badRequestMessage("Wrong request body"));
-            }
-            final var operations = patchOperations(parsedPatchRequestContent);
-            if (operations.isEmpty()) {
-                return ValidationResult.error(RestStatus.BAD_REQUEST, badRequestMessage("Wrong request body"));
-            }
-            for (final var patchOperation : operations) {
-                if (!supportedPatchOperations.contains(patchOperation)) {
-                    return ValidationResult.error(
-                        RestStatus.BAD_REQUEST,
-                        badRequestMessage(
-                            "Unsupported patch operation: " + patchOperation + ". Supported are: " + supportedPatchOperationsAsString
-                        )
-                    );
-                }
-            }
-            return ValidationResult.success(parsedPatchRequestContent);
+            return withPatchContent(Utils.toJsonNode(request.content().utf8ToString()));
         } catch (final IOException e) {
             LOGGER.debug("Error while parsing JSON patch", e);
             return ValidationResult.error(RestStatus.BAD_REQUEST, badRequestMessage("Error in JSON patch: " + e.getMessage()));
         }
     }
 
+    protected final ValidationResult<JsonNode> withPatchContent(final JsonNode parsedPatchRequestContent) {
+        if (!(parsedPatchRequestContent instanceof ArrayNode)) {
+            return ValidationResult.error(RestStatus.BAD_REQUEST, badRequestMessage("Wrong request body"));
+        }
+        final var operations = patchOperations(parsedPatchRequestContent);
+        if (operations.isEmpty()) {
+            return ValidationResult.error(RestStatus.BAD_REQUEST, badRequestMessage("Wrong request body"));
+        }
+        for (final var patchOperation : operations) {
+            if (!supportedPatchOperations.contains(patchOperation)) {
+                return ValidationResult.error(
+                    RestStatus.BAD_REQUEST,
+                    badRequestMessage(
+                        "Unsupported patch operation: " + patchOperation + ". Supported are: " + supportedPatchOperationsAsString
+                    )
+                );
+            }
+        }
+        return ValidationResult.success(parsedPatchRequestContent);
+    }
+
+    /**
+     * Applies a patch of several entities to the given configuration, used for patches which span several configuration types.
+     * The patch is validated against the given pending configurations in place of the ones in the index.
+     */
+    final ValidationResult<SecurityConfiguration> patchConfiguration(
+        final RestRequest request,
+        final JsonNode patchContent,
+        final SecurityDynamicConfiguration<?> configuration,
+        final Map<CType, SecurityDynamicConfiguration<?>> pendingConfigurations
+    ) throws IOException {
+        final var securityConfiguration = SecurityConfiguration.of(null, configuration).withPendingConfigurations(pendingConfigurations);
+        return withPatchContent(patchContent).map(patch -> patchEntities(request, patch, securityConfiguration));
+    }
+
     protected final ValidationResult<SecurityConfiguration> patchEntity(
         final RestRequest request,
         final JsonNode patchContent,
@@ -211,13 +262,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
                                 return ValidationResult.success(
                                     SecurityConfiguration.of(
                                         entityName,
-                                        SecurityDynamicConfiguration.fromNode(
-                                            updatedConfigurationAsJson,
-                                            configuration.getCType(),
-                                            configuration.getVersion(),
-                                            configuration.getSeqNo(),
-                                            configuration.getPrimaryTerm()
-                                        )
+                                        patchedConfiguration(configuration, updatedConfigurationAsJson)
                                     )
                                 );
                             })
@@ -232,6 +277,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
         final SecurityConfiguration securityConfiguration
     ) {
         final var configuration = securityConfiguration.configuration();
+        final var pendingConfigurations = securityConfiguration.pendingConfigurations();
         final var configurationAsJson = (ObjectNode) Utils.convertJsonToJackson(configuration, true);
         return withIOException(() -> withJsonPatchException(() -> {
             final var patchedConfigurationAsJson = JsonPatch.apply(patchContent, configurationAsJson);
@@ -241,7 +287,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
                 // verify we can process exising or updated entities
                 if (beforePatchEntity != null && !Objects.equals(beforePatchEntity, patchedEntity)) {
                     final var checkEntityCanBeProcess = endpointValidator.isAllowedToChangeImmutableEntity(
-                        SecurityConfiguration.of(entityName, configuration)
+                        SecurityConfiguration.of(entityName, configuration).withPendingConfigurations(pendingConfigurations)
                     );
                     if (!checkEntityCanBeProcess.isValid()) {
                         return checkEntityCanBeProcess;
@@ -260,7 +306,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
                 }
                 // verify new JSON content for each entity using same set of validator we use for PUT, PATCH and DELETE
                 final var additionalValidatorCheck = endpointValidator.onConfigChange(
-                    SecurityConfiguration.of(patchedEntity, entityName, configuration)
+                    SecurityConfiguration.of(patchedEntity, entityName, configuration).withPendingConfigurations(pendingConfigurations)
                 );
                 if (!additionalValidatorCheck.isValid()) {
                     return additionalValidatorCheck;
@@ -269,13 +315,7 @@ public abstract class AbstractApiAction extends BaseRestHandler {
             return ValidationResult.success(
                 SecurityConfiguration.of(
                     null,// there is no entity name in case of patch, since there could be more the one diff entity within configuration
-                    SecurityDynamicConfiguration.fromNode(
-                        patchedConfigurationAsJson,
-                        configuration.getCType(),
-                        configuration.getVersion(),
-                        configuration.getSeqNo(),
-                        configuration.getPrimaryTerm()
-                    )
+                    patchedConfiguration(configuration, patchedConfigurationAsJson)
                 )
             );
         }));
@@ -292,6 +332,22 @@ public abstract class AbstractApiAction extends BaseRestHandler {
         }
     }
 
+    private static SecurityDynamicConfiguration<?> patchedConfiguration(
+        final SecurityDynamicConfiguration<?> configuration,
+        final JsonNode patchedConfigurationAsJson
+    ) throws IOException {
+        final SecurityDynamicConfiguration<?> patched = SecurityDynamicConfiguration.fromNode(
+            patchedConfigurationAsJson,
+            configuration.getCType(),
+            configuration.getVersion(),
+            configuration.getSeqNo(),
+            configuration.getPrimaryTerm()
+        );
+        // the patch changes the entities as they were loaded
+        patched.setLoadedEntities(configuration.getLoadedEntities());
+        return patched;
+    }
+
     protected final Set<String> patchOperations(final JsonNode patchRequestContent) {
         final var operations = ImmutableSet.<String>builder();
         for (final JsonNode node : patchRequestContent) {
@@ -336,7 +392,81 @@ public abstract class AbstractApiAction extends BaseRestHandler {
         final SecurityDynamicConfiguration<?> configuration,
         final OnSucessActionListener<IndexResponse> onSucessActionListener
     ) {
-        saveAndUpdateConfigs(securityApiDependencies.securityIndexName(), client, getConfigType(), configuration, onSucessActionListener);
+        final String securityIndex = securityApiDependencies.securityIndexName();
+        final var loadedEntities = configuration.getLoadedEntities();
+        if (!EntityDocuments.ENTITY_TYPES.contains(getConfigType())
+            || loadedEntities == null && !EntityDocuments.isEnabled(securityApiDependencies.settings())) {
+            saveAndUpdateConfigs(securityIndex, client, getConfigType(), configuration, onSucessActionListener);
+            return;
+        }
+        // configurations which were not read from the index, such as those decoded from the local snapshot or
+        // pushed by another node, do not know their entity documents and rewrite the base document
+        if (loadedEntities != null && !loadedEntities.shouldCompact()) {
+            final BulkRequest bulkRequest = changedEntities(loadedEntities, configuration);
+            if (bulkRequest.numberOfActions() > 0) {
+                saveEntities(client, bulkRequest, onSucessActionListener);
+                return;
+            }
+        }
+        // the base document is rewritten with all entities, which makes the entity documents obsolete
+        saveAndUpdateConfigs(securityIndex, client, getConfigType(), configuration, new ActionListener<IndexResponse>() {
+            @Override
+            public void onResponse(final IndexResponse response) {
+                EntityDocuments.deleteObsolete(client, securityIndex, getConfigType(), response.getSeqNo(), response.getPrimaryTerm());
+                onSucessActionListener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                onSucessActionListener.onFailure(e);
+            }
+        });
+    }
+
+    /**
+     * @return the requests which write the entities changed since the configuration was loaded in documents of their own
+     */
+    private BulkRequest changedEntities(final EntityDocuments.Loaded loadedEntities, final SecurityDynamicConfiguration<?> configuration) {
+        try {
+            return EntityDocuments.changedEntities(
+                securityApiDependencies.securityIndexName(),
+                getConfigType(),
+                loadedEntities,
+                configuration.deepClone()
+            );
+        } catch (IOException e) {
+            throw ExceptionsHelper.convertToOpenSearchException(e);
+        }
+    }
+
+    private void saveEntities(
+        final Client client,
+        final BulkRequest bulkRequest,
+        final OnSucessActionListener<IndexResponse> onSucessActionListener
+    ) {
+        final var listener = new ConfigUpdatingActionListener<>(
+            new String[] { getConfigType().toLCString() },
+            client,
+            onSucessActionListener
+        );
+        client.bulk(bulkRequest, new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(final BulkResponse response) {
+                for (final BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed()) {
+                        listener.onFailure(item.getFailure().getCause());
+                        return;
+                    }
+                }
+                // the last item is always an entity document, the first one may record the layout
+                listener.onResponse(response.getItems()[response.getItems().length - 1].getResponse());
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                listener.onFailure(e);
+            }
+        });
     }
 
     protected final String nameParam(final RestRequest request) {
@@ -372,7 +502,48 @@ public abstract class AbstractApiAction extends BaseRestHandler {
         boolean omitSensitiveData,
         final boolean logComplianceEvent
     ) {
-        final var configuration = load(cType, logComplianceEvent);
+        return validateLoadedConfiguration(load(cType, logComplianceEvent), omitSensitiveData);
+    }
+
+    /**
+     * Loads the configuration for the validation of a change, taking it from the pending configurations of the change
+     * if the change spans several configuration types and modifies this one as well.
+     */
+    protected final ValidationResult<SecurityDynamicConfiguration<?>> loadConfiguration(
+        final CType cType,
+        final SecurityConfiguration securityConfiguration
+    ) {
+        final var pending = securityConfiguration.pendingConfigurations().get(cType);
+        if (pending == null) {
+            return loadConfiguration(cType, false, false);
+        }
+        return validateLoadedConfiguration(DynamicConfigFactory.addStatics(pending.deepClone()), false);
+    }
+
+    /**
+     * Loads the configuration this node currently uses instead of reading it from the index, for reads which
+     * do not lead to a change of the configuration. Sensitive data is omitted. If an existing entity is named only
+     * this entity is kept, so that the other entries of large configurations are not bound.
+     */
+    protected final ValidationResult<SecurityDynamicConfiguration<?>> loadCurrentConfiguration(final CType cType, final String entityName) {
+        final var configurationRepository = securityApiDependencies.configurationRepository();
+        final var configuration = configurationRepository.getConfiguration(cType);
+        if (configuration.getSeqNo() < 0) {
+            // not loaded by this node yet
+            return loadConfiguration(cType, true, true);
+        }
+        configurationRepository.logConfigurationRead(cType);
+        DynamicConfigFactory.addStatics(configuration);
+        if (entityName != null && configuration.exists(entityName)) {
+            configuration.removeOthers(entityName);
+        }
+        return validateLoadedConfiguration(configuration, true);
+    }
+
+    private ValidationResult<SecurityDynamicConfiguration<?>> validateLoadedConfiguration(
+        final SecurityDynamicConfiguration<?> configuration,
+        final boolean omitSensitiveData
+    ) {
         if (configuration.getSeqNo() < 0) {
 
             return ValidationResult.error(
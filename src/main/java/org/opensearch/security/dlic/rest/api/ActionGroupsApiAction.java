@@ -116,7 +116,7 @@ public class ActionGroupsApiAction extends AbstractApiAction {
                 final SecurityConfiguration securityConfiguration
             ) throws IOException {
                 // Prevent the case where action group and role share a same name.
-                return loadConfiguration(CType.ROLES, false, false).map(
+                return loadConfiguration(CType.ROLES, securityConfiguration).map(
                     rolesConfiguration -> actionGroupNameIsNotSameAsRoleName(securityConfiguration, rolesConfiguration)
                 );
             }
@@ -0,0 +1,398 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.rest.RestChannel;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestRequest.Method;
+import org.opensearch.security.configuration.EntityDocuments;
+import org.opensearch.security.dlic.rest.support.Utils;
+import org.opensearch.security.filter.SecurityRequestFactory;
+import org.opensearch.security.dlic.rest.validation.ValidationResult;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.user.User;
+import org.opensearch.threadpool.ThreadPool;
+
+import static org.opensearch.security.dlic.rest.api.Responses.badRequest;
+import static org.opensearch.security.dlic.rest.api.Responses.conflict;
+import static org.opensearch.security.dlic.rest.api.Responses.forbidden;
+import static org.opensearch.security.dlic.rest.api.Responses.internalSeverError;
+import static org.opensearch.security.dlic.rest.api.Responses.ok;
+import static org.opensearch.security.dlic.rest.api.Responses.response;
+import static org.opensearch.security.dlic.rest.support.Utils.addRoutesPrefix;
+
+/**
+ * Applies JSON patches to several configuration types at once.
+ * <p>
+ * The request body maps configuration types to the JSON patch for that type, e.g.
+ * {@code {"roles": [...], "rolesmapping": [...]}}. Each patch is validated by the endpoint of its configuration type,
+ * against the already patched configurations of the other types. All changed configuration documents are written with
+ * one bulk request, each conditional on the sequence number it was read with, and one config update is issued.
+ * Batch updates of this node are serialized, from loading the configurations until the response.
+ * <p>
+ * If one of the documents cannot be written, the documents which were written are reverted and the request fails
+ * with the error of that document. If the revert fails as well, the request fails with an error naming the
+ * configuration types which stay written. No config update is issued in this case, the nodes keep the configuration
+ * they use until the next config update.
+ * <p>
+ * The documents are not written atomically. Between the write and the revert, nodes which load the configuration,
+ * e.g. when starting or because of a config update of another request, may see the written documents of a batch
+ * which fails in the end. The batch rewrites the whole document of each configuration type, as the other endpoints
+ * do when they compact the configuration: if entity documents are enabled, see {@link EntityDocuments}, the entity
+ * documents of the written types are deleted after the write or the revert.
+ */
+public class BatchApiAction extends AbstractApiAction {
+
+    private static final Logger LOGGER = LogManager.getLogger(BatchApiAction.class);
+
+    private static final List<Route> routes = addRoutesPrefix(ImmutableList.of(new Route(Method.PATCH, "/batch")));
+
+    /**
+     * The configuration types which can be patched, in the order in which their patches are validated.
+     */
+    private static final List<CType> PATCH_ORDER = List.of(
+        CType.ACTIONGROUPS,
+        CType.ROLES,
+        CType.ROLESMAPPING,
+        CType.INTERNALUSERS,
+        CType.TENANTS
+    );
+
+    private static final long BATCH_PERMIT_TIMEOUT_SECONDS = 30;
+
+    private final Map<CType, AbstractApiAction> apiActions;
+
+    private final Semaphore batchPermit = new Semaphore(1);
+
+    public BatchApiAction(
+        final ClusterService clusterService,
+        final ThreadPool threadPool,
+        final SecurityApiDependencies securityApiDependencies,
+        final Map<CType, AbstractApiAction> apiActions
+    ) {
+        super(Endpoint.BATCH, clusterService, threadPool, securityApiDependencies);
+        this.apiActions = apiActions;
+        this.requestHandlersBuilder.configureRequestHandlers(
+            builder -> builder.allMethodsNotImplemented().override(Method.PATCH, this::processBatchPatchRequest)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return routes;
+    }
+
+    @Override
+    protected CType getConfigType() {
+        return null;
+    }
+
+    @Override
+    protected void consumeParameters(final RestRequest request) {
+        // not needed
+    }
+
+    private void processBatchPatchRequest(final RestChannel channel, final RestRequest request, final Client client) throws IOException {
+        final JsonNode content;
+        try {
+            content = Utils.toJsonNode(request.content().utf8ToString());
+        } catch (final IOException e) {
+            badRequest(channel, "Error in JSON patch: " + e.getMessage());
+            return;
+        }
+        if (!(content instanceof ObjectNode) || content.isEmpty()) {
+            badRequest(channel, "Wrong request body");
+            return;
+        }
+
+        final User user = threadPool.getThreadContext().getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
+        final String userName = user == null ? null : user.getName();
+        final Map<CType, JsonNode> patches = new EnumMap<>(CType.class);
+        for (final Iterator<Map.Entry<String, JsonNode>> it = content.fields(); it.hasNext();) {
+            final Map.Entry<String, JsonNode> field = it.next();
+            final CType cType = PATCH_ORDER.stream().filter(t -> t.toLCString().equals(field.getKey())).findFirst().orElse(null);
+            if (cType == null) {
+                badRequest(
+                    channel,
+                    "Unsupported configuration type: "
+                        + field.getKey()
+                        + ". Supported are: "
+                        + PATCH_ORDER.stream().map(CType::toLCString).collect(Collectors.joining(","))
+                );
+                return;
+            }
+            patches.put(cType, field.getValue());
+        }
+        for (final CType cType : patches.keySet()) {
+            final String authError = securityApiDependencies.restApiPrivilegesEvaluator()
+                .checkAccessPermissions(request, apiActions.get(cType).endpoint);
+            if (authError != null) {
+                LOGGER.error("No permission to access REST API: " + authError);
+                securityApiDependencies.auditLog().logMissingPrivileges(authError, userName, SecurityRequestFactory.from(request));
+                forbidden(channel, "No permission to access REST API: " + authError);
+                return;
+            }
+        }
+        securityApiDependencies.auditLog().logGrantedPrivileges(userName, SecurityRequestFactory.from(request));
+
+        try {
+            if (!batchPermit.tryAcquire(BATCH_PERMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                conflict(channel, "Another batch update is in progress");
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            internalSeverError(channel, "Interrupted while waiting for another batch update");
+            return;
+        }
+        boolean writing = false;
+        try {
+            final Map<CType, SecurityDynamicConfiguration<?>> originals = new EnumMap<>(CType.class);
+            final var patched = patch(request, patches, originals);
+            if (patched.isValid()) {
+                writing = true;
+                final var listener = ActionListener.runAfter(new OnSucessActionListener<BulkResponse>(channel) {
+                    @Override
+                    public void onResponse(final BulkResponse response) {
+                        ok(channel, "Resources updated.");
+                    }
+                }, batchPermit::release);
+                patched.valid(
+                    configurations -> new BatchUpdate(
+                        securityApiDependencies.securityIndexName(),
+                        originals,
+                        configurations,
+                        EntityDocuments.isEnabled(securityApiDependencies.settings())
+                    ).execute(client, listener)
+                );
+            } else {
+                patched.error((status, toXContent) -> response(channel, status, toXContent));
+            }
+        } finally {
+            if (!writing) {
+                batchPermit.release();
+            }
+        }
+    }
+
+    /**
+     * Patches the configuration types in their order, each validated against the already patched configurations.
+     */
+    private ValidationResult<Map<CType, SecurityDynamicConfiguration<?>>> patch(
+        final RestRequest request,
+        final Map<CType, JsonNode> patches,
+        final Map<CType, SecurityDynamicConfiguration<?>> originals
+    ) throws IOException {
+        ValidationResult<Map<CType, SecurityDynamicConfiguration<?>>> patched = ValidationResult.success(new EnumMap<>(CType.class));
+        for (final CType cType : PATCH_ORDER) {
+            final JsonNode patch = patches.get(cType);
+            if (patch == null) {
+                continue;
+            }
+            final AbstractApiAction apiAction = apiActions.get(cType);
+            patched = patched.map(
+                configurations -> apiAction.loadConfiguration(cType, false, false).map(configuration -> {
+                    originals.put(cType, configuration.deepClone());
+                    return apiAction.patchConfiguration(request, patch, configuration, configurations);
+                }).map(securityConfiguration -> {
+                    configurations.put(cType, securityConfiguration.configuration());
+                    return ValidationResult.success(configurations);
+                })
+            );
+        }
+        return patched;
+    }
+
+    /**
+     * Writes the patched configuration documents and reverts the written ones if one of them cannot be written.
+     */
+    static final class BatchUpdate {
+
+        private final String securityIndex;
+
+        private final Map<CType, SecurityDynamicConfiguration<?>> originals;
+
+        private final Map<CType, SecurityDynamicConfiguration<?>> configurations;
+
+        private final boolean entityDocuments;
+
+        BatchUpdate(
+            final String securityIndex,
+            final Map<CType, SecurityDynamicConfiguration<?>> originals,
+            final Map<CType, SecurityDynamicConfiguration<?>> configurations,
+            final boolean entityDocuments
+        ) {
+            this.securityIndex = securityIndex;
+            this.originals = originals;
+            this.configurations = configurations;
+            this.entityDocuments = entityDocuments;
+        }
+
+        void execute(final Client client, final ActionListener<BulkResponse> listener) {
+            final String[] cTypes = configurations.keySet().stream().map(CType::toLCString).toArray(String[]::new);
+            final BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+            try {
+                for (final Map.Entry<CType, SecurityDynamicConfiguration<?>> entry : configurations.entrySet()) {
+                    final SecurityDynamicConfiguration<?> configuration = entry.getValue();
+                    bulkRequest.add(
+                        indexRequest(entry.getKey(), configuration).setIfSeqNo(configuration.getSeqNo())
+                            .setIfPrimaryTerm(configuration.getPrimaryTerm())
+                    );
+                }
+            } catch (final IOException e) {
+                listener.onFailure(e);
+                return;
+            }
+
+            client.bulk(bulkRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(final BulkResponse response) {
+                    if (!response.hasFailures()) {
+                        deleteObsoleteEntities(client, response);
+                        new ConfigUpdatingActionListener<>(cTypes, client, listener).onResponse(response);
+                        return;
+                    }
+                    final Exception failure = firstFailure(response);
+                    LOGGER.debug("Reverting batch update because of a failed configuration update", failure);
+                    revert(client, response, ActionListener.wrap(revertResponse -> {
+                        deleteObsoleteEntities(client, revertResponse);
+                        listener.onFailure(failure);
+                    }, e -> {
+                        final String written = writtenTypes(response);
+                        LOGGER.error("Cannot revert batch update of {}", written, e);
+                        final OpenSearchStatusException partialFailure = new OpenSearchStatusException(
+                            "Batch update failed and could not be reverted, the configuration of "
+                                + written
+                                + " has been written but is not loaded: "
+                                + failure.getMessage(),
+                            RestStatus.INTERNAL_SERVER_ERROR,
+                            failure
+                        );
+                        partialFailure.addSuppressed(e);
+                        listener.onFailure(partialFailure);
+                    }));
+                }
+
+                @Override
+                public void onFailure(final Exception e) {
+                    listener.onFailure(e);
+                }
+            });
+        }
+
+        private void revert(final Client client, final BulkResponse response, final ActionListener<BulkResponse> listener) {
+            final BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+            try {
+                for (final BulkItemResponse item : response.getItems()) {
+                    if (!item.isFailed()) {
+                        final CType cType = CType.fromString(item.getId());
+                        bulkRequest.add(
+                            indexRequest(cType, originals.get(cType)).setIfSeqNo(item.getResponse().getSeqNo())
+                                .setIfPrimaryTerm(item.getResponse().getPrimaryTerm())
+                        );
+                    }
+                }
+            } catch (final IOException e) {
+                listener.onFailure(e);
+                return;
+            }
+            if (bulkRequest.numberOfActions() == 0) {
+                listener.onResponse(response);
+                return;
+            }
+            client.bulk(bulkRequest, ActionListener.wrap(revertResponse -> {
+                if (revertResponse.hasFailures()) {
+                    listener.onFailure(firstFailure(revertResponse));
+                } else {
+                    listener.onResponse(revertResponse);
+                }
+            }, listener::onFailure));
+        }
+
+        /**
+         * Deletes the entity documents of the written entity types, which the rewritten documents contain.
+         */
+        private void deleteObsoleteEntities(final Client client, final BulkResponse response) {
+            if (!entityDocuments) {
+                return;
+            }
+            for (final BulkItemResponse item : response.getItems()) {
+                final CType cType = CType.fromString(item.getId());
+                if (!item.isFailed() && EntityDocuments.ENTITY_TYPES.contains(cType)) {
+                    EntityDocuments.deleteObsolete(
+                        client,
+                        securityIndex,
+                        cType,
+                        item.getResponse().getSeqNo(),
+                        item.getResponse().getPrimaryTerm()
+                    );
+                }
+            }
+        }
+
+        private IndexRequest indexRequest(final CType cType, final SecurityDynamicConfiguration<?> configuration) throws IOException {
+            final String id = cType.toLCString();
+            configuration.removeStatic();
+            return new IndexRequest(securityIndex).id(id).source(id, XContentHelper.toXContent(configuration, XContentType.JSON, false));
+        }
+    }
+
+    private static String writtenTypes(final BulkResponse response) {
+        final List<String> written = new ArrayList<>();
+        for (final BulkItemResponse item : response.getItems()) {
+            if (!item.isFailed()) {
+                written.add(item.getId());
+            }
+        }
+        return String.join(",", written);
+    }
+
+    private static Exception firstFailure(final BulkResponse response) {
+        for (final BulkItemResponse item : response.getItems()) {
+            if (item.isFailed()) {
+                return item.getFailure().getCause();
+            }
+        }
+        return new OpenSearchException(response.buildFailureMessage());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestRequest.Method;
+import org.opensearch.security.securityconf.ConfigModelBuildStats;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.threadpool.ThreadPool;
+
+import static org.opensearch.security.dlic.rest.api.Responses.ok;
+import static org.opensearch.security.dlic.rest.support.Utils.addRoutesPrefix;
+
+/**
+ * Rest API action to get the build statistics of the role and tenant models of the node which serves the request.
+ * Only super admin users are allowed to access this API.
+ * This action serves GET request for _plugins/_security/api/configmodel endpoint
+ */
+public class ConfigModelStatsApiAction extends AbstractApiAction {
+
+    private static final List<Route> routes = addRoutesPrefix(ImmutableList.of(new Route(Method.GET, "/configmodel")));
+
+    private final ConfigModelBuildStats configModelBuildStats;
+
+    public ConfigModelStatsApiAction(
+        final ClusterService clusterService,
+        final ThreadPool threadPool,
+        final ConfigModelBuildStats configModelBuildStats,
+        final SecurityApiDependencies securityApiDependencies
+    ) {
+        super(Endpoint.CONFIGMODEL, clusterService, threadPool, securityApiDependencies);
+        this.configModelBuildStats = configModelBuildStats;
+        this.requestHandlersBuilder.configureRequestHandlers(this::configModelStatsRequestHandlers);
+    }
+
+    @Override
+    public List<Route> routes() {
+        return routes;
+    }
+
+    @Override
+    public String getName() {
+        return "Config Model Stats Action";
+    }
+
+    private void configModelStatsRequestHandlers(RequestHandler.RequestHandlersBuilder requestHandlersBuilder) {
+        requestHandlersBuilder.allMethodsNotImplemented()
+            .verifyAccessForAllMethods()
+            .override(
+                Method.GET,
+                (channel, request, client) -> ok(
+                    channel,
+                    (builder, params) -> builder.startObject().field("config_model", configModelBuildStats).endObject()
+                )
+            );
+    }
+
+    @Override
+    protected CType getConfigType() {
+        return null;
+    }
+
+    @Override
+    protected void consumeParameters(final RestRequest request) {
+        // not needed
+    }
+}
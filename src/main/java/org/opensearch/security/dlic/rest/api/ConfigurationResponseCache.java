@@ -0,0 +1,109 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import java.util.List;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+
+/**
+ * Caches the serialized responses of configuration reads, keyed by the configuration version of the node and
+ * everything else the response depends on.
+ * <p>
+ * Responses carry an entity tag derived from their content, so that it is the same on all nodes which use the same
+ * configuration, and requests whose {@code If-None-Match} header contains it are answered with 304 Not Modified.
+ */
+final class ConfigurationResponseCache {
+
+    static final String ETAG_HEADER = "ETag";
+
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    static final String CONFIG_VERSION_HEADER = "X-Security-Config-Version";
+
+    private static final int MAX_CACHED_RESPONSES = 100;
+
+    private final Cache<List<Object>, CachedResponse> cache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_RESPONSES).build();
+
+    CachedResponse get(final List<Object> key) {
+        return cache.getIfPresent(key);
+    }
+
+    CachedResponse put(final List<Object> key, final XContentBuilder builder, final SecurityDynamicConfiguration<?> configuration) {
+        final var content = BytesReference.bytes(builder);
+        final var cachedResponse = new CachedResponse(
+            content,
+            builder.contentType().mediaType(),
+            "\"" + Hashing.sha256().hashBytes(BytesReference.toBytes(content)) + "\"",
+            configuration.getPrimaryTerm() + ":" + configuration.getSeqNo()
+        );
+        cache.put(key, cachedResponse);
+        return cachedResponse;
+    }
+
+    /**
+     * @return true if the value of an {@code If-None-Match} header matches the given entity tag
+     */
+    static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || etag.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class CachedResponse {
+
+        private final BytesReference content;
+
+        private final String contentType;
+
+        private final String etag;
+
+        private final String configVersion;
+
+        private CachedResponse(final BytesReference content, final String contentType, final String etag, final String configVersion) {
+            this.content = content;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.configVersion = configVersion;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        BytesRestResponse toRestResponse(final RestRequest request) {
+            final BytesRestResponse response = matches(request.header(IF_NONE_MATCH_HEADER), etag)
+                ? new BytesRestResponse(RestStatus.NOT_MODIFIED, contentType, BytesArray.EMPTY)
+                : new BytesRestResponse(RestStatus.OK, contentType, content);
+            response.addHeader(ETAG_HEADER, etag);
+            response.addHeader(CONFIG_VERSION_HEADER, configVersion);
+            return response;
+        }
+    }
+}
@@ -29,5 +29,7 @@ public enum Endpoint {
     WHITELIST,
     ALLOWLIST,
     NODESDN,
-    SSL;
+    BATCH,
+    SSL,
+    CONFIGMODEL;
 }
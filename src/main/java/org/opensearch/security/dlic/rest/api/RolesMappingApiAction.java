@@ -90,7 +90,7 @@ public class RolesMappingApiAction extends AbstractApiAction {
             private ValidationResult<SecurityConfiguration> validateRole(final SecurityConfiguration securityConfiguration)
                 throws IOException {
                 // check here that role is not hidden for the mapping
-                return loadConfiguration(CType.ROLES, false, false).map(
+                return loadConfiguration(CType.ROLES, securityConfiguration).map(
                     rolesConfiguration -> validateRoles(List.of(securityConfiguration.entityName()), rolesConfiguration)
                 ).map(ignore -> ValidationResult.success(securityConfiguration));
             }
@@ -106,7 +106,7 @@ public class RolesMappingApiAction extends AbstractApiAction {
             public ValidationResult<SecurityConfiguration> isAllowedToChangeRoleMappingWithRestAdminPermissions(
                 SecurityConfiguration securityConfiguration
             ) throws IOException {
-                return loadConfiguration(CType.ROLES, false, false).map(rolesConfiguration -> {
+                return loadConfiguration(CType.ROLES, securityConfiguration).map(rolesConfiguration -> {
                     if (isCurrentUserAdmin()) {
                         return ValidationResult.success(securityConfiguration);
                     }
@@ -11,11 +11,13 @@
 
 package org.opensearch.security.dlic.rest.api;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
 
 public class SecurityConfiguration {
@@ -28,16 +30,29 @@ public class SecurityConfiguration {
 
     private final SecurityDynamicConfiguration<?> configuration;
 
+    private final Map<CType, SecurityDynamicConfiguration<?>> pendingConfigurations;
+
     private SecurityConfiguration(
         final String entityName,
         final boolean entityExists,
         final JsonNode requestContent,
-        final SecurityDynamicConfiguration<?> configuration
+        final SecurityDynamicConfiguration<?> configuration,
+        final Map<CType, SecurityDynamicConfiguration<?>> pendingConfigurations
     ) {
         this.entityName = entityName;
         this.entityExists = entityExists;
         this.requestContent = requestContent;
         this.configuration = configuration;
+        this.pendingConfigurations = pendingConfigurations;
+    }
+
+    private SecurityConfiguration(
+        final String entityName,
+        final boolean entityExists,
+        final JsonNode requestContent,
+        final SecurityDynamicConfiguration<?> configuration
+    ) {
+        this(entityName, entityExists, requestContent, configuration, Map.of());
     }
 
     private SecurityConfiguration(
@@ -68,6 +83,18 @@ public class SecurityConfiguration {
         return maybeEntityName().orElse("empty");
     }
 
+    /**
+     * @return the configurations of other types which are changed by the same request and have not been written yet
+     */
+    public Map<CType, SecurityDynamicConfiguration<?>> pendingConfigurations() {
+        return pendingConfigurations;
+    }
+
+    public SecurityConfiguration withPendingConfigurations(final Map<CType, SecurityDynamicConfiguration<?>> pendingConfigurations) {
+        Objects.requireNonNull(pendingConfigurations, "pendingConfigurations hasn't been set");
+        return new SecurityConfiguration(entityName, entityExists, requestContent, configuration, pendingConfigurations);
+    }
+
     public static SecurityConfiguration of(final String entityName, final SecurityDynamicConfiguration<?> configuration) {
         Objects.requireNonNull(configuration, "configuration hasn't been set");
         return new SecurityConfiguration(entityName, configuration.exists(entityName), configuration);
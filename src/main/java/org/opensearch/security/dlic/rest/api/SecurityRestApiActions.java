@@ -14,6 +14,7 @@ package org.opensearch.security.dlic.rest.api;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
@@ -24,6 +25,8 @@ import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.configuration.ConfigurationRepository;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
+import org.opensearch.security.securityconf.ConfigModelBuildStats;
+import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.ssl.SecurityKeyStore;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.user.UserService;
@@ -47,7 +50,8 @@ public class SecurityRestApiActions {
         final AuditLog auditLog,
         final SecurityKeyStore securityKeyStore,
         final UserService userService,
-        final boolean certificatesReloadEnabled
+        final boolean certificatesReloadEnabled,
+        final ConfigModelBuildStats configModelBuildStats
     ) {
         final var securityApiDependencies = new SecurityApiDependencies(
             adminDns,
@@ -63,11 +67,16 @@ public class SecurityRestApiActions {
             auditLog,
             settings
         );
+        final var internalUsersApiAction = new InternalUsersApiAction(clusterService, threadPool, userService, securityApiDependencies);
+        final var rolesMappingApiAction = new RolesMappingApiAction(clusterService, threadPool, securityApiDependencies);
+        final var rolesApiAction = new RolesApiAction(clusterService, threadPool, securityApiDependencies);
+        final var actionGroupsApiAction = new ActionGroupsApiAction(clusterService, threadPool, securityApiDependencies);
+        final var tenantsApiAction = new TenantsApiAction(clusterService, threadPool, securityApiDependencies);
         return List.of(
-            new InternalUsersApiAction(clusterService, threadPool, userService, securityApiDependencies),
-            new RolesMappingApiAction(clusterService, threadPool, securityApiDependencies),
-            new RolesApiAction(clusterService, threadPool, securityApiDependencies),
-            new ActionGroupsApiAction(clusterService, threadPool, securityApiDependencies),
+            internalUsersApiAction,
+            rolesMappingApiAction,
+            rolesApiAction,
+            actionGroupsApiAction,
             new FlushCacheApiAction(clusterService, threadPool, securityApiDependencies),
             new SecurityConfigApiAction(clusterService, threadPool, securityApiDependencies),
             // FIXME Change inheritance for PermissionsInfoAction
@@ -85,7 +94,7 @@ public class SecurityRestApiActions {
                 auditLog
             ),
             new AuthTokenProcessorAction(clusterService, threadPool, securityApiDependencies),
-            new TenantsApiAction(clusterService, threadPool, securityApiDependencies),
+            tenantsApiAction,
             new MigrateApiAction(clusterService, threadPool, securityApiDependencies),
             new ValidateApiAction(clusterService, threadPool, securityApiDependencies),
             new AccountApiAction(clusterService, threadPool, securityApiDependencies),
@@ -95,7 +104,25 @@ public class SecurityRestApiActions {
             new AllowlistApiAction(Endpoint.ALLOWLIST, clusterService, threadPool, securityApiDependencies),
             new AuditApiAction(clusterService, threadPool, securityApiDependencies),
             new MultiTenancyConfigApiAction(clusterService, threadPool, securityApiDependencies),
-            new SecuritySSLCertsApiAction(clusterService, threadPool, securityKeyStore, certificatesReloadEnabled, securityApiDependencies)
+            new SecuritySSLCertsApiAction(clusterService, threadPool, securityKeyStore, certificatesReloadEnabled, securityApiDependencies),
+            new ConfigModelStatsApiAction(clusterService, threadPool, configModelBuildStats, securityApiDependencies),
+            new BatchApiAction(
+                clusterService,
+                threadPool,
+                securityApiDependencies,
+                Map.of(
+                    CType.INTERNALUSERS,
+                    internalUsersApiAction,
+                    CType.ROLESMAPPING,
+                    rolesMappingApiAction,
+                    CType.ROLES,
+                    rolesApiAction,
+                    CType.ACTIONGROUPS,
+                    actionGroupsApiAction,
+                    CType.TENANTS,
+                    tenantsApiAction
+                )
+            )
         );
     }
 
@@ -27,6 +27,7 @@
 package org.opensearch.security.http;
 
 import java.net.InetSocketAddress;
+import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +37,7 @@ import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.threadpool.ThreadPool;
 
@@ -44,8 +46,8 @@ import org.greenrobot.eventbus.Subscribe;
 public class XFFResolver {
 
     protected final Logger log = LogManager.getLogger(this.getClass());
-    private volatile boolean enabled;
-    private volatile RemoteIpDetector detector;
+    private final SecuritySnapshot.Key<Optional<RemoteIpDetector>> detectorKey = new SecuritySnapshot.Key<>("xff_detector");
+    private volatile SecuritySnapshot latestSnapshot;
     private final ThreadContext threadContext;
 
     public XFFResolver(final ThreadPool threadPool) {
@@ -59,6 +61,8 @@ public class XFFResolver {
             log.trace("resolve {}", request.getRemoteAddress().orElse(null));
         }
 
+        final RemoteIpDetector detector = detector();
+        final boolean enabled = detector != null;
         if (enabled && request.getRemoteAddress().isPresent()) {
             final InetSocketAddress remoteAddress = request.getRemoteAddress().get();
             final InetSocketAddress isa = new InetSocketAddress(detector.detect(request, threadContext), remoteAddress.getPort());
@@ -91,14 +95,27 @@ public class XFFResolver {
     }
 
     @Subscribe
-    public void onDynamicConfigModelChanged(DynamicConfigModel dcm) {
-        enabled = dcm.isXffEnabled();
-        if (enabled) {
-            detector = new RemoteIpDetector();
-            detector.setInternalProxies(dcm.getInternalProxies());
-            detector.setRemoteIpHeader(dcm.getRemoteIpHeader());
-        } else {
-            detector = null;
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        latestSnapshot = snapshot;
+        snapshot.derived(detectorKey, XFFResolver::buildDetector);
+    }
+
+    private static Optional<RemoteIpDetector> buildDetector(SecuritySnapshot snapshot) {
+        final DynamicConfigModel dcm = snapshot.getDynamicConfigModel();
+        if (!dcm.isXffEnabled()) {
+            return Optional.empty();
         }
+        final RemoteIpDetector detector = new RemoteIpDetector();
+        detector.setInternalProxies(dcm.getInternalProxies());
+        detector.setRemoteIpHeader(dcm.getRemoteIpHeader());
+        return Optional.of(detector);
+    }
+
+    /**
+     * @return the detector of the configuration snapshot of the current request, null if XFF is disabled
+     */
+    private RemoteIpDetector detector() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null ? snapshot.derived(detectorKey, XFFResolver::buildDetector).orElse(null) : null;
     }
 }
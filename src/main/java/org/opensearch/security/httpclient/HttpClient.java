@@ -22,10 +22,16 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.net.ssl.HostnameVerifier;
@@ -54,6 +60,10 @@ import org.apache.hc.core5.ssl.SSLContexts;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
@@ -62,7 +72,11 @@ import org.opensearch.client.RequestOptions;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.RestClientBuilder;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
 
 public class HttpClient implements Closeable {
 
@@ -76,6 +90,7 @@ public class HttpClient implements Closeable {
         private boolean verifyHostnames;
         private String[] supportedProtocols = null;
         private String[] supportedCipherSuites = null;
+        private boolean compression;
 
         private final String[] servers;
         private boolean ssl;
@@ -117,6 +132,11 @@ public class HttpClient implements Closeable {
             return this;
         }
 
+        public HttpClientBuilder setCompression(final boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
         public HttpClient build() throws Exception {
             return new HttpClient(
                 trustStore,
@@ -128,6 +148,7 @@ public class HttpClient implements Closeable {
                 ssl,
                 supportedProtocols,
                 supportedCipherSuites,
+                compression,
                 servers
             );
         }
@@ -153,6 +174,7 @@ public class HttpClient implements Closeable {
     private boolean ssl;
     private String[] supportedProtocols;
     private String[] supportedCipherSuites;
+    private final ScheduledExecutorService retryScheduler;
 
     private HttpClient(
         final KeyStore trustStore,
@@ -164,6 +186,7 @@ public class HttpClient implements Closeable {
         final boolean ssl,
         String[] supportedProtocols,
         String[] supportedCipherSuites,
+        final boolean compression,
         final String... servers
     ) throws UnrecoverableKeyException, KeyManagementException, NoSuchAlgorithmException, KeyStoreException, CertificateException,
         IOException {
@@ -180,6 +203,7 @@ public class HttpClient implements Closeable {
 
         HttpHost[] hosts = createHosts(servers);
         RestClientBuilder builder = RestClient.builder(hosts);
+        builder.setCompressionEnabled(compression);
 
         builder.setFailureListener(new RestClient.FailureListener() {
             @Override
@@ -202,6 +226,7 @@ public class HttpClient implements Closeable {
         });
 
         rclient = new RestHighLevelClient(builder);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(OpenSearchExecutors.daemonThreadFactory("security-httpclient-retry"));
     }
 
     private HttpHost[] createHosts(String[] servers) {
@@ -241,6 +266,107 @@ public class HttpClient implements Closeable {
         }
     }
 
+    /**
+     * Indexes all documents with a single bulk request without blocking the caller. Items which
+     * were rejected because the target was overloaded (HTTP 429), as well as requests which failed
+     * entirely, are retried with exponential backoff up to {@code maxRetries} times.
+     *
+     * @param contents the JSON documents to index
+     * @param index the target index
+     * @param maxRetries maximum number of retries
+     * @param listener notified with the positions (in {@code contents}) of all documents which could
+     *                 not be indexed; an empty list means all documents were indexed
+     */
+    public void bulkAsync(
+        final List<String> contents,
+        final String index,
+        final int maxRetries,
+        final ActionListener<List<Integer>> listener
+    ) {
+        final List<Integer> slots = new ArrayList<>(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            slots.add(i);
+        }
+        final Iterator<TimeValue> backoff = BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(50), maxRetries).iterator();
+        bulkAsync(contents, slots, index, backoff, new ArrayList<>(), listener);
+    }
+
+    private void bulkAsync(
+        final List<String> contents,
+        final List<Integer> slots,
+        final String index,
+        final Iterator<TimeValue> backoff,
+        final List<Integer> failed,
+        final ActionListener<List<Integer>> listener
+    ) {
+        final BulkRequest bulkRequest = new BulkRequest();
+        for (Integer slot : slots) {
+            bulkRequest.add(new IndexRequest(index).source(contents.get(slot), XContentType.JSON));
+        }
+
+        try {
+            rclient.bulkAsync(bulkRequest, RequestOptions.DEFAULT, new ActionListener<BulkResponse>() {
+                @Override
+                public void onResponse(BulkResponse response) {
+                    if (!response.hasFailures()) {
+                        listener.onResponse(failed);
+                        return;
+                    }
+
+                    final List<Integer> retry = new ArrayList<>();
+                    final BulkItemResponse[] items = response.getItems();
+                    for (int i = 0; i < items.length; i++) {
+                        if (items[i].isFailed()) {
+                            if (items[i].status() == RestStatus.TOO_MANY_REQUESTS) {
+                                retry.add(slots.get(i));
+                            } else {
+                                log.error("Unable to index document into {} due to {}", index, items[i].getFailureMessage());
+                                failed.add(slots.get(i));
+                            }
+                        }
+                    }
+                    retryOrComplete(contents, retry, index, backoff, failed, listener);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.error("Bulk request with {} documents to {} failed", slots.size(), index, e);
+                    retryOrComplete(contents, slots, index, backoff, failed, listener);
+                }
+            });
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private void retryOrComplete(
+        final List<String> contents,
+        final List<Integer> retry,
+        final String index,
+        final Iterator<TimeValue> backoff,
+        final List<Integer> failed,
+        final ActionListener<List<Integer>> listener
+    ) {
+        if (retry.isEmpty()) {
+            listener.onResponse(failed);
+            return;
+        }
+        if (backoff.hasNext()) {
+            try {
+                retryScheduler.schedule(
+                    () -> bulkAsync(contents, retry, index, backoff, failed, listener),
+                    backoff.next().millis(),
+                    TimeUnit.MILLISECONDS
+                );
+                return;
+            } catch (RejectedExecutionException e) {
+                log.debug("Client is closed, bulk request will not be retried");
+            }
+        }
+        failed.addAll(retry);
+        listener.onResponse(failed);
+    }
+
     private final HttpAsyncClientBuilder asyncClientBuilder(HttpAsyncClientBuilder httpClientBuilder) throws NoSuchAlgorithmException,
         KeyStoreException, UnrecoverableKeyException, KeyManagementException {
 
@@ -320,6 +446,7 @@ public class HttpClient implements Closeable {
 
     @Override
     public void close() throws IOException {
+        retryScheduler.shutdownNow();
         if (rclient != null) {
             rclient.close();
         }
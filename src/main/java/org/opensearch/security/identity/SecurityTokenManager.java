@@ -21,6 +21,7 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchSecurityException;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.identity.Subject;
 import org.opensearch.identity.noop.NoopSubject;
@@ -29,8 +30,7 @@ import org.opensearch.identity.tokens.OnBehalfOfClaims;
 import org.opensearch.identity.tokens.TokenManager;
 import org.opensearch.security.authtoken.jwt.ExpiringBearerAuthToken;
 import org.opensearch.security.authtoken.jwt.JwtVendor;
-import org.opensearch.security.securityconf.ConfigModel;
-import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserService;
@@ -50,8 +50,8 @@ public class SecurityTokenManager implements TokenManager {
     private final ThreadPool threadPool;
     private final UserService userService;
 
-    private JwtVendor jwtVendor = null;
-    private ConfigModel configModel = null;
+    private final SecuritySnapshot.Key<Optional<JwtVendor>> jwtVendorKey = new SecuritySnapshot.Key<>("obo_jwt_vendor");
+    private volatile SecuritySnapshot latestSnapshot;
 
     public SecurityTokenManager(final ClusterService cs, final ThreadPool threadPool, final UserService userService) {
         this.cs = cs;
@@ -60,21 +60,25 @@ public class SecurityTokenManager implements TokenManager {
     }
 
     @Subscribe
-    public void onConfigModelChanged(final ConfigModel configModel) {
-        this.configModel = configModel;
+    public void onSecuritySnapshotChanged(final SecuritySnapshot snapshot) {
+        latestSnapshot = snapshot;
+        snapshot.derived(jwtVendorKey, this::buildJwtVendor);
     }
 
-    @Subscribe
-    public void onDynamicConfigModelChanged(final DynamicConfigModel dcm) {
-        final Settings oboSettings = dcm.getDynamicOnBehalfOfSettings();
+    private Optional<JwtVendor> buildJwtVendor(final SecuritySnapshot snapshot) {
+        final Settings oboSettings = snapshot.getDynamicConfigModel().getDynamicOnBehalfOfSettings();
         final Boolean enabled = oboSettings.getAsBoolean("enabled", false);
         if (enabled) {
-            jwtVendor = createJwtVendor(oboSettings);
+            return Optional.ofNullable(createJwtVendor(oboSettings));
         } else {
-            jwtVendor = null;
+            return Optional.empty();
         }
     }
 
+    private JwtVendor jwtVendor(final SecuritySnapshot snapshot) {
+        return snapshot.derived(jwtVendorKey, this::buildJwtVendor).orElse(null);
+    }
+
     /** For testing */
     JwtVendor createJwtVendor(final Settings settings) {
         try {
@@ -86,7 +90,8 @@ public class SecurityTokenManager implements TokenManager {
     }
 
     public boolean issueOnBehalfOfTokenAllowed() {
-        return jwtVendor != null && configModel != null;
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadPool.getThreadContext(), latestSnapshot);
+        return snapshot != null && snapshot.getConfigModel() != null && jwtVendor(snapshot) != null;
     }
 
     @Override
@@ -107,16 +112,21 @@ public class SecurityTokenManager implements TokenManager {
             throw new IllegalArgumentException("Claims must be supplied with an audience value");
         }
 
-        final User user = threadPool.getThreadContext().getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
+        final ThreadContext threadContext = threadPool.getThreadContext();
+        final User user = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
         if (user == null) {
             throw new OpenSearchSecurityException("Unsupported user to generate OnBehalfOfToken");
         }
 
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        if (snapshot == null || snapshot.getConfigModel() == null) {
+            throw new OpenSearchSecurityException("The security configuration is not loaded, cannot generate OnBehalfOfToken");
+        }
         final TransportAddress callerAddress = null; /* OBO tokens must not roles based on location from network address */
-        final Set<String> mappedRoles = configModel.mapSecurityRoles(user, callerAddress);
+        final Set<String> mappedRoles = snapshot.getConfigModel().mapSecurityRoles(user, callerAddress);
 
         try {
-            return jwtVendor.createJwt(
+            return jwtVendor(snapshot).createJwt(
                 cs.getClusterName().value(),
                 user.getName(),
                 claims.getAudience(),
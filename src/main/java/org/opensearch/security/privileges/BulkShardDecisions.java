@@ -0,0 +1,165 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
+import org.opensearch.action.bulk.BulkShardRequest;
+import org.opensearch.security.securityconf.EvaluatedDlsFlsConfig;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Memo of the authorization decisions taken for the shard requests of a bulk request.
+ * <p>
+ * A bulk request is split into one shard request per shard, which are all evaluated for the same user.
+ * Decisions are remembered per parent bulk task, so that the DLS/FLS configuration of the user is
+ * evaluated once per bulk and the index permissions once per distinct index and set of required
+ * permissions. Decisions are bound to the configuration and the cluster metadata version they were
+ * taken for and expire shortly after the bulk request stopped sending shard requests.
+ */
+final class BulkShardDecisions {
+
+    private final Cache<Key, Decisions> decisionsByBulk = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .expireAfterAccess(1, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * @param request the shard request
+     * @param userName the name of the user of the request
+     * @param mappedRoles the security roles of the user
+     * @param roleConfig the role configuration the decisions are based on, compared by identity
+     * @param dynamicConfig the dynamic configuration the decisions are based on, compared by identity
+     * @param metadataVersion the version of the cluster metadata the decisions are based on
+     * @return the decisions of the bulk request the shard request belongs to or null if it is not part of one
+     */
+    Decisions forRequest(
+        BulkShardRequest request,
+        String userName,
+        Set<String> mappedRoles,
+        Object roleConfig,
+        Object dynamicConfig,
+        long metadataVersion
+    ) {
+        final TaskId parentTask = request.getParentTask();
+        if (parentTask == null || !parentTask.isSet()) {
+            return null;
+        }
+
+        try {
+            return decisionsByBulk.get(
+                new Key(parentTask, userName, ImmutableSet.copyOf(mappedRoles), roleConfig, dynamicConfig, metadataVersion),
+                Decisions::new
+            );
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    long size() {
+        return decisionsByBulk.size();
+    }
+
+    /**
+     * The decisions taken for one bulk request.
+     */
+    static final class Decisions {
+        private final Map<String, Map<Set<String>, Boolean>> indexPermissions = new ConcurrentHashMap<>();
+        private volatile EvaluatedDlsFlsConfig dlsFlsConfig;
+
+        private Decisions() {}
+
+        EvaluatedDlsFlsConfig dlsFlsConfig(Supplier<EvaluatedDlsFlsConfig> evaluator) {
+            EvaluatedDlsFlsConfig result = dlsFlsConfig;
+            if (result == null) {
+                dlsFlsConfig = result = evaluator.get();
+            }
+            return result;
+        }
+
+        boolean hasIndexPermissions(String index, Set<String> requiredPermissions, BooleanSupplier evaluator) {
+            final Map<Set<String>, Boolean> decisions = indexPermissions.computeIfAbsent(index, k -> new ConcurrentHashMap<>());
+            final Boolean permitted = decisions.get(requiredPermissions);
+            if (permitted != null) {
+                return permitted;
+            }
+            final boolean result = evaluator.getAsBoolean();
+            decisions.put(requiredPermissions, result);
+            return result;
+        }
+    }
+
+    private static final class Key {
+        private final TaskId parentTask;
+        private final String userName;
+        private final Set<String> mappedRoles;
+        private final Object roleConfig;
+        private final Object dynamicConfig;
+        private final long metadataVersion;
+
+        private Key(
+            TaskId parentTask,
+            String userName,
+            Set<String> mappedRoles,
+            Object roleConfig,
+            Object dynamicConfig,
+            long metadataVersion
+        ) {
+            this.parentTask = parentTask;
+            this.userName = userName;
+            this.mappedRoles = mappedRoles;
+            this.roleConfig = roleConfig;
+            this.dynamicConfig = dynamicConfig;
+            this.metadataVersion = metadataVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return metadataVersion == other.metadataVersion
+                && roleConfig == other.roleConfig
+                && dynamicConfig == other.dynamicConfig
+                && parentTask.equals(other.parentTask)
+                && Objects.equals(userName, other.userName)
+                && mappedRoles.equals(other.mappedRoles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                parentTask,
+                userName,
+                mappedRoles,
+                System.identityHashCode(roleConfig),
+                System.identityHashCode(dynamicConfig),
+                metadataVersion
+            );
+        }
+    }
+}
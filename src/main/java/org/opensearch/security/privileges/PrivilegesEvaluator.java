@@ -29,6 +29,7 @@ package org.opensearch.security.privileges;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +44,7 @@ import org.apache.logging.log4j.Logger;
 
 import org.opensearch.OpenSearchSecurityException;
 import org.opensearch.action.ActionRequest;
+import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.IndicesRequest;
 import org.opensearch.action.admin.cluster.shards.ClusterSearchShardsRequest;
 import org.opensearch.action.admin.cluster.snapshots.restore.RestoreSnapshotRequest;
@@ -89,6 +91,7 @@ import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
 import org.opensearch.security.securityconf.ConfigModel;
 import org.opensearch.security.securityconf.DynamicConfigModel;
 import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.User;
@@ -115,6 +118,8 @@ public class PrivilegesEvaluator {
 
     private static final WildcardMatcher ACTION_MATCHER = WildcardMatcher.from("indices:data/read/*search*");
 
+    private static final int OP_TYPE_COUNT = DocWriteRequest.OpType.values().length;
+
     private static final IndicesOptions ALLOW_EMPTY = IndicesOptions.fromOptions(true, true, false, false);
 
     protected final Logger log = LogManager.getLogger(this.getClass());
@@ -130,16 +135,16 @@ public class PrivilegesEvaluator {
     private final boolean checkSnapshotRestoreWritePrivileges;
 
     private final ClusterInfoHolder clusterInfoHolder;
-    private ConfigModel configModel;
+    private volatile SecuritySnapshot snapshot;
     private final IndexResolverReplacer irr;
     private final SnapshotRestoreEvaluator snapshotRestoreEvaluator;
     private final SecurityIndexAccessEvaluator securityIndexAccessEvaluator;
     private final ProtectedIndexAccessEvaluator protectedIndexAccessEvaluator;
     private final TermsAggregationEvaluator termsAggregationEvaluator;
     private final PitPrivilegesEvaluator pitPrivilegesEvaluator;
+    private final BulkShardDecisions bulkShardDecisions = new BulkShardDecisions();
     private final boolean dlsFlsEnabled;
     private final boolean dfmEmptyOverwritesAll;
-    private DynamicConfigModel dcm;
     private final NamedXContentRegistry namedXContentRegistry;
 
     public PrivilegesEvaluator(
@@ -173,7 +178,7 @@ public class PrivilegesEvaluator {
         this.irr = irr;
         snapshotRestoreEvaluator = new SnapshotRestoreEvaluator(settings, auditLog);
         securityIndexAccessEvaluator = new SecurityIndexAccessEvaluator(settings, auditLog, irr);
-        protectedIndexAccessEvaluator = new ProtectedIndexAccessEvaluator(settings, auditLog);
+        protectedIndexAccessEvaluator = new ProtectedIndexAccessEvaluator(settings, auditLog, clusterService);
         termsAggregationEvaluator = new TermsAggregationEvaluator();
         pitPrivilegesEvaluator = new PitPrivilegesEvaluator();
         this.namedXContentRegistry = namedXContentRegistry;
@@ -182,31 +187,42 @@ public class PrivilegesEvaluator {
     }
 
     @Subscribe
-    public void onConfigModelChanged(ConfigModel configModel) {
-        this.configModel = configModel;
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        this.snapshot = snapshot;
     }
 
-    @Subscribe
-    public void onDynamicConfigModelChanged(DynamicConfigModel dcm) {
-        this.dcm = dcm;
+    /**
+     * @return the current role configuration, a new instance is published on every configuration change
+     */
+    public ConfigModel getConfigModel() {
+        final SecuritySnapshot snapshot = this.snapshot;
+        return snapshot != null ? snapshot.getConfigModel() : null;
     }
 
-    private SecurityRoles getSecurityRoles(Set<String> roles) {
-        return configModel.getSecurityRoles().filter(roles);
+    /**
+     * Returns the configuration snapshot of the current request. The snapshot is captured in the thread context
+     * by the first component which reads it, so that all evaluations of the request use the same configuration.
+     */
+    public SecuritySnapshot getRequestSnapshot() {
+        return SecuritySnapshot.forRequest(threadContext, this.snapshot);
     }
 
-    public boolean hasRestAdminPermissions(final User user, final TransportAddress remoteAddress, final String permissions) {
-        final Set<String> userRoles = mapRoles(user, remoteAddress);
-        return hasRestAdminPermissions(userRoles, permissions);
+    private static SecurityRoles getSecurityRoles(ConfigModel configModel, Set<String> roles) {
+        return configModel.getSecurityRoles().filter(roles);
     }
 
-    private boolean hasRestAdminPermissions(final Set<String> roles, String permission) {
-        final SecurityRoles securityRoles = getSecurityRoles(roles);
-        return securityRoles.hasExplicitClusterPermissionPermission(permission);
+    public boolean hasRestAdminPermissions(final User user, final TransportAddress remoteAddress, final String permissions) {
+        final ConfigModel configModel = getRequestSnapshot().getConfigModel();
+        final Set<String> userRoles = configModel.mapSecurityRoles(user, remoteAddress);
+        return getSecurityRoles(configModel, userRoles).hasExplicitClusterPermissionPermission(permissions);
     }
 
     public boolean isInitialized() {
-        return configModel != null && configModel.getSecurityRoles() != null && dcm != null;
+        final SecuritySnapshot snapshot = this.snapshot;
+        return snapshot != null
+            && snapshot.getConfigModel() != null
+            && snapshot.getConfigModel().getSecurityRoles() != null
+            && snapshot.getDynamicConfigModel() != null;
     }
 
     private void setUserInfoInThreadContext(User user) {
@@ -235,6 +251,10 @@ public class PrivilegesEvaluator {
             throw new OpenSearchSecurityException("OpenSearch Security is not initialized.");
         }
 
+        final SecuritySnapshot snapshot = getRequestSnapshot();
+        final ConfigModel configModel = snapshot.getConfigModel();
+        final DynamicConfigModel dcm = snapshot.getDynamicConfigModel();
+
         if (action0.startsWith("internal:indices/admin/upgrade")) {
             action0 = "indices:admin/upgrade";
         }
@@ -250,7 +270,7 @@ public class PrivilegesEvaluator {
         final PrivilegesEvaluatorResponse presponse = new PrivilegesEvaluatorResponse();
 
         final TransportAddress caller = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_REMOTE_ADDRESS);
-        Set<String> mappedRoles = (injectedRoles == null) ? mapRoles(user, caller) : injectedRoles;
+        Set<String> mappedRoles = (injectedRoles == null) ? configModel.mapSecurityRoles(user, caller) : injectedRoles;
         final String injectedRolesValidationString = threadContext.getTransient(
             ConfigConstants.OPENDISTRO_SECURITY_INJECTED_ROLES_VALIDATION
         );
@@ -265,7 +285,7 @@ public class PrivilegesEvaluator {
             mappedRoles = ImmutableSet.copyOf(injectedRolesValidationSet);
         }
         presponse.resolvedSecurityRoles.addAll(mappedRoles);
-        final SecurityRoles securityRoles = getSecurityRoles(mappedRoles);
+        final SecurityRoles securityRoles = getSecurityRoles(configModel, mappedRoles);
 
         // Add the security roles for this user so that they can be used for DLS parameter substitution.
         user.addSecurityRoles(mappedRoles);
@@ -346,13 +366,31 @@ public class PrivilegesEvaluator {
             log.trace("dnfof enabled? {}", dnfofEnabled);
         }
 
-        presponse.evaluatedDlsFlsConfig = getSecurityRoles(mappedRoles).getDlsFls(
-            user,
-            dfmEmptyOverwritesAll,
-            resolver,
-            clusterService,
-            namedXContentRegistry
-        );
+        // The shard requests of a bulk request are evaluated for the same user, thus the decisions are shared between them
+        final BulkShardDecisions.Decisions bulkDecisions = request instanceof BulkShardRequest
+            ? bulkShardDecisions.forRequest(
+                (BulkShardRequest) request,
+                user.getName(),
+                mappedRoles,
+                configModel,
+                dcm,
+                clusterService.state().metadata().version()
+            )
+            : null;
+
+        if (bulkDecisions != null) {
+            presponse.evaluatedDlsFlsConfig = bulkDecisions.dlsFlsConfig(
+                () -> securityRoles.getDlsFls(user, dfmEmptyOverwritesAll, resolver, clusterService, namedXContentRegistry)
+            );
+        } else {
+            presponse.evaluatedDlsFlsConfig = securityRoles.getDlsFls(
+                user,
+                dfmEmptyOverwritesAll,
+                resolver,
+                clusterService,
+                namedXContentRegistry
+            );
+        }
 
         final boolean serviceAccountUser = user.isServiceAccount();
         if (isClusterPerm(action0)) {
@@ -390,7 +428,7 @@ public class PrivilegesEvaluator {
                             user,
                             dcm,
                             requestedResolved,
-                            mapTenants(user, mappedRoles)
+                            configModel.mapTenants(user, mappedRoles)
                         );
 
                         if (isDebugEnabled) {
@@ -481,7 +519,7 @@ public class PrivilegesEvaluator {
                 user,
                 dcm,
                 requestedResolved,
-                mapTenants(user, mappedRoles)
+                configModel.mapTenants(user, mappedRoles)
             );
 
             if (isDebugEnabled) {
@@ -544,11 +582,14 @@ public class PrivilegesEvaluator {
             log.debug("Security roles: {}", securityRoles.getRoleNames());
         }
 
-        if (dcm.isMultiRolespanEnabled()) {
-            permGiven = securityRoles.impliesTypePermGlobal(requestedResolved, user, allIndexPermsRequiredA, resolver, clusterService);
+        if (bulkDecisions != null) {
+            permGiven = bulkDecisions.hasIndexPermissions(
+                ((BulkShardRequest) request).shardId().getIndexName(),
+                allIndexPermsRequired,
+                () -> hasIndexPermissions(dcm, securityRoles, requestedResolved, user, allIndexPermsRequiredA)
+            );
         } else {
-            permGiven = securityRoles.get(requestedResolved, user, allIndexPermsRequiredA, resolver, clusterService);
-
+            permGiven = hasIndexPermissions(dcm, securityRoles, requestedResolved, user, allIndexPermsRequiredA);
         }
 
         if (!permGiven) {
@@ -563,7 +604,7 @@ public class PrivilegesEvaluator {
             log.info("No permissions for {}", presponse.missingPrivileges);
         } else {
 
-            if (checkFilteredAliases(requestedResolved, action0, isDebugEnabled)) {
+            if (checkFilteredAliases(dcm, requestedResolved, action0, isDebugEnabled)) {
                 presponse.allowed = false;
                 return presponse;
             }
@@ -578,45 +619,62 @@ public class PrivilegesEvaluator {
 
     }
 
+    private boolean hasIndexPermissions(
+        final DynamicConfigModel dcm,
+        final SecurityRoles securityRoles,
+        final Resolved requestedResolved,
+        final User user,
+        final String[] allIndexPermsRequiredA
+    ) {
+        if (dcm.isMultiRolespanEnabled()) {
+            return securityRoles.impliesTypePermGlobal(requestedResolved, user, allIndexPermsRequiredA, resolver, clusterService);
+        } else {
+            return securityRoles.get(requestedResolved, user, allIndexPermsRequiredA, resolver, clusterService);
+        }
+    }
+
     public Set<String> mapRoles(final User user, final TransportAddress caller) {
-        return this.configModel.mapSecurityRoles(user, caller);
+        return getRequestSnapshot().getConfigModel().mapSecurityRoles(user, caller);
     }
 
     public Map<String, Boolean> mapTenants(final User user, Set<String> roles) {
-        return this.configModel.mapTenants(user, roles);
+        return getRequestSnapshot().getConfigModel().mapTenants(user, roles);
     }
 
     public Set<String> getAllConfiguredTenantNames() {
 
-        return configModel.getAllConfiguredTenantNames();
+        return getRequestSnapshot().getConfigModel().getAllConfiguredTenantNames();
     }
 
     public boolean multitenancyEnabled() {
-        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class && dcm.isDashboardsMultitenancyEnabled();
+        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class
+            && getRequestSnapshot().getDynamicConfigModel().isDashboardsMultitenancyEnabled();
     }
 
     public boolean privateTenantEnabled() {
-        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class && dcm.isDashboardsPrivateTenantEnabled();
+        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class
+            && getRequestSnapshot().getDynamicConfigModel().isDashboardsPrivateTenantEnabled();
     }
 
     public String dashboardsDefaultTenant() {
-        return dcm.getDashboardsDefaultTenant();
+        return getRequestSnapshot().getDynamicConfigModel().getDashboardsDefaultTenant();
     }
 
     public boolean notFailOnForbiddenEnabled() {
-        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class && dcm.isDnfofEnabled();
+        return privilegesInterceptor.getClass() != PrivilegesInterceptor.class
+            && getRequestSnapshot().getDynamicConfigModel().isDnfofEnabled();
     }
 
     public String dashboardsIndex() {
-        return dcm.getDashboardsIndexname();
+        return getRequestSnapshot().getDynamicConfigModel().getDashboardsIndexname();
     }
 
     public String dashboardsServerUsername() {
-        return dcm.getDashboardsServerUsername();
+        return getRequestSnapshot().getDynamicConfigModel().getDashboardsServerUsername();
     }
 
     public String dashboardsOpenSearchRole() {
-        return dcm.getDashboardsOpenSearchRole();
+        return getRequestSnapshot().getDynamicConfigModel().getDashboardsOpenSearchRole();
     }
 
     private Set<String> evaluateAdditionalIndexPermissions(final ActionRequest request, final String originalAction) {
@@ -633,7 +691,15 @@ public class PrivilegesEvaluator {
 
         if (request instanceof BulkShardRequest) {
             BulkShardRequest bsr = (BulkShardRequest) request;
+            // only the distinct op types matter, stop once all of them have been seen
+            final EnumSet<DocWriteRequest.OpType> opTypes = EnumSet.noneOf(DocWriteRequest.OpType.class);
             for (BulkItemRequest bir : bsr.items()) {
+                if (opTypes.size() == OP_TYPE_COUNT) {
+                    break;
+                }
+                if (!opTypes.add(bir.request().opType())) {
+                    continue;
+                }
                 switch (bir.request().opType()) {
                     case CREATE:
                         additionalPermissionsRequired.add(IndexAction.NAME);
@@ -701,7 +767,7 @@ public class PrivilegesEvaluator {
     }
 
     @SuppressWarnings("unchecked")
-    private boolean checkFilteredAliases(Resolved requestedResolved, String action, boolean isDebugEnabled) {
+    private boolean checkFilteredAliases(DynamicConfigModel dcm, Resolved requestedResolved, String action, boolean isDebugEnabled) {
         final String faMode = dcm.getFilteredAliasMode();// getConfigSettings().dynamic.filtered_alias_mode;
 
         if (!"disallow".equals(faMode)) {
@@ -20,11 +20,13 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.RealtimeRequest;
 import org.opensearch.action.search.SearchRequest;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.resolver.IndexResolverReplacer;
 import org.opensearch.security.securityconf.SecurityRoles;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.RequestCacheKeyExtBuilder;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.tasks.Task;
 
@@ -37,8 +39,9 @@ public class ProtectedIndexAccessEvaluator {
     private final WildcardMatcher allowedRolesMatcher;
     private final Boolean protectedIndexEnabled;
     private final WildcardMatcher deniedActionMatcher;
+    private final ClusterService clusterService;
 
-    public ProtectedIndexAccessEvaluator(final Settings settings, AuditLog auditLog) {
+    public ProtectedIndexAccessEvaluator(final Settings settings, AuditLog auditLog, final ClusterService clusterService) {
         this.indexMatcher = WildcardMatcher.from(
             settings.getAsList(ConfigConstants.SECURITY_PROTECTED_INDICES_KEY, ConfigConstants.SECURITY_PROTECTED_INDICES_DEFAULT)
         );
@@ -53,6 +56,7 @@ public class ProtectedIndexAccessEvaluator {
             ConfigConstants.SECURITY_PROTECTED_INDICES_ENABLED_DEFAULT
         );
         this.auditLog = auditLog;
+        this.clusterService = clusterService;
 
         final List<String> indexDeniedActionPatterns = new ArrayList<String>();
         indexDeniedActionPatterns.add("indices:data/write*");
@@ -100,7 +104,13 @@ public class ProtectedIndexAccessEvaluator {
             && !allowedRolesMatcher.matchAny(securityRoles.getRoleNames())) {
 
             final boolean isDebugEnabled = log.isDebugEnabled();
-            if (request instanceof SearchRequest) {
+            // restricted users see these indices as empty, keep their request cache entries apart from other users
+            if (request instanceof SearchRequest
+                && !RequestCacheKeyExtBuilder.addTo(
+                    clusterService,
+                    (SearchRequest) request,
+                    "protected_indices:restricted"
+                )) {
                 ((SearchRequest) request).requestCache(Boolean.FALSE);
                 if (isDebugEnabled) {
                     log.debug("Disable search request cache for this request");
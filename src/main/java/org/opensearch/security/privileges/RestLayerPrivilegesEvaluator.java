@@ -22,6 +22,7 @@ import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.security.securityconf.ConfigModel;
 import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 import org.opensearch.threadpool.ThreadPool;
@@ -32,7 +33,7 @@ public class RestLayerPrivilegesEvaluator {
     protected final Logger log = LogManager.getLogger(this.getClass());
     private final ClusterService clusterService;
     private ThreadContext threadContext;
-    private ConfigModel configModel;
+    private volatile SecuritySnapshot latestSnapshot;
 
     public RestLayerPrivilegesEvaluator(final ClusterService clusterService, final ThreadPool threadPool) {
         this.clusterService = clusterService;
@@ -40,15 +41,24 @@ public class RestLayerPrivilegesEvaluator {
     }
 
     @Subscribe
-    public void onConfigModelChanged(final ConfigModel configModel) {
-        this.configModel = configModel;
+    public void onSecuritySnapshotChanged(final SecuritySnapshot snapshot) {
+        this.latestSnapshot = snapshot;
+    }
+
+    /**
+     * @return the role model of the configuration snapshot of the current request
+     */
+    private ConfigModel configModel() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null ? snapshot.getConfigModel() : null;
     }
 
     SecurityRoles getSecurityRoles(final Set<String> roles) {
-        return configModel.getSecurityRoles().filter(roles);
+        return configModel().getSecurityRoles().filter(roles);
     }
 
     boolean isInitialized() {
+        final ConfigModel configModel = configModel();
         return configModel != null && configModel.getSecurityRoles() != null;
     }
 
@@ -99,6 +109,6 @@ public class RestLayerPrivilegesEvaluator {
     }
 
     Set<String> mapRoles(final User user, final TransportAddress caller) {
-        return this.configModel.mapSecurityRoles(user, caller);
+        return configModel().mapSecurityRoles(user, caller);
     }
 }
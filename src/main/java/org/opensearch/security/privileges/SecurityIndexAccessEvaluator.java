@@ -46,6 +46,7 @@ import org.opensearch.security.resolver.IndexResolverReplacer;
 import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
 import org.opensearch.security.securityconf.SecurityRoles;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.RequestCacheKeyExtBuilder;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.User;
 import org.opensearch.tasks.Task;
@@ -137,7 +138,13 @@ public class SecurityIndexAccessEvaluator {
             || requestedResolved.getAllIndices().contains(securityIndex)
             || requestContainsAnySystemIndices(requestedResolved)) {
 
-            if (request instanceof SearchRequest) {
+            // restricted users see these indices as empty, keep their request cache entries apart from other users
+            if (request instanceof SearchRequest
+                && !RequestCacheKeyExtBuilder.addTo(
+                    clusterService,
+                    (SearchRequest) request,
+                    "system_indices:restricted"
+                )) {
                 ((SearchRequest) request).requestCache(Boolean.FALSE);
                 if (log.isDebugEnabled()) {
                     log.debug("Disable search request cache for this request");
@@ -0,0 +1,156 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.security.support.WildcardMatcher;
+
+/**
+ * Node local index of the names of all aliases and data streams, sorted so that index patterns
+ * only need to look at the names which share their literal prefix instead of scanning the indices
+ * lookup of the cluster state, which also contains every concrete index.
+ * <p>
+ * The index is maintained from the cluster state updates it is registered for, updates which do not
+ * change the metadata are skipped. Only indices whose metadata changed are looked at for alias changes;
+ * the data streams are few and rebuilt when they change.
+ */
+public final class AliasAndDataStreamIndex implements ClusterStateListener {
+
+    // number of indices an alias points to, only accessed while holding the monitor
+    private final Map<String, Integer> aliasRefCounts = new HashMap<>();
+    private Metadata metadata;
+    private volatile Snapshot snapshot = new Snapshot(null, Collections.emptyNavigableSet());
+
+    @Override
+    public void clusterChanged(final ClusterChangedEvent event) {
+        if (event.metadataChanged()) {
+            update(event.state().metadata());
+        }
+    }
+
+    /**
+     * Returns the names of the aliases and data streams of the given metadata which match an index pattern.
+     *
+     * @param metadata the metadata the caller resolves against
+     * @param pattern the index pattern
+     * @param matcher the matcher of the index pattern
+     */
+    public List<String> matching(final Metadata metadata, final String pattern, final WildcardMatcher matcher) {
+        Snapshot current = snapshot;
+        if (current.metadata != metadata) {
+            current = update(metadata);
+        }
+
+        final String prefix = literalPrefix(pattern);
+        final NavigableSet<String> candidates = prefix.isEmpty()
+            ? current.names
+            : current.names.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+
+        final List<String> matching = new ArrayList<>();
+        for (String name : candidates) {
+            if (matcher.test(name)) {
+                matching.add(name);
+            }
+        }
+        return matching;
+    }
+
+    static String literalPrefix(final String pattern) {
+        if (pattern == null || pattern.startsWith("/")) {
+            // regular expressions
+            return "";
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                return pattern.substring(0, i);
+            }
+        }
+        return pattern;
+    }
+
+    private synchronized Snapshot update(final Metadata next) {
+        if (snapshot.metadata == next) {
+            return snapshot;
+        }
+        final Metadata previous = this.metadata;
+        if (previous != null && next.version() < previous.version()) {
+            // a caller resolving against an outdated cluster state, do not go back
+            return fullSnapshot(next);
+        }
+
+        if (previous == null) {
+            aliasRefCounts.clear();
+            for (IndexMetadata indexMetadata : next.indices().values()) {
+                addAliases(indexMetadata);
+            }
+        } else {
+            for (IndexMetadata indexMetadata : previous.indices().values()) {
+                final IndexMetadata updated = next.index(indexMetadata.getIndex().getName());
+                if (updated != indexMetadata) {
+                    removeAliases(indexMetadata);
+                }
+            }
+            for (IndexMetadata indexMetadata : next.indices().values()) {
+                if (previous.index(indexMetadata.getIndex().getName()) != indexMetadata) {
+                    addAliases(indexMetadata);
+                }
+            }
+        }
+
+        final TreeSet<String> names = new TreeSet<>(aliasRefCounts.keySet());
+        names.addAll(next.dataStreams().keySet());
+        this.metadata = next;
+        return snapshot = new Snapshot(next, Collections.unmodifiableNavigableSet(names));
+    }
+
+    private static Snapshot fullSnapshot(final Metadata metadata) {
+        final TreeSet<String> names = new TreeSet<>(metadata.dataStreams().keySet());
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            names.addAll(indexMetadata.getAliases().keySet());
+        }
+        return new Snapshot(metadata, Collections.unmodifiableNavigableSet(names));
+    }
+
+    private void addAliases(final IndexMetadata indexMetadata) {
+        for (String alias : indexMetadata.getAliases().keySet()) {
+            aliasRefCounts.merge(alias, 1, Integer::sum);
+        }
+    }
+
+    private void removeAliases(final IndexMetadata indexMetadata) {
+        for (String alias : indexMetadata.getAliases().keySet()) {
+            aliasRefCounts.computeIfPresent(alias, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private static final class Snapshot {
+        private final Metadata metadata;
+        private final NavigableSet<String> names;
+
+        private Snapshot(final Metadata metadata, final NavigableSet<String> names) {
+            this.metadata = metadata;
+            this.names = names;
+        }
+    }
+}
@@ -40,6 +40,8 @@ import java.util.Set;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -82,12 +84,13 @@ import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexAbstraction;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.index.Index;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.reindex.ReindexRequest;
 import org.opensearch.security.OpenSearchSecurityPlugin;
 import org.opensearch.security.configuration.ClusterInfoHolder;
-import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.SnapshotRestoreHelper;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.snapshots.SnapshotInfo;
@@ -106,12 +109,21 @@ public class IndexResolverReplacer {
     private final IndexNameExpressionResolver resolver;
     private final ClusterService clusterService;
     private final ClusterInfoHolder clusterInfoHolder;
-    private volatile boolean respectRequestIndicesOptions = false;
-
-    public IndexResolverReplacer(IndexNameExpressionResolver resolver, ClusterService clusterService, ClusterInfoHolder clusterInfoHolder) {
+    private final ThreadContext threadContext;
+    private volatile SecuritySnapshot latestSnapshot;
+    private final Cache<ResolvedPatternsKey, ResolvedPatterns> resolvedPatternsCache = CacheBuilder.newBuilder().maximumSize(1000).build();
+    private volatile long resolvedPatternsMetadataVersion = -1;
+
+    public IndexResolverReplacer(
+        IndexNameExpressionResolver resolver,
+        ClusterService clusterService,
+        ClusterInfoHolder clusterInfoHolder,
+        ThreadContext threadContext
+    ) {
         this.resolver = resolver;
         this.clusterService = clusterService;
         this.clusterInfoHolder = clusterInfoHolder;
+        this.threadContext = threadContext;
     }
 
     private static boolean isAllWithNoRemote(final String... requestedPatterns) {
@@ -153,11 +165,211 @@ public class IndexResolverReplacer {
         return false;
     }
 
+    /**
+     * Resolves index patterns against the current cluster state. Results are cached per metadata
+     * version of the cluster state; patterns with date math are resolved on every call as they depend
+     * on the current time.
+     */
+    private ResolvedPatterns resolvePatterns(
+        final IndicesOptions indicesOptions,
+        final boolean enableCrossClusterResolution,
+        final String[] original
+    ) {
+        final ClusterState state = clusterService.state();
+
+        if (!isCacheable(original)) {
+            return doResolvePatterns(state, indicesOptions, enableCrossClusterResolution, original);
+        }
+
+        final long metadataVersion = state.metadata().version();
+        if (metadataVersion > resolvedPatternsMetadataVersion) {
+            // entries of older versions can not be hit anymore
+            resolvedPatternsMetadataVersion = metadataVersion;
+            resolvedPatternsCache.invalidateAll();
+        }
+
+        final ResolvedPatternsKey key = new ResolvedPatternsKey(metadataVersion, indicesOptions, enableCrossClusterResolution, original);
+        ResolvedPatterns resolved = resolvedPatternsCache.getIfPresent(key);
+        if (resolved == null) {
+            resolved = doResolvePatterns(state, indicesOptions, enableCrossClusterResolution, original);
+            resolvedPatternsCache.put(key, resolved);
+        }
+        return resolved;
+    }
+
+    private static boolean isCacheable(final String[] original) {
+        for (String pattern : original) {
+            if (pattern == null || pattern.indexOf('<') >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ResolvedPatterns doResolvePatterns(
+        final ClusterState state,
+        final IndicesOptions indicesOptions,
+        final boolean enableCrossClusterResolution,
+        final String[] original
+    ) {
+        final boolean isTraceEnabled = log.isTraceEnabled();
+        Set<String> remoteIndices;
+        final List<String> localRequestedPatterns = new ArrayList<>(Arrays.asList(original));
+
+        final RemoteClusterService remoteClusterService = OpenSearchSecurityPlugin.GuiceHolder.getRemoteClusterService();
+
+        if (remoteClusterService.isCrossClusterSearchEnabled() && enableCrossClusterResolution) {
+            remoteIndices = new HashSet<>();
+            final Map<String, OriginalIndices> remoteClusterIndices = OpenSearchSecurityPlugin.GuiceHolder.getRemoteClusterService()
+                .groupIndices(indicesOptions, original, idx -> resolver.hasIndexAbstraction(idx, state));
+            final Set<String> remoteClusters = remoteClusterIndices.keySet()
+                .stream()
+                .filter(k -> !RemoteClusterService.LOCAL_CLUSTER_GROUP_KEY.equals(k))
+                .collect(Collectors.toSet());
+            for (String remoteCluster : remoteClusters) {
+                for (String remoteIndex : remoteClusterIndices.get(remoteCluster).indices()) {
+                    remoteIndices.add(RemoteClusterService.buildRemoteIndexName(remoteCluster, remoteIndex));
+                }
+            }
+
+            final Iterator<String> iterator = localRequestedPatterns.iterator();
+            while (iterator.hasNext()) {
+                final String[] split = iterator.next().split(String.valueOf(RemoteClusterService.REMOTE_CLUSTER_INDEX_SEPARATOR), 2);
+                final WildcardMatcher matcher = WildcardMatcher.from(split[0]);
+                if (split.length > 1 && matcher.matchAny(remoteClusters)) {
+                    iterator.remove();
+                }
+            }
+
+            if (isTraceEnabled) {
+                log.trace(
+                    "CCS is enabled, we found this local patterns " + localRequestedPatterns + " and this remote patterns: " + remoteIndices
+                );
+            }
+
+        } else {
+            remoteIndices = Collections.emptySet();
+        }
+
+        final Collection<String> matchingAliases;
+        Collection<String> matchingAllIndices;
+        Collection<String> matchingDataStreams = null;
+
+        if (isLocalAll(original)) {
+            if (isTraceEnabled) {
+                log.trace(Arrays.toString(original) + " is an LOCAL ALL pattern");
+            }
+            matchingAliases = Resolved.All_SET;
+            matchingAllIndices = Resolved.All_SET;
+
+        } else if (!remoteIndices.isEmpty() && localRequestedPatterns.isEmpty()) {
+            if (isTraceEnabled) {
+                log.trace(Arrays.toString(original) + " is an LOCAL EMPTY request");
+            }
+            matchingAllIndices = Collections.emptySet();
+            matchingAliases = Collections.emptySet();
+        }
+
+        else {
+            final Set<String> dateResolvedLocalRequestedPatterns = localRequestedPatterns.stream()
+                .map(resolver::resolveDateMathExpression)
+                .collect(Collectors.toSet());
+            final WildcardMatcher dateResolvedMatcher = WildcardMatcher.from(dateResolvedLocalRequestedPatterns);
+            // fill matchingAliases
+            final Map<String, IndexAbstraction> lookup = state.metadata().getIndicesLookup();
+            matchingAliases = lookup.entrySet()
+                .stream()
+                .filter(e -> e.getValue().getType() == ALIAS)
+                .map(Map.Entry::getKey)
+                .filter(dateResolvedMatcher)
+                .collect(Collectors.toSet());
+
+            final boolean isDebugEnabled = log.isDebugEnabled();
+            try {
+                matchingAllIndices = Arrays.asList(
+                    resolver.concreteIndexNames(state, indicesOptions, localRequestedPatterns.toArray(new String[0]))
+                );
+                matchingDataStreams = resolver.dataStreamNames(state, indicesOptions, localRequestedPatterns.toArray(new String[0]));
+
+                if (isDebugEnabled) {
+                    log.debug(
+                        "Resolved pattern {} to indices: {} and data-streams: {}",
+                        localRequestedPatterns,
+                        matchingAllIndices,
+                        matchingDataStreams
+                    );
+                }
+            } catch (IndexNotFoundException e1) {
+                if (isDebugEnabled) {
+                    log.debug("No such indices for pattern {}, use raw value", localRequestedPatterns);
+                }
+
+                matchingAllIndices = dateResolvedLocalRequestedPatterns;
+            }
+        }
+
+        final ImmutableSet.Builder<String> allIndices = ImmutableSet.<String>builder().addAll(matchingAllIndices);
+        if (matchingDataStreams != null) {
+            allIndices.addAll(matchingDataStreams);
+        }
+
+        return new ResolvedPatterns(ImmutableSet.copyOf(matchingAliases), allIndices.build(), ImmutableSet.copyOf(remoteIndices));
+    }
+
+    /**
+     * Immutable result of resolving a set of index patterns, shared between requests.
+     */
+    private static final class ResolvedPatterns {
+        private final ImmutableSet<String> aliases;
+        private final ImmutableSet<String> allIndices;
+        private final ImmutableSet<String> remoteIndices;
+
+        private ResolvedPatterns(ImmutableSet<String> aliases, ImmutableSet<String> allIndices, ImmutableSet<String> remoteIndices) {
+            this.aliases = aliases;
+            this.allIndices = allIndices;
+            this.remoteIndices = remoteIndices;
+        }
+    }
+
+    private static final class ResolvedPatternsKey {
+        private final long metadataVersion;
+        private final IndicesOptions indicesOptions;
+        private final boolean enableCrossClusterResolution;
+        private final List<String> patterns;
+
+        private ResolvedPatternsKey(
+            final long metadataVersion,
+            final IndicesOptions indicesOptions,
+            final boolean enableCrossClusterResolution,
+            final String[] original
+        ) {
+            this.metadataVersion = metadataVersion;
+            this.indicesOptions = indicesOptions;
+            this.enableCrossClusterResolution = enableCrossClusterResolution;
+            this.patterns = List.of(original);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ResolvedPatternsKey that = (ResolvedPatternsKey) o;
+            return metadataVersion == that.metadataVersion
+                && enableCrossClusterResolution == that.enableCrossClusterResolution
+                && Objects.equals(indicesOptions, that.indicesOptions)
+                && patterns.equals(that.patterns);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metadataVersion, indicesOptions, enableCrossClusterResolution, patterns);
+        }
+    }
+
     private class ResolvedIndicesProvider implements IndicesProvider {
-        private final ImmutableSet.Builder<String> aliases;
-        private final ImmutableSet.Builder<String> allIndices;
+        private final List<ResolvedPatterns> resolvedPatterns;
         private final ImmutableSet.Builder<String> originalRequested;
-        private final ImmutableSet.Builder<String> remoteIndices;
+        private boolean resolvedToLocalAll;
         // set of previously resolved index requests to avoid resolving
         // the same index more than once while processing bulk requests
         private final Set<AlreadyResolvedKey> alreadyResolved;
@@ -204,10 +416,8 @@ public class IndexResolverReplacer {
         }
 
         ResolvedIndicesProvider(Object request) {
-            aliases = ImmutableSet.builder();
-            allIndices = ImmutableSet.builder();
+            resolvedPatterns = new ArrayList<>(1);
             originalRequested = ImmutableSet.builder();
-            remoteIndices = ImmutableSet.builder();
             alreadyResolved = new HashSet<>();
             name = request.getClass().getSimpleName();
         }
@@ -231,144 +441,32 @@ public class IndexResolverReplacer {
                 return;
             }
 
-            Set<String> remoteIndices;
-            final List<String> localRequestedPatterns = new ArrayList<>(Arrays.asList(original));
-
-            final RemoteClusterService remoteClusterService = OpenSearchSecurityPlugin.GuiceHolder.getRemoteClusterService();
-
-            if (remoteClusterService.isCrossClusterSearchEnabled() && enableCrossClusterResolution) {
-                remoteIndices = new HashSet<>();
-                final Map<String, OriginalIndices> remoteClusterIndices = OpenSearchSecurityPlugin.GuiceHolder.getRemoteClusterService()
-                    .groupIndices(indicesOptions, original, idx -> resolver.hasIndexAbstraction(idx, clusterService.state()));
-                final Set<String> remoteClusters = remoteClusterIndices.keySet()
-                    .stream()
-                    .filter(k -> !RemoteClusterService.LOCAL_CLUSTER_GROUP_KEY.equals(k))
-                    .collect(Collectors.toSet());
-                for (String remoteCluster : remoteClusters) {
-                    for (String remoteIndex : remoteClusterIndices.get(remoteCluster).indices()) {
-                        remoteIndices.add(RemoteClusterService.buildRemoteIndexName(remoteCluster, remoteIndex));
-                    }
-                }
-
-                final Iterator<String> iterator = localRequestedPatterns.iterator();
-                while (iterator.hasNext()) {
-                    final String[] split = iterator.next().split(String.valueOf(RemoteClusterService.REMOTE_CLUSTER_INDEX_SEPARATOR), 2);
-                    final WildcardMatcher matcher = WildcardMatcher.from(split[0]);
-                    if (split.length > 1 && matcher.matchAny(remoteClusters)) {
-                        iterator.remove();
-                    }
-                }
-
-                if (isTraceEnabled) {
-                    log.trace(
-                        "CCS is enabled, we found this local patterns "
-                            + localRequestedPatterns
-                            + " and this remote patterns: "
-                            + remoteIndices
-                    );
-                }
-
-            } else {
-                remoteIndices = Collections.emptySet();
-            }
-
-            final Collection<String> matchingAliases;
-            Collection<String> matchingAllIndices;
-            Collection<String> matchingDataStreams = null;
-
-            if (isLocalAll(original)) {
-                if (isTraceEnabled) {
-                    log.trace(Arrays.toString(original) + " is an LOCAL ALL pattern");
-                }
-                matchingAliases = Resolved.All_SET;
-                matchingAllIndices = Resolved.All_SET;
-
-            } else if (!remoteIndices.isEmpty() && localRequestedPatterns.isEmpty()) {
-                if (isTraceEnabled) {
-                    log.trace(Arrays.toString(original) + " is an LOCAL EMPTY request");
-                }
-                matchingAllIndices = Collections.emptySet();
-                matchingAliases = Collections.emptySet();
-            }
-
-            else {
-                final ClusterState state = clusterService.state();
-                final Set<String> dateResolvedLocalRequestedPatterns = localRequestedPatterns.stream()
-                    .map(resolver::resolveDateMathExpression)
-                    .collect(Collectors.toSet());
-                final WildcardMatcher dateResolvedMatcher = WildcardMatcher.from(dateResolvedLocalRequestedPatterns);
-                // fill matchingAliases
-                final Map<String, IndexAbstraction> lookup = state.metadata().getIndicesLookup();
-                matchingAliases = lookup.entrySet()
-                    .stream()
-                    .filter(e -> e.getValue().getType() == ALIAS)
-                    .map(Map.Entry::getKey)
-                    .filter(dateResolvedMatcher)
-                    .collect(Collectors.toSet());
-
-                final boolean isDebugEnabled = log.isDebugEnabled();
-                try {
-                    matchingAllIndices = Arrays.asList(
-                        resolver.concreteIndexNames(state, indicesOptions, localRequestedPatterns.toArray(new String[0]))
-                    );
-                    matchingDataStreams = resolver.dataStreamNames(state, indicesOptions, localRequestedPatterns.toArray(new String[0]));
-
-                    if (isDebugEnabled) {
-                        log.debug(
-                            "Resolved pattern {} to indices: {} and data-streams: {}",
-                            localRequestedPatterns,
-                            matchingAllIndices,
-                            matchingDataStreams
-                        );
-                    }
-                } catch (IndexNotFoundException e1) {
-                    if (isDebugEnabled) {
-                        log.debug("No such indices for pattern {}, use raw value", localRequestedPatterns);
-                    }
-
-                    matchingAllIndices = dateResolvedLocalRequestedPatterns;
-                }
-            }
-
-            if (matchingDataStreams == null || matchingDataStreams.size() == 0) {
-                matchingDataStreams = Arrays.asList(NOOP);
-            }
+            final ResolvedPatterns resolved = resolvePatterns(indicesOptions, enableCrossClusterResolution, original);
 
             if (isTraceEnabled) {
                 log.trace(
-                    "Resolved patterns {} for {} ({}) to [aliases {}, allIndices {}, dataStreams {}, originalRequested{}, remote indices {}]",
+                    "Resolved patterns {} for {} ({}) to [aliases {}, allIndices {}, originalRequested{}, remote indices {}]",
                     original,
                     name,
                     this.name,
-                    matchingAliases,
-                    matchingAllIndices,
-                    matchingDataStreams,
+                    resolved.aliases,
+                    resolved.allIndices,
                     Arrays.toString(original),
-                    remoteIndices
+                    resolved.remoteIndices
                 );
             }
 
-            resolveTo(matchingAliases, matchingAllIndices, matchingDataStreams, original, remoteIndices);
+            resolveTo(resolved, original);
         }
 
         private void resolveToLocalAll() {
-            aliases.add(Resolved.ANY);
-            allIndices.add(Resolved.ANY);
+            resolvedToLocalAll = true;
             originalRequested.add(Resolved.ANY);
         }
 
-        private void resolveTo(
-            Iterable<String> matchingAliases,
-            Iterable<String> matchingAllIndices,
-            Iterable<String> matchingDataStreams,
-            String[] original,
-            Iterable<String> remoteIndices
-        ) {
-            aliases.addAll(matchingAliases);
-            allIndices.addAll(matchingAllIndices);
-            allIndices.addAll(matchingDataStreams);
+        private void resolveTo(ResolvedPatterns resolved, String[] original) {
+            resolvedPatterns.add(resolved);
             originalRequested.add(original);
-            this.remoteIndices.addAll(remoteIndices);
         }
 
         @Override
@@ -391,9 +489,34 @@ public class IndexResolverReplacer {
         }
 
         Resolved resolved(IndicesOptions indicesOptions) {
-            final Resolved resolved = alreadyResolved.isEmpty()
-                ? Resolved._LOCAL_ALL
-                : new Resolved(aliases.build(), allIndices.build(), originalRequested.build(), remoteIndices.build(), indicesOptions);
+            final Resolved resolved;
+            if (alreadyResolved.isEmpty()) {
+                resolved = Resolved._LOCAL_ALL;
+            } else if (!resolvedToLocalAll && resolvedPatterns.size() == 1) {
+                // the common case of a single set of patterns, share the cached sets instead of copying them
+                final ResolvedPatterns single = resolvedPatterns.get(0);
+                resolved = new Resolved(single.aliases, single.allIndices, originalRequested.build(), single.remoteIndices, indicesOptions);
+            } else {
+                final ImmutableSet.Builder<String> aliases = ImmutableSet.builder();
+                final ImmutableSet.Builder<String> allIndices = ImmutableSet.builder();
+                final ImmutableSet.Builder<String> remoteIndices = ImmutableSet.builder();
+                if (resolvedToLocalAll) {
+                    aliases.add(Resolved.ANY);
+                    allIndices.add(Resolved.ANY);
+                }
+                for (ResolvedPatterns patterns : resolvedPatterns) {
+                    aliases.addAll(patterns.aliases);
+                    allIndices.addAll(patterns.allIndices);
+                    remoteIndices.addAll(patterns.remoteIndices);
+                }
+                resolved = new Resolved(
+                    aliases.build(),
+                    allIndices.build(),
+                    originalRequested.build(),
+                    remoteIndices.build(),
+                    indicesOptions
+                );
+            }
 
             if (log.isTraceEnabled()) {
                 log.trace("Finally resolved for {}: {}", name, resolved);
@@ -430,6 +553,13 @@ public class IndexResolverReplacer {
             log.debug("Resolve aliases, indices and types from {}", request.getClass().getSimpleName());
         }
 
+        if (request instanceof BulkShardRequest) {
+            final Resolved resolved = resolveConcreteShardIndex((BulkShardRequest) request);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+
         final ResolvedIndicesProvider resolvedIndicesProvider = new ResolvedIndicesProvider(request);
 
         getOrReplaceAllIndices(request, resolvedIndicesProvider, false);
@@ -437,6 +567,20 @@ public class IndexResolverReplacer {
         return resolvedIndicesProvider.resolved(indicesOptionsFrom(request));
     }
 
+    /**
+     * A shard request names the concrete index of its shard, which resolves to itself. This avoids the pattern
+     * resolution for the shard requests of bulk requests, which are authorized once per shard.
+     */
+    private Resolved resolveConcreteShardIndex(final BulkShardRequest request) {
+        final String index = request.shardId().getIndexName();
+        final IndexAbstraction indexAbstraction = clusterService.state().metadata().getIndicesLookup().get(index);
+        if (indexAbstraction == null || indexAbstraction.getType() != IndexAbstraction.Type.CONCRETE_INDEX) {
+            return null;
+        }
+        final ImmutableSet<String> indices = ImmutableSet.of(index);
+        return new Resolved(ImmutableSet.of(), indices, indices, ImmutableSet.of(), indicesOptionsFrom(request));
+    }
+
     public final static class Resolved {
         private static final String ANY = "*";
         private static final ImmutableSet<String> All_SET = ImmutableSet.of(ANY);
@@ -809,7 +953,7 @@ public class IndexResolverReplacer {
 
     private IndicesOptions indicesOptionsFrom(Object localRequest) {
 
-        if (!respectRequestIndicesOptions) {
+        if (!respectRequestIndicesOptions()) {
             return IndicesOptions.fromOptions(false, true, true, false, true);
         }
 
@@ -822,8 +966,13 @@ public class IndexResolverReplacer {
         }
     }
 
+    private boolean respectRequestIndicesOptions() {
+        final SecuritySnapshot snapshot = SecuritySnapshot.forRequest(threadContext, latestSnapshot);
+        return snapshot != null && snapshot.getDynamicConfigModel().isRespectRequestIndicesEnabled();
+    }
+
     @Subscribe
-    public void onDynamicConfigModelChanged(DynamicConfigModel dcm) {
-        respectRequestIndicesOptions = dcm.isRespectRequestIndicesEnabled();
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        latestSnapshot = snapshot;
     }
 }
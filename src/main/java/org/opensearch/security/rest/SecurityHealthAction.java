@@ -41,6 +41,8 @@ import org.opensearch.rest.RestChannel;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.security.auth.BackendRegistry;
+import org.opensearch.security.configuration.ConfigurationRepository;
+import org.opensearch.security.support.ConfigConstants;
 
 import static org.opensearch.rest.RestRequest.Method.GET;
 import static org.opensearch.rest.RestRequest.Method.POST;
@@ -55,9 +57,20 @@ public class SecurityHealthAction extends BaseRestHandler {
 
     private final BackendRegistry registry;
 
-    public SecurityHealthAction(final Settings settings, final RestController controller, final BackendRegistry registry) {
+    private final ConfigurationRepository configurationRepository;
+
+    private final boolean localSnapshotEnabled;
+
+    public SecurityHealthAction(
+        final Settings settings,
+        final RestController controller,
+        final BackendRegistry registry,
+        final ConfigurationRepository configurationRepository
+    ) {
         super();
         this.registry = registry;
+        this.configurationRepository = configurationRepository;
+        this.localSnapshotEnabled = settings.getAsBoolean(ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_ENABLED, false);
     }
 
     @Override
@@ -87,11 +100,16 @@ public class SecurityHealthAction extends BaseRestHandler {
                         status = "DOWN";
                         message = "Not initialized";
                         restStatus = RestStatus.SERVICE_UNAVAILABLE;
+                    } else if (configurationRepository.isUsingLocalSnapshot()) {
+                        message = "Running on local configuration snapshot";
                     }
 
                     builder.field("message", message);
                     builder.field("mode", mode);
                     builder.field("status", status);
+                    if (localSnapshotEnabled) {
+                        builder.field("local_config_snapshot", configurationRepository.isUsingLocalSnapshot());
+                    }
                     builder.endObject();
                     response = new BytesRestResponse(restStatus, builder);
 
@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Bitset of the cluster actions a set of roles is allowed to execute.
+ * <p>
+ * Action names are assigned a node wide id when they are first checked, so that the decision of a
+ * role set for an action is a lookup of two bits once the action has been matched against the
+ * cluster permissions of the roles. Only a bounded number of action names gets an id, further
+ * names are matched on every check.
+ */
+final class ClusterPermissionTable {
+
+    static final int MAX_ACTIONS = 4096;
+
+    private static final Map<String, Integer> ACTION_IDS = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray evaluated = new AtomicLongArray(MAX_ACTIONS / Long.SIZE);
+    private final AtomicLongArray allowed = new AtomicLongArray(MAX_ACTIONS / Long.SIZE);
+
+    /**
+     * @param action the name of the cluster action
+     * @param matcher matches the action against the cluster permissions of the roles
+     * @return whether the roles are allowed to execute the action
+     */
+    boolean implies(String action, Predicate<String> matcher) {
+        final int id = actionId(action);
+        if (id < 0) {
+            return matcher.test(action);
+        }
+
+        final int word = id / Long.SIZE;
+        final long bit = 1L << (id % Long.SIZE);
+        if ((evaluated.get(word) & bit) != 0) {
+            return (allowed.get(word) & bit) != 0;
+        }
+
+        final boolean result = matcher.test(action);
+        if (result) {
+            allowed.accumulateAndGet(word, bit, (current, b) -> current | b);
+        }
+        // published after the decision, readers check this bit first
+        evaluated.accumulateAndGet(word, bit, (current, b) -> current | b);
+        return result;
+    }
+
+    /**
+     * @return the id of the action or -1 if all ids have been assigned
+     */
+    static int actionId(String action) {
+        final Integer id = ACTION_IDS.get(action);
+        if (id != null) {
+            return id;
+        }
+        if (ACTION_IDS.size() >= MAX_ACTIONS) {
+            return -1;
+        }
+        synchronized (ACTION_IDS) {
+            final int size = ACTION_IDS.size();
+            if (size >= MAX_ACTIONS) {
+                return ACTION_IDS.getOrDefault(action, -1);
+            }
+            return ACTION_IDS.computeIfAbsent(action, k -> size);
+        }
+    }
+}
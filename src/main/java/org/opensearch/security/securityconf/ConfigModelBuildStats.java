@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Counts the builds of the role and tenant models of this node and keeps the build times of the last build.
+ */
+public final class ConfigModelBuildStats implements ToXContentObject {
+
+    private long builds;
+
+    private long failures;
+
+    private long lastBuildTimeMillis = -1;
+
+    private Map<String, Long> lastBuildPhasesMillis = Collections.emptyMap();
+
+    synchronized void onBuild(final long buildTimeMillis, final Map<String, Long> phasesMillis) {
+        builds++;
+        lastBuildTimeMillis = buildTimeMillis;
+        lastBuildPhasesMillis = phasesMillis;
+    }
+
+    synchronized void onFailure() {
+        failures++;
+    }
+
+    public synchronized long getBuilds() {
+        return builds;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    @Override
+    public synchronized XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject();
+        builder.field("builds", builds);
+        builder.field("failures", failures);
+        if (lastBuildTimeMillis >= 0) {
+            builder.field("last_build_time_millis", lastBuildTimeMillis);
+            builder.startObject("last_build_phases_millis");
+            for (Map.Entry<String, Long> phase : lastBuildPhasesMillis.entrySet()) {
+                builder.field(phase.getKey(), phase.getValue());
+            }
+            builder.endObject();
+        }
+        return builder.endObject();
+    }
+}
@@ -17,47 +17,55 @@
 
 package org.opensearch.security.securityconf;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MultimapBuilder.SetMultimapBuilder;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.util.Strings;
 
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.set.Sets;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.security.resolver.AliasAndDataStreamIndex;
 import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
 import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
 import org.opensearch.security.securityconf.impl.v7.ActionGroupsV7;
@@ -74,6 +82,8 @@ import static org.opensearch.cluster.metadata.IndexAbstraction.Type.DATA_STREAM;
 
 public class ConfigModelV7 extends ConfigModel {
 
+    private static final Pattern PARAMETER_TENANT_PATTERN = Pattern.compile("^\\$\\{attr");
+
     protected final Logger log = LogManager.getLogger(this.getClass());
     private ConfigConstants.RolesMappingResolution rolesMappingResolution;
     private ActionGroupResolver agr = null;
@@ -82,6 +92,8 @@ public class ConfigModelV7 extends ConfigModel {
     private RoleMappingHolder roleMappingHolder;
     private SecurityDynamicConfiguration<RoleV7> roles;
     private SecurityDynamicConfiguration<TenantV7> tenants;
+    private final AliasAndDataStreamIndex aliasAndDataStreamIndex;
+    private final Map<String, Long> buildTimeMillis = new LinkedHashMap<>();
 
     public ConfigModelV7(
         SecurityDynamicConfiguration<RoleV7> roles,
@@ -91,9 +103,28 @@ public class ConfigModelV7 extends ConfigModel {
         DynamicConfigModel dcm,
         Settings opensearchSettings
     ) {
+        this(roles, rolemappings, actiongroups, tenants, dcm, opensearchSettings, MoreExecutors.directExecutor(), null);
+    }
+
+    /**
+     * @param executor runs the builds of the single roles and their tenants, tasks it rejects run in the calling thread
+     * @param aliasAndDataStreamIndex the index of the aliases and data streams of the node, index patterns scan the
+     *                                cluster state for aliases and data streams if it is null
+     */
+    public ConfigModelV7(
+        SecurityDynamicConfiguration<RoleV7> roles,
+        SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
+        SecurityDynamicConfiguration<ActionGroupsV7> actiongroups,
+        SecurityDynamicConfiguration<TenantV7> tenants,
+        DynamicConfigModel dcm,
+        Settings opensearchSettings,
+        Executor executor,
+        AliasAndDataStreamIndex aliasAndDataStreamIndex
+    ) {
 
         this.roles = roles;
         this.tenants = tenants;
+        this.aliasAndDataStreamIndex = aliasAndDataStreamIndex;
 
         try {
             rolesMappingResolution = ConfigConstants.RolesMappingResolution.valueOf(
@@ -107,10 +138,54 @@ public class ConfigModelV7 extends ConfigModel {
             rolesMappingResolution = ConfigConstants.RolesMappingResolution.MAPPING_ONLY;
         }
 
+        final Executor callerRunsOnRejection = task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+
+        long start = System.nanoTime();
         agr = reloadActionGroups(actiongroups);
-        securityRoles = reload(roles);
-        tenantHolder = new TenantHolder(roles, tenants);
+        start = recordBuildTime("action_groups", start);
+        securityRoles = reload(roles, callerRunsOnRejection);
+        start = recordBuildTime("roles", start);
+        tenantHolder = new TenantHolder(roles, tenants, callerRunsOnRejection);
+        start = recordBuildTime("tenants", start);
         roleMappingHolder = new RoleMappingHolder(rolemappings, dcm.getHostsResolverMode());
+        recordBuildTime("role_mappings", start);
+    }
+
+    private long recordBuildTime(final String phase, final long start) {
+        final long end = System.nanoTime();
+        buildTimeMillis.put(phase, TimeUnit.NANOSECONDS.toMillis(end - start));
+        return end;
+    }
+
+    /**
+     * @return the time in milliseconds each phase of building this model took, in the order of the phases
+     */
+    public Map<String, Long> getBuildTimeMillis() {
+        return Collections.unmodifiableMap(buildTimeMillis);
+    }
+
+    /**
+     * Waits for the given tasks. If a task fails the tasks which have not started yet are cancelled and the
+     * failure is thrown.
+     */
+    private <T> List<T> join(final List<CompletableFuture<T>> futures, final String what) {
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            log.error("Error while updating {}: {}", what, e.getCause(), e.getCause());
+            throw ExceptionsHelper.convertToOpenSearchException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+        return results;
     }
 
     public Set<String> getAllConfiguredTenantNames() {
@@ -197,96 +272,73 @@ public class ConfigModelV7 extends ConfigModel {
         };
     }
 
-    private SecurityRoles reload(SecurityDynamicConfiguration<RoleV7> settings) {
-
-        final Set<Future<SecurityRole>> futures = new HashSet<>(5000);
-        final ExecutorService execs = Executors.newFixedThreadPool(10);
+    private SecurityRoles reload(SecurityDynamicConfiguration<RoleV7> settings, Executor executor) {
 
-        for (Entry<String, RoleV7> securityRole : settings.getCEntries().entrySet()) {
+        final Map<String, RoleV7> entries = settings.entriesView();
+        final List<CompletableFuture<SecurityRole>> futures = new ArrayList<>(entries.size());
 
-            Future<SecurityRole> future = execs.submit(new Callable<SecurityRole>() {
+        for (String roleName : entries.keySet()) {
 
-                @Override
-                public SecurityRole call() throws Exception {
-                    SecurityRole.Builder _securityRole = new SecurityRole.Builder(securityRole.getKey());
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                // the entry is bound by the task
+                final RoleV7 securityRole = entries.get(roleName);
+                SecurityRole.Builder _securityRole = new SecurityRole.Builder(roleName);
 
-                    if (securityRole.getValue() == null) {
-                        return null;
-                    }
+                if (securityRole == null) {
+                    return null;
+                }
 
-                    final Set<String> permittedClusterActions = agr.resolvedActions(securityRole.getValue().getCluster_permissions());
-                    _securityRole.addClusterPerms(permittedClusterActions);
+                final Set<String> permittedClusterActions = agr.resolvedActions(securityRole.getCluster_permissions());
+                _securityRole.addClusterPerms(permittedClusterActions);
 
-                    /*for(RoleV7.Tenant tenant: securityRole.getValue().getTenant_permissions()) {
+                /*for(RoleV7.Tenant tenant: securityRole.getTenant_permissions()) {
 
-                        //if(tenant.equals(user.getName())) {
-                        //    continue;
-                        //}
+                    //if(tenant.equals(user.getName())) {
+                    //    continue;
+                    //}
 
-                        if(isTenantsRw(tenant)) {
-                            _securityRole.addTenant(new Tenant(tenant.getKey(), true));
-                        } else {
-                            _securityRole.addTenant(new Tenant(tenant.getKey(), false));
-                        }
-                    }*/
-
-                    for (final Index permittedAliasesIndex : securityRole.getValue().getIndex_permissions()) {
+                    if(isTenantsRw(tenant)) {
+                        _securityRole.addTenant(new Tenant(tenant.getKey(), true));
+                    } else {
+                        _securityRole.addTenant(new Tenant(tenant.getKey(), false));
+                    }
+                }*/
 
-                        final String dls = permittedAliasesIndex.getDls();
-                        final List<String> fls = permittedAliasesIndex.getFls();
-                        final List<String> maskedFields = permittedAliasesIndex.getMasked_fields();
+                for (final Index permittedAliasesIndex : securityRole.getIndex_permissions()) {
 
-                        for (String pat : permittedAliasesIndex.getIndex_patterns()) {
-                            IndexPattern _indexPattern = new IndexPattern(pat);
-                            _indexPattern.setDlsQuery(dls);
-                            _indexPattern.addFlsFields(fls);
-                            _indexPattern.addMaskedFields(maskedFields);
-                            _indexPattern.addPerm(agr.resolvedActions(permittedAliasesIndex.getAllowed_actions()));
+                    final String dls = permittedAliasesIndex.getDls();
+                    final List<String> fls = permittedAliasesIndex.getFls();
+                    final List<String> maskedFields = permittedAliasesIndex.getMasked_fields();
 
-                            /*for(Entry<String, List<String>> type: permittedAliasesIndex.getValue().getTypes(-).entrySet()) {
-                                TypePerm typePerm = new TypePerm(type.getKey());
-                                final List<String> perms = type.getValue();
-                                typePerm.addPerms(agr.resolvedActions(perms));
-                                _indexPattern.addTypePerms(typePerm);
-                            }*/
+                    for (String pat : permittedAliasesIndex.getIndex_patterns()) {
+                        IndexPattern _indexPattern = new IndexPattern(pat, aliasAndDataStreamIndex);
+                        _indexPattern.setDlsQuery(dls);
+                        _indexPattern.addFlsFields(fls);
+                        _indexPattern.addMaskedFields(maskedFields);
+                        _indexPattern.addPerm(agr.resolvedActions(permittedAliasesIndex.getAllowed_actions()));
 
-                            _securityRole.addIndexPattern(_indexPattern);
+                        /*for(Entry<String, List<String>> type: permittedAliasesIndex.getValue().getTypes(-).entrySet()) {
+                            TypePerm typePerm = new TypePerm(type.getKey());
+                            final List<String> perms = type.getValue();
+                            typePerm.addPerms(agr.resolvedActions(perms));
+                            _indexPattern.addTypePerms(typePerm);
+                        }*/
 
-                        }
+                        _securityRole.addIndexPattern(_indexPattern);
 
                     }
 
-                    return _securityRole.build();
                 }
-            });
 
-            futures.add(future);
+                return _securityRole.build();
+            }, executor));
         }
 
-        execs.shutdown();
-        try {
-            execs.awaitTermination(30, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Thread interrupted (1) while loading roles");
-            return null;
-        }
-
-        try {
-            SecurityRoles _securityRoles = new SecurityRoles(futures.size());
-            for (Future<SecurityRole> future : futures) {
-                _securityRoles.addSecurityRole(future.get());
-            }
-
-            return _securityRoles;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Thread interrupted (2) while loading roles");
-            return null;
-        } catch (ExecutionException e) {
-            log.error("Error while updating roles: {}", e.getCause(), e.getCause());
-            throw ExceptionsHelper.convertToOpenSearchException(e);
+        final SecurityRoles _securityRoles = new SecurityRoles(futures.size(), aliasAndDataStreamIndex);
+        for (SecurityRole securityRole : join(futures, "roles")) {
+            _securityRoles.addSecurityRole(securityRole);
         }
+        return _securityRoles;
     }
 
     // beans
@@ -296,9 +348,32 @@ public class ConfigModelV7 extends ConfigModel {
         protected final Logger log = LogManager.getLogger(this.getClass());
 
         final Set<SecurityRole> roles;
+        // shared by all role sets filtered from the same configuration, by role names
+        private final Cache<Set<String>, ClusterPermissionTable> clusterPermissionTables;
+        // shared by all role sets filtered from the same configuration, by metadata version and index patterns
+        private final Cache<Tuple<Long, Set<String>>, PermittedIndices> permittedIndices;
+        private volatile ClusterPermissionTable clusterPermissionTable;
+        private final AliasAndDataStreamIndex aliasAndDataStreamIndex;
+
+        private SecurityRoles(int roleCount, AliasAndDataStreamIndex aliasAndDataStreamIndex) {
+            this(
+                roleCount,
+                CacheBuilder.newBuilder().maximumSize(1000).build(),
+                CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(10, TimeUnit.MINUTES).build(),
+                aliasAndDataStreamIndex
+            );
+        }
 
-        private SecurityRoles(int roleCount) {
+        private SecurityRoles(
+            int roleCount,
+            Cache<Set<String>, ClusterPermissionTable> clusterPermissionTables,
+            Cache<Tuple<Long, Set<String>>, PermittedIndices> permittedIndices,
+            AliasAndDataStreamIndex aliasAndDataStreamIndex
+        ) {
             roles = new HashSet<>(roleCount);
+            this.clusterPermissionTables = clusterPermissionTables;
+            this.permittedIndices = permittedIndices;
+            this.aliasAndDataStreamIndex = aliasAndDataStreamIndex;
         }
 
         private SecurityRoles addSecurityRole(SecurityRole securityRole) {
@@ -342,7 +417,12 @@ public class ConfigModelV7 extends ConfigModel {
         }
 
         public SecurityRoles filter(Set<String> keep) {
-            final SecurityRoles retVal = new SecurityRoles(roles.size());
+            final SecurityRoles retVal = new SecurityRoles(
+                roles.size(),
+                clusterPermissionTables,
+                permittedIndices,
+                aliasAndDataStreamIndex
+            );
             for (SecurityRole sr : roles) {
                 if (keep.contains(sr.getName())) {
                     retVal.addSecurityRole(sr);
@@ -463,9 +543,8 @@ public class ConfigModelV7 extends ConfigModel {
             IndexNameExpressionResolver resolver,
             ClusterService cs
         ) {
-            Set<String> retVal = new HashSet<>();
-            for (SecurityRole sr : roles) {
-                retVal.addAll(sr.getAllResolvedPermittedIndices(Resolved._LOCAL_ALL, user, actions, resolver, cs, Function.identity()));
+            Set<String> retVal = new HashSet<>(permittedIndices(user, actions, resolver, cs).reduce(Resolved._LOCAL_ALL));
+            if (!roles.isEmpty()) {
                 retVal.addAll(resolved.getRemoteIndices());
             }
             return Collections.unmodifiableSet(retVal);
@@ -473,16 +552,44 @@ public class ConfigModelV7 extends ConfigModel {
 
         // dnfof only
         public Set<String> reduce(Resolved resolved, User user, String[] actions, IndexNameExpressionResolver resolver, ClusterService cs) {
-            Set<String> retVal = new HashSet<>();
-            for (SecurityRole sr : roles) {
-                retVal.addAll(sr.getAllResolvedPermittedIndices(resolved, user, actions, resolver, cs, Function.identity()));
-            }
+            Set<String> retVal = permittedIndices(user, actions, resolver, cs).reduce(resolved);
             if (log.isDebugEnabled()) {
                 log.debug("Reduced requested resolved indices {} to permitted indices {}.", resolved, retVal.toString());
             }
             return Collections.unmodifiableSet(retVal);
         }
 
+        /**
+         * Returns the indices permitted by the index patterns of the roles which grant all actions. The patterns are
+         * resolved once per metadata version and set of patterns, after the user attributes have been substituted.
+         */
+        private PermittedIndices permittedIndices(User user, String[] actions, IndexNameExpressionResolver resolver, ClusterService cs) {
+            final Set<String> unresolvedPatterns = new TreeSet<>();
+            for (SecurityRole sr : roles) {
+                for (IndexPattern p : sr.getIpatterns()) {
+                    if (p.getPerms().matchAll(actions)) {
+                        unresolvedPatterns.add(p.getUnresolvedIndexPattern(user));
+                    }
+                }
+            }
+
+            final Metadata metadata = cs.state().metadata();
+            try {
+                return permittedIndices.get(new Tuple<>(metadata.version(), unresolvedPatterns), () -> {
+                    final Set<String> resolvedPatterns = new HashSet<>();
+                    for (String unresolved : unresolvedPatterns) {
+                        // resolved but can contain patterns for nonexistent indices
+                        resolvedPatterns.addAll(
+                            IndexPattern.resolveIndexPattern(unresolved, resolver, cs, aliasAndDataStreamIndex, true)
+                        );
+                    }
+                    return new PermittedIndices(metadata, resolvedPatterns);
+                });
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
         // return true on success
         public boolean get(Resolved resolved, User user, String[] actions, IndexNameExpressionResolver resolver, ClusterService cs) {
             for (SecurityRole sr : roles) {
@@ -495,7 +602,20 @@ public class ConfigModelV7 extends ConfigModel {
 
         @Override
         public boolean impliesClusterPermissionPermission(String action) {
-            return roles.stream().filter(r -> r.impliesClusterPermission(action)).count() > 0;
+            return clusterPermissionTable().implies(action, a -> roles.stream().anyMatch(r -> r.impliesClusterPermission(a)));
+        }
+
+        private ClusterPermissionTable clusterPermissionTable() {
+            ClusterPermissionTable table = clusterPermissionTable;
+            if (table == null) {
+                try {
+                    table = clusterPermissionTables.get(getRoleNames(), ClusterPermissionTable::new);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+                clusterPermissionTable = table;
+            }
+            return table;
         }
 
         @Override
@@ -728,10 +848,16 @@ public class ConfigModelV7 extends ConfigModel {
         private final Set<String> fls = new HashSet<>();
         private final Set<String> maskedFields = new HashSet<>();
         private final Set<String> perms = new HashSet<>();
+        private final AliasAndDataStreamIndex aliasAndDataStreamIndex;
 
         public IndexPattern(String indexPattern) {
+            this(indexPattern, null);
+        }
+
+        public IndexPattern(String indexPattern, AliasAndDataStreamIndex aliasAndDataStreamIndex) {
             super();
             this.indexPattern = Objects.requireNonNull(indexPattern);
+            this.aliasAndDataStreamIndex = aliasAndDataStreamIndex;
         }
 
         public IndexPattern addFlsFields(List<String> flsFields) {
@@ -834,24 +960,35 @@ public class ConfigModelV7 extends ConfigModel {
             final ClusterService cs,
             final boolean appendUnresolved
         ) {
-            final String unresolved = getUnresolvedIndexPattern(user);
+            return resolveIndexPattern(getUnresolvedIndexPattern(user), resolver, cs, aliasAndDataStreamIndex, appendUnresolved);
+        }
+
+        static Set<String> resolveIndexPattern(
+            final String unresolved,
+            final IndexNameExpressionResolver resolver,
+            final ClusterService cs,
+            final AliasAndDataStreamIndex aliasAndDataStreamIndex,
+            final boolean appendUnresolved
+        ) {
             final ImmutableSet.Builder<String> resolvedIndices = new ImmutableSet.Builder<>();
 
             final WildcardMatcher matcher = WildcardMatcher.from(unresolved);
             boolean includeDataStreams = true;
+            final ClusterState state = cs.state();
             if (!(matcher instanceof WildcardMatcher.Exact)) {
-                final String[] aliasesAndDataStreamsForPermittedPattern = cs.state()
-                    .getMetadata()
-                    .getIndicesLookup()
-                    .entrySet()
-                    .stream()
-                    .filter(e -> (e.getValue().getType() == ALIAS) || (e.getValue().getType() == DATA_STREAM))
-                    .filter(e -> matcher.test(e.getKey()))
-                    .map(e -> e.getKey())
-                    .toArray(String[]::new);
+                final String[] aliasesAndDataStreamsForPermittedPattern = aliasAndDataStreamIndex != null
+                    ? aliasAndDataStreamIndex.matching(state.getMetadata(), unresolved, matcher).toArray(new String[0])
+                    : state.getMetadata()
+                        .getIndicesLookup()
+                        .entrySet()
+                        .stream()
+                        .filter(e -> (e.getValue().getType() == ALIAS) || (e.getValue().getType() == DATA_STREAM))
+                        .filter(e -> matcher.test(e.getKey()))
+                        .map(e -> e.getKey())
+                        .toArray(String[]::new);
                 if (aliasesAndDataStreamsForPermittedPattern.length > 0) {
                     final String[] resolvedAliasesAndDataStreamIndices = resolver.concreteIndexNames(
-                        cs.state(),
+                        state,
                         IndicesOptions.lenientExpandOpen(),
                         includeDataStreams,
                         aliasesAndDataStreamsForPermittedPattern
@@ -862,7 +999,7 @@ public class ConfigModelV7 extends ConfigModel {
 
             if (Strings.isNotBlank(unresolved)) {
                 final String[] resolvedIndicesFromPattern = resolver.concreteIndexNames(
-                    cs.state(),
+                    state,
                     IndicesOptions.lenientExpandOpen(),
                     includeDataStreams,
                     unresolved
@@ -1110,93 +1247,62 @@ public class ConfigModelV7 extends ConfigModel {
 
         private SetMultimap<String, Tuple<String, Boolean>> tenantsMM = null;
 
-        public TenantHolder(SecurityDynamicConfiguration<RoleV7> roles, SecurityDynamicConfiguration<TenantV7> definedTenants) {
-            final Set<Future<Tuple<String, Set<Tuple<String, Boolean>>>>> futures = new HashSet<>(roles.getCEntries().size());
+        public TenantHolder(
+            SecurityDynamicConfiguration<RoleV7> roles,
+            SecurityDynamicConfiguration<TenantV7> definedTenants,
+            Executor executor
+        ) {
+            final Map<String, RoleV7> entries = roles.entriesView();
+            final List<CompletableFuture<Tuple<String, Set<Tuple<String, Boolean>>>>> futures = new ArrayList<>(entries.size());
 
-            final ExecutorService execs = Executors.newFixedThreadPool(10);
+            for (String roleName : entries.keySet()) {
 
-            for (Entry<String, RoleV7> securityRole : roles.getCEntries().entrySet()) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    final RoleV7 securityRole = entries.get(roleName);
+                    if (securityRole == null) {
+                        return null;
+                    }
 
-                if (securityRole.getValue() == null) {
-                    continue;
-                }
+                    final Set<Tuple<String, Boolean>> tuples = new HashSet<>();
+                    final List<RoleV7.Tenant> tenants = securityRole.getTenant_permissions();
+                    if (tenants != null) {
 
-                Future<Tuple<String, Set<Tuple<String, Boolean>>>> future = execs.submit(
-                    new Callable<Tuple<String, Set<Tuple<String, Boolean>>>>() {
-                        @Override
-                        public Tuple<String, Set<Tuple<String, Boolean>>> call() throws Exception {
-                            final Set<Tuple<String, Boolean>> tuples = new HashSet<>();
-                            final List<RoleV7.Tenant> tenants = securityRole.getValue().getTenant_permissions();
-                            if (tenants != null) {
-
-                                for (RoleV7.Tenant tenant : tenants) {
-
-                                    // find Wildcarded tenant patterns
-                                    List<String> matchingTenants = WildcardMatcher.from(tenant.getTenant_patterns())
-                                        .getMatchAny(definedTenants.getCEntries().keySet(), Collectors.toList());
-                                    for (String matchingTenant : matchingTenants) {
-                                        tuples.add(
-                                            new Tuple<String, Boolean>(
-                                                matchingTenant,
-                                                agr.resolvedActions(tenant.getAllowed_actions()).contains("kibana:saved_objects/*/write")
-                                            )
-                                        );
-                                    }
-                                    // find parameter substitution specified tenant
-                                    Pattern parameterPattern = Pattern.compile("^\\$\\{attr");
-                                    List<String> matchingParameterTenantList = tenant.getTenant_patterns()
-                                        .stream()
-                                        .filter(parameterPattern.asPredicate())
-                                        .collect(Collectors.toList());
-                                    for (String matchingParameterTenant : matchingParameterTenantList) {
-                                        tuples.add(
-                                            new Tuple<String, Boolean>(
-                                                matchingParameterTenant,
-                                                agr.resolvedActions(tenant.getAllowed_actions()).contains("kibana:saved_objects/*/write")
-                                            )
-                                        );
-                                    }
-                                }
-                            }
+                        for (RoleV7.Tenant tenant : tenants) {
 
-                            return new Tuple<String, Set<Tuple<String, Boolean>>>(securityRole.getKey(), tuples);
+                            final boolean rw = agr.resolvedActions(tenant.getAllowed_actions()).contains("kibana:saved_objects/*/write");
+                            // find Wildcarded tenant patterns
+                            List<String> matchingTenants = WildcardMatcher.from(tenant.getTenant_patterns())
+                                .getMatchAny(definedTenants.getCEntries().keySet(), Collectors.toList());
+                            for (String matchingTenant : matchingTenants) {
+                                tuples.add(new Tuple<String, Boolean>(matchingTenant, rw));
+                            }
+                            // find parameter substitution specified tenant
+                            List<String> matchingParameterTenantList = tenant.getTenant_patterns()
+                                .stream()
+                                .filter(PARAMETER_TENANT_PATTERN.asPredicate())
+                                .collect(Collectors.toList());
+                            for (String matchingParameterTenant : matchingParameterTenantList) {
+                                tuples.add(new Tuple<String, Boolean>(matchingParameterTenant, rw));
+                            }
                         }
                     }
-                );
-
-                futures.add(future);
 
-            }
+                    return new Tuple<String, Set<Tuple<String, Boolean>>>(roleName, tuples);
+                }, executor));
 
-            execs.shutdown();
-            try {
-                execs.awaitTermination(30, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Thread interrupted (1) while loading roles");
-                return;
             }
 
-            try {
-                final SetMultimap<String, Tuple<String, Boolean>> tenantsMM_ = SetMultimapBuilder.hashKeys(futures.size())
-                    .hashSetValues(16)
-                    .build();
+            final SetMultimap<String, Tuple<String, Boolean>> tenantsMM_ = SetMultimapBuilder.hashKeys(futures.size())
+                .hashSetValues(16)
+                .build();
 
-                for (Future<Tuple<String, Set<Tuple<String, Boolean>>>> future : futures) {
-                    Tuple<String, Set<Tuple<String, Boolean>>> result = future.get();
+            for (Tuple<String, Set<Tuple<String, Boolean>>> result : join(futures, "tenants")) {
+                if (result != null) {
                     tenantsMM_.putAll(result.v1(), result.v2());
                 }
-
-                tenantsMM = tenantsMM_;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Thread interrupted (2) while loading roles");
-                return;
-            } catch (ExecutionException e) {
-                log.error("Error while updating roles: {}", e.getCause(), e.getCause());
-                throw ExceptionsHelper.convertToOpenSearchException(e);
             }
 
+            tenantsMM = tenantsMM_;
         }
 
         public Map<String, Boolean> mapTenants(final User user, Set<String> roles) {
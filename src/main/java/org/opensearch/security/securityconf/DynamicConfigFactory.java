@@ -30,10 +30,17 @@ package org.opensearch.security.securityconf;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -50,6 +57,7 @@ import org.opensearch.security.configuration.ClusterInfoHolder;
 import org.opensearch.security.configuration.ConfigurationChangeListener;
 import org.opensearch.security.configuration.ConfigurationRepository;
 import org.opensearch.security.configuration.StaticResourceException;
+import org.opensearch.security.resolver.AliasAndDataStreamIndex;
 import org.opensearch.security.securityconf.impl.AllowlistingSettings;
 import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.securityconf.impl.NodesDn;
@@ -125,11 +133,16 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
     protected final Logger log = LogManager.getLogger(this.getClass());
     private final ConfigurationRepository cr;
     private final AtomicBoolean initialized = new AtomicBoolean();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private volatile SecuritySnapshot snapshot;
     private final EventBus eventBus = EVENT_BUS_BUILDER.logger(new JavaLogger(DynamicConfigFactory.class.getCanonicalName())).build();
     private final Settings opensearchSettings;
     private final Path configPath;
-    private final InternalAuthenticationBackend iab = new InternalAuthenticationBackend();
+    private final InternalAuthenticationBackend iab;
     private final ClusterInfoHolder cih;
+    private final AliasAndDataStreamIndex aliasAndDataStreamIndex;
+    private final ThreadPool threadPool;
+    private final ConfigModelBuildStats configModelBuildStats = new ConfigModelBuildStats();
 
     SecurityDynamicConfiguration<?> config;
 
@@ -139,13 +152,17 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
         final Path configPath,
         Client client,
         ThreadPool threadPool,
-        ClusterInfoHolder cih
+        ClusterInfoHolder cih,
+        AliasAndDataStreamIndex aliasAndDataStreamIndex
     ) {
         super();
         this.cr = cr;
+        this.aliasAndDataStreamIndex = aliasAndDataStreamIndex;
         this.opensearchSettings = opensearchSettings;
         this.configPath = configPath;
         this.cih = cih;
+        this.threadPool = threadPool;
+        this.iab = new InternalAuthenticationBackend(threadPool.getThreadContext());
 
         if (opensearchSettings.getAsBoolean(ConfigConstants.SECURITY_UNSUPPORTED_LOAD_STATIC_RESOURCES, true)) {
             try {
@@ -227,6 +244,7 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
             log.debug(logmsg);
         }
 
+        final long buildStart = System.nanoTime();
         final DynamicConfigModel dcm;
         final InternalUsersModel ium;
         final ConfigModel cm;
@@ -279,13 +297,25 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
                 (SecurityDynamicConfiguration<RoleV7>) roles,
                 (SecurityDynamicConfiguration<RoleMappingsV7>) rolesmapping
             );
-            cm = new ConfigModelV7(
-                (SecurityDynamicConfiguration<RoleV7>) roles,
-                (SecurityDynamicConfiguration<RoleMappingsV7>) rolesmapping,
-                (SecurityDynamicConfiguration<ActionGroupsV7>) actionGroups,
-                (SecurityDynamicConfiguration<TenantV7>) tenants,
-                dcm,
-                opensearchSettings
+            final long configModelStart = System.nanoTime();
+            try {
+                cm = new ConfigModelV7(
+                    (SecurityDynamicConfiguration<RoleV7>) roles,
+                    (SecurityDynamicConfiguration<RoleMappingsV7>) rolesmapping,
+                    (SecurityDynamicConfiguration<ActionGroupsV7>) actionGroups,
+                    (SecurityDynamicConfiguration<TenantV7>) tenants,
+                    dcm,
+                    opensearchSettings,
+                    threadPool.executor(ConfigConstants.SECURITY_CONFIG_MODEL_THREAD_POOL),
+                    aliasAndDataStreamIndex
+                );
+            } catch (RuntimeException e) {
+                configModelBuildStats.onFailure();
+                throw e;
+            }
+            configModelBuildStats.onBuild(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - configModelStart),
+                ((ConfigModelV7) cm).getBuildTimeMillis()
             );
 
         } else {
@@ -303,7 +333,28 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
 
         }
 
-        // notify subscribers
+        final EnumMap<CType, Long> configSeqNos = new EnumMap<>(CType.class);
+        for (SecurityDynamicConfiguration<?> c : List.of(actionGroups, config, internalusers, roles, rolesmapping, tenants, nodesDn)) {
+            if (c.getCType() != null) {
+                configSeqNos.put(c.getCType(), c.getSeqNo());
+            }
+        }
+        final SecuritySnapshot snapshot = new SecuritySnapshot(
+            snapshotVersion.incrementAndGet(),
+            configSeqNos,
+            cm,
+            dcm,
+            ium,
+            nm,
+            System.nanoTime() - buildStart
+        );
+        this.snapshot = snapshot;
+        if (log.isDebugEnabled()) {
+            log.debug("Published {}", snapshot);
+        }
+
+        // notify subscribers, the snapshot first so that its listeners never see models of different configurations
+        eventBus.post(snapshot);
         eventBus.post(cm);
         eventBus.post(dcm);
         eventBus.post(ium);
@@ -335,6 +386,20 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
         return initialized.get();
     }
 
+    /**
+     * @return the latest configuration snapshot or null if the configuration has not been loaded yet
+     */
+    public SecuritySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the statistics of the builds of the role and tenant models
+     */
+    public ConfigModelBuildStats getConfigModelBuildStats() {
+        return configModelBuildStats;
+    }
+
     public void registerDCFListener(Object listener) {
         eventBus.register(listener);
     }
@@ -345,11 +410,7 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
 
     private static class InternalUsersModelV7 extends InternalUsersModel {
 
-        private final SecurityDynamicConfiguration<InternalUserV7> internalUserV7SecurityDynamicConfiguration;
-
-        private final SecurityDynamicConfiguration<RoleV7> rolesV7SecurityDynamicConfiguration;
-
-        private final SecurityDynamicConfiguration<RoleMappingsV7> rolesMappingsV7SecurityDynamicConfiguration;
+        private final Map<String, InternalUser> users;
 
         public InternalUsersModelV7(
             SecurityDynamicConfiguration<InternalUserV7> internalUserV7SecurityDynamicConfiguration,
@@ -357,57 +418,76 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
             SecurityDynamicConfiguration<RoleMappingsV7> rolesMappingsV7SecurityDynamicConfiguration
         ) {
             super();
-            this.internalUserV7SecurityDynamicConfiguration = internalUserV7SecurityDynamicConfiguration;
-            this.rolesV7SecurityDynamicConfiguration = rolesV7SecurityDynamicConfiguration;
-            this.rolesMappingsV7SecurityDynamicConfiguration = rolesMappingsV7SecurityDynamicConfiguration;
+            final Map<String, String> strings = new HashMap<>();
+            final Map<String, InternalUser> users = new HashMap<>(internalUserV7SecurityDynamicConfiguration.getCEntries().size());
+            for (Entry<String, InternalUserV7> entry : internalUserV7SecurityDynamicConfiguration.entriesView().entrySet()) {
+                final InternalUserV7 user = entry.getValue();
+                if (user == null) {
+                    continue;
+                }
+                // Security roles should only contain roles that exist in the roles dynamic config.
+                // We should filter out any roles that have hidden rolesmapping.
+                final List<String> securityRoles = user.getOpendistro_security_roles() == null
+                    ? Collections.emptyList()
+                    : user.getOpendistro_security_roles()
+                        .stream()
+                        .filter(
+                            role -> !rolesMappingsV7SecurityDynamicConfiguration.isHidden(role)
+                                && rolesV7SecurityDynamicConfiguration.exists(role)
+                        )
+                        .collect(Collectors.toList());
+                users.put(
+                    entry.getKey(),
+                    new InternalUser(
+                        user.getHash(),
+                        user.getDescription(),
+                        user.getBackend_roles(),
+                        user.getAttributes(),
+                        securityRoles,
+                        string -> strings.computeIfAbsent(string, Function.identity())
+                    )
+                );
+            }
+            this.users = ImmutableMap.copyOf(users);
         }
 
         @Override
         public boolean exists(String user) {
-            return internalUserV7SecurityDynamicConfiguration.exists(user);
+            return users.containsKey(user);
         }
 
         @Override
         public List<String> getBackenRoles(String user) {
-            InternalUserV7 tmp = internalUserV7SecurityDynamicConfiguration.getCEntry(user);
-            return tmp == null ? null : tmp.getBackend_roles();
+            InternalUser tmp = users.get(user);
+            return tmp == null ? null : tmp.getBackendRoles();
         }
 
         @Override
         public Map<String, String> getAttributes(String user) {
-            InternalUserV7 tmp = internalUserV7SecurityDynamicConfiguration.getCEntry(user);
+            InternalUser tmp = users.get(user);
             return tmp == null ? null : tmp.getAttributes();
         }
 
         @Override
         public String getDescription(String user) {
-            InternalUserV7 tmp = internalUserV7SecurityDynamicConfiguration.getCEntry(user);
+            InternalUser tmp = users.get(user);
             return tmp == null ? null : tmp.getDescription();
         }
 
         @Override
         public String getHash(String user) {
-            InternalUserV7 tmp = internalUserV7SecurityDynamicConfiguration.getCEntry(user);
+            InternalUser tmp = users.get(user);
             return tmp == null ? null : tmp.getHash();
         }
 
         public List<String> getSecurityRoles(String user) {
-            InternalUserV7 tmp = internalUserV7SecurityDynamicConfiguration.getCEntry(user);
-
-            // Security roles should only contain roles that exist in the roles dynamic config.
-            // We should filter out any roles that have hidden rolesmapping.
-            return tmp == null
-                ? ImmutableList.of()
-                : tmp.getOpendistro_security_roles()
-                    .stream()
-                    .filter(role -> !isRolesMappingHidden(role) && rolesV7SecurityDynamicConfiguration.exists(role))
-                    .collect(ImmutableList.toImmutableList());
+            InternalUser tmp = users.get(user);
+            return tmp == null ? ImmutableList.of() : tmp.getSecurityRoles();
         }
 
-        // Remove any hidden rolesmapping from the security roles
-        private boolean isRolesMappingHidden(String rolename) {
-            final RoleMappingsV7 roleMapping = rolesMappingsV7SecurityDynamicConfiguration.getCEntry(rolename);
-            return roleMapping != null && roleMapping.isHidden();
+        @Override
+        public InternalUser getUser(String user) {
+            return users.get(user);
         }
     }
 
@@ -451,6 +531,14 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
         public List<String> getSecurityRoles(String user) {
             return Collections.emptyList();
         }
+
+        @Override
+        public InternalUser getUser(String user) {
+            InternalUserV6 tmp = configuration.getCEntry(user);
+            return tmp == null
+                ? null
+                : new InternalUser(tmp.getHash(), null, tmp.getRoles(), tmp.getAttributes(), null, UnaryOperator.identity());
+        }
     }
 
     private static class NodesDnModelImpl extends NodesDnModel {
@@ -27,8 +27,13 @@
 
 package org.opensearch.security.securityconf;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 public abstract class InternalUsersModel {
 
@@ -44,4 +49,105 @@ public abstract class InternalUsersModel {
 
     public abstract List<String> getSecurityRoles(String user);
 
+    /**
+     * @return everything the authentication and authorization of the given user needs, or null if there is no such user
+     */
+    public abstract InternalUser getUser(String user);
+
+    /**
+     * An immutable internal user. Roles and attributes are copied once when the user is created, so that they can
+     * be handed to every request without copying them again.
+     */
+    public static final class InternalUser {
+
+        static final String ATTRIBUTE_PREFIX = "attr.internal.";
+
+        private final String hash;
+
+        private final String description;
+
+        private final List<String> backendRoles;
+
+        private final Map<String, String> attributes;
+
+        private final Map<String, String> customAttributes;
+
+        private final List<String> securityRoles;
+
+        /**
+         * @param strings used to share equal strings, like role names, between users
+         */
+        public InternalUser(
+            final String hash,
+            final String description,
+            final Collection<String> backendRoles,
+            final Map<String, String> attributes,
+            final Collection<String> securityRoles,
+            final UnaryOperator<String> strings
+        ) {
+            this.hash = hash;
+            this.description = description;
+            this.backendRoles = copyOf(backendRoles, strings);
+            this.securityRoles = copyOf(securityRoles, strings);
+            final ImmutableMap.Builder<String, String> attributesBuilder = ImmutableMap.builder();
+            final ImmutableMap.Builder<String, String> customAttributesBuilder = ImmutableMap.builder();
+            if (attributes != null) {
+                for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                    // null values cannot be substituted and are not kept
+                    if (attribute.getKey() != null && attribute.getValue() != null) {
+                        attributesBuilder.put(strings.apply(attribute.getKey()), attribute.getValue());
+                        customAttributesBuilder.put(strings.apply(ATTRIBUTE_PREFIX + attribute.getKey()), attribute.getValue());
+                    }
+                }
+            }
+            this.attributes = attributesBuilder.buildKeepingLast();
+            this.customAttributes = customAttributesBuilder.buildKeepingLast();
+        }
+
+        private static List<String> copyOf(final Collection<String> values, final UnaryOperator<String> strings) {
+            if (values == null || values.isEmpty()) {
+                return ImmutableList.of();
+            }
+            final ImmutableList.Builder<String> builder = ImmutableList.builderWithExpectedSize(values.size());
+            for (final String value : values) {
+                if (value != null) {
+                    builder.add(strings.apply(value));
+                }
+            }
+            return builder.build();
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public List<String> getBackendRoles() {
+            return backendRoles;
+        }
+
+        /**
+         * @return the attributes as they are configured
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * @return the attributes with the prefix {@value #ATTRIBUTE_PREFIX}, as they are added to the user
+         */
+        public Map<String, String> getCustomAttributes() {
+            return customAttributes;
+        }
+
+        /**
+         * @return the security roles which exist and whose role mapping is not hidden
+         */
+        public List<String> getSecurityRoles() {
+            return securityRoles;
+        }
+    }
 }
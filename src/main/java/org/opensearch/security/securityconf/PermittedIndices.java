@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
+import org.opensearch.security.support.WildcardMatcher;
+
+/**
+ * The indices a set of index patterns permits, resolved once per cluster metadata version.
+ * <p>
+ * The permitted open indices are kept as a bitmap over the ordinals of the open indices of the
+ * metadata, so that reducing a request to its permitted indices is a bit test per requested index
+ * and a request for all indices returns the precomputed set. Requested names which are no open
+ * index, such as closed indices or names which do not exist, are matched against the patterns.
+ */
+final class PermittedIndices {
+
+    private static volatile IndexOrdinals lastOrdinals;
+
+    private final IndexOrdinals ordinals;
+    private final BitSet permitted;
+    private final WildcardMatcher matcher;
+    private final Set<String> permittedOpenIndices;
+
+    /**
+     * @param metadata the metadata the patterns were resolved against
+     * @param resolvedPatterns the names the index patterns resolved to, including the unresolved patterns
+     */
+    PermittedIndices(Metadata metadata, Set<String> resolvedPatterns) {
+        this.ordinals = ordinals(metadata);
+        this.matcher = WildcardMatcher.from(resolvedPatterns);
+        this.permitted = new BitSet(ordinals.indices.length);
+
+        final Set<String> permittedOpenIndices = new HashSet<>();
+        for (int i = 0; i < ordinals.indices.length; i++) {
+            if (matcher.test(ordinals.indices[i])) {
+                permitted.set(i);
+                permittedOpenIndices.add(ordinals.indices[i]);
+            }
+        }
+        this.permittedOpenIndices = Collections.unmodifiableSet(permittedOpenIndices);
+    }
+
+    /**
+     * @return the requested indices which are permitted, or all permitted open indices if all indices are requested
+     */
+    Set<String> reduce(Resolved resolved) {
+        final Set<String> requested = resolved.getAllIndices();
+        if (resolved.isLocalAll() || requested.contains("*") || requested.contains("_all")) {
+            return permittedOpenIndices;
+        }
+
+        final Set<String> result = new HashSet<>();
+        for (String index : requested) {
+            final Integer ordinal = ordinals.ordinals.get(index);
+            if (ordinal != null ? permitted.get(ordinal) : matcher.test(index)) {
+                result.add(index);
+            }
+        }
+        return result;
+    }
+
+    private static IndexOrdinals ordinals(Metadata metadata) {
+        final IndexOrdinals last = lastOrdinals;
+        if (last != null && last.metadata == metadata) {
+            return last;
+        }
+        final IndexOrdinals ordinals = new IndexOrdinals(metadata);
+        lastOrdinals = ordinals;
+        return ordinals;
+    }
+
+    /**
+     * The ordinals of the open indices of a metadata version, shared by all permitted index sets of that version.
+     */
+    private static final class IndexOrdinals {
+        private final Metadata metadata;
+        private final String[] indices;
+        private final Map<String, Integer> ordinals;
+
+        private IndexOrdinals(Metadata metadata) {
+            this.metadata = metadata;
+            this.indices = metadata.getConcreteAllOpenIndices();
+            this.ordinals = new HashMap<>(indices.length * 2);
+            for (int i = 0; i < indices.length; i++) {
+                ordinals.put(indices[i], i);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Immutable view of the security configuration models built from one configuration change.
+ * <p>
+ * All models of a snapshot were built from the same configuration, a request which captures a
+ * snapshot thus never sees the roles of one configuration and the tenants or settings of another.
+ * Snapshots are published by {@link DynamicConfigFactory} before the individual models are posted
+ * to the listeners.
+ * <p>
+ * A request captures the snapshot in its thread context with {@link #forRequest(ThreadContext, SecuritySnapshot)}
+ * the first time a listener needs it, all listeners then read the same snapshot for the rest of the request. State
+ * a listener derives from the models is built once per snapshot with {@link #derived(Key, Function)}.
+ */
+public final class SecuritySnapshot {
+
+    private final long version;
+    private final Map<CType, Long> configSeqNos;
+    private final ConfigModel configModel;
+    private final DynamicConfigModel dynamicConfigModel;
+    private final InternalUsersModel internalUsersModel;
+    private final NodesDnModel nodesDnModel;
+    private final long buildTimeNanos;
+    private final long createdAtMillis;
+    private final Map<Key<?>, Object> derived = new ConcurrentHashMap<>();
+
+    public SecuritySnapshot(
+        long version,
+        EnumMap<CType, Long> configSeqNos,
+        ConfigModel configModel,
+        DynamicConfigModel dynamicConfigModel,
+        InternalUsersModel internalUsersModel,
+        NodesDnModel nodesDnModel,
+        long buildTimeNanos
+    ) {
+        this.version = version;
+        this.configSeqNos = Collections.unmodifiableMap(new EnumMap<>(configSeqNos));
+        this.configModel = configModel;
+        this.dynamicConfigModel = dynamicConfigModel;
+        this.internalUsersModel = internalUsersModel;
+        this.nodesDnModel = nodesDnModel;
+        this.buildTimeNanos = buildTimeNanos;
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the node local version of the snapshot, increases with every configuration change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the sequence numbers of the configuration documents the snapshot was built from
+     */
+    public Map<CType, Long> getConfigSeqNos() {
+        return configSeqNos;
+    }
+
+    public ConfigModel getConfigModel() {
+        return configModel;
+    }
+
+    public DynamicConfigModel getDynamicConfigModel() {
+        return dynamicConfigModel;
+    }
+
+    public InternalUsersModel getInternalUsersModel() {
+        return internalUsersModel;
+    }
+
+    public NodesDnModel getNodesDnModel() {
+        return nodesDnModel;
+    }
+
+    /**
+     * @return the time it took to build the models of the snapshot in nanoseconds
+     */
+    public long getBuildTimeNanos() {
+        return buildTimeNanos;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Returns the state the given key was derived from this snapshot. The state is built on first access, listeners
+     * build it when the snapshot is published so that requests only read it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derived(final Key<T> key, final Function<SecuritySnapshot, T> builder) {
+        final Object existing = derived.get(key);
+        if (existing != null) {
+            return (T) existing;
+        }
+        // not computeIfAbsent, builders may derive state of other keys
+        final T built = builder.apply(this);
+        final Object raced = derived.putIfAbsent(key, built);
+        return raced != null ? (T) raced : built;
+    }
+
+    /**
+     * @return the snapshot captured by the current request, captures the given latest snapshot if the request did not
+     * capture one yet. Null if neither exists.
+     */
+    public static SecuritySnapshot forRequest(final ThreadContext threadContext, final SecuritySnapshot latest) {
+        final SecuritySnapshot captured = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_CONFIG_SNAPSHOT);
+        if (captured != null || latest == null) {
+            return captured;
+        }
+        threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_CONFIG_SNAPSHOT, latest);
+        return latest;
+    }
+
+    /**
+     * Identifies state which a listener derives from a snapshot.
+     */
+    public static final class Key<T> {
+
+        private final String name;
+
+        public Key(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SecuritySnapshot [version="
+            + version
+            + ", configSeqNos="
+            + configSeqNos
+            + ", buildTimeNanos="
+            + buildTimeNanos
+            + ", createdAtMillis="
+            + createdAtMillis
+            + "]";
+    }
+}
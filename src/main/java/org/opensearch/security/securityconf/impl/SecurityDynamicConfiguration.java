@@ -28,15 +28,25 @@
 package org.opensearch.security.securityconf.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -45,6 +55,7 @@ import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.NonValidatingObjectMapper;
+import org.opensearch.security.configuration.EntityDocuments;
 import org.opensearch.security.securityconf.Hashed;
 import org.opensearch.security.securityconf.Hideable;
 import org.opensearch.security.securityconf.StaticDefinable;
@@ -55,11 +66,13 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
     };
 
     @JsonIgnore
-    private final Map<String, T> centries = new HashMap<>();
+    private final LazyEntries centries = new LazyEntries();
     private long seqNo = -1;
     private long primaryTerm = -1;
     private CType ctype;
     private int version = -1;
+    @JsonIgnore
+    private EntityDocuments.Loaded loadedEntities;
 
     public static <T> SecurityDynamicConfiguration<T> empty() {
         return new SecurityDynamicConfiguration<T>();
@@ -91,10 +104,7 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
                         .constructParametricType(SecurityDynamicConfiguration.class, implementationClass)
                 );
             } else {
-                sdc = DefaultObjectMapper.readValue(
-                    json,
-                    DefaultObjectMapper.getTypeFactory().constructParametricType(SecurityDynamicConfiguration.class, implementationClass)
-                );
+                sdc = parse(json, implementationClass);
             }
             validate(sdc, version, ctype);
 
@@ -110,6 +120,35 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
         return sdc;
     }
 
+    /**
+     * Parses the configuration entry by entry. Each entry is bound once to validate it, the bound value is kept
+     * together with the JSON it was read from until it is accessed or passed on to a clone.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> SecurityDynamicConfiguration<T> parse(String json, Class<?> implementationClass) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final SecurityDynamicConfiguration<T> sdc = new SecurityDynamicConfiguration<T>();
+        try (JsonParser parser = DefaultObjectMapper.objectMapper.getFactory().createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a configuration object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                parser.nextToken();
+                final int start = (int) parser.getTokenLocation().getByteOffset();
+                parser.skipChildren();
+                parser.finishToken();
+                final byte[] value = Arrays.copyOfRange(bytes, start, (int) parser.getCurrentLocation().getByteOffset());
+                if ("_meta".equals(key)) {
+                    sdc._meta = DefaultObjectMapper.readValue(value, Meta.class);
+                } else {
+                    sdc.centries.putValidated(key, (T) DefaultObjectMapper.readValue(value, implementationClass), value);
+                }
+            }
+        }
+        return sdc;
+    }
+
     public static void validate(SecurityDynamicConfiguration<?> sdc, int version, CType ctype) throws IOException {
         if (version < 2 && sdc.get_meta() != null) {
             throw new IOException("A version of " + version + " can not have a _meta key for " + ctype);
@@ -156,14 +195,25 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
         putCEntry(key, value);
     }
 
-    @JsonAnyGetter
+    /**
+     * @return the entries
+     */
+    @JsonIgnore
     public Map<String, T> getCEntries() {
         return centries;
     }
 
+    /**
+     * @return a view of the entries which can not be structurally modified, used for the serialization
+     */
+    @JsonAnyGetter
+    public Map<String, T> entriesView() {
+        return centries.view;
+    }
+
     @JsonIgnore
     public void removeHidden() {
-        for (Entry<String, T> entry : new HashMap<String, T>(centries).entrySet()) {
+        for (Entry<String, T> entry : new ArrayList<>(centries.view.entrySet())) {
             if (entry.getValue() instanceof Hideable && ((Hideable) entry.getValue()).isHidden()) {
                 centries.remove(entry.getKey());
             }
@@ -172,7 +222,7 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
 
     @JsonIgnore
     public void removeStatic() {
-        for (Entry<String, T> entry : new HashMap<String, T>(centries).entrySet()) {
+        for (Entry<String, T> entry : new ArrayList<>(centries.view.entrySet())) {
             if (entry.getValue() instanceof StaticDefinable && ((StaticDefinable) entry.getValue()).isStatic()) {
                 centries.remove(entry.getKey());
             }
@@ -181,17 +231,15 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
 
     @JsonIgnore
     public void clearHashes() {
-        for (Entry<String, T> entry : centries.entrySet()) {
+        for (Entry<String, T> entry : centries.view.entrySet()) {
             if (entry.getValue() instanceof Hashed) {
-                ((Hashed) entry.getValue()).clearHash();
+                ((Hashed) centries.get(entry.getKey())).clearHash();
             }
         }
     }
 
     public void removeOthers(String key) {
-        T tmp = this.centries.get(key);
-        this.centries.clear();
-        this.centries.put(key, tmp);
+        this.centries.retainOnly(key);
     }
 
     @JsonIgnore
@@ -226,7 +274,7 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
             + ", version="
             + version
             + ", centries="
-            + centries
+            + centries.view
             + ", getImplementingClass()="
             + getImplementingClass()
             + "]";
@@ -270,18 +318,52 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
         return version;
     }
 
+    /**
+     * @return the entities as they were loaded from their entity documents, null if the configuration type does not
+     * store its entities in documents of their own
+     */
+    @JsonIgnore
+    public EntityDocuments.Loaded getLoadedEntities() {
+        return loadedEntities;
+    }
+
+    @JsonIgnore
+    public void setLoadedEntities(EntityDocuments.Loaded loadedEntities) {
+        this.loadedEntities = loadedEntities;
+    }
+
     @JsonIgnore
     public Class<?> getImplementingClass() {
         return getCType() == null ? null : getCType().getImplementationClass().get(getVersion());
     }
 
+    /**
+     * @return a copy which shares the JSON of the entries which were not accessed yet with this configuration. Values
+     * which were bound but not accessed yet are passed on to the copy, other entries of the copy are bound when they
+     * are accessed.
+     */
     @JsonIgnore
     public SecurityDynamicConfiguration<T> deepClone() {
+        final SecurityDynamicConfiguration<T> clone = new SecurityDynamicConfiguration<T>();
+        clone.seqNo = seqNo;
+        clone.primaryTerm = primaryTerm;
+        clone.version = version;
+        clone.loadedEntities = loadedEntities;
+        if (ctype == null) {
+            return clone;
+        }
+        clone.ctype = ctype;
         try {
-            return fromJson(DefaultObjectMapper.writeValueAsString(this, false), ctype, version, seqNo, primaryTerm);
+            if (getImplementingClass() == null) {
+                throw new IllegalArgumentException("No implementation class found for " + ctype + " and config version " + version);
+            }
+            clone._meta = _meta == null ? null : DefaultObjectMapper.readValue(DefaultObjectMapper.writeValueAsBytes(_meta), Meta.class);
+            centries.copyTo(clone.centries);
+            validate(clone, version, ctype);
         } catch (Exception e) {
             throw ExceptionsHelper.convertToOpenSearchException(e);
         }
+        return clone;
     }
 
     @JsonIgnore
@@ -319,20 +401,206 @@ public class SecurityDynamicConfiguration<T> implements ToXContent {
     }
 
     public boolean isHidden(String resourceName) {
-        final Object o = centries.get(resourceName);
+        final Object o = centries.view.get(resourceName);
         return o instanceof Hideable && ((Hideable) o).isHidden();
     }
 
     @JsonIgnore
     public boolean isStatic(final String resourceName) {
-        final Object o = centries.get(resourceName);
+        final Object o = centries.view.get(resourceName);
         return o instanceof StaticDefinable && ((StaticDefinable) o).isStatic();
     }
 
     @JsonIgnore
     public boolean isReserved(final String resourceName) {
-        final Object o = centries.get(resourceName);
+        final Object o = centries.view.get(resourceName);
         return o instanceof Hideable && ((Hideable) o).isReserved();
     }
 
+    /**
+     * An entry which is bound to its implementation class when it is accessed. As long as an entry keeps the JSON it
+     * was read from, its value is either not bound yet or was bound but not accessed. Once an entry is accessed its
+     * value may be modified, the JSON is dropped and the value is serialized again for clones.
+     */
+    private final class Slot {
+        private T value;
+        private byte[] json;
+
+        private Slot(T value, byte[] json) {
+            this.value = value;
+            this.json = json;
+        }
+
+        private synchronized T value() {
+            if (json != null) {
+                if (value == null) {
+                    try {
+                        @SuppressWarnings("unchecked")
+                        final T boundValue = (T) DefaultObjectMapper.readValue(json, getImplementingClass());
+                        value = boundValue;
+                    } catch (IOException e) {
+                        throw ExceptionsHelper.convertToOpenSearchException(e);
+                    }
+                }
+                json = null;
+            }
+            return value;
+        }
+
+        /**
+         * Passes a value which was bound but not accessed yet on to the copy, this entry binds its JSON again if it
+         * is accessed itself.
+         */
+        private synchronized Slot copyTo(LazyEntries other) throws IOException {
+            if (json == null) {
+                return other.slot(null, DefaultObjectMapper.writeValueAsBytes(value));
+            }
+            final Slot copy = other.slot(value, json);
+            value = null;
+            return copy;
+        }
+    }
+
+    /**
+     * The entries of a configuration. The view gives access to the same entries, but can not be structurally modified.
+     */
+    private final class LazyEntries extends AbstractMap<String, T> {
+
+        private final Map<String, Slot> slots = new HashMap<>();
+
+        private final Map<String, T> view = new AbstractMap<>() {
+            @Override
+            public int size() {
+                return slots.size();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return slots.containsKey(key);
+            }
+
+            @Override
+            public T get(Object key) {
+                final Slot slot = slots.get(key);
+                return slot == null ? null : slot.value();
+            }
+
+            @Override
+            public Set<Entry<String, T>> entrySet() {
+                return new EntrySet(false);
+            }
+        };
+
+        private void putValidated(String key, T value, byte[] json) {
+            slots.put(key, new Slot(value, json));
+        }
+
+        private Slot slot(T value, byte[] json) {
+            return new Slot(value, json);
+        }
+
+        private void retainOnly(String key) {
+            final Slot slot = slots.get(key);
+            slots.clear();
+            slots.put(key, slot != null ? slot : new Slot(null, null));
+        }
+
+        private void copyTo(LazyEntries other) throws IOException {
+            for (Entry<String, Slot> entry : slots.entrySet()) {
+                other.slots.put(entry.getKey(), entry.getValue().copyTo(other));
+            }
+        }
+
+        @Override
+        public int size() {
+            return slots.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return slots.containsKey(key);
+        }
+
+        @Override
+        public T get(Object key) {
+            final Slot slot = slots.get(key);
+            return slot == null ? null : slot.value();
+        }
+
+        @Override
+        public T put(String key, T value) {
+            final Slot previous = slots.put(key, new Slot(value, null));
+            return previous == null ? null : previous.value();
+        }
+
+        @Override
+        public T remove(Object key) {
+            final Slot previous = slots.remove(key);
+            return previous == null ? null : previous.value();
+        }
+
+        @Override
+        public void clear() {
+            slots.clear();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return slots.keySet();
+        }
+
+        @Override
+        public Set<Entry<String, T>> entrySet() {
+            return new EntrySet(true);
+        }
+
+        private final class EntrySet extends AbstractSet<Entry<String, T>> {
+            private final boolean modifiable;
+
+            private EntrySet(boolean modifiable) {
+                this.modifiable = modifiable;
+            }
+
+            @Override
+            public int size() {
+                return slots.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, T>> iterator() {
+                final Iterator<Entry<String, Slot>> iterator = slots.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, T> next() {
+                        final Entry<String, Slot> entry = iterator.next();
+                        if (!modifiable) {
+                            return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().value());
+                        }
+                        return new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().value()) {
+                            @Override
+                            public T setValue(T value) {
+                                final T previous = super.setValue(value);
+                                entry.setValue(new Slot(value, null));
+                                return previous;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (!modifiable) {
+                            throw new UnsupportedOperationException();
+                        }
+                        iterator.remove();
+                    }
+                };
+            }
+        }
+    }
+
 }
@@ -116,6 +116,8 @@ public class ConfigConstants {
 
     public static final String OPENDISTRO_SECURITY_USER_INFO_THREAD_CONTEXT = OPENDISTRO_SECURITY_CONFIG_PREFIX + "user_info";
 
+    public static final String OPENDISTRO_SECURITY_CONFIG_SNAPSHOT = OPENDISTRO_SECURITY_CONFIG_PREFIX + "config_snapshot";
+
     public static final String OPENDISTRO_SECURITY_INJECTED_USER = "injected_user";
     public static final String OPENDISTRO_SECURITY_INJECTED_USER_HEADER = "injected_user_header";
 
@@ -142,6 +144,17 @@ public class ConfigConstants {
 
     public static final String SECURITY_AUTHCZ_ADMIN_DN = "plugins.security.authcz.admin_dn";
     public static final String SECURITY_CONFIG_INDEX_NAME = "plugins.security.config_index_name";
+    public static final String SECURITY_CONFIG_ENTITY_DOCUMENTS_ENABLED = "plugins.security.config.entity_documents.enabled";
+    public static final String SECURITY_CONFIG_UPDATE_PUSH_ENABLED = "plugins.security.config.update.push.enabled";
+    public static final String SECURITY_CONFIG_UPDATE_COALESCE_WINDOW_MILLIS = "plugins.security.config.update.coalesce_window_millis";
+    public static final String SECURITY_CONFIG_LOCAL_SNAPSHOT_ENABLED = "plugins.security.config.local_snapshot.enabled";
+    // local snapshots written longer ago are not used. A node started from a snapshot keeps users, credentials and roles
+    // which were revoked after the snapshot was written until it reads the security index, and the snapshot is only
+    // checked for integrity, not signed. A longer max age lets nodes start without the index after longer outages.
+    public static final String SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES = "plugins.security.config.local_snapshot.max_age_minutes";
+    public static final int SECURITY_CONFIG_LOCAL_SNAPSHOT_MAX_AGE_MINUTES_DEFAULT = 10;
+    // name of the thread pool which builds the role and tenant models, sized by the allocated processors
+    public static final String SECURITY_CONFIG_MODEL_THREAD_POOL = "security_config_model";
     public static final String SECURITY_AUTHCZ_IMPERSONATION_DN = "plugins.security.authcz.impersonation_dn";
     public static final String SECURITY_AUTHCZ_REST_IMPERSONATION_USERS = "plugins.security.authcz.rest_impersonation_user";
 
@@ -193,6 +206,12 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_JKS_CERT_ALIAS = "cert_alias";
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_ENABLED_SSL_CIPHERS = "enabled_ssl_ciphers";
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_ENABLED_SSL_PROTOCOLS = "enabled_ssl_protocols";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_COMPRESSION = "compression";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_ACTIONS = "bulk.max_actions";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_FLUSH_INTERVAL_MS = "bulk.flush_interval_ms";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_QUEUE_SIZE = "bulk.queue_size";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_IN_FLIGHT = "bulk.max_in_flight_requests";
+    public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_BULK_MAX_RETRIES = "bulk.max_retries";
 
     // Webhooks
     public static final String SECURITY_AUDIT_WEBHOOK_URL = "webhook.url";
@@ -200,6 +219,13 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_WEBHOOK_SSL_VERIFY = "webhook.ssl.verify";
     public static final String SECURITY_AUDIT_WEBHOOK_PEMTRUSTEDCAS_FILEPATH = "webhook.ssl.pemtrustedcas_filepath";
     public static final String SECURITY_AUDIT_WEBHOOK_PEMTRUSTEDCAS_CONTENT = "webhook.ssl.pemtrustedcas_content";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_FORMAT = "webhook.batch.format";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_MAX_MESSAGES = "webhook.batch.max_messages";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_FLUSH_INTERVAL_MS = "webhook.batch.flush_interval_ms";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_QUEUE_SIZE = "webhook.batch.queue_size";
+    public static final String SECURITY_AUDIT_WEBHOOK_MAX_IN_FLIGHT = "webhook.max_in_flight_requests";
+    public static final String SECURITY_AUDIT_WEBHOOK_MAX_CONNECTIONS = "webhook.max_connections";
+    public static final String SECURITY_AUDIT_WEBHOOK_TIMEOUT_MS = "webhook.timeout_ms";
 
     // Log4j
     public static final String SECURITY_AUDIT_LOG4J_LOGGER_NAME = "log4j.logger_name";
@@ -327,6 +353,10 @@ public class ConfigConstants {
 
     public static final String USE_JDK_SERIALIZATION = "plugins.security.use_jdk_serialization";
     public static final Version FIRST_CUSTOM_SERIALIZATION_SUPPORTED_OS_VERSION = Version.V_2_11_0;
+    // nodes of earlier releases cannot read the security search extension
+    public static final Version FIRST_REQUEST_CACHE_KEY_EXT_SUPPORTED_OS_VERSION = Version.V_3_0_0;
+    // nodes of earlier releases cannot read the pushed configuration
+    public static final Version FIRST_CONFIG_UPDATE_PUSH_SUPPORTED_OS_VERSION = Version.V_3_0_0;
 
     // On-behalf-of endpoints settings
     // CS-SUPPRESS-SINGLE: RegexpSingleline get Extensions Settings
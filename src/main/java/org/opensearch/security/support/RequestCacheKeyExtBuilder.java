@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.opensearch.Version;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.common.ParsingException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.search.SearchExtBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.transport.RemoteClusterAware;
+
+/**
+ * Search extension which carries the document level restrictions of a search to the shards.
+ * <p>
+ * Entries of the shard request cache are keyed by the serialized shard request, which includes the
+ * search extensions of the source but not the security headers. Adding a stable representation of
+ * the restrictions which are applied at the shard (DLS queries, FLS fields, masked fields, hidden
+ * system or protected indices) keeps restricted requests cacheable without sharing cache entries
+ * between users who see different documents.
+ * <p>
+ * The extension can only be added by the security plugin; it is rejected when sent in a request body. It is
+ * only added if all nodes of the cluster can read it, and never to requests which target remote clusters, whose
+ * nodes may not know it.
+ */
+public class RequestCacheKeyExtBuilder extends SearchExtBuilder {
+
+    public static final String NAME = "_plugins_security_cache_key";
+
+    private final SortedSet<String> components;
+
+    public RequestCacheKeyExtBuilder(final SortedSet<String> components) {
+        this.components = Objects.requireNonNull(components);
+    }
+
+    public RequestCacheKeyExtBuilder(final StreamInput in) throws IOException {
+        this.components = new TreeSet<>(in.readStringList());
+    }
+
+    public static RequestCacheKeyExtBuilder fromXContent(final XContentParser parser) throws IOException {
+        throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] is reserved for internal use");
+    }
+
+    /**
+     * Adds a component to the request cache key of a search request, keeping components which were
+     * added before. The source of the request is replaced by a copy, the source given by the caller is not changed.
+     *
+     * @return false if the request has no source to carry the key, if not all nodes can read the key or if the
+     * request targets remote clusters, in which case the request cache must not be used for the request
+     */
+    public static boolean addTo(final ClusterService clusterService, final SearchRequest request, final String component) {
+        final SearchSourceBuilder source = request.source();
+        if (source == null || targetsRemoteClusters(request) || !readableByAllNodes(clusterService)) {
+            return false;
+        }
+        final SortedSet<String> components = new TreeSet<>();
+        final List<SearchExtBuilder> extBuilders = new ArrayList<>(source.ext().size() + 1);
+        for (final SearchExtBuilder extBuilder : source.ext()) {
+            if (extBuilder instanceof RequestCacheKeyExtBuilder) {
+                components.addAll(((RequestCacheKeyExtBuilder) extBuilder).components);
+            } else {
+                extBuilders.add(extBuilder);
+            }
+        }
+        components.add(component);
+        extBuilders.add(new RequestCacheKeyExtBuilder(components));
+        request.source(source.shallowCopy().ext(extBuilders));
+        return true;
+    }
+
+    private static boolean readableByAllNodes(final ClusterService clusterService) {
+        final Version minNodeVersion = clusterService.state().nodes().getMinNodeVersion();
+        return minNodeVersion.onOrAfter(ConfigConstants.FIRST_REQUEST_CACHE_KEY_EXT_SUPPORTED_OS_VERSION);
+    }
+
+    private static boolean targetsRemoteClusters(final SearchRequest request) {
+        for (final String index : request.indices()) {
+            if (index.indexOf(RemoteClusterAware.REMOTE_CLUSTER_INDEX_SEPARATOR) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public SortedSet<String> getComponents() {
+        return components;
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeStringCollection(components);
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        return builder.field(NAME, components);
+    }
+
+    @Override
+    public int hashCode() {
+        return components.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        return components.equals(((RequestCacheKeyExtBuilder) obj).components);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Stable SHA-256 digests of restrictions like DLS queries, FLS fields or masked fields, which can be used as
+ * cache keys. The digests do not depend on the iteration order of the given collections.
+ */
+public final class RestrictionDigests {
+
+    private RestrictionDigests() {}
+
+    /**
+     * @return the digest of per index restrictions
+     */
+    public static String digest(final Map<String, ? extends Collection<String>> restrictionsByIndex) {
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<String, ? extends Collection<String>> entry : new TreeMap<>(restrictionsByIndex).entrySet()) {
+            sb.append(entry.getKey()).append('\u0000');
+            append(sb, entry.getValue());
+            sb.append('\u0001');
+        }
+        return sha256(sb);
+    }
+
+    /**
+     * @return the digest of a set of values, like index names
+     */
+    public static String digest(final Collection<String> values) {
+        final StringBuilder sb = new StringBuilder();
+        append(sb, values);
+        return sha256(sb);
+    }
+
+    private static void append(final StringBuilder sb, final Collection<String> values) {
+        for (final String value : new TreeSet<>(values)) {
+            sb.append(value).append('\u0000');
+        }
+    }
+
+    private static String sha256(final CharSequence content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Hex.toHexString(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -27,14 +27,17 @@
 package org.opensearch.security.tools;
 
 // CS-SUPPRESS-SINGLE: RegexpSingleline https://github.com/opensearch-project/OpenSearch/issues/3663
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Console;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.net.InetSocketAddress;
@@ -46,11 +49,19 @@ import java.security.PrivateKey;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -63,6 +74,7 @@ import com.google.common.io.CharStreams;
 import com.google.common.io.Files;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -94,6 +106,7 @@ import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Request;
@@ -115,6 +128,7 @@ import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.MediaType;
@@ -123,9 +137,12 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.NonValidatingObjectMapper;
 import org.opensearch.security.auditlog.config.AuditConfig;
+import org.opensearch.security.configuration.EntityDocuments;
 import org.opensearch.security.securityconf.Migration;
 import org.opensearch.security.securityconf.impl.AllowlistingSettings;
 import org.opensearch.security.securityconf.impl.CType;
@@ -364,6 +381,13 @@ public class SecurityAdmin {
                 .build()
         );
 
+        options.addOption(
+            Option.builder("par")
+                .longOpt("parallel")
+                .desc("Retrieve, validate and upload the configuration types concurrently and report the time taken by each phase")
+                .build()
+        );
+
         // when adding new options also adjust validate(CommandLine line)
 
         String hostname = "localhost";
@@ -405,6 +429,7 @@ public class SecurityAdmin {
         String backup = null;
         String migrate = null;
         final boolean resolveEnvVars;
+        final boolean parallel;
         Integer validateConfig = null;
         String migrateOffline = null;
 
@@ -496,6 +521,8 @@ public class SecurityAdmin {
 
             resolveEnvVars = line.hasOption("rev");
 
+            parallel = line.hasOption("par");
+
             validateConfig = !line.hasOption("vc") ? null : Integer.parseInt(line.getOptionValue("vc", "7"));
 
             if (validateConfig != null && validateConfig.intValue() != 6 && validateConfig.intValue() != 7) {
@@ -512,7 +539,7 @@ public class SecurityAdmin {
 
         if (validateConfig != null) {
             System.out.println("Validate configuration for Version " + validateConfig.intValue());
-            return validateConfig(cd, file, type, validateConfig.intValue());
+            return validateConfig(cd, file, type, validateConfig.intValue(), parallel);
         }
 
         if (migrateOffline != null) {
@@ -934,7 +961,7 @@ public class SecurityAdmin {
             }
 
             if (backup != null) {
-                return backup(restHighLevelClient, index, new File(backup), legacy);
+                return backup(restHighLevelClient, index, new File(backup), legacy, parallel);
             }
 
             if (migrate != null) {
@@ -942,7 +969,7 @@ public class SecurityAdmin {
                     System.out.println("ERR: Seems cluster is already migrated");
                     return -1;
                 }
-                return migrate(restHighLevelClient, index, new File(migrate), expectedNodeCount, resolveEnvVars);
+                return migrate(restHighLevelClient, index, new File(migrate), expectedNodeCount, resolveEnvVars, parallel);
             }
 
             boolean isCdAbs = new File(cd).isAbsolute();
@@ -980,7 +1007,7 @@ public class SecurityAdmin {
                 return (success ? 0 : -1);
             }
 
-            return upload(restHighLevelClient, index, cd, legacy, expectedNodeCount, resolveEnvVars);
+            return upload(restHighLevelClient, index, cd, legacy, expectedNodeCount, resolveEnvVars, parallel);
         }
     }
 
@@ -1058,10 +1085,11 @@ public class SecurityAdmin {
         final boolean legacy,
         boolean resolveEnvVars
     ) {
-        return uploadFile(restHighLevelClient, filepath, index, _id, legacy, resolveEnvVars, false);
+        return uploadFile(System.out, restHighLevelClient, filepath, index, _id, legacy, resolveEnvVars, false);
     }
 
     private static boolean uploadFile(
+        final PrintStream out,
         final RestHighLevelClient restHighLevelClient,
         final String filepath,
         final String index,
@@ -1079,7 +1107,7 @@ public class SecurityAdmin {
             try {
                 ConfigHelper.fromYamlFile(filepath, CType.fromString(_id), 2, 0, 0);
             } catch (Exception e) {
-                System.out.println("ERR: Seems " + filepath + " is not in legacy format: " + e);
+                out.println("ERR: Seems " + filepath + " is not in legacy format: " + e);
                 return false;
             }
 
@@ -1087,34 +1115,35 @@ public class SecurityAdmin {
             try {
                 ConfigHelper.fromYamlFile(filepath, CType.fromString(_id), 2, 0, 0);
             } catch (Exception e) {
-                System.out.println("ERR: Seems " + filepath + " is not in OpenSearch Security 7 format: " + e);
+                out.println("ERR: Seems " + filepath + " is not in OpenSearch Security 7 format: " + e);
                 return false;
             }
         }
 
-        System.out.println("Will update '" + "/" + id + "' with " + filepath + " " + (legacy ? "(legacy mode)" : ""));
+        out.println("Will update '" + "/" + id + "' with " + filepath + " " + (legacy ? "(legacy mode)" : ""));
 
         try (
             Reader reader = ConfigHelper.createFileOrStringReader(CType.fromString(_id), legacy ? 1 : 2, filepath, populateEmptyIfMissing)
         ) {
-            final String content = CharStreams.toString(reader);
+            // without env vars to resolve the YAML is converted while it is read
+            final BytesReference source = resolveEnvVars
+                ? readXContent(replaceEnvVars(CharStreams.toString(reader), Settings.EMPTY), XContentType.YAML)
+                : ConfigHelper.readXContent(reader, XContentType.YAML);
             final String res = restHighLevelClient.index(
-                new IndexRequest(index).id(id)
-                    .setRefreshPolicy(RefreshPolicy.IMMEDIATE)
-                    .source(_id, readXContent(resolveEnvVars ? replaceEnvVars(content, Settings.EMPTY) : content, XContentType.YAML)),
+                new IndexRequest(index).id(id).setRefreshPolicy(RefreshPolicy.IMMEDIATE).source(_id, source),
                 RequestOptions.DEFAULT
             ).getId();
 
             if (id.equals(res)) {
-                System.out.println("   SUCC: Configuration for '" + _id + "' created or updated");
+                out.println("   SUCC: Configuration for '" + _id + "' created or updated");
                 return true;
             } else {
-                System.out.println(
+                out.println(
                     "   FAIL: Configuration for '" + _id + "' failed for unknown reasons. Please consult the OpenSearch logfile."
                 );
             }
         } catch (Exception e) {
-            System.out.println("   FAIL: Configuration for '" + _id + "' failed because of " + e.toString());
+            out.println("   FAIL: Configuration for '" + _id + "' failed because of " + e.toString());
         }
 
         return false;
@@ -1127,7 +1156,7 @@ public class SecurityAdmin {
         final String _id,
         final boolean legacy
     ) {
-        return retrieveFile(restHighLevelClient, filepath, index, _id, legacy, false);
+        return retrieveFile(System.out, restHighLevelClient, filepath, index, _id, legacy, false);
     }
 
     private static boolean retrieveFile(
@@ -1137,6 +1166,18 @@ public class SecurityAdmin {
         final String _id,
         final boolean legacy,
         final boolean populateFileIfEmpty
+    ) {
+        return retrieveFile(System.out, restHighLevelClient, filepath, index, _id, legacy, populateFileIfEmpty);
+    }
+
+    private static boolean retrieveFile(
+        final PrintStream out,
+        final RestHighLevelClient restHighLevelClient,
+        final String filepath,
+        final String index,
+        final String _id,
+        final boolean legacy,
+        final boolean populateFileIfEmpty
     ) {
         String id = _id;
 
@@ -1145,8 +1186,8 @@ public class SecurityAdmin {
 
         }
 
-        System.out.println("Will retrieve '" + "/" + id + "' into " + filepath + " " + (legacy ? "(legacy mode)" : ""));
-        try (Writer writer = new FileWriter(filepath, StandardCharsets.UTF_8)) {
+        out.println("Will retrieve '" + "/" + id + "' into " + filepath + " " + (legacy ? "(legacy mode)" : ""));
+        try {
 
             final GetResponse response = restHighLevelClient.get(
                 new GetRequest(index).id(id).refresh(true).realtime(false),
@@ -1154,50 +1195,94 @@ public class SecurityAdmin {
             );
 
             boolean isEmpty = !response.isExists() || response.isSourceEmpty();
-            String yaml;
             if (isEmpty) {
                 if (populateFileIfEmpty) {
-                    yaml = ConfigHelper.createEmptySdcYaml(CType.fromString(_id), legacy ? 1 : 2);
+                    try (Writer writer = new FileWriter(filepath, StandardCharsets.UTF_8)) {
+                        writer.write(ConfigHelper.createEmptySdcYaml(CType.fromString(_id), legacy ? 1 : 2));
+                    }
                 } else {
-                    System.out.println("   FAIL: Configuration for '" + _id + "' failed because of empty source");
+                    out.println("   FAIL: Configuration for '" + _id + "' failed because of empty source");
                     return false;
                 }
             } else {
-                yaml = convertToYaml(_id, response.getSourceAsBytesRef(), true);
+                BytesReference json = readConfigSource(_id, response.getSourceAsBytesRef());
 
-                if (null == yaml) {
-                    System.out.println("ERR: YML conversion error for " + _id);
+                if (null == json) {
+                    out.println("ERR: YML conversion error for " + _id);
                     return false;
 
                 }
 
+                if (!legacy && EntityDocuments.ENTITY_TYPES.contains(CType.fromString(_id))) {
+                    json = withEntityDocuments(restHighLevelClient, index, CType.fromString(_id), response, json);
+                }
+
+                // validate the JSON as stored in the index, the YAML is streamed into the file afterwards
                 if (legacy) {
                     try {
-                        ConfigHelper.fromYamlString(yaml, CType.fromString(_id), 1, 0, 0);
+                        SecurityDynamicConfiguration.fromJson(json.utf8ToString(), CType.fromString(_id), 1, 0, 0);
                     } catch (Exception e) {
-                        System.out.println("ERR: Seems " + _id + " from cluster is not in legacy format: " + e);
+                        out.println("ERR: Seems " + _id + " from cluster is not in legacy format: " + e);
                         return false;
                     }
                 } else {
                     try {
-                        ConfigHelper.fromYamlString(yaml, CType.fromString(_id), 2, 0, 0);
+                        SecurityDynamicConfiguration.fromJson(json.utf8ToString(), CType.fromString(_id), 2, 0, 0);
                     } catch (Exception e) {
-                        System.out.println("ERR: Seems " + _id + " from cluster is not in 7 format: " + e);
+                        out.println("ERR: Seems " + _id + " from cluster is not in 7 format: " + e);
                         return false;
                     }
                 }
+
+                try (OutputStream file = new FileOutputStream(filepath)) {
+                    writeYaml(json, true, file);
+                }
             }
 
-            writer.write(yaml);
-            System.out.println("   SUCC: Configuration for '" + _id + "' stored in " + filepath);
+            out.println("   SUCC: Configuration for '" + _id + "' stored in " + filepath);
             return true;
         } catch (Exception e) {
-            System.out.println("   FAIL: Get configuration for '" + _id + "' failed because of " + e.toString());
+            out.println("   FAIL: Get configuration for '" + _id + "' failed because of " + e.toString());
         }
 
         return false;
     }
 
+    /**
+     * Applies the entity documents the REST API wrote for the base document of a configuration type, if the security
+     * index uses them, so that a backup contains all entities.
+     */
+    private static BytesReference withEntityDocuments(
+        final RestHighLevelClient restHighLevelClient,
+        final String index,
+        final CType cType,
+        final GetResponse base,
+        final BytesReference json
+    ) throws IOException {
+        if (!restHighLevelClient.get(new GetRequest(index).id(EntityDocuments.LAYOUT_ID).realtime(false), RequestOptions.DEFAULT)
+            .isExists()) {
+            return json;
+        }
+        final ObjectNode configuration = (ObjectNode) DefaultObjectMapper.readTree(json.utf8ToString());
+        Object[] searchAfter = null;
+        while (true) {
+            final SearchSourceBuilder source = EntityDocuments.searchSource(cType, base.getSeqNo(), base.getPrimaryTerm(), -1);
+            if (searchAfter != null) {
+                source.searchAfter(searchAfter);
+            }
+            final SearchHit[] page = restHighLevelClient.search(new SearchRequest(index).source(source), RequestOptions.DEFAULT)
+                .getHits()
+                .getHits();
+            for (final SearchHit hit : page) {
+                EntityDocuments.applyTo(configuration, hit.getSourceAsMap());
+            }
+            if (page.length < source.size()) {
+                return new BytesArray(DefaultObjectMapper.writeValueAsString(configuration, false));
+            }
+            searchAfter = page[page.length - 1].getSortValues();
+        }
+    }
+
     private static BytesReference readXContent(final String content, final MediaType mediaType) throws IOException {
         BytesReference retVal;
         XContentParser parser = null;
@@ -1217,7 +1302,11 @@ public class SecurityAdmin {
         return retVal;
     }
 
-    private static String convertToYaml(String type, BytesReference bytes, boolean prettyPrint) throws IOException {
+    /**
+     * @return the configuration of the given type stored in the source of a document of the security index, or null if the
+     * document does not contain it
+     */
+    private static BytesReference readConfigSource(String type, BytesReference bytes) throws IOException {
 
         try (
             XContentParser parser = JsonXContent.jsonXContent.createParser(
@@ -1235,12 +1324,16 @@ public class SecurityAdmin {
 
             parser.nextToken();
 
-            XContentBuilder builder = XContentFactory.yamlBuilder();
+            return new BytesArray(parser.binaryValue());
+        }
+    }
+
+    private static void writeYaml(BytesReference json, boolean prettyPrint, OutputStream out) throws IOException {
+        try (XContentBuilder builder = new XContentBuilder(XContentType.YAML.xContent(), out)) {
             if (prettyPrint) {
                 builder.prettyPrint();
             }
-            builder.rawValue(new ByteArrayInputStream(parser.binaryValue()), XContentType.YAML);
-            return builder.toString();
+            builder.rawValue(json.streamInput(), XContentType.YAML);
         }
     }
 
@@ -1463,23 +1556,29 @@ public class SecurityAdmin {
         }
     }
 
-    private static int backup(RestHighLevelClient tc, String index, File backupDir, boolean legacy) {
+    private static int backup(RestHighLevelClient tc, String index, File backupDir, boolean legacy, boolean parallel) {
         backupDir.mkdirs();
+        final String dir = backupDir.getAbsolutePath();
 
-        boolean success = retrieveFile(tc, backupDir.getAbsolutePath() + "/config.yml", index, "config", legacy);
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/roles.yml", index, "roles", legacy) && success;
+        final List<ConfigTask> tasks = new ArrayList<>();
+        tasks.add(out -> retrieveFile(out, tc, dir + "/config.yml", index, "config", legacy, false));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/roles.yml", index, "roles", legacy, false));
 
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/roles_mapping.yml", index, "rolesmapping", legacy) && success;
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/internal_users.yml", index, "internalusers", legacy) && success;
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/action_groups.yml", index, "actiongroups", legacy) && success;
+        tasks.add(out -> retrieveFile(out, tc, dir + "/roles_mapping.yml", index, "rolesmapping", legacy, false));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/internal_users.yml", index, "internalusers", legacy, false));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/action_groups.yml", index, "actiongroups", legacy, false));
 
         if (!legacy) {
-            success = retrieveFile(tc, backupDir.getAbsolutePath() + "/tenants.yml", index, "tenants", legacy) && success;
+            tasks.add(out -> retrieveFile(out, tc, dir + "/tenants.yml", index, "tenants", legacy, false));
         }
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/nodes_dn.yml", index, "nodesdn", legacy, true) && success;
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/whitelist.yml", index, "whitelist", legacy, true) && success;
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/allowlist.yml", index, "allowlist", legacy, true) && success;
-        success = retrieveFile(tc, backupDir.getAbsolutePath() + "/audit.yml", index, "audit", legacy) && success;
+        tasks.add(out -> retrieveFile(out, tc, dir + "/nodes_dn.yml", index, "nodesdn", legacy, true));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/whitelist.yml", index, "whitelist", legacy, true));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/allowlist.yml", index, "allowlist", legacy, true));
+        tasks.add(out -> retrieveFile(out, tc, dir + "/audit.yml", index, "audit", legacy, false));
+
+        final long start = System.nanoTime();
+        final boolean success = runAll(tasks, parallel);
+        reportPhase(parallel, "retrieve", start);
 
         return success ? 0 : -1;
     }
@@ -1490,50 +1589,64 @@ public class SecurityAdmin {
         String cd,
         boolean legacy,
         int expectedNodeCount,
-        boolean resolveEnvVars
+        boolean resolveEnvVars,
+        boolean parallel
     ) throws IOException {
-        boolean success = uploadFile(tc, cd + "config.yml", index, "config", legacy, resolveEnvVars);
-        success = uploadFile(tc, cd + "roles.yml", index, "roles", legacy, resolveEnvVars) && success;
-        success = uploadFile(tc, cd + "roles_mapping.yml", index, "rolesmapping", legacy, resolveEnvVars) && success;
+        final List<ConfigTask> tasks = new ArrayList<>();
+        tasks.add(out -> uploadFile(out, tc, cd + "config.yml", index, "config", legacy, resolveEnvVars, false));
+        tasks.add(out -> uploadFile(out, tc, cd + "roles.yml", index, "roles", legacy, resolveEnvVars, false));
+        tasks.add(out -> uploadFile(out, tc, cd + "roles_mapping.yml", index, "rolesmapping", legacy, resolveEnvVars, false));
 
-        success = uploadFile(tc, cd + "internal_users.yml", index, "internalusers", legacy, resolveEnvVars) && success;
-        success = uploadFile(tc, cd + "action_groups.yml", index, "actiongroups", legacy, resolveEnvVars) && success;
+        tasks.add(out -> uploadFile(out, tc, cd + "internal_users.yml", index, "internalusers", legacy, resolveEnvVars, false));
+        tasks.add(out -> uploadFile(out, tc, cd + "action_groups.yml", index, "actiongroups", legacy, resolveEnvVars, false));
 
         if (!legacy) {
-            success = uploadFile(tc, cd + "tenants.yml", index, "tenants", legacy, resolveEnvVars) && success;
+            tasks.add(out -> uploadFile(out, tc, cd + "tenants.yml", index, "tenants", legacy, resolveEnvVars, false));
         }
 
-        success = uploadFile(tc, cd + "nodes_dn.yml", index, "nodesdn", legacy, resolveEnvVars, true) && success;
-        success = uploadFile(tc, cd + "whitelist.yml", index, "whitelist", legacy, resolveEnvVars) && success;
+        tasks.add(out -> uploadFile(out, tc, cd + "nodes_dn.yml", index, "nodesdn", legacy, resolveEnvVars, true));
+        tasks.add(out -> uploadFile(out, tc, cd + "whitelist.yml", index, "whitelist", legacy, resolveEnvVars, false));
         if (new File(cd + "audit.yml").exists()) {
-            success = uploadFile(tc, cd + "audit.yml", index, "audit", legacy, resolveEnvVars) && success;
+            tasks.add(out -> uploadFile(out, tc, cd + "audit.yml", index, "audit", legacy, resolveEnvVars, false));
         }
         if (new File(cd + "allowlist.yml").exists()) {
-            success = uploadFile(tc, cd + "allowlist.yml", index, "allowlist", legacy, resolveEnvVars) && success;
+            tasks.add(out -> uploadFile(out, tc, cd + "allowlist.yml", index, "allowlist", legacy, resolveEnvVars, false));
         }
 
+        long start = System.nanoTime();
+        boolean success = runAll(tasks, parallel);
+        reportPhase(parallel, "validate and upload", start);
+
         if (!success) {
             System.out.println("ERR: cannot upload configuration, see errors above");
             return -1;
         }
 
+        start = System.nanoTime();
         Response cur = tc.getLowLevelClient()
             .performRequest(new Request("PUT", "/_plugins/_security/configupdate?config_types=" + Joiner.on(",").join(getTypes((legacy)))));
         success = checkConfigUpdateResponse(cur, expectedNodeCount, getTypes(legacy).length) && success;
+        reportPhase(parallel, "config update", start);
 
         System.out.println("Done with " + (success ? "success" : "failures"));
         return (success ? 0 : -1);
     }
 
-    private static int migrate(RestHighLevelClient tc, String index, File backupDir, int expectedNodeCount, boolean resolveEnvVars)
-        throws IOException {
+    private static int migrate(
+        RestHighLevelClient tc,
+        String index,
+        File backupDir,
+        int expectedNodeCount,
+        boolean resolveEnvVars,
+        boolean parallel
+    ) throws IOException {
 
         System.out.println("== Migration started ==");
         System.out.println("=======================");
 
         System.out.println("-> Backup current configuration to " + backupDir.getAbsolutePath());
 
-        if (backup(tc, index, backupDir, true) != 0) {
+        if (backup(tc, index, backupDir, true, parallel) != 0) {
             return -1;
         }
 
@@ -1667,7 +1780,7 @@ public class SecurityAdmin {
 
         System.out.println("-> Upload new configuration into OpenSearch cluster");
 
-        int uploadResult = upload(tc, index, v7Dir.getAbsolutePath() + "/", false, expectedNodeCount, resolveEnvVars);
+        int uploadResult = upload(tc, index, v7Dir.getAbsolutePath() + "/", false, expectedNodeCount, resolveEnvVars, parallel);
 
         if (uploadResult == 0) {
             System.out.println("  done");
@@ -1687,7 +1800,7 @@ public class SecurityAdmin {
         return new SecurityJsonNode(jsonNode).get("_meta").get("type").asString();
     }
 
-    private static int validateConfig(String cd, String file, String type, int version) {
+    private static int validateConfig(String cd, String file, String type, int version, boolean parallel) {
         if (file != null) {
             try {
 
@@ -1707,19 +1820,24 @@ public class SecurityAdmin {
                 return -1;
             }
         } else if (cd != null) {
-            boolean success = validateConfigFile(cd + "action_groups.yml", CType.ACTIONGROUPS, version);
-            success = validateConfigFile(cd + "internal_users.yml", CType.INTERNALUSERS, version) && success;
-            success = validateConfigFile(cd + "roles.yml", CType.ROLES, version) && success;
-            success = validateConfigFile(cd + "roles_mapping.yml", CType.ROLESMAPPING, version) && success;
-            success = validateConfigFile(cd + "config.yml", CType.CONFIG, version) && success;
+            final List<ConfigTask> tasks = new ArrayList<>();
+            tasks.add(out -> validateConfigFile(out, cd + "action_groups.yml", CType.ACTIONGROUPS, version));
+            tasks.add(out -> validateConfigFile(out, cd + "internal_users.yml", CType.INTERNALUSERS, version));
+            tasks.add(out -> validateConfigFile(out, cd + "roles.yml", CType.ROLES, version));
+            tasks.add(out -> validateConfigFile(out, cd + "roles_mapping.yml", CType.ROLESMAPPING, version));
+            tasks.add(out -> validateConfigFile(out, cd + "config.yml", CType.CONFIG, version));
 
             if (new File(cd + "tenants.yml").exists() && version != 6) {
-                success = validateConfigFile(cd + "tenants.yml", CType.TENANTS, version) && success;
+                tasks.add(out -> validateConfigFile(out, cd + "tenants.yml", CType.TENANTS, version));
             }
             if (new File(cd + "audit.yml").exists()) {
-                success = validateConfigFile(cd + "audit.yml", CType.AUDIT, version) && success;
+                tasks.add(out -> validateConfigFile(out, cd + "audit.yml", CType.AUDIT, version));
             }
 
+            final long start = System.nanoTime();
+            final boolean success = runAll(tasks, parallel);
+            reportPhase(parallel, "validate", start);
+
             return success ? 0 : -1;
 
         }
@@ -1727,14 +1845,85 @@ public class SecurityAdmin {
         return -1;
     }
 
-    private static boolean validateConfigFile(String file, CType cType, int version) {
+    private static boolean validateConfigFile(PrintStream out, String file, CType cType, int version) {
         try {
             ConfigHelper.fromYamlFile(file, cType, version == 7 ? 2 : 1, 0, 0);
-            System.out.println(file + " OK");
+            out.println(file + " OK");
             return true;
         } catch (Exception e) {
-            System.out.println("ERR: Seems " + file + " is not in " + version + " format: " + e);
+            out.println("ERR: Seems " + file + " is not in " + version + " format: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * A task for one configuration type which prints its messages to the given stream.
+     */
+    @FunctionalInterface
+    private interface ConfigTask {
+        boolean run(PrintStream out) throws Exception;
+    }
+
+    /**
+     * Runs all tasks, one after the other or concurrently, and returns whether all of them succeeded. Concurrent
+     * tasks print into buffers of their own, which are printed in the order of the tasks once all are done.
+     */
+    private static boolean runAll(List<ConfigTask> tasks, boolean parallel) {
+        if (!parallel) {
+            boolean success = true;
+            for (ConfigTask task : tasks) {
+                try {
+                    success = task.run(System.out) && success;
+                } catch (Exception e) {
+                    System.out.println("ERR: " + e);
+                    success = false;
+                }
+            }
+            return success;
+        }
+
+        final List<ByteArrayOutputStream> outputs = new ArrayList<>(tasks.size());
+        final List<Callable<Boolean>> callables = new ArrayList<>(tasks.size());
+        for (ConfigTask task : tasks) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+            outputs.add(output);
+            callables.add(() -> {
+                try {
+                    return task.run(out);
+                } catch (Exception e) {
+                    out.println("ERR: " + e);
+                    return false;
+                }
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            boolean success = true;
+            final List<Future<Boolean>> futures = executor.invokeAll(callables);
+            for (int i = 0; i < futures.size(); i++) {
+                System.out.print(outputs.get(i).toString(StandardCharsets.UTF_8));
+                try {
+                    success = futures.get(i).get() && success;
+                } catch (ExecutionException e) {
+                    System.out.println("ERR: " + e.getCause());
+                    success = false;
+                }
+            }
+            return success;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("ERR: Interrupted");
             return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void reportPhase(boolean parallel, String phase, long startNanos) {
+        if (parallel) {
+            System.out.println("Phase '" + phase + "' took " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
         }
     }
 
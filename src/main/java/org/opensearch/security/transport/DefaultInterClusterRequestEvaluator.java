@@ -41,7 +41,7 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchException;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.security.securityconf.DynamicConfigFactory;
-import org.opensearch.security.securityconf.NodesDnModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.transport.TransportRequest;
@@ -54,7 +54,8 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
     private final String certOid;
     private final WildcardMatcher staticNodesDnFromEsYml;
     private boolean dynamicNodesDnConfigEnabled;
-    private volatile Map<String, WildcardMatcher> dynamicNodesDn;
+    private final SecuritySnapshot.Key<WildcardMatcher> nodesDnKey = new SecuritySnapshot.Key<>("nodes_dn");
+    private volatile SecuritySnapshot latestSnapshot;
 
     public DefaultInterClusterRequestEvaluator(final Settings settings) {
         this.certOid = settings.get(ConfigConstants.SECURITY_CERT_OID, "1.2.3.4.5.5");
@@ -63,7 +64,6 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
             false
         );
         this.dynamicNodesDnConfigEnabled = settings.getAsBoolean(ConfigConstants.SECURITY_NODES_DN_DYNAMIC_CONFIG_ENABLED, false);
-        this.dynamicNodesDn = Collections.emptyMap();
     }
 
     public void subscribeForChanges(DynamicConfigFactory dynamicConfigFactory) {
@@ -73,12 +73,19 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
     }
 
     private WildcardMatcher getNodesDnToEvaluate() {
-        if (dynamicNodesDnConfigEnabled) {
-            return staticNodesDnFromEsYml.concat(dynamicNodesDn.values());
+        // inter cluster requests are evaluated before the request captures a configuration snapshot
+        final SecuritySnapshot snapshot = latestSnapshot;
+        if (dynamicNodesDnConfigEnabled && snapshot != null) {
+            return snapshot.derived(nodesDnKey, this::buildNodesDn);
         }
         return staticNodesDnFromEsYml;
     }
 
+    private WildcardMatcher buildNodesDn(final SecuritySnapshot snapshot) {
+        final Map<String, WildcardMatcher> dynamicNodesDn = snapshot.getNodesDnModel().getNodesDn();
+        return staticNodesDnFromEsYml.concat(dynamicNodesDn.values());
+    }
+
     @Override
     public boolean isInterClusterRequest(
         TransportRequest request,
@@ -177,7 +184,8 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
     }
 
     @Subscribe
-    public void onNodesDnModelChanged(NodesDnModel nm) {
-        this.dynamicNodesDn = nm.getNodesDn();
+    public void onSecuritySnapshotChanged(SecuritySnapshot snapshot) {
+        this.latestSnapshot = snapshot;
+        snapshot.derived(nodesDnKey, this::buildNodesDn);
     }
 }
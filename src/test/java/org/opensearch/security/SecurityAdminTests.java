@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -80,6 +81,56 @@ public class SecurityAdminTests extends SingleClusterTest {
         Assert.assertEquals(HttpStatus.SC_OK, (rh.executeGetRequest("_opendistro/_security/health?pretty")).getStatusCode());
     }
 
+    @Test
+    public void testSecurityAdminParallelUploadAndBackup() throws Exception {
+        final Settings settings = Settings.builder()
+            .put("plugins.security.ssl.http.enabled", true)
+            .put("plugins.security.ssl.http.keystore_filepath", FileHelper.getAbsoluteFilePathFromClassPath("node-0-keystore.jks"))
+            .put("plugins.security.ssl.http.truststore_filepath", FileHelper.getAbsoluteFilePathFromClassPath("truststore.jks"))
+            .build();
+        setup(Settings.EMPTY, null, settings, false);
+
+        final String prefix = getResourceFolder() == null ? "" : getResourceFolder() + "/";
+
+        List<String> argsAsList = new ArrayList<>();
+        argsAsList.add("-ts");
+        argsAsList.add(
+            Objects.requireNonNull(FileHelper.getAbsoluteFilePathFromClassPath(prefix + "truststore.jks")).toFile().getAbsolutePath()
+        );
+        argsAsList.add("-ks");
+        argsAsList.add(
+            Objects.requireNonNull(FileHelper.getAbsoluteFilePathFromClassPath(prefix + "kirk-keystore.jks")).toFile().getAbsolutePath()
+        );
+        argsAsList.add("-p");
+        argsAsList.add(String.valueOf(clusterInfo.httpPort));
+        argsAsList.add("-cn");
+        argsAsList.add(clusterInfo.clustername);
+        argsAsList.add("-nhnv");
+        argsAsList.add("-par");
+
+        final List<String> uploadArgs = new ArrayList<>(argsAsList);
+        addDirectoryPath(uploadArgs, TEST_RESOURCE_ABSOLUTE_PATH);
+        Assert.assertEquals(0, SecurityAdmin.execute(uploadArgs.toArray(new String[0])));
+
+        final File backupDir = Files.createTempDirectory("securityadmin_backup").toFile();
+        final List<String> backupArgs = new ArrayList<>(argsAsList);
+        backupArgs.add("-backup");
+        backupArgs.add(backupDir.getAbsolutePath());
+        Assert.assertEquals(0, SecurityAdmin.execute(backupArgs.toArray(new String[0])));
+        for (String file : List.of("config.yml", "roles.yml", "roles_mapping.yml", "internal_users.yml", "action_groups.yml")) {
+            Assert.assertTrue(file, new File(backupDir, file).length() > 0);
+        }
+
+        // the backup can be uploaded again
+        final List<String> restoreArgs = new ArrayList<>(argsAsList);
+        addDirectoryPath(restoreArgs, backupDir.getAbsolutePath() + "/");
+        Assert.assertEquals(0, SecurityAdmin.execute(restoreArgs.toArray(new String[0])));
+
+        RestHelper rh = restHelper();
+
+        Assert.assertEquals(HttpStatus.SC_OK, (rh.executeGetRequest("_opendistro/_security/health?pretty")).getStatusCode());
+    }
+
     @Test
     public void testSecurityAdminHostnameVerificationEnforced() throws Exception {
         final Settings settings = Settings.builder()
@@ -624,6 +675,45 @@ public class SecurityAdminTests extends SingleClusterTest {
         Assert.assertNotEquals(0, returnCode);
     }
 
+    @Test
+    public void testSecurityAdminValidateConfigParallel() throws Exception {
+        List<String> argsAsList = new ArrayList<>();
+        addDirectoryPath(argsAsList, TEST_RESOURCE_ABSOLUTE_PATH);
+        argsAsList.add("-vc");
+        argsAsList.add("-par");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        PrintStream old = System.out;
+        System.setOut(ps);
+        int returnCode;
+        try {
+            returnCode = SecurityAdmin.execute(argsAsList.toArray(new String[0]));
+        } finally {
+            System.out.flush();
+            System.setOut(old);
+        }
+        Assert.assertEquals(0, returnCode);
+
+        // the output of the concurrent validations is printed in the order of the configuration types
+        String standardOut = baos.toString();
+        int previous = -1;
+        for (String file : List.of("action_groups.yml", "internal_users.yml", "roles.yml", "roles_mapping.yml", "config.yml")) {
+            int position = standardOut.indexOf(file + " OK");
+            Assert.assertTrue(file + " in " + standardOut, position > previous);
+            previous = position;
+        }
+        Assert.assertTrue(standardOut, standardOut.contains("Phase 'validate' took"));
+
+        argsAsList = new ArrayList<>();
+        addDirectoryPath(argsAsList, TEST_RESOURCE_ABSOLUTE_PATH + "legacy/securityconfig_v6");
+        argsAsList.add("-vc");
+        argsAsList.add("-par");
+
+        returnCode = SecurityAdmin.execute(argsAsList.toArray(new String[0]));
+        Assert.assertNotEquals(0, returnCode);
+    }
+
     @Test
     public void testIsLegacySecurityIndexOnV7Index() throws Exception {
         final Settings settings = Settings.builder()
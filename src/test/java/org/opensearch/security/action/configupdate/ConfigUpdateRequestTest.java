@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.action.configupdate;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.security.configuration.SerializedConfiguration;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigUpdateRequestTest {
+
+    @Test
+    public void testCurrentVersionCarriesConfiguration() throws Exception {
+        assertTrue(TransportConfigUpdateAction.readableByNodesOf(Version.CURRENT));
+
+        final ConfigUpdateRequest read = roundTrip(request(), Version.CURRENT);
+        assertArrayEquals(new String[] { "tenants" }, read.getConfigTypes());
+        assertNotNull(read.getConfiguration());
+        assertEquals(Set.of(CType.TENANTS), read.getConfiguration().getConfigTypes());
+        assertEquals(5, read.getConfiguration().getSeqNo(CType.TENANTS));
+        assertTrue(read.getConfiguration().decode(Settings.EMPTY, false).get(CType.TENANTS).exists("pushed"));
+    }
+
+    @Test
+    public void testOlderVersionsDoNotReceiveConfiguration() throws Exception {
+        assertFalse(TransportConfigUpdateAction.readableByNodesOf(Version.V_2_11_0));
+
+        final ConfigUpdateRequest read = roundTrip(request(), Version.V_2_11_0);
+        assertArrayEquals(new String[] { "tenants" }, read.getConfigTypes());
+        assertNull(read.getConfiguration());
+    }
+
+    private static ConfigUpdateRequest request() throws Exception {
+        final ConfigUpdateRequest request = new ConfigUpdateRequest(new String[] { "tenants" });
+        request.setConfiguration(
+            SerializedConfiguration.of(
+                Map.of(
+                    CType.TENANTS,
+                    SecurityDynamicConfiguration.fromJson(
+                        "{\"_meta\":{\"type\":\"tenants\",\"config_version\":2},\"pushed\":{\"description\":\"pushed\"}}",
+                        CType.TENANTS,
+                        2,
+                        5,
+                        1
+                    )
+                )
+            )
+        );
+        return request;
+    }
+
+    private static ConfigUpdateRequest roundTrip(final ConfigUpdateRequest request, final Version version) throws Exception {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        request.writeTo(out);
+        try (StreamInput in = out.bytes().streamInput()) {
+            in.setVersion(version);
+            return new ConfigUpdateRequest(in);
+        }
+    }
+}
@@ -11,6 +11,9 @@
 
 package org.opensearch.security.auditlog.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,9 +24,12 @@ import org.opensearch.cluster.ClusterName;
 import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.security.auditlog.AuditTestUtils;
 import org.opensearch.security.auditlog.helper.RetrySink;
 import org.opensearch.security.auditlog.integration.TestAuditlogImpl;
+import org.opensearch.security.configuration.EntityDocuments;
 import org.opensearch.security.filter.SecurityRequestChannel;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.test.AbstractSecurityUnitTest;
@@ -159,4 +165,30 @@ public class AuditlogTest {
 
         }
     }
+
+    @Test
+    public void testDecodesSecurityConfigSources() throws Exception {
+        final String json = "{\"hash\":\"x\"}";
+        final String base64 = Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+        final BytesReference base = new BytesArray("{\"internalusers\":\"" + base64 + "\"}");
+        Assert.assertEquals(json, AbstractAuditLog.decodeSecurityConfigSource("internalusers", base));
+
+        final BytesReference entity = new BytesArray(
+            "{\"entity_type\":\"internalusers\",\"entity_name\":\"admin\",\"base_seq_no\":1,\"base_primary_term\":1,"
+                + "\"deleted\":false,\"entity\":\""
+                + base64
+                + "\"}"
+        );
+        Assert.assertEquals(json, AbstractAuditLog.decodeSecurityConfigSource("internalusers#1.1#admin", entity));
+
+        final BytesReference tombstone = new BytesArray(
+            "{\"entity_type\":\"internalusers\",\"entity_name\":\"admin\",\"base_seq_no\":1,\"base_primary_term\":1,"
+                + "\"deleted\":true}"
+        );
+        Assert.assertNull(AbstractAuditLog.decodeSecurityConfigSource("internalusers#1.1#admin", tombstone));
+
+        final BytesReference marker = new BytesArray("{\"layout\":\"entity_documents\"}");
+        Assert.assertNull(AbstractAuditLog.decodeSecurityConfigSource(EntityDocuments.LAYOUT_ID, marker));
+    }
 }
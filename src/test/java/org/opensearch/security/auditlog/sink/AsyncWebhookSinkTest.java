@@ -0,0 +1,199 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.impl.HttpProcessors;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.HttpRequestHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.auditlog.helper.LoggingSink;
+import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
+import org.opensearch.security.ssl.util.SSLConfigConstants;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.test.helper.file.FileHelper;
+
+public class AsyncWebhookSinkTest {
+
+    private HttpServer server = null;
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void ndjsonBatchTest() throws Exception {
+        final CollectingHandler handler = new CollectingHandler();
+        final String url = startServer(handler);
+
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final AsyncWebhookSink sink = new AsyncWebhookSink(
+            "name",
+            settings(url).put("plugins.security.audit.config.webhook.batch.max_messages", 10).build(),
+            ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT,
+            null,
+            fallback
+        );
+        Assert.assertEquals(AsyncWebhookSink.BatchFormat.NDJSON, sink.batchFormat);
+
+        for (int i = 0; i < 25; i++) {
+            sink.store(MockAuditMessageFactory.validAuditMessage());
+        }
+        sink.close();
+
+        int lines = 0;
+        for (String body : handler.bodies) {
+            for (String line : body.split("\n")) {
+                Assert.assertTrue(DefaultObjectMapper.readTree(line).isObject());
+                lines++;
+            }
+        }
+        Assert.assertEquals(25, lines);
+        Assert.assertTrue(handler.bodies.size() >= 3);
+        Assert.assertTrue(handler.contentTypes.get(0), handler.contentTypes.get(0).startsWith("application/x-ndjson"));
+        Assert.assertEquals(0, fallback.messages.size());
+        Assert.assertEquals(25, sink.getMetrics().getMessagesSent());
+        Assert.assertEquals(0, sink.getMetrics().getMessagesFailed());
+        Assert.assertEquals(0, sink.getMetrics().getBacklog());
+    }
+
+    @Test
+    public void jsonArrayBatchTest() throws Exception {
+        final CollectingHandler handler = new CollectingHandler();
+        final String url = startServer(handler);
+
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final AsyncWebhookSink sink = new AsyncWebhookSink(
+            "name",
+            settings(url).put("plugins.security.audit.config.webhook.batch.format", "json_array")
+                .put("plugins.security.audit.config.webhook.batch.flush_interval_ms", 60000)
+                .build(),
+            ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT,
+            null,
+            fallback
+        );
+        Assert.assertEquals(AsyncWebhookSink.BatchFormat.JSON_ARRAY, sink.batchFormat);
+
+        for (int i = 0; i < 5; i++) {
+            sink.store(MockAuditMessageFactory.validAuditMessage());
+        }
+        sink.close();
+
+        Assert.assertEquals(1, handler.bodies.size());
+        final JsonNode payload = DefaultObjectMapper.readTree(handler.bodies.get(0));
+        Assert.assertTrue(payload.isArray());
+        Assert.assertEquals(5, payload.size());
+        Assert.assertTrue(handler.contentTypes.get(0), handler.contentTypes.get(0).startsWith("application/json"));
+        Assert.assertEquals(0, fallback.messages.size());
+    }
+
+    @Test
+    public void noServerRunningFallbackTest() throws Exception {
+        final String url = "http://localhost:" + findFreePort() + "/endpoint";
+
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final AsyncWebhookSink sink = new AsyncWebhookSink(
+            "name",
+            settings(url).build(),
+            ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT,
+            null,
+            fallback
+        );
+        for (int i = 0; i < 3; i++) {
+            sink.store(MockAuditMessageFactory.validAuditMessage());
+        }
+        sink.close();
+
+        Assert.assertEquals(3, fallback.messages.size());
+        Assert.assertEquals(3, sink.getMetrics().getMessagesFailed());
+        Assert.assertEquals(0, sink.getMetrics().getMessagesSent());
+    }
+
+    @Test
+    public void invalidUrlTest() throws Exception {
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final AsyncWebhookSink sink = new AsyncWebhookSink(
+            "name",
+            settings("faultyurl").build(),
+            ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT,
+            null,
+            fallback
+        );
+        sink.store(MockAuditMessageFactory.validAuditMessage());
+        sink.close();
+
+        Assert.assertNull(sink.webhookUrl);
+        Assert.assertEquals(1, fallback.messages.size());
+    }
+
+    private Settings.Builder settings(final String url) {
+        return Settings.builder()
+            .put("plugins.security.audit.config.webhook.url", url)
+            .put("plugins.security.audit.config.webhook.batch.flush_interval_ms", 50)
+            .put("path.home", ".")
+            .put(
+                SSLConfigConstants.SECURITY_SSL_TRANSPORT_TRUSTSTORE_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("auditlog/truststore.jks")
+            );
+    }
+
+    private String startServer(final HttpRequestHandler handler) throws IOException {
+        final int port = findFreePort();
+        server = ServerBootstrap.bootstrap()
+            .setListenerPort(port)
+            .setHttpProcessor(HttpProcessors.server("Test/1.1"))
+            .register("*", handler)
+            .create();
+        server.start();
+        return "http://localhost:" + port + "/endpoint";
+    }
+
+    private int findFreePort() {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to find free port", e);
+        }
+    }
+
+    private static class CollectingHandler implements HttpRequestHandler {
+        final List<String> bodies = new CopyOnWriteArrayList<>();
+        final List<String> contentTypes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void handle(ClassicHttpRequest request, ClassicHttpResponse response, HttpContext context) throws HttpException,
+            IOException {
+            contentTypes.add(request.getEntity().getContentType());
+            bodies.add(EntityUtils.toString(request.getEntity(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package org.opensearch.security.auditlog.sink;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Properties;
@@ -19,6 +20,10 @@ import java.util.Random;
 
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.junit.Assert;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -26,8 +31,11 @@ import org.junit.Test;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.yaml.YamlXContent;
 import org.opensearch.security.auditlog.AbstractAuditlogiUnitTest;
+import org.opensearch.security.auditlog.helper.LoggingSink;
 import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
 import org.opensearch.security.auditlog.impl.AuditCategory;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.test.helper.file.FileHelper;
 
 import org.springframework.kafka.test.rule.EmbeddedKafkaRule;
@@ -76,6 +84,68 @@ public class KafkaSinkTest extends AbstractAuditlogiUnitTest {
 
     }
 
+    @Test
+    public void testMockProducer() throws Exception {
+        final MockProducer<byte[], byte[]> producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        final Settings settings = Settings.builder()
+            .put("plugins.security.audit.config.bootstrap_servers", "localhost:9092")
+            .put("plugins.security.audit.config.topic_name", "compliance")
+            .put("plugins.security.audit.config.key_field", AuditMessage.REQUEST_EFFECTIVE_USER)
+            .build();
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final KafkaSink sink = new KafkaSink("kafka", settings, ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT, fallback, props -> {
+            Assert.assertEquals("true", props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+            Assert.assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+            Assert.assertNull(props.get("key.field"));
+            return producer;
+        });
+        try {
+            final AuditMessage msg = MockAuditMessageFactory.validAuditMessage();
+            Assert.assertTrue(sink.doStore(msg));
+            Assert.assertTrue(sink.doStore(msg));
+
+            Assert.assertEquals(2, producer.history().size());
+            final ProducerRecord<byte[], byte[]> record = producer.history().get(0);
+            Assert.assertEquals("compliance", record.topic());
+            Assert.assertEquals("John Doe", new String(record.key(), StandardCharsets.UTF_8));
+            Assert.assertEquals(msg.toJson(), new String(record.value(), StandardCharsets.UTF_8));
+            Assert.assertEquals(2, sink.getMetrics().getMessagesSent());
+            Assert.assertEquals(0, sink.getMetrics().getBacklog());
+            Assert.assertEquals(0, fallback.messages.size());
+        } finally {
+            sink.close();
+        }
+    }
+
+    @Test
+    public void testMockProducerFailure() throws Exception {
+        final MockProducer<byte[], byte[]> producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        final Settings settings = Settings.builder()
+            .put("plugins.security.audit.config.bootstrap_servers", "localhost:9092")
+            .put("plugins.security.audit.config.topic_name", "compliance")
+            .put("plugins.security.audit.config.compression_type", "zstd")
+            .build();
+        final LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        final KafkaSink sink = new KafkaSink("kafka", settings, ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT, fallback, props -> {
+            Assert.assertEquals("zstd", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+            return producer;
+        });
+        try {
+            final AuditMessage msg = MockAuditMessageFactory.validAuditMessage();
+            Assert.assertTrue(sink.doStore(msg));
+            Assert.assertNull(producer.history().get(0).key());
+            Assert.assertEquals(1, sink.getMetrics().getBacklog());
+
+            Assert.assertTrue(producer.errorNext(new RuntimeException("broker unavailable")));
+            Assert.assertEquals(0, sink.getMetrics().getBacklog());
+            Assert.assertEquals(1, sink.getMetrics().getMessagesFailed());
+            Assert.assertEquals(1, fallback.messages.size());
+            Assert.assertEquals(msg, fallback.messages.get(0));
+        } finally {
+            sink.close();
+        }
+    }
+
     private KafkaConsumer<Long, String> createConsumer() {
         Properties props = new Properties();
         props.put("bootstrap.servers", embeddedKafka.getEmbeddedKafka().getBrokersAsString());
@@ -15,15 +15,25 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.security.auth.internal.InternalAuthenticationBackend;
 import org.opensearch.security.securityconf.InternalUsersModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
+import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.user.AuthCredentials;
+import org.opensearch.security.user.User;
 
 import org.mockito.Mockito;
 
@@ -42,9 +52,22 @@ public class InternalAuthBackendTests {
 
     @Before
     public void internalAuthBackendTestsSetup() {
-        internalAuthenticationBackend = spy(new InternalAuthenticationBackend());
+        internalAuthenticationBackend = spy(new InternalAuthenticationBackend(new ThreadContext(Settings.EMPTY)));
         internalUsersModel = mock(InternalUsersModel.class);
-        internalAuthenticationBackend.onInternalUsersModelChanged(internalUsersModel);
+        internalAuthenticationBackend.onSecuritySnapshotChanged(
+            new SecuritySnapshot(1, new EnumMap<>(CType.class), null, null, internalUsersModel, null, 0)
+        );
+    }
+
+    private static InternalUsersModel.InternalUser internalUser(String hash) {
+        return new InternalUsersModel.InternalUser(
+            hash,
+            null,
+            List.of("backend_role"),
+            Map.of("key", "value"),
+            List.of("security_role"),
+            UnaryOperator.identity()
+        );
     }
 
     private char[] createArrayFromPasswordBytes(byte[] password) {
@@ -69,15 +92,17 @@ public class InternalAuthBackendTests {
 
         char[] array = createArrayFromPasswordBytes(validPasswordBytes);
 
-        when(internalUsersModel.getHash(validUsernameAuth.getUsername())).thenReturn(hash);
-        when(internalUsersModel.exists(validUsernameAuth.getUsername())).thenReturn(true);
+        when(internalUsersModel.getUser(validUsernameAuth.getUsername())).thenReturn(internalUser(hash));
         doReturn(true).when(internalAuthenticationBackend).passwordMatchesHash(Mockito.any(String.class), Mockito.any(char[].class));
 
         // Act
-        internalAuthenticationBackend.authenticate(validUsernameAuth);
+        final User user = internalAuthenticationBackend.authenticate(validUsernameAuth);
 
         verify(internalAuthenticationBackend, times(1)).passwordMatchesHash(hash, array);
-        verify(internalUsersModel, times(1)).getBackenRoles(validUsernameAuth.getUsername());
+        verify(internalUsersModel, times(1)).getUser(validUsernameAuth.getUsername());
+        Assert.assertEquals(Set.of("backend_role"), user.getRoles());
+        Assert.assertEquals(Set.of("security_role"), user.getSecurityRoles());
+        Assert.assertEquals("value", user.getCustomAttributesMap().get("attr.internal.key"));
     }
 
     @Test
@@ -92,8 +117,7 @@ public class InternalAuthBackendTests {
 
         char[] array = createArrayFromPasswordBytes(gibberishPasswordBytes);
 
-        when(internalUsersModel.getHash("admin")).thenReturn(hash);
-        when(internalUsersModel.exists("admin")).thenReturn(true);
+        when(internalUsersModel.getUser("admin")).thenReturn(internalUser(hash));
 
         OpenSearchSecurityException ex = Assert.assertThrows(
             OpenSearchSecurityException.class,
@@ -115,7 +139,7 @@ public class InternalAuthBackendTests {
 
         char[] array = createArrayFromPasswordBytes(validPasswordBytes);
 
-        when(internalUsersModel.exists("ertyuiykgjjfguyifdghc")).thenReturn(false);
+        when(internalUsersModel.getUser("ertyuiykgjjfguyifdghc")).thenReturn(null);
         when(internalAuthenticationBackend.passwordMatchesHash(hash, array)).thenReturn(true); // Say that the password is correct
 
         OpenSearchSecurityException ex = Assert.assertThrows(
@@ -138,7 +162,7 @@ public class InternalAuthBackendTests {
 
         char[] array = createArrayFromPasswordBytes(gibberishPasswordBytes);
 
-        when(internalUsersModel.exists("ertyuiykgjjfguyifdghc")).thenReturn(false);
+        when(internalUsersModel.getUser("ertyuiykgjjfguyifdghc")).thenReturn(null);
 
         OpenSearchSecurityException ex = Assert.assertThrows(
             OpenSearchSecurityException.class,
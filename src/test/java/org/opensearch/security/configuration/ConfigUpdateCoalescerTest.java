@@ -0,0 +1,152 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.opensearch.security.securityconf.impl.CType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConfigUpdateCoalescerTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRequestsWithinWindowAreMerged() throws Exception {
+        final List<Set<CType>> updates = new CopyOnWriteArrayList<>();
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(200, executor, executor, (types, c) -> updates.add(types));
+
+        final CompletableFuture<Void> roles = coalescer.submit(List.of(CType.ROLES), null);
+        final CompletableFuture<Void> mapping = coalescer.submit(List.of(CType.ROLESMAPPING), null);
+        final CompletableFuture<Void> rolesAgain = coalescer.submit(List.of(CType.ROLES), null);
+
+        CompletableFuture.allOf(roles, mapping, rolesAgain).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(Set.of(CType.ROLES, CType.ROLESMAPPING)), updates);
+    }
+
+    @Test
+    public void testRequestsDuringUpdateAreMergedIntoNextUpdate() throws Exception {
+        final List<Set<CType>> updates = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(0, executor, executor, (types, c) -> {
+            updates.add(types);
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final CompletableFuture<Void> first = coalescer.submit(List.of(CType.CONFIG), null);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<Void> second = coalescer.submit(List.of(CType.ROLES), null);
+        final CompletableFuture<Void> third = coalescer.submit(List.of(CType.TENANTS), null);
+        release.countDown();
+
+        CompletableFuture.allOf(first, second, third).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(Set.of(CType.CONFIG), Set.of(CType.ROLES, CType.TENANTS)), updates);
+    }
+
+    @Test
+    public void testFailuresAreReportedToAllMergedRequests() throws Exception {
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(100, executor, executor, (types, c) -> {
+            throw new ConfigUpdateAlreadyInProgressException("failed");
+        });
+
+        final CompletableFuture<Void> roles = coalescer.submit(List.of(CType.ROLES), null);
+        final CompletableFuture<Void> tenants = coalescer.submit(List.of(CType.TENANTS), null);
+
+        for (CompletableFuture<Void> future : List.of(roles, tenants)) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("Expected the update to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ConfigUpdateAlreadyInProgressException);
+            }
+        }
+    }
+
+    @Test
+    public void testErrorsAreReportedToAllMergedRequests() throws Exception {
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(100, executor, executor, (types, c) -> {
+            throw new LinkageError("failed");
+        });
+
+        // the coalescer still runs updates after a failed one
+        for (CType cType : List.of(CType.ROLES, CType.TENANTS)) {
+            try {
+                coalescer.submit(List.of(cType), null).get(10, TimeUnit.SECONDS);
+                fail("Expected the update to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof LinkageError);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectedUpdatesFailTheirRequests() throws Exception {
+        final List<Set<CType>> updates = new CopyOnWriteArrayList<>();
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(0, null, command -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            executor.execute(command);
+        }, (types, c) -> updates.add(types));
+
+        try {
+            coalescer.submit(List.of(CType.ROLES), null).get(10, TimeUnit.SECONDS);
+            fail("Expected the update to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        // the rejected update is not considered scheduled any more
+        reject.set(false);
+        coalescer.submit(List.of(CType.TENANTS), null).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(Set.of(CType.TENANTS)), updates);
+    }
+
+    @Test
+    public void testWithoutWindowUpdatesRightAway() throws Exception {
+        final List<Set<CType>> updates = new CopyOnWriteArrayList<>();
+        // nothing is scheduled without a window
+        final ConfigUpdateCoalescer coalescer = new ConfigUpdateCoalescer(0, null, executor, (types, c) -> updates.add(types));
+
+        coalescer.submit(List.of(CType.ROLES), null).get(10, TimeUnit.SECONDS);
+        coalescer.submit(List.of(CType.TENANTS), null).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(Set.of(CType.ROLES), Set.of(CType.TENANTS)), updates);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.env.Environment;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.security.auditlog.AuditLog;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.ThreadPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConfigurationRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Client client = mock(Client.class);
+    private final ThreadPool threadPool = mock(ThreadPool.class);
+    private final ClusterService clusterService = mock(ClusterService.class, RETURNS_DEEP_STUBS);
+    private final Map<CType, GetResult> index = new EnumMap<>(CType.class);
+
+    @Before
+    public void setup() {
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        doAnswer(invocation -> {
+            final MultiGetRequest request = invocation.getArgument(0);
+            final ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            final MultiGetItemResponse[] responses = request.getItems()
+                .stream()
+                .map(item -> new MultiGetItemResponse(new GetResponse(index.get(CType.fromString(item.id()))), null))
+                .toArray(MultiGetItemResponse[]::new);
+            listener.onResponse(new MultiGetResponse(responses));
+            return null;
+        }).when(client).multiGet(any(MultiGetRequest.class), any());
+    }
+
+    @Test
+    public void testAppliesNewerPushedConfiguration() throws Exception {
+        final ConfigurationRepository repository = repository(Settings.EMPTY);
+        index(tenants("from_index"), 5, 1);
+        repository.reloadConfiguration(List.of(CType.TENANTS));
+
+        repository.applyConfiguration(SerializedConfiguration.of(Map.of(CType.TENANTS, tenants("pushed", 6, 1))));
+        assertTrue(repository.getConfiguration(CType.TENANTS).exists("pushed"));
+        verify(client, times(1)).multiGet(any(MultiGetRequest.class), any());
+    }
+
+    @Test
+    public void testReadsFromIndexIfPushedConfigurationIsOlder() throws Exception {
+        final ConfigurationRepository repository = repository(Settings.EMPTY);
+        index(tenants("from_index"), 5, 2);
+        repository.reloadConfiguration(List.of(CType.TENANTS));
+
+        // an older seq_no of the same primary term
+        repository.applyConfiguration(SerializedConfiguration.of(Map.of(CType.TENANTS, tenants("stale", 4, 2))));
+        assertFalse(repository.getConfiguration(CType.TENANTS).exists("stale"));
+        assertTrue(repository.getConfiguration(CType.TENANTS).exists("from_index"));
+        assertEquals(5, repository.getConfiguration(CType.TENANTS).getSeqNo());
+        verify(client, times(2)).multiGet(any(MultiGetRequest.class), any());
+
+        // a newer seq_no of an older primary term
+        repository.applyConfiguration(SerializedConfiguration.of(Map.of(CType.TENANTS, tenants("stale", 9, 1))));
+        assertFalse(repository.getConfiguration(CType.TENANTS).exists("stale"));
+        assertEquals(2, repository.getConfiguration(CType.TENANTS).getPrimaryTerm());
+        verify(client, times(3)).multiGet(any(MultiGetRequest.class), any());
+    }
+
+    @Test
+    public void testUsesLocalSnapshotUntilReadFromIndex() throws Exception {
+        when(clusterService.getClusterName()).thenReturn(new ClusterName("cluster"));
+        final Settings settings = Settings.builder()
+            .put(Environment.PATH_HOME_SETTING.getKey(), folder.getRoot().getAbsolutePath())
+            .put(ConfigConstants.SECURITY_CONFIG_LOCAL_SNAPSHOT_ENABLED, true)
+            .put(ConfigConstants.SECURITY_BACKGROUND_INIT_IF_SECURITYINDEX_NOT_EXIST, false)
+            .build();
+        final Path file = new Environment(settings, null).dataFiles()[0].resolve(ConfigurationRepository.LOCAL_SNAPSHOT_FILE_NAME);
+        final Map<CType, SecurityDynamicConfiguration<?>> stored = new EnumMap<>(CType.class);
+        for (CType cType : CType.values()) {
+            stored.put(cType, SecurityDynamicConfiguration.fromJson(empty(cType), cType, 2, 1, 1));
+        }
+        stored.put(CType.TENANTS, tenants("from_snapshot", 1, 1));
+        new LocalConfigurationSnapshot(file, "cluster", TimeUnit.HOURS.toMillis(1)).write(SerializedConfiguration.of(stored));
+
+        final ConfigurationRepository repository = repository(settings);
+        repository.initOnNodeStart();
+        assertTrue(repository.isUsingLocalSnapshot());
+        assertTrue(repository.getConfiguration(CType.TENANTS).exists("from_snapshot"));
+        verify(client, never()).multiGet(any(MultiGetRequest.class), any());
+
+        // the types which were not read from the index yet are still served from the snapshot
+        index(tenants("from_index"), 2, 1);
+        repository.reloadConfiguration(List.of(CType.TENANTS));
+        assertTrue(repository.isUsingLocalSnapshot());
+        assertTrue(repository.getConfiguration(CType.TENANTS).exists("from_index"));
+
+        for (CType cType : CType.values()) {
+            if (cType != CType.TENANTS) {
+                index(cType, empty(cType), 2, 1);
+            }
+        }
+        repository.reloadConfiguration(Arrays.asList(CType.values()));
+        assertFalse(repository.isUsingLocalSnapshot());
+        assertTrue(repository.getConfiguration(CType.TENANTS).exists("from_index"));
+
+        // the configuration read from the index replaced the stored snapshot
+        final SerializedConfiguration replaced = new LocalConfigurationSnapshot(file, "cluster", TimeUnit.HOURS.toMillis(1)).read();
+        for (CType cType : CType.values()) {
+            assertEquals(2, replaced.getSeqNo(cType));
+        }
+    }
+
+    private ConfigurationRepository repository(final Settings settings) {
+        return ConfigurationRepository.create(settings, null, threadPool, client, clusterService, mock(AuditLog.class));
+    }
+
+    private void index(final String tenantsJson, final long seqNo, final long primaryTerm) throws Exception {
+        index(CType.TENANTS, tenantsJson, seqNo, primaryTerm);
+    }
+
+    private void index(final CType cType, final String json, final long seqNo, final long primaryTerm) throws Exception {
+        final BytesReference source = BytesReference.bytes(
+            XContentFactory.jsonBuilder().startObject().field(cType.toLCString(), json.getBytes(StandardCharsets.UTF_8)).endObject()
+        );
+        index.put(
+            cType,
+            new GetResult(
+                "opendistro_security",
+                cType.toLCString(),
+                seqNo,
+                primaryTerm,
+                1,
+                true,
+                source,
+                Collections.emptyMap(),
+                Collections.emptyMap()
+            )
+        );
+    }
+
+    private static String empty(final CType cType) {
+        return "{\"_meta\":{\"type\":\"" + cType.toLCString() + "\",\"config_version\":2}}";
+    }
+
+    private static String tenants(final String tenant) {
+        return "{\"_meta\":{\"type\":\"tenants\",\"config_version\":2},\"" + tenant + "\":{\"description\":\"" + tenant + "\"}}";
+    }
+
+    private static SecurityDynamicConfiguration<?> tenants(final String tenant, final long seqNo, final long primaryTerm) throws Exception {
+        return SecurityDynamicConfiguration.fromJson(tenants(tenant), CType.TENANTS, 2, seqNo, primaryTerm);
+    }
+}
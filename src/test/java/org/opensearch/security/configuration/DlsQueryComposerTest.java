@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.core.ParseField;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.TermQueryBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DlsQueryComposerTest {
+
+    private static final String QUERY_A = "{\"term\":{\"dept\":\"a\"}}";
+    private static final String QUERY_B = "{\"term\":{\"dept\":\"b\"}}";
+
+    private final DlsQueryComposer composer = new DlsQueryComposer(
+        new DlsQueryParser(
+            new NamedXContentRegistry(
+                List.of(
+                    new NamedXContentRegistry.Entry(
+                        QueryBuilder.class,
+                        new ParseField(TermQueryBuilder.NAME),
+                        TermQueryBuilder::fromXContent
+                    )
+                )
+            )
+        )
+    );
+
+    @Test
+    public void testGroupsIndicesByQueries() {
+        final Map<String, Set<String>> queries = Map.of("logs-*", Set.of(QUERY_A), "metrics-*", Set.of(QUERY_A), "audit", Set.of(QUERY_B));
+
+        final BoolQueryBuilder query = composer.compose(queries, Set.of("logs-1", "logs-2", "metrics-1", "audit", "public"), null, true)
+            .toQueryBuilder();
+
+        assertEquals("1", query.minimumShouldMatch());
+        assertEquals(3, query.should().size());
+        assertTrue(query.should().contains(QueryBuilders.termsQuery("_index", "public")));
+        assertTrue(
+            query.should()
+                .contains(
+                    QueryBuilders.boolQuery()
+                        .must(QueryBuilders.termsQuery("_index", "logs-1", "logs-2", "metrics-1"))
+                        .must(QueryBuilders.termQuery("dept", "a"))
+                )
+        );
+        assertTrue(
+            query.should()
+                .contains(
+                    QueryBuilders.boolQuery().must(QueryBuilders.termsQuery("_index", "audit")).must(QueryBuilders.termQuery("dept", "b"))
+                )
+        );
+    }
+
+    @Test
+    public void testSingleIndexIsNotScoped() {
+        final BoolQueryBuilder query = composer.compose(Map.of("logs-*", Set.of(QUERY_A)), Set.of("logs-1"), null, false).toQueryBuilder();
+
+        assertEquals(List.of(QueryBuilders.termQuery("dept", "a")), query.should());
+    }
+
+    @Test
+    public void testLocalClusterAlias() {
+        final BoolQueryBuilder query = composer.compose(Map.of("logs-*", Set.of(QUERY_A)), Set.of("logs-1", "other"), "local", true)
+            .toQueryBuilder();
+
+        assertTrue(query.should().contains(QueryBuilders.termsQuery("_index", "local:other")));
+        assertTrue(
+            query.should()
+                .contains(
+                    QueryBuilders.boolQuery()
+                        .must(QueryBuilders.termsQuery("_index", "local:logs-1"))
+                        .must(QueryBuilders.termQuery("dept", "a"))
+                )
+        );
+    }
+
+    @Test
+    public void testNoDls() {
+        assertNull(composer.compose(Map.of("logs-*", Set.of(QUERY_A)), Set.of("public", "other"), null, true));
+    }
+
+    @Test
+    public void testCompositionsAreCached() {
+        final Map<String, Set<String>> queries = Map.of("logs-*", Set.of(QUERY_A, QUERY_B));
+
+        final DlsQueryComposer.Composition composition = composer.compose(queries, Set.of("logs-1", "logs-2"), null, true);
+
+        assertSame(composition, composer.compose(Map.of("logs-*", Set.of(QUERY_B, QUERY_A)), Set.of("logs-2", "logs-1"), null, true));
+        assertNotSame(composition, composer.compose(queries, Set.of("logs-1"), null, true));
+        assertNotSame(composition.toQueryBuilder(), composition.toQueryBuilder());
+        assertEquals(composition.toQueryBuilder(), composition.toQueryBuilder());
+    }
+}
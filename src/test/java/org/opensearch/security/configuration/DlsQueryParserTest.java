@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+
+import org.opensearch.core.ParseField;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.index.query.ParsedQuery;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.index.query.TermQueryBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DlsQueryParserTest {
+
+    private static final Set<String> QUERIES = Set.of("{\"term\":{\"dept\":\"a\"}}");
+    private static final ShardId SHARD_ID = new ShardId("index", "uuid", 0);
+
+    private final DlsQueryParser parser = new DlsQueryParser(
+        new NamedXContentRegistry(
+            List.of(
+                new NamedXContentRegistry.Entry(QueryBuilder.class, new ParseField(TermQueryBuilder.NAME), TermQueryBuilder::fromXContent)
+            )
+        )
+    );
+
+    @Test
+    public void testForConfigVersion() {
+        final Object version = new Object();
+        final DlsQueryParser versioned = parser.forConfigVersion(version);
+
+        assertNotSame(parser, versioned);
+        assertSame(versioned, versioned.forConfigVersion(version));
+        assertNotSame(versioned, versioned.forConfigVersion(new Object()));
+    }
+
+    @Test
+    public void testShardQueriesAreCached() {
+        final AtomicInteger contexts = new AtomicInteger();
+        final Supplier<QueryShardContext> supplier = () -> {
+            contexts.incrementAndGet();
+            return queryShardContext(true);
+        };
+
+        final BooleanQuery query = parser.parse(QUERIES, SHARD_ID, 1, supplier, false);
+
+        assertEquals(new TermQuery(new Term("dept", "a")), query.clauses().get(0).query());
+        assertSame(query, parser.parse(QUERIES, SHARD_ID, 1, supplier, false));
+        assertEquals(1, contexts.get());
+
+        assertNotSame(query, parser.parse(QUERIES, SHARD_ID, 2, supplier, false));
+        assertNotSame(query, parser.parse(QUERIES, new ShardId("index", "uuid", 1), 1, supplier, false));
+        assertTrue(parser.parse(QUERIES, SHARD_ID, 1, supplier, true).clauses().get(0).query() instanceof ConstantScoreQuery);
+        assertEquals(4, contexts.get());
+
+        assertNotSame(query, parser.forConfigVersion(new Object()).parse(QUERIES, SHARD_ID, 1, supplier, false));
+    }
+
+    @Test
+    public void testNonCacheableQueriesAreNotCached() {
+        final Supplier<QueryShardContext> supplier = () -> queryShardContext(false);
+
+        assertNotSame(parser.parse(QUERIES, SHARD_ID, 1, supplier, false), parser.parse(QUERIES, SHARD_ID, 1, supplier, false));
+    }
+
+    private static QueryShardContext queryShardContext(final boolean cacheable) {
+        final QueryShardContext queryShardContext = mock(QueryShardContext.class);
+        final MapperService mapperService = mock(MapperService.class);
+        when(queryShardContext.getMapperService()).thenReturn(mapperService);
+        when(queryShardContext.isCacheable()).thenReturn(cacheable);
+        when(queryShardContext.toQuery(any())).thenAnswer(invocation -> {
+            final TermQueryBuilder termQueryBuilder = invocation.getArgument(0);
+            return new ParsedQuery(new TermQuery(new Term(termQueryBuilder.fieldName(), termQueryBuilder.value().toString())));
+        });
+        return queryShardContext;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Sets;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class EntityDocumentsTest {
+
+    private static final String META = "\"_meta\":{\"type\":\"tenants\",\"config_version\":2}";
+
+    @Test
+    public void testOnlyChangedEntitiesAreWritten() throws Exception {
+        final SecurityDynamicConfiguration<?> previous = tenants(
+            "{" + META + ",\"t1\":{\"description\":\"a\"},\"t2\":{\"description\":\"b\"},\"t4\":{\"description\":\"d\"}}"
+        );
+        final SecurityDynamicConfiguration<?> next = tenants(
+            "{" + META + ",\"t1\":{\"description\":\"changed\"},\"t3\":{\"description\":\"c\"},\"t4\":{\"description\":\"d\"}}"
+        );
+
+        // t1 and t2 were loaded from entity documents, t4 from the base document
+        final Map<String, EntityDocuments.Version> versions = Map.of(
+            "t1",
+            new EntityDocuments.Version(10, 1),
+            "t2",
+            new EntityDocuments.Version(11, 1)
+        );
+        final BulkRequest bulkRequest = EntityDocuments.changedEntities(
+            ".opendistro_security",
+            CType.TENANTS,
+            new EntityDocuments.Loaded(previous, versions, true),
+            next
+        );
+
+        assertEquals(RefreshPolicy.IMMEDIATE, bulkRequest.getRefreshPolicy());
+        final Map<String, Map<String, Object>> sources = new HashMap<>();
+        final Map<String, IndexRequest> requests = new HashMap<>();
+        for (DocWriteRequest<?> request : bulkRequest.requests()) {
+            sources.put(request.id(), ((IndexRequest) request).sourceAsMap());
+            requests.put(request.id(), (IndexRequest) request);
+        }
+        assertEquals(3, sources.size());
+
+        final Map<String, Object> changed = sources.get("tenants#7.1#t1");
+        assertEquals("tenants", changed.get(EntityDocuments.TYPE_FIELD));
+        assertEquals("t1", changed.get(EntityDocuments.NAME_FIELD));
+        assertEquals(7, ((Number) changed.get(EntityDocuments.BASE_SEQ_NO_FIELD)).intValue());
+        assertEquals(1, ((Number) changed.get(EntityDocuments.BASE_PRIMARY_TERM_FIELD)).intValue());
+        assertFalse((Boolean) changed.get(EntityDocuments.DELETED_FIELD));
+
+        assertEquals(10, requests.get("tenants#7.1#t1").ifSeqNo());
+        assertEquals(1, requests.get("tenants#7.1#t1").ifPrimaryTerm());
+
+        // new entities are created, so that concurrent creations conflict
+        assertFalse((Boolean) sources.get("tenants#7.1#t3").get(EntityDocuments.DELETED_FIELD));
+        assertEquals(DocWriteRequest.OpType.CREATE, requests.get("tenants#7.1#t3").opType());
+
+        final Map<String, Object> removed = sources.get("tenants#7.1#t2");
+        assertTrue((Boolean) removed.get(EntityDocuments.DELETED_FIELD));
+        assertNull(removed.get(EntityDocuments.ENTITY_FIELD));
+        assertEquals(11, requests.get("tenants#7.1#t2").ifSeqNo());
+    }
+
+    @Test
+    public void testFirstEntityDocumentsRecordTheLayout() throws Exception {
+        final SecurityDynamicConfiguration<?> previous = tenants("{" + META + ",\"t1\":{\"description\":\"a\"}}");
+        final SecurityDynamicConfiguration<?> next = tenants("{" + META + ",\"t1\":{\"description\":\"changed\"}}");
+
+        final BulkRequest bulkRequest = EntityDocuments.changedEntities(
+            ".opendistro_security",
+            CType.TENANTS,
+            new EntityDocuments.Loaded(previous, Map.of(), false),
+            next
+        );
+
+        final List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        assertEquals(2, requests.size());
+        assertEquals(EntityDocuments.LAYOUT_ID, requests.get(0).id());
+        assertEquals("tenants#7.1#t1", requests.get(1).id());
+    }
+
+    @Test
+    public void testCompactsAfterManyEntityDocuments() throws Exception {
+        final Map<String, EntityDocuments.Version> versions = new HashMap<>();
+        final SecurityDynamicConfiguration<?> loaded = tenants("{" + META + "}");
+        assertFalse(new EntityDocuments.Loaded(loaded, versions, true).shouldCompact());
+        for (int i = 0; i < EntityDocuments.COMPACT_AFTER; i++) {
+            versions.put("t" + i, new EntityDocuments.Version(i, 1));
+        }
+        assertTrue(new EntityDocuments.Loaded(loaded, versions, true).shouldCompact());
+    }
+
+    @Test
+    public void testNoChanges() throws Exception {
+        final String json = "{" + META + ",\"t1\":{\"description\":\"a\"}}";
+        final BulkRequest bulkRequest = EntityDocuments.changedEntities(
+            ".opendistro_security",
+            CType.TENANTS,
+            new EntityDocuments.Loaded(tenants(json), Map.of(), false),
+            tenants(json)
+        );
+
+        assertEquals(0, bulkRequest.numberOfActions());
+    }
+
+    @Test
+    public void testAppliesEntityDocumentsToStoredJson() throws Exception {
+        final String previous = "{" + META + ",\"t1\":{\"description\":\"a\"},\"t2\":{\"description\":\"b\"}}";
+        final BulkRequest bulkRequest = EntityDocuments.changedEntities(
+            ".opendistro_security",
+            CType.TENANTS,
+            new EntityDocuments.Loaded(tenants(previous), Map.of(), true),
+            tenants("{" + META + ",\"t1\":{\"description\":\"${env.TENANT_DESCRIPTION}\"},\"t3\":{\"description\":\"c\"}}")
+        );
+
+        final ObjectNode configuration = (ObjectNode) DefaultObjectMapper.readTree(previous);
+        for (DocWriteRequest<?> request : bulkRequest.requests()) {
+            EntityDocuments.applyTo(configuration, ((IndexRequest) request).sourceAsMap());
+        }
+        assertEquals(Set.of("_meta", "t1", "t3"), Sets.newHashSet(configuration.fieldNames()));
+        // environment variables are kept as they are stored
+        assertEquals("${env.TENANT_DESCRIPTION}", configuration.get("t1").get("description").asText());
+        assertEquals("c", configuration.get("t3").get("description").asText());
+    }
+
+    @Test
+    public void testDisabledLayoutDoesNotReadTheIndex() throws Exception {
+        final Client client = mock(Client.class);
+        final SecurityDynamicConfiguration<?> config = tenants("{" + META + ",\"t1\":{\"description\":\"a\"}}");
+
+        new EntityDocuments(client, "security", Settings.EMPTY).apply(Map.of(CType.TENANTS, config), 10, TimeUnit.SECONDS);
+
+        verifyNoInteractions(client);
+        assertNull(config.getLoadedEntities());
+    }
+
+    @Test
+    public void testId() throws Exception {
+        assertEquals("internalusers#7.1#admin", EntityDocuments.id(CType.INTERNALUSERS, tenants("{" + META + "}"), "admin"));
+    }
+
+    private static SecurityDynamicConfiguration<?> tenants(final String json) throws Exception {
+        return SecurityDynamicConfiguration.fromJson(json, CType.TENANTS, 2, 7, 1);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.core.common.bytes.BytesArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FlsSourceFilterTest {
+
+    private static final String SOURCE = "{"
+        + "\"a\":1,"
+        + "\"b\":{\"c\":\"x\",\"d\":{\"e\":true,\"f\":null},\"g\":[1,2]},"
+        + "\"h\":[{\"i\":1,\"j\":2},{\"j\":3},4,[{\"i\":5}]],"
+        + "\"k.l\":\"dotted\","
+        + "\"empty\":{},"
+        + "\"name\":\"n\",\"surname\":\"s\""
+        + "}";
+
+    @Test
+    public void testIncludes() throws Exception {
+        assertIncludes("a");
+        assertIncludes("b");
+        assertIncludes("b.d.e");
+        assertIncludes("b.c", "h.j");
+        assertIncludes("h.i");
+        assertIncludes("h");
+        assertIncludes("k");
+        assertIncludes("k.l");
+        assertIncludes("empty");
+        assertIncludes("does_not_exist");
+        assertIncludes("b.d.e.x");
+    }
+
+    @Test
+    public void testIncludeWildcards() throws Exception {
+        assertIncludes("*name");
+        assertIncludes("b.*");
+        assertIncludes("*.e");
+        assertIncludes("h.*");
+        assertIncludes("*");
+        assertIncludes("b*e");
+        assertIncludes("a", "b.d*");
+    }
+
+    @Test
+    public void testExcludes() throws Exception {
+        assertExcludes("a");
+        assertExcludes("b");
+        assertExcludes("b.d.e");
+        assertExcludes("b.c", "h.j");
+        assertExcludes("h.i");
+        assertExcludes("k");
+        assertExcludes("k.l");
+        assertExcludes("empty");
+        assertExcludes("does_not_exist");
+    }
+
+    @Test
+    public void testExcludeWildcards() throws Exception {
+        assertExcludes("*name");
+        assertExcludes("b.*");
+        assertExcludes("*.e");
+        assertExcludes("h.*");
+        assertExcludes("*");
+        assertExcludes("b*e");
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(FlsSourceFilter.matches("a*c", "abc", 3, false));
+        assertTrue(FlsSourceFilter.matches("*", "", 0, false));
+        assertTrue(FlsSourceFilter.matches("a*c", "ab", 2, true));
+        assertTrue(FlsSourceFilter.matches("a*", "abc", 2, false));
+        assertFalse(FlsSourceFilter.matches("a*c", "ab", 2, false));
+        assertFalse(FlsSourceFilter.matches("b*", "ab", 2, true));
+        assertTrue(FlsSourceFilter.matches("*.c", "a.b.c", 5, false));
+    }
+
+    private static void assertIncludes(final String... includes) throws Exception {
+        final FlsSourceFilter filter = new FlsSourceFilter(Arrays.asList(includes), Collections.emptySet());
+        assertEquals(Arrays.toString(includes), XContentMapValues.filter(includes, null).apply(sourceAsMap()), filter(filter));
+    }
+
+    private static void assertExcludes(final String... excludes) throws Exception {
+        final FlsSourceFilter filter = new FlsSourceFilter(Collections.emptySet(), Arrays.asList(excludes));
+        assertEquals(Arrays.toString(excludes), XContentMapValues.filter(null, excludes).apply(sourceAsMap()), filter(filter));
+    }
+
+    private static Map<String, Object> filter(final FlsSourceFilter filter) throws Exception {
+        final byte[] filtered = filter.filter(SOURCE.getBytes(StandardCharsets.UTF_8));
+        return XContentHelper.convertToMap(new BytesArray(filtered), true, XContentType.JSON).v2();
+    }
+
+    private static Map<String, Object> sourceAsMap() {
+        return XContentHelper.convertToMap(new BytesArray(SOURCE), true, XContentType.JSON).v2();
+    }
+}
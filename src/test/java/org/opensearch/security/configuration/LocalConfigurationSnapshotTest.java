@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class LocalConfigurationSnapshotTest {
+
+    private static final long MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("snapshot");
+        final LocalConfigurationSnapshot snapshot = new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS);
+        assertNull(snapshot.read());
+
+        snapshot.write(serialized(CType.TENANTS, 1));
+        snapshot.write(serialized(CType.ROLES, 2));
+        snapshot.write(serialized(CType.TENANTS, 3));
+
+        final SerializedConfiguration read = new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS).read();
+        assertEquals(Set.of(CType.TENANTS, CType.ROLES), read.getConfigTypes());
+        assertEquals(3, read.getSeqNo(CType.TENANTS));
+        assertEquals(2, read.getSeqNo(CType.ROLES));
+    }
+
+    @Test
+    public void testSnapshotsOfOtherClustersOrModifiedSnapshotsAreNotUsed() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("snapshot");
+        new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS).write(serialized(CType.TENANTS, 1));
+
+        assertThrows(IOException.class, () -> new LocalConfigurationSnapshot(file, "other_cluster", MAX_AGE_MILLIS).read());
+
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS).read());
+    }
+
+    @Test
+    public void testSnapshotsOlderThanMaxAgeAreNotUsed() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("snapshot");
+        final AtomicLong now = new AtomicLong(1_000_000);
+        new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS, now::get).write(serialized(CType.TENANTS, 1));
+
+        now.addAndGet(MAX_AGE_MILLIS);
+        final LocalConfigurationSnapshot snapshot = new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS, now::get);
+        assertEquals(Set.of(CType.TENANTS), snapshot.read().getConfigTypes());
+        assertEquals(1_000_000, snapshot.writeTimeMillis());
+
+        now.incrementAndGet();
+        assertThrows(IOException.class, () -> new LocalConfigurationSnapshot(file, "cluster", MAX_AGE_MILLIS, now::get).read());
+    }
+
+    private static SerializedConfiguration serialized(CType cType, long seqNo) throws IOException {
+        final SecurityDynamicConfiguration<?> configuration = SecurityDynamicConfiguration.fromJson(
+            "{\"_meta\":{\"type\":\"" + cType.toLCString() + "\",\"config_version\":2}}",
+            cType,
+            2,
+            seqNo,
+            1
+        );
+        return SerializedConfiguration.of(Map.of(cType, configuration));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MaskedOrdinalsTest {
+
+    private static final Salt SALT = Salt.from(Settings.EMPTY);
+
+    @Test
+    public void testSharedPerSegmentAndMaskedField() throws Exception {
+        try (Directory directory = new ByteBuffersDirectory()) {
+            writeDocument(directory);
+            final MaskedOrdinalsCache cache = new MaskedOrdinalsCache();
+
+            final DirectoryReader reader = DirectoryReader.open(directory);
+            final IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+            final MaskedField blake2b = new MaskedField("field", SALT);
+            final MaskedField sha = new MaskedField("field::SHA-256", SALT);
+
+            final MaskedOrdinals ordinals = cache.forSegment(coreCacheHelper, "field", blake2b, 10);
+            assertNull(ordinals.get(3));
+            final BytesRef masked = ordinals.put(3, blake2b.mask(new BytesRef("value")));
+
+            assertSame(masked, cache.forSegment(coreCacheHelper, "field", new MaskedField("field", SALT), 10).get(3));
+            assertNull(cache.forSegment(coreCacheHelper, "field", sha, 10).get(3));
+            assertNull(cache.forSegment(coreCacheHelper, "other", blake2b, 10).get(3));
+            assertEquals(3, cache.tableCount());
+
+            reader.close();
+            assertEquals(0, cache.tableCount());
+        }
+    }
+
+    @Test
+    public void testLargeSegmentsAreNotShared() {
+        final MaskedField maskedField = new MaskedField("field", SALT);
+        final MaskedOrdinalsCache cache = new MaskedOrdinalsCache();
+        final MaskedOrdinals ordinals = cache.forSegment(null, "field", maskedField, MaskedOrdinals.MAX_SHARED_VALUE_COUNT + 1);
+        final BytesRef masked = ordinals.put(5, maskedField.mask(new BytesRef("value")));
+
+        assertSame(masked, ordinals.get(5));
+        assertNull(ordinals.get(6));
+        assertNotSame(ordinals, cache.forSegment(null, "field", maskedField, 10));
+        assertEquals(0, cache.tableCount());
+    }
+
+    @Test
+    public void testBoundedByValueCount() throws Exception {
+        try (Directory directory = new ByteBuffersDirectory()) {
+            writeDocument(directory);
+            final MaskedOrdinalsCache cache = new MaskedOrdinalsCache(100);
+            final MaskedField maskedField = new MaskedField("field", SALT);
+
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                final IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+                for (int i = 0; i < 100; i++) {
+                    cache.forSegment(coreCacheHelper, "field" + i, maskedField, 10);
+                }
+                assertTrue(cache.tableCount() <= 10);
+            }
+        }
+    }
+
+    private static void writeDocument(final Directory directory) throws Exception {
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            final Document document = new Document();
+            document.add(new SortedSetDocValuesField("field", new BytesRef("value")));
+            writer.addDocument(document);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class MaskedSourceFilterTest {
+
+    private static final Salt SALT = Salt.from(Settings.EMPTY);
+
+    private static final String SOURCE = "{"
+        + "\"name\":\"john\","
+        + "\"age\":42,"
+        + "\"address\":{\"street\":\"main\",\"zip\":\"12345\"},"
+        + "\"tags\":[\"a\",\"b\",1,{\"tag\":\"c\"}],"
+        + "\"nested\":[{\"name\":\"x\"}]"
+        + "}";
+
+    @Test
+    public void testMasksStringsAndArrays() throws Exception {
+        final MaskedField name = new MaskedField("name", SALT);
+        final MaskedField zip = new MaskedField("address.zip::SHA-256", SALT);
+        final MaskedField tags = new MaskedField("tags::/[ab]/::X", SALT);
+        final MaskedSourceFilter filter = new MaskedSourceFilter(field -> {
+            switch (field) {
+                case "name":
+                    return name;
+                case "address.zip":
+                    return zip;
+                case "tags":
+                    return tags;
+                default:
+                    return null;
+            }
+        });
+
+        final Map<String, Object> masked = XContentHelper.convertToMap(
+            new BytesArray(filter.filter(SOURCE.getBytes(StandardCharsets.UTF_8))),
+            true,
+            XContentType.JSON
+        ).v2();
+
+        assertEquals(name.mask("john"), masked.get("name"));
+        assertEquals(42, masked.get("age"));
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> address = (Map<String, Object>) masked.get("address");
+        assertEquals("main", address.get("street"));
+        assertEquals(zip.mask("12345"), address.get("zip"));
+        assertEquals(Arrays.asList("X", "X", 1, Map.of("tag", "c")), masked.get("tags"));
+        assertEquals(List.of(Map.of("name", "x")), masked.get("nested"));
+    }
+
+    @Test
+    public void testMaskedValuesAreStable() {
+        final MaskedField blake2b = new MaskedField("field", SALT);
+        final MaskedField sha = new MaskedField("field::SHA-256", SALT);
+        final byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+        final BytesRef slice = new BytesRef(("xx" + "value" + "yy").getBytes(StandardCharsets.UTF_8), 2, 5);
+
+        for (final MaskedField mf : Arrays.asList(blake2b, sha)) {
+            final String expected = mf.mask("value");
+            assertEquals(expected, mf.mask("value"));
+            assertEquals(expected, new String(mf.mask(value), StandardCharsets.UTF_8));
+            assertEquals(expected, mf.mask(slice).utf8ToString());
+        }
+        assertNotEquals(blake2b.mask("value"), sha.mask("value"));
+    }
+}
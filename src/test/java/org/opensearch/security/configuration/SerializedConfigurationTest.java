@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.securityconf.impl.v7.TenantV7;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SerializedConfigurationTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final SecurityDynamicConfiguration<?> tenants = SecurityDynamicConfiguration.fromJson(
+            "{\"_meta\":{\"type\":\"tenants\",\"config_version\":2},\"t1\":{\"description\":\"${env.NOT_SET_IN_TESTS:-fallback}\"}}",
+            CType.TENANTS,
+            2,
+            5,
+            3
+        );
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        SerializedConfiguration.of(Map.of(CType.TENANTS, tenants)).writeTo(out);
+        final SerializedConfiguration serialized;
+        try (StreamInput in = out.bytes().streamInput()) {
+            serialized = new SerializedConfiguration(in);
+        }
+
+        assertEquals(Set.of(CType.TENANTS), serialized.getConfigTypes());
+        assertEquals(5, serialized.getSeqNo(CType.TENANTS));
+        assertEquals(3, serialized.getPrimaryTerm(CType.TENANTS));
+        assertTrue(serialized.getSizeInBytes() > 0);
+
+        final SecurityDynamicConfiguration<?> decoded = serialized.decode(Settings.EMPTY, false).get(CType.TENANTS);
+        assertEquals(5, decoded.getSeqNo());
+        assertEquals(3, decoded.getPrimaryTerm());
+        assertEquals(2, decoded.getVersion());
+        // environment variables are replaced by the node which decodes the configuration
+        assertEquals("fallback", ((TenantV7) decoded.getCEntry("t1")).getDescription());
+    }
+}
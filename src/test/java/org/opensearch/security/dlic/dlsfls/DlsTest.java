@@ -83,6 +83,33 @@ public class DlsTest extends AbstractDlsFlsTest {
         Assert.assertTrue(res.getBody().contains("\"failed\" : 0"));
     }
 
+    @Test
+    public void testDlsSearchUsesRequestCache() throws Exception {
+
+        setup();
+
+        final String cachedSearch = "/deals/_search?pretty&size=0&request_cache=true";
+        HttpResponse res;
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(
+                HttpStatus.SC_OK,
+                (res = rh.executeGetRequest(cachedSearch, encodeBasicHeader("dept_manager", "password"))).getStatusCode()
+            );
+            Assert.assertTrue(res.getBody().contains("\"value\" : 1,\n      \"relation"));
+        }
+
+        res = rh.executeGetRequest("/deals/_stats/request_cache", encodeBasicHeader("admin", "admin"));
+        Assert.assertEquals(HttpStatus.SC_OK, res.getStatusCode());
+        Assert.assertTrue(res.getBody(), Integer.parseInt(res.findValueInJson("_all.total.request_cache.hit_count")) >= 1);
+
+        // an unrestricted search does not get the cached response of the restricted one
+        Assert.assertEquals(
+            HttpStatus.SC_OK,
+            (res = rh.executeGetRequest(cachedSearch, encodeBasicHeader("admin", "admin"))).getStatusCode()
+        );
+        Assert.assertTrue(res.getBody().contains("\"value\" : 2,\n      \"relation"));
+    }
+
     @Test
     public void testDlsTermVectors() throws Exception {
 
@@ -0,0 +1,241 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.Client;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.security.action.configupdate.ConfigUpdateAction;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.test.helper.rest.RestHelper.HttpResponse;
+
+import static org.opensearch.security.OpenSearchSecurityPlugin.PLUGINS_PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BatchApiTest extends AbstractRestApiUnitTest {
+
+    private final String ENDPOINT = PLUGINS_PREFIX + "/api";
+
+    @Test
+    public void testPatchSeveralConfigTypes() throws Exception {
+        setup();
+        rh.keystore = "restapi/kirk-keystore.jks";
+        rh.sendAdminCertificate = true;
+
+        // a role and its mapping are created with one request, the mapping is validated against the new role
+        HttpResponse response = rh.executePatchRequest(
+            ENDPOINT + "/batch",
+            "{\"roles\": [{ \"op\": \"add\", \"path\": \"/batch_role\", \"value\": { \"cluster_permissions\": [\"cluster_monitor\"] } }],"
+                + "\"rolesmapping\": [{ \"op\": \"add\", \"path\": \"/batch_role\", \"value\": { \"users\": [\"batch_user\"] } }]}",
+            new Header[0]
+        );
+        Assert.assertEquals(response.getBody(), HttpStatus.SC_OK, response.getStatusCode());
+
+        response = rh.executeGetRequest(ENDPOINT + "/roles/batch_role", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        response = rh.executeGetRequest(ENDPOINT + "/rolesmapping/batch_role", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertTrue(response.getBody(), response.getBody().contains("batch_user"));
+
+        // nothing is written if one of the patches is invalid
+        response = rh.executePatchRequest(
+            ENDPOINT + "/batch",
+            "{\"roles\": [{ \"op\": \"add\", \"path\": \"/other_role\", \"value\": { \"cluster_permissions\": [\"cluster_monitor\"] } }],"
+                + "\"rolesmapping\": [{ \"op\": \"add\", \"path\": \"/no_such_role\", \"value\": { \"users\": [\"batch_user\"] } }]}",
+            new Header[0]
+        );
+        Assert.assertEquals(response.getBody(), HttpStatus.SC_NOT_FOUND, response.getStatusCode());
+        response = rh.executeGetRequest(ENDPOINT + "/roles/other_role", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        setup();
+        rh.keystore = "restapi/kirk-keystore.jks";
+        rh.sendAdminCertificate = true;
+
+        HttpResponse response = rh.executePatchRequest(ENDPOINT + "/batch", "[]", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatusCode());
+
+        response = rh.executePatchRequest(
+            ENDPOINT + "/batch",
+            "{\"config\": [{ \"op\": \"add\", \"path\": \"/a\", \"value\": {} }]}",
+            new Header[0]
+        );
+        Assert.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatusCode());
+
+        response = rh.executePatchRequest(ENDPOINT + "/batch", "{\"roles\": {}}", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatusCode());
+
+        response = rh.executePutRequest(ENDPOINT + "/batch", "{}", new Header[0]);
+        Assert.assertEquals(HttpStatus.SC_METHOD_NOT_ALLOWED, response.getStatusCode());
+    }
+
+    @Test
+    public void testRevertsWrittenDocumentsOnVersionConflict() throws Exception {
+        final Client client = mock(Client.class);
+        final List<BulkRequest> bulkRequests = bulkResponses(
+            client,
+            new BulkResponse(
+                new BulkItemResponse[] {
+                    BulkItemResponse.success(0, DocWriteRequest.OpType.INDEX, indexResponse("roles", 10)),
+                    versionConflict(1, "rolesmapping") },
+                1
+            ),
+            new BulkResponse(
+                new BulkItemResponse[] { BulkItemResponse.success(0, DocWriteRequest.OpType.INDEX, indexResponse("roles", 11)) },
+                1
+            )
+        );
+
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        batchUpdate(false).execute(client, ActionListener.wrap(response -> Assert.fail("The batch update must fail"), failure::set));
+
+        Assert.assertTrue(failure.get() instanceof VersionConflictEngineException);
+        Assert.assertEquals(2, bulkRequests.size());
+        // the written roles are reverted, conditional on the seq_no they were written with
+        final IndexRequest revert = (IndexRequest) bulkRequests.get(1).requests().get(0);
+        Assert.assertEquals(1, bulkRequests.get(1).numberOfActions());
+        Assert.assertEquals("roles", revert.id());
+        Assert.assertEquals(10, revert.ifSeqNo());
+        Assert.assertEquals(1, revert.ifPrimaryTerm());
+        verify(client, never()).execute(eq(ConfigUpdateAction.INSTANCE), any(), any());
+    }
+
+    @Test
+    public void testDoesNotUpdateConfigurationIfRevertFails() throws Exception {
+        final Client client = mock(Client.class);
+        bulkResponses(
+            client,
+            new BulkResponse(
+                new BulkItemResponse[] {
+                    BulkItemResponse.success(0, DocWriteRequest.OpType.INDEX, indexResponse("roles", 10)),
+                    versionConflict(1, "rolesmapping") },
+                1
+            ),
+            new BulkResponse(new BulkItemResponse[] { versionConflict(0, "roles") }, 1)
+        );
+
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        batchUpdate(false).execute(client, ActionListener.wrap(response -> Assert.fail("The batch update must fail"), failure::set));
+
+        Assert.assertNotNull(failure.get());
+        Assert.assertFalse(failure.get() instanceof VersionConflictEngineException);
+        Assert.assertTrue(failure.get().getMessage(), failure.get().getMessage().contains("could not be reverted"));
+        Assert.assertTrue(failure.get().getMessage(), failure.get().getMessage().contains("roles"));
+        verify(client, never()).execute(eq(ConfigUpdateAction.INSTANCE), any(), any());
+    }
+
+    @Test
+    public void testDeletesObsoleteEntityDocumentsOfRevertedTypes() throws Exception {
+        final Client client = mock(Client.class);
+        bulkResponses(
+            client,
+            new BulkResponse(
+                new BulkItemResponse[] {
+                    BulkItemResponse.success(0, DocWriteRequest.OpType.INDEX, indexResponse("roles", 10)),
+                    versionConflict(1, "rolesmapping") },
+                1
+            ),
+            new BulkResponse(
+                new BulkItemResponse[] { BulkItemResponse.success(0, DocWriteRequest.OpType.INDEX, indexResponse("roles", 11)) },
+                1
+            )
+        );
+
+        batchUpdate(true).execute(client, ActionListener.wrap(response -> Assert.fail("The batch update must fail"), e -> {}));
+
+        // only the entity documents of the reverted roles are looked for, rolesmapping was not written
+        verify(client, times(1)).search(any(SearchRequest.class), any());
+    }
+
+    private static List<BulkRequest> bulkResponses(final Client client, final BulkResponse... responses) {
+        final List<BulkRequest> requests = new ArrayList<>();
+        doAnswer(invocation -> {
+            final ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            requests.add(invocation.getArgument(0));
+            listener.onResponse(responses[requests.size() - 1]);
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+        return requests;
+    }
+
+    private static BatchApiAction.BatchUpdate batchUpdate(final boolean entityDocuments) throws Exception {
+        final Map<CType, SecurityDynamicConfiguration<?>> originals = new EnumMap<>(CType.class);
+        originals.put(CType.ROLES, roles("original_role"));
+        originals.put(CType.ROLESMAPPING, rolesMapping("original_role"));
+        final Map<CType, SecurityDynamicConfiguration<?>> configurations = new EnumMap<>(CType.class);
+        configurations.put(CType.ROLES, roles("batch_role"));
+        configurations.put(CType.ROLESMAPPING, rolesMapping("batch_role"));
+        return new BatchApiAction.BatchUpdate(".opendistro_security", originals, configurations, entityDocuments);
+    }
+
+    private static SecurityDynamicConfiguration<?> roles(final String role) throws Exception {
+        return SecurityDynamicConfiguration.fromJson(
+            "{\"_meta\":{\"type\":\"roles\",\"config_version\":2},\"" + role + "\":{\"cluster_permissions\":[\"cluster_monitor\"]}}",
+            CType.ROLES,
+            2,
+            5,
+            1
+        );
+    }
+
+    private static SecurityDynamicConfiguration<?> rolesMapping(final String role) throws Exception {
+        return SecurityDynamicConfiguration.fromJson(
+            "{\"_meta\":{\"type\":\"rolesmapping\",\"config_version\":2},\"" + role + "\":{\"users\":[\"batch_user\"]}}",
+            CType.ROLESMAPPING,
+            2,
+            5,
+            1
+        );
+    }
+
+    private static IndexResponse indexResponse(final String id, final long seqNo) {
+        return new IndexResponse(new ShardId(".opendistro_security", "_na_", 0), id, seqNo, 1, 1, false);
+    }
+
+    private static BulkItemResponse versionConflict(final int item, final String id) {
+        final ShardId shardId = new ShardId(".opendistro_security", "_na_", 0);
+        return BulkItemResponse.failure(
+            item,
+            DocWriteRequest.OpType.INDEX,
+            new BulkItemResponse.Failure(".opendistro_security", id, new VersionConflictEngineException(shardId, id, "conflict"))
+        );
+    }
+}
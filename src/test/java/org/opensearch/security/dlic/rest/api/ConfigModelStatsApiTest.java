@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.security.test.helper.rest.RestHelper.HttpResponse;
+
+import static org.opensearch.security.OpenSearchSecurityPlugin.PLUGINS_PREFIX;
+import static org.opensearch.security.support.ConfigConstants.SECURITY_RESTAPI_ADMIN_ENABLED;
+
+public class ConfigModelStatsApiTest extends AbstractRestApiUnitTest {
+
+    private static final String ENDPOINT = PLUGINS_PREFIX + "/api/configmodel";
+
+    @Test
+    public void testConfigModelStats() throws Exception {
+        setup();
+        rh.keystore = "restapi/kirk-keystore.jks";
+        rh.sendAdminCertificate = true;
+
+        final HttpResponse response = rh.executeGetRequest(ENDPOINT);
+        Assert.assertEquals(response.getBody(), HttpStatus.SC_OK, response.getStatusCode());
+        final Settings settings = Settings.builder().loadFromSource(response.getBody(), XContentType.JSON).build();
+        // the role and tenant models were built at least once
+        Assert.assertTrue(settings.getAsLong("config_model.builds", 0L) > 0);
+        Assert.assertEquals(0L, (long) settings.getAsLong("config_model.failures", -1L));
+        Assert.assertNotNull(settings.get("config_model.last_build_time_millis"));
+        Assert.assertNotNull(settings.get("config_model.last_build_phases_millis.roles"));
+        Assert.assertNotNull(settings.get("config_model.last_build_phases_millis.tenants"));
+
+        Assert.assertEquals(HttpStatus.SC_NOT_IMPLEMENTED, rh.executePutRequest(ENDPOINT, "{}", new Header[0]).getStatusCode());
+    }
+
+    @Test
+    public void testConfigModelStatsOnlyForSuperAdmin() throws Exception {
+        setupWithRestRoles(Settings.builder().put(SECURITY_RESTAPI_ADMIN_ENABLED, true).build());
+        rh.sendAdminCertificate = false;
+
+        // no credentials
+        Assert.assertEquals(HttpStatus.SC_UNAUTHORIZED, rh.executeGetRequest(ENDPOINT).getStatusCode());
+        // the health endpoint does not need credentials and does not report the stats
+        final HttpResponse health = rh.executeGetRequest(PLUGINS_PREFIX + "/health");
+        Assert.assertEquals(HttpStatus.SC_OK, health.getStatusCode());
+        Assert.assertFalse(health.getBody(), health.getBody().contains("config_model"));
+
+        for (Header header : new Header[] {
+            encodeBasicHeader("admin", "admin"),
+            encodeBasicHeader("test", "test"),
+            encodeBasicHeader("rest_api_admin_user", "rest_api_admin_user") }) {
+            final HttpResponse response = rh.executeGetRequest(ENDPOINT, header);
+            Assert.assertEquals(response.getBody(), HttpStatus.SC_FORBIDDEN, response.getStatusCode());
+        }
+    }
+}
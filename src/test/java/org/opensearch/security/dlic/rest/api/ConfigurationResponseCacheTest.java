@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.dlic.rest.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.util.FakeRestRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigurationResponseCacheTest {
+
+    @Test
+    public void testConditionalRequests() throws Exception {
+        final SecurityDynamicConfiguration<?> tenants = SecurityDynamicConfiguration.fromJson(
+            "{\"_meta\":{\"type\":\"tenants\",\"config_version\":2},\"t1\":{\"description\":\"tenant\"}}",
+            CType.TENANTS,
+            2,
+            5,
+            1
+        );
+        final ConfigurationResponseCache cache = new ConfigurationResponseCache();
+        final List<Object> key = List.of(1L, true, "");
+        assertNull(cache.get(key));
+
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        tenants.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        final ConfigurationResponseCache.CachedResponse cached = cache.put(key, builder, tenants);
+        assertSame(cached, cache.get(key));
+
+        final BytesRestResponse ok = cached.toRestResponse(new FakeRestRequest());
+        assertEquals(RestStatus.OK, ok.status());
+        assertTrue(ok.content().utf8ToString().contains("t1"));
+        assertEquals(List.of(cached.etag()), ok.getHeaders().get(ConfigurationResponseCache.ETAG_HEADER));
+        assertEquals(List.of("1:5"), ok.getHeaders().get(ConfigurationResponseCache.CONFIG_VERSION_HEADER));
+
+        final BytesRestResponse notModified = cached.toRestResponse(
+            new FakeRestRequest(Map.of(ConfigurationResponseCache.IF_NONE_MATCH_HEADER, cached.etag()), Map.of())
+        );
+        assertEquals(RestStatus.NOT_MODIFIED, notModified.status());
+        assertEquals(0, notModified.content().length());
+    }
+
+    @Test
+    public void testIfNoneMatch() {
+        assertFalse(ConfigurationResponseCache.matches(null, "\"a\""));
+        assertFalse(ConfigurationResponseCache.matches("\"b\"", "\"a\""));
+        assertTrue(ConfigurationResponseCache.matches("\"a\"", "\"a\""));
+        assertTrue(ConfigurationResponseCache.matches("\"b\", W/\"a\"", "\"a\""));
+        assertTrue(ConfigurationResponseCache.matches("*", "\"a\""));
+    }
+}
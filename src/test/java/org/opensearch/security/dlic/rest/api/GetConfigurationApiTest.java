@@ -12,6 +12,8 @@
 package org.opensearch.security.dlic.rest.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
 import org.junit.Test;
@@ -83,4 +85,56 @@ public class GetConfigurationApiTest extends AbstractRestApiUnitTest {
         Assert.assertNull(settings.get("_opendistro_security_meta.type"));
     }
 
+    @Test
+    public void testGetReflectsChangesAndIsConditional() throws Exception {
+
+        setup();
+        rh.keystore = "restapi/kirk-keystore.jks";
+        rh.sendAdminCertificate = true;
+
+        HttpResponse response = rh.executePutRequest(ENDPOINT + "/tenants/cached_tenant", "{\"description\":\"first\"}");
+        Assert.assertEquals(HttpStatus.SC_CREATED, response.getStatusCode());
+        response = rh.executeGetRequest(ENDPOINT + "/tenants/cached_tenant");
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertEquals("first", response.findValueInJson("cached_tenant.description"));
+        final String etag = header(response, ConfigurationResponseCache.ETAG_HEADER);
+        Assert.assertNotNull(etag);
+        Assert.assertNotNull(header(response, ConfigurationResponseCache.CONFIG_VERSION_HEADER));
+
+        // an unchanged configuration is not sent again
+        response = rh.executeGetRequest(
+            ENDPOINT + "/tenants/cached_tenant",
+            new BasicHeader(ConfigurationResponseCache.IF_NONE_MATCH_HEADER, etag)
+        );
+        Assert.assertEquals(HttpStatus.SC_NOT_MODIFIED, response.getStatusCode());
+        Assert.assertEquals(etag, header(response, ConfigurationResponseCache.ETAG_HEADER));
+
+        // a change is visible to the next read
+        response = rh.executePutRequest(ENDPOINT + "/tenants/cached_tenant", "{\"description\":\"second\"}");
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        response = rh.executeGetRequest(
+            ENDPOINT + "/tenants/cached_tenant",
+            new BasicHeader(ConfigurationResponseCache.IF_NONE_MATCH_HEADER, etag)
+        );
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertEquals("second", response.findValueInJson("cached_tenant.description"));
+        Assert.assertNotEquals(etag, header(response, ConfigurationResponseCache.ETAG_HEADER));
+
+        // the endpoint validator still checks every read
+        response = rh.executeGetRequest(ENDPOINT + "/tenants/no_such_tenant");
+        Assert.assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatusCode());
+        response = rh.executeDeleteRequest(ENDPOINT + "/tenants/cached_tenant");
+        Assert.assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+        response = rh.executeGetRequest(ENDPOINT + "/tenants/cached_tenant");
+        Assert.assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatusCode());
+    }
+
+    private static String header(final HttpResponse response, final String name) {
+        return response.getHeaders()
+            .stream()
+            .filter(header -> header.getName().equalsIgnoreCase(name))
+            .map(Header::getValue)
+            .findFirst()
+            .orElse(null);
+    }
 }
@@ -11,10 +11,17 @@
 
 package org.opensearch.security.httpclient;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
 import org.opensearch.security.test.DynamicSecurityConfig;
 import org.opensearch.security.test.SingleClusterTest;
@@ -150,4 +157,42 @@ public class HttpClientTest extends SingleClusterTest {
         }
 
     }
+
+    @Test
+    public void testBulk() throws Exception {
+
+        final Settings settings = Settings.builder()
+            .put("plugins.security.ssl.http.enabled", false)
+            .loadFromPath(FileHelper.getAbsoluteFilePathFromClassPath("auditlog/endpoints/routing/configuration_valid.yml"))
+            .build();
+
+        setup(Settings.EMPTY, new DynamicSecurityConfig(), settings);
+
+        try (
+            final HttpClient httpClient = HttpClient.builder(clusterInfo.httpHost + ":" + clusterInfo.httpPort)
+                .setBasicCredentials("admin", "admin")
+                .setCompression(true)
+                .build()
+        ) {
+            final CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+            httpClient.bulkAsync(
+                Arrays.asList("{\"a\":1}", "{\"a\":2}", "not json", "{\"a\":3}"),
+                "index",
+                2,
+                ActionListener.wrap(result::complete, result::completeExceptionally)
+            );
+            Assert.assertEquals(Collections.singletonList(2), result.get(30, TimeUnit.SECONDS));
+        }
+
+        try (final HttpClient httpClient = HttpClient.builder("unknownhost:6654").setBasicCredentials("admin", "admin").build()) {
+            final CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+            httpClient.bulkAsync(
+                Arrays.asList("{\"a\":1}", "{\"a\":2}"),
+                "index",
+                1,
+                ActionListener.wrap(result::complete, result::completeExceptionally)
+            );
+            Assert.assertEquals(Arrays.asList(0, 1), result.get(30, TimeUnit.SECONDS));
+        }
+    }
 }
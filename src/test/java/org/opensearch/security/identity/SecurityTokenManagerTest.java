@@ -12,6 +12,7 @@
 package org.opensearch.security.identity;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Set;
 
@@ -32,6 +33,8 @@ import org.opensearch.security.authtoken.jwt.ExpiringBearerAuthToken;
 import org.opensearch.security.authtoken.jwt.JwtVendor;
 import org.opensearch.security.securityconf.ConfigModel;
 import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
+import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserService;
@@ -51,6 +54,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -81,49 +85,67 @@ public class SecurityTokenManagerTest {
         verifyNoMoreInteractions(userService);
     }
 
-    public void onConfigModelChanged_oboNotSupported() {
-        final ConfigModel configModel = mock(ConfigModel.class);
-
-        tokenManager.onConfigModelChanged(configModel);
-
-        assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(false));
-        verifyNoMoreInteractions(configModel);
-    }
-
     @Test
-    public void onDynamicConfigModelChanged_JwtVendorEnabled() {
+    public void onSecuritySnapshotChanged_JwtVendorEnabled() {
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
         final ConfigModel configModel = mock(ConfigModel.class);
-        final DynamicConfigModel mockConfigModel = createMockJwtVendorInTokenManager();
-
-        tokenManager.onConfigModelChanged(configModel);
+        final DynamicConfigModel mockConfigModel = createMockJwtVendorInTokenManager(configModel);
 
         assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(true));
         verify(mockConfigModel).getDynamicOnBehalfOfSettings();
+        verify(tokenManager).createJwtVendor(any());
         verifyNoMoreInteractions(configModel);
+        verify(threadPool).getThreadContext();
     }
 
     @Test
-    public void onDynamicConfigModelChanged_JwtVendorDisabled() {
+    public void onSecuritySnapshotChanged_JwtVendorDisabled() {
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
         final Settings settings = Settings.builder().put("enabled", false).build();
         final DynamicConfigModel dcm = mock(DynamicConfigModel.class);
         when(dcm.getDynamicOnBehalfOfSettings()).thenReturn(settings);
-        tokenManager.onDynamicConfigModelChanged(dcm);
+        tokenManager.onSecuritySnapshotChanged(snapshot(mock(ConfigModel.class), dcm));
 
         assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(false));
         verify(dcm).getDynamicOnBehalfOfSettings();
         verify(tokenManager, never()).createJwtVendor(any());
+        verify(threadPool).getThreadContext();
+    }
+
+    @Test
+    public void issueOnBehalfOfTokenAllowed_readsRequestSnapshot() {
+        final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        when(threadPool.getThreadContext()).thenReturn(threadContext);
+        createMockJwtVendorInTokenManager(mock(ConfigModel.class));
+        assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(true));
+
+        // the request keeps the snapshot it captured when the token issuance is disabled meanwhile
+        final DynamicConfigModel disabled = mock(DynamicConfigModel.class);
+        when(disabled.getDynamicOnBehalfOfSettings()).thenReturn(Settings.builder().put("enabled", false).build());
+        tokenManager.onSecuritySnapshotChanged(snapshot(mock(ConfigModel.class), disabled));
+        assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(true));
+
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            assertThat(tokenManager.issueOnBehalfOfTokenAllowed(), equalTo(false));
+        }
+        verify(tokenManager).createJwtVendor(any());
+        verify(threadPool, times(3)).getThreadContext();
     }
 
     /** Creates the jwt vendor and returns a mock for validation if needed */
-    private DynamicConfigModel createMockJwtVendorInTokenManager() {
+    private DynamicConfigModel createMockJwtVendorInTokenManager(final ConfigModel configModel) {
         final Settings settings = Settings.builder().put("enabled", true).build();
         final DynamicConfigModel dcm = mock(DynamicConfigModel.class);
         when(dcm.getDynamicOnBehalfOfSettings()).thenReturn(settings);
         doAnswer((invocation) -> jwtVendor).when(tokenManager).createJwtVendor(settings);
-        tokenManager.onDynamicConfigModelChanged(dcm);
+        tokenManager.onSecuritySnapshotChanged(snapshot(configModel, dcm));
         return dcm;
     }
 
+    private static SecuritySnapshot snapshot(final ConfigModel configModel, final DynamicConfigModel dcm) {
+        return new SecuritySnapshot(1, new EnumMap<>(CType.class), configModel, dcm, null, null, 0);
+    }
+
     @Test
     public void issueServiceAccountToken_error() throws Exception {
         final String expectedAccountName = "abc-123";
@@ -197,6 +219,21 @@ public class SecurityTokenManagerTest {
         verify(threadPool).getThreadContext();
     }
 
+    @Test
+    public void issueOnBehalfOfToken_noSecuritySnapshot() {
+        doAnswer(invocation -> true).when(tokenManager).issueOnBehalfOfTokenAllowed();
+        final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("Jon", List.of(), null));
+        when(threadPool.getThreadContext()).thenReturn(threadContext);
+        final OpenSearchSecurityException exception = assertThrows(
+            OpenSearchSecurityException.class,
+            () -> tokenManager.issueOnBehalfOfToken(null, new OnBehalfOfClaims("elmo", 450L))
+        );
+        assertThat(exception.getMessage(), equalTo("The security configuration is not loaded, cannot generate OnBehalfOfToken"));
+
+        verify(threadPool).getThreadContext();
+    }
+
     @Test
     public void issueOnBehalfOfToken_jwtGenerationFailure() throws Exception {
         doAnswer(invockation -> new ClusterName("cluster17")).when(cs).getClusterName();
@@ -205,10 +242,9 @@ public class SecurityTokenManagerTest {
         threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("Jon", List.of(), null));
         when(threadPool.getThreadContext()).thenReturn(threadContext);
         final ConfigModel configModel = mock(ConfigModel.class);
-        tokenManager.onConfigModelChanged(configModel);
         when(configModel.mapSecurityRoles(any(), any())).thenReturn(Set.of());
 
-        createMockJwtVendorInTokenManager();
+        createMockJwtVendorInTokenManager(configModel);
 
         when(jwtVendor.createJwt(any(), anyString(), anyString(), anyLong(), any(), any(), anyBoolean())).thenThrow(
             new RuntimeException("foobar")
@@ -231,10 +267,9 @@ public class SecurityTokenManagerTest {
         threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("Jon", List.of(), null));
         when(threadPool.getThreadContext()).thenReturn(threadContext);
         final ConfigModel configModel = mock(ConfigModel.class);
-        tokenManager.onConfigModelChanged(configModel);
         when(configModel.mapSecurityRoles(any(), any())).thenReturn(Set.of());
 
-        createMockJwtVendorInTokenManager();
+        createMockJwtVendorInTokenManager(configModel);
 
         final ExpiringBearerAuthToken authToken = mock(ExpiringBearerAuthToken.class);
         when(jwtVendor.createJwt(any(), anyString(), anyString(), anyLong(), any(), any(), anyBoolean())).thenReturn(authToken);
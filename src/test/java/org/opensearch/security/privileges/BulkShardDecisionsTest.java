@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.opensearch.action.bulk.BulkItemRequest;
+import org.opensearch.action.bulk.BulkShardRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.tasks.TaskId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BulkShardDecisionsTest {
+
+    private static final Set<String> ROLES = Set.of("writer");
+    private static final Set<String> INDEX_PERMISSIONS = Set.of("indices:data/write/index");
+
+    private final BulkShardDecisions bulkShardDecisions = new BulkShardDecisions();
+    private final Object roleConfig = new Object();
+    private final Object dynamicConfig = new Object();
+
+    @Test
+    public void testShardRequestsOfBulkShareDecisions() {
+        final BulkShardDecisions.Decisions decisions = decisions(request(0, new TaskId("node", 1)), roleConfig, 1);
+
+        assertSame(decisions, decisions(request(1, new TaskId("node", 1)), roleConfig, 1));
+        assertNotSame(decisions, decisions(request(0, new TaskId("node", 2)), roleConfig, 1));
+        assertNotSame(decisions, decisions(request(0, new TaskId("node", 1)), new Object(), 1));
+        assertNotSame(decisions, decisions(request(0, new TaskId("node", 1)), roleConfig, 2));
+    }
+
+    @Test
+    public void testShardRequestsWithoutBulkAreNotMemoized() {
+        assertNull(decisions(request(0, TaskId.EMPTY_TASK_ID), roleConfig, 1));
+        assertEquals(0, bulkShardDecisions.size());
+    }
+
+    @Test
+    public void testIndexPermissionsAreEvaluatedOnce() {
+        final BulkShardDecisions.Decisions decisions = decisions(request(0, new TaskId("node", 1)), roleConfig, 1);
+        final AtomicInteger evaluations = new AtomicInteger();
+
+        assertTrue(decisions.hasIndexPermissions("logs", INDEX_PERMISSIONS, () -> evaluations.incrementAndGet() > 0));
+        assertTrue(decisions.hasIndexPermissions("logs", Set.of("indices:data/write/index"), () -> evaluations.incrementAndGet() > 0));
+        assertEquals(1, evaluations.get());
+
+        assertFalse(decisions.hasIndexPermissions("audit", INDEX_PERMISSIONS, () -> evaluations.incrementAndGet() < 0));
+        assertFalse(decisions.hasIndexPermissions("audit", INDEX_PERMISSIONS, () -> evaluations.incrementAndGet() < 0));
+        assertEquals(2, evaluations.get());
+
+        decisions.hasIndexPermissions("logs", Set.of("indices:data/write/delete"), () -> evaluations.incrementAndGet() > 0);
+        assertEquals(3, evaluations.get());
+    }
+
+    private BulkShardDecisions.Decisions decisions(final BulkShardRequest request, final Object roleConfig, final long metadataVersion) {
+        return bulkShardDecisions.forRequest(request, "user", ROLES, roleConfig, dynamicConfig, metadataVersion);
+    }
+
+    private static BulkShardRequest request(final int shard, final TaskId parentTask) {
+        final BulkShardRequest request = new BulkShardRequest(
+            new ShardId("logs", "uuid", shard),
+            WriteRequest.RefreshPolicy.NONE,
+            new BulkItemRequest[0]
+        );
+        request.setParentTask(parentTask);
+        return request;
+    }
+}
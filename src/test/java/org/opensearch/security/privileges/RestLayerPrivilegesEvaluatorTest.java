@@ -12,6 +12,7 @@
 package org.opensearch.security.privileges;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Set;
 
 import org.apache.logging.log4j.Level;
@@ -31,6 +32,8 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.security.securityconf.ConfigModel;
 import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.securityconf.SecuritySnapshot;
+import org.opensearch.security.securityconf.impl.CType;
 import org.opensearch.security.user.User;
 import org.opensearch.threadpool.ThreadPool;
 
@@ -78,7 +81,7 @@ public class RestLayerPrivilegesEvaluatorTest {
             clusterService,
             threadPool
         );
-        privilegesEvaluator.onConfigModelChanged(configModel); // Defaults to the mocked config model
+        privilegesEvaluator.onSecuritySnapshotChanged(snapshot(configModel)); // Defaults to the mocked config model
         verify(threadPool).getThreadContext(); // Called during construction of RestLayerPrivilegesEvaluator
         setLoggingLevel(Level.DEBUG); // Enable debug logging scenarios for verification
     }
@@ -107,7 +110,7 @@ public class RestLayerPrivilegesEvaluatorTest {
     @Test
     public void testEvaluate_NotInitialized_NullModel_ExceptionThrown() {
         // Null out the config model
-        privilegesEvaluator.onConfigModelChanged(null);
+        privilegesEvaluator.onSecuritySnapshotChanged(snapshot(null));
         final OpenSearchSecurityException exception = assertThrows(
             OpenSearchSecurityException.class,
             () -> privilegesEvaluator.evaluate(TEST_USER, null)
@@ -181,4 +184,8 @@ public class RestLayerPrivilegesEvaluatorTest {
         assertThat(response.allowed, equalTo(false));
         verify(securityRoles).impliesClusterPermissionPermission(action);
     }
+
+    private static SecuritySnapshot snapshot(final ConfigModel configModel) {
+        return new SecuritySnapshot(1, new EnumMap<>(CType.class), configModel, null, null, null, 0);
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.resolver;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AliasAndDataStreamIndexTest {
+
+    @Test
+    public void testMatchingAliases() {
+        final AliasAndDataStreamIndex index = new AliasAndDataStreamIndex();
+        final Metadata metadata = Metadata.builder()
+            .version(1)
+            .put(index("logs-1", "logs", "logs-write"), false)
+            .put(index("logs-2", "logs"), false)
+            .put(index("metrics-1", "metrics"), false)
+            .build();
+
+        assertEquals(List.of("logs", "logs-write"), matching(index, metadata, "logs*"));
+        assertEquals(List.of("logs-write"), matching(index, metadata, "*-write"));
+        assertEquals(List.of("metrics"), matching(index, metadata, "/met.*/"));
+        assertEquals(List.of(), matching(index, metadata, "logs-1*"));
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        final AliasAndDataStreamIndex index = new AliasAndDataStreamIndex();
+        final Metadata first = Metadata.builder()
+            .version(1)
+            .put(index("logs-1", "logs", "logs-write"), false)
+            .put(index("logs-2", "logs"), false)
+            .build();
+        assertEquals(List.of("logs", "logs-write"), matching(index, first, "logs*"));
+
+        // the write alias moves to a new index, the old index is deleted
+        final Metadata second = Metadata.builder(first)
+            .version(2)
+            .remove("logs-1")
+            .put(index("logs-3", "logs", "logs-write"), false)
+            .build();
+        assertEquals(List.of("logs", "logs-write"), matching(index, second, "logs*"));
+
+        final Metadata third = Metadata.builder(second).version(3).put(index("logs-3", "logs"), false).build();
+        assertEquals(List.of("logs"), matching(index, third, "logs*"));
+
+        final Metadata fourth = Metadata.builder(third).version(4).remove("logs-2").remove("logs-3").build();
+        assertEquals(List.of(), matching(index, fourth, "logs*"));
+
+        // an outdated cluster state is still answered correctly
+        assertEquals(List.of("logs", "logs-write"), matching(index, first, "logs*"));
+    }
+
+    @Test
+    public void testSkipsUpdatesWithoutMetadataChanges() {
+        final AliasAndDataStreamIndex index = new AliasAndDataStreamIndex();
+        final ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.metadataChanged()).thenReturn(false);
+
+        index.clusterChanged(event);
+        verify(event, never()).state();
+    }
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("logs-", AliasAndDataStreamIndex.literalPrefix("logs-*"));
+        assertEquals("lo", AliasAndDataStreamIndex.literalPrefix("lo?s"));
+        assertEquals("logs", AliasAndDataStreamIndex.literalPrefix("logs"));
+        assertEquals("", AliasAndDataStreamIndex.literalPrefix("*logs"));
+        assertEquals("", AliasAndDataStreamIndex.literalPrefix("/logs.*/"));
+    }
+
+    private static List<String> matching(final AliasAndDataStreamIndex index, final Metadata metadata, final String pattern) {
+        return index.matching(metadata, pattern, WildcardMatcher.from(pattern));
+    }
+
+    private static IndexMetadata index(final String name, final String... aliases) {
+        final IndexMetadata.Builder builder = IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0);
+        for (String alias : aliases) {
+            builder.putAlias(AliasMetadata.builder(alias));
+        }
+        return builder.build();
+    }
+}
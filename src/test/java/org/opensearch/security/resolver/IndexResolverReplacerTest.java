@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.resolver;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.action.OriginalIndices;
+import org.opensearch.action.search.PitService;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.extensions.ExtensionsManager;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.repositories.RepositoriesService;
+import org.opensearch.security.OpenSearchSecurityPlugin;
+import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
+import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.SecuritySnapshot;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.transport.RemoteClusterService;
+import org.opensearch.transport.TransportService;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IndexResolverReplacerTest {
+
+    private final ClusterService clusterService = mock(ClusterService.class);
+    private final RemoteClusterService remoteClusterService = mock(RemoteClusterService.class);
+    private IndexNameExpressionResolver resolver;
+    private IndexResolverReplacer indexResolverReplacer;
+
+    @Before
+    public void setup() {
+        final TransportService transportService = mock(TransportService.class);
+        when(transportService.getRemoteClusterService()).thenReturn(remoteClusterService);
+        // CS-SUPPRESS-SINGLE: RegexpSingleline Extensions manager used for creating a mock
+        new OpenSearchSecurityPlugin.GuiceHolder(
+            mock(RepositoriesService.class),
+            transportService,
+            mock(IndicesService.class),
+            mock(PitService.class),
+            mock(ExtensionsManager.class)
+        );
+        // CS-ENFORCE-SINGLE
+
+        final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        resolver = spy(new IndexNameExpressionResolver(threadContext));
+        indexResolverReplacer = new IndexResolverReplacer(resolver, clusterService, null, threadContext);
+        final DynamicConfigModel dynamicConfigModel = mock(DynamicConfigModel.class);
+        when(dynamicConfigModel.isRespectRequestIndicesEnabled()).thenReturn(true);
+        indexResolverReplacer.onSecuritySnapshotChanged(
+            new SecuritySnapshot(1, new EnumMap<>(CType.class), null, dynamicConfigModel, null, null, 0)
+        );
+        clusterState(1, "logs-1", "logs-2");
+    }
+
+    @Test
+    public void testCacheHit() {
+        assertEquals(Set.of("logs-1", "logs-2"), resolve("logs-*").getAllIndices());
+        assertEquals(Set.of("logs-1", "logs-2"), resolve("logs-*").getAllIndices());
+        verify(resolver, times(1)).resolveDateMathExpression("logs-*");
+
+        // other patterns are not answered from the cache
+        assertEquals(Set.of("logs-1"), resolve("logs-1").getAllIndices());
+        verify(resolver, times(1)).resolveDateMathExpression("logs-1");
+    }
+
+    @Test
+    public void testInvalidatedOnMetadataVersionChange() {
+        assertEquals(Set.of("logs-1", "logs-2"), resolve("logs-*").getAllIndices());
+
+        clusterState(2, "logs-1", "logs-2", "logs-3");
+        assertEquals(Set.of("logs-1", "logs-2", "logs-3"), resolve("logs-*").getAllIndices());
+        assertEquals(Set.of("logs-1", "logs-2", "logs-3"), resolve("logs-*").getAllIndices());
+        verify(resolver, times(2)).resolveDateMathExpression("logs-*");
+    }
+
+    @Test
+    public void testKeyedOnIndicesOptions() {
+        resolve("logs-*");
+        final SearchRequest request = new SearchRequest("logs-*");
+        request.indicesOptions(IndicesOptions.strictExpandOpenAndForbidClosed());
+        assertEquals(Set.of("logs-1", "logs-2"), indexResolverReplacer.resolveRequest(request).getAllIndices());
+        verify(resolver, times(2)).resolveDateMathExpression("logs-*");
+
+        indexResolverReplacer.resolveRequest(request);
+        verify(resolver, times(2)).resolveDateMathExpression("logs-*");
+    }
+
+    @Test
+    public void testKeyedOnRemoteClusterPatterns() {
+        when(remoteClusterService.isCrossClusterSearchEnabled()).thenReturn(true);
+        when(remoteClusterService.groupIndices(any(IndicesOptions.class), any(String[].class), any())).thenAnswer(invocation -> {
+            final IndicesOptions indicesOptions = invocation.getArgument(0);
+            final Map<String, OriginalIndices> grouped = new HashMap<>();
+            for (String index : (String[]) invocation.getArgument(1)) {
+                final int separator = index.indexOf(RemoteClusterService.REMOTE_CLUSTER_INDEX_SEPARATOR);
+                final String cluster = separator < 0 ? RemoteClusterService.LOCAL_CLUSTER_GROUP_KEY : index.substring(0, separator);
+                final String name = separator < 0 ? index : index.substring(separator + 1);
+                grouped.put(cluster, new OriginalIndices(new String[] { name }, indicesOptions));
+            }
+            return grouped;
+        });
+
+        final Resolved first = resolve("logs-1", "remote_a:logs-*");
+        assertEquals(Set.of("logs-1"), first.getAllIndices());
+        assertEquals(Set.of("remote_a:logs-*"), first.getRemoteIndices());
+
+        final Resolved second = resolve("logs-1", "remote_b:logs-*");
+        assertEquals(Set.of("logs-1"), second.getAllIndices());
+        assertEquals(Set.of("remote_b:logs-*"), second.getRemoteIndices());
+
+        resolve("logs-1", "remote_a:logs-*");
+        verify(remoteClusterService, times(2)).groupIndices(any(IndicesOptions.class), any(String[].class), any());
+    }
+
+    @Test
+    public void testDateMathIsNotCached() {
+        final String dateMath = "<logs-{now/d}>";
+        resolve(dateMath);
+        resolve(dateMath);
+        verify(resolver, times(2)).resolveDateMathExpression(dateMath);
+
+        // patterns without date math are still cached
+        resolve("logs-*");
+        resolve("logs-*");
+        verify(resolver, times(1)).resolveDateMathExpression("logs-*");
+        verify(resolver, never()).resolveDateMathExpression("logs-1");
+    }
+
+    private Resolved resolve(final String... patterns) {
+        return indexResolverReplacer.resolveRequest(new SearchRequest(patterns));
+    }
+
+    private void clusterState(final long version, final String... indices) {
+        final Metadata.Builder metadata = Metadata.builder().version(version);
+        for (String index : indices) {
+            metadata.put(
+                IndexMetadata.builder(index)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+                    .build(),
+                false
+            );
+        }
+        when(clusterService.state()).thenReturn(ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build());
+    }
+}
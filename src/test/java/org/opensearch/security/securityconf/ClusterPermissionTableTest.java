@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import org.opensearch.security.support.WildcardMatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClusterPermissionTableTest {
+
+    @Test
+    public void testDecisionsAreRemembered() {
+        final ClusterPermissionTable table = new ClusterPermissionTable();
+        final AtomicInteger matches = new AtomicInteger();
+        final WildcardMatcher clusterPerms = WildcardMatcher.from("cluster:monitor/*");
+        final Predicate<String> matcher = action -> {
+            matches.incrementAndGet();
+            return clusterPerms.test(action);
+        };
+
+        assertTrue(table.implies("cluster:monitor/health", matcher));
+        assertTrue(table.implies("cluster:monitor/health", matcher));
+        assertEquals(1, matches.get());
+
+        assertFalse(table.implies("cluster:admin/settings/update", matcher));
+        assertFalse(table.implies("cluster:admin/settings/update", matcher));
+        assertEquals(2, matches.get());
+    }
+
+    @Test
+    public void testTablesAreIndependent() {
+        final ClusterPermissionTable monitor = new ClusterPermissionTable();
+        final ClusterPermissionTable none = new ClusterPermissionTable();
+
+        assertTrue(monitor.implies("cluster:monitor/state", WildcardMatcher.from("cluster:monitor/*")));
+        assertFalse(none.implies("cluster:monitor/state", WildcardMatcher.NONE));
+        assertTrue(monitor.implies("cluster:monitor/state", WildcardMatcher.NONE));
+    }
+
+    @Test
+    public void testActionIds() {
+        final int id = ClusterPermissionTable.actionId("cluster:monitor/nodes/stats");
+
+        assertEquals(id, ClusterPermissionTable.actionId(new String("cluster:monitor/nodes/stats")));
+        assertTrue(id >= 0 && id < ClusterPermissionTable.MAX_ACTIONS);
+    }
+}
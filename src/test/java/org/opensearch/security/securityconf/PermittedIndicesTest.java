@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
+
+import static org.junit.Assert.assertEquals;
+
+public class PermittedIndicesTest {
+
+    private final Metadata metadata = Metadata.builder()
+        .put(index("logs-1", IndexMetadata.State.OPEN), false)
+        .put(index("logs-2", IndexMetadata.State.OPEN), false)
+        .put(index("logs-old", IndexMetadata.State.CLOSE), false)
+        .put(index("metrics-1", IndexMetadata.State.OPEN), false)
+        .build();
+
+    @Test
+    public void testAllIndicesAreReducedToPermittedOpenIndices() {
+        final PermittedIndices permittedIndices = new PermittedIndices(metadata, Set.of("logs-*", "metrics-1"));
+
+        assertEquals(Set.of("logs-1", "logs-2", "metrics-1"), permittedIndices.reduce(Resolved._LOCAL_ALL));
+        assertEquals(Set.of("logs-1", "logs-2"), new PermittedIndices(metadata, Set.of("logs-*")).reduce(resolved("*")));
+    }
+
+    @Test
+    public void testRequestedIndicesAreReduced() {
+        final PermittedIndices permittedIndices = new PermittedIndices(metadata, Set.of("logs-*"));
+
+        assertEquals(Set.of("logs-1"), permittedIndices.reduce(resolved("logs-1", "metrics-1")));
+        // names which are no open index are matched against the patterns
+        assertEquals(Set.of("logs-old", "logs-new"), permittedIndices.reduce(resolved("logs-old", "logs-new", "other")));
+    }
+
+    @Test
+    public void testNothingPermitted() {
+        final PermittedIndices permittedIndices = new PermittedIndices(metadata, Set.of());
+
+        assertEquals(Set.of(), permittedIndices.reduce(Resolved._LOCAL_ALL));
+        assertEquals(Set.of(), permittedIndices.reduce(resolved("logs-1")));
+    }
+
+    private static Resolved resolved(final String... indices) {
+        return new Resolved(
+            ImmutableSet.of(),
+            ImmutableSet.copyOf(indices),
+            ImmutableSet.copyOf(indices),
+            ImmutableSet.of(),
+            IndicesOptions.lenientExpandOpen()
+        );
+    }
+
+    private static IndexMetadata index(final String name, final IndexMetadata.State state) {
+        return IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .state(state)
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+    }
+}
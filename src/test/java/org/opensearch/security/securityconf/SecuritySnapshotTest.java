@@ -0,0 +1,64 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.securityconf.impl.CType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SecuritySnapshotTest {
+
+    @Test
+    public void testDerivedStateIsBuiltOncePerSnapshot() {
+        final SecuritySnapshot.Key<String> key = new SecuritySnapshot.Key<>("key");
+        final AtomicInteger builds = new AtomicInteger();
+        final SecuritySnapshot first = snapshot(1);
+        final SecuritySnapshot second = snapshot(2);
+
+        assertEquals("1", first.derived(key, snapshot -> builds.incrementAndGet() + ""));
+        assertEquals("1", first.derived(key, snapshot -> builds.incrementAndGet() + ""));
+        assertEquals("2", second.derived(key, snapshot -> builds.incrementAndGet() + ""));
+        assertEquals(2, builds.get());
+
+        // keys are compared by identity
+        assertEquals("3", first.derived(new SecuritySnapshot.Key<>("key"), snapshot -> builds.incrementAndGet() + ""));
+    }
+
+    @Test
+    public void testRequestKeepsCapturedSnapshot() {
+        final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        assertNull(SecuritySnapshot.forRequest(threadContext, null));
+
+        final SecuritySnapshot first = snapshot(1);
+        assertSame(first, SecuritySnapshot.forRequest(threadContext, first));
+        assertSame(first, SecuritySnapshot.forRequest(threadContext, snapshot(2)));
+
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            final SecuritySnapshot second = snapshot(2);
+            assertSame(second, SecuritySnapshot.forRequest(threadContext, second));
+        }
+        assertSame(first, SecuritySnapshot.forRequest(threadContext, null));
+    }
+
+    private static SecuritySnapshot snapshot(final long version) {
+        return new SecuritySnapshot(version, new EnumMap<>(CType.class), null, null, null, null, 0);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf.impl;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.MockedConstruction;
+
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.impl.v7.InternalUserV7;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockConstruction;
+
+public class SecurityDynamicConfigurationTest {
+
+    private static final String INTERNAL_USERS = "{\"_meta\":{\"type\":\"internalusers\",\"config_version\":2},"
+        + "\"user1\":{\"hash\":\"hash1\",\"backend_roles\":[\"role1\"]},"
+        + "\"user2\":{\"hash\":\"hash2\",\"hidden\":true}}";
+
+    @Test
+    public void testClonesDoNotShareModifiedEntries() throws Exception {
+        final SecurityDynamicConfiguration<InternalUserV7> original = internalUsers();
+        final SecurityDynamicConfiguration<InternalUserV7> clone = original.deepClone();
+        assertEquals(2, clone.getCEntries().size());
+        assertEquals(original.getSeqNo(), clone.getSeqNo());
+        assertEquals(CType.INTERNALUSERS, clone.get_meta().getCType());
+
+        clone.getCEntry("user1").setBackend_roles(List.of("role2"));
+        clone.clearHashes();
+        clone.removeHidden();
+        assertEquals(List.of("role1"), original.getCEntry("user1").getBackend_roles());
+        assertEquals("hash1", original.getCEntry("user1").getHash());
+        assertTrue(original.exists("user2"));
+        assertFalse(clone.exists("user2"));
+        assertNull(clone.getCEntry("user1").getHash());
+
+        // modified entries are copied as they are
+        final SecurityDynamicConfiguration<InternalUserV7> cloneOfClone = clone.deepClone();
+        assertEquals(List.of("role2"), cloneOfClone.getCEntry("user1").getBackend_roles());
+        assertNotSame(clone.getCEntry("user1"), cloneOfClone.getCEntry("user1"));
+    }
+
+    @Test
+    public void testSerializedEntries() throws Exception {
+        final SecurityDynamicConfiguration<InternalUserV7> clone = internalUsers().deepClone();
+        clone.removeOthers("user1");
+        final SecurityDynamicConfiguration<?> read = SecurityDynamicConfiguration.fromJson(
+            DefaultObjectMapper.writeValueAsString(clone, false),
+            CType.INTERNALUSERS,
+            2,
+            1,
+            1
+        );
+        assertEquals(1, read.getCEntries().size());
+        assertEquals(List.of("role1"), ((InternalUserV7) read.getCEntry("user1")).getBackend_roles());
+    }
+
+    @Test
+    public void testViewIsReadOnly() throws Exception {
+        final SecurityDynamicConfiguration<InternalUserV7> configuration = internalUsers();
+        assertThrows(UnsupportedOperationException.class, () -> configuration.entriesView().remove("user1"));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            final var iterator = configuration.entriesView().entrySet().iterator();
+            iterator.next();
+            iterator.remove();
+        });
+    }
+
+    @Test
+    public void testChangesThroughViewAreCloned() throws Exception {
+        final SecurityDynamicConfiguration<InternalUserV7> configuration = internalUsers();
+        final SecurityDynamicConfiguration<InternalUserV7> untouched = configuration.deepClone();
+
+        configuration.entriesView().get("user1").setBackend_roles(List.of("role2"));
+        assertEquals(List.of("role2"), configuration.deepClone().getCEntry("user1").getBackend_roles());
+        assertEquals(List.of("role1"), untouched.getCEntry("user1").getBackend_roles());
+    }
+
+    @Test
+    public void testEntriesAreBoundOnce() throws Exception {
+        try (MockedConstruction<InternalUserV7> bound = mockConstruction(InternalUserV7.class)) {
+            // like a configuration handed out by the loader, cached and cloned for the configuration models
+            final SecurityDynamicConfiguration<InternalUserV7> cached = internalUsers().deepClone();
+            final SecurityDynamicConfiguration<InternalUserV7> models = cached.deepClone();
+            assertNotNull(models.entriesView().get("user1"));
+            assertNotNull(models.entriesView().get("user2"));
+            assertEquals(2, bound.constructed().size());
+
+            // entries which were passed on are bound again only for further clones
+            assertNotNull(cached.deepClone().getCEntry("user1"));
+            assertEquals(3, bound.constructed().size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SecurityDynamicConfiguration<InternalUserV7> internalUsers() throws Exception {
+        return (SecurityDynamicConfiguration<InternalUserV7>) SecurityDynamicConfiguration.fromJson(
+            INTERNAL_USERS,
+            CType.INTERNALUSERS,
+            2,
+            1,
+            1
+        );
+    }
+}
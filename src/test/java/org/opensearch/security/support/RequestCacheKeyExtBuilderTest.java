@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.search.SearchExtBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestCacheKeyExtBuilderTest {
+
+    private final ClusterService clusterService = clusterService(Version.CURRENT);
+
+    private static ClusterService clusterService(final Version minNodeVersion) {
+        final ClusterService clusterService = mock(ClusterService.class, RETURNS_DEEP_STUBS);
+        when(clusterService.state().nodes().getMinNodeVersion()).thenReturn(minNodeVersion);
+        return clusterService;
+    }
+
+    @Test
+    public void testAddToMergesComponents() {
+        final SearchRequest request = new SearchRequest().source(new SearchSourceBuilder().size(0));
+
+        Assert.assertTrue(RequestCacheKeyExtBuilder.addTo(clusterService, request, "system_indices:restricted"));
+        Assert.assertTrue(RequestCacheKeyExtBuilder.addTo(clusterService, request, "dls:abc"));
+
+        final List<SearchExtBuilder> ext = request.source().ext();
+        Assert.assertEquals(1, ext.size());
+        Assert.assertEquals(
+            Set.of("dls:abc", "system_indices:restricted"),
+            ((RequestCacheKeyExtBuilder) ext.get(0)).getComponents()
+        );
+    }
+
+    @Test
+    public void testAddToDoesNotChangeTheGivenSource() {
+        final SearchSourceBuilder source = new SearchSourceBuilder().size(0);
+        final SearchRequest request = new SearchRequest().source(source);
+
+        Assert.assertTrue(RequestCacheKeyExtBuilder.addTo(clusterService, request, "dls:abc"));
+        Assert.assertTrue(source.ext().isEmpty());
+        Assert.assertEquals(1, request.source().ext().size());
+    }
+
+    @Test
+    public void testNotAddedForOlderNodesOrRemoteClusters() {
+        final SearchRequest request = new SearchRequest("index").source(new SearchSourceBuilder().size(0));
+        Assert.assertFalse(RequestCacheKeyExtBuilder.addTo(clusterService(Version.V_2_11_0), request, "dls:abc"));
+        Assert.assertTrue(request.source().ext().isEmpty());
+
+        final SearchRequest remoteRequest = new SearchRequest("index", "remote:index").source(new SearchSourceBuilder().size(0));
+        Assert.assertFalse(RequestCacheKeyExtBuilder.addTo(clusterService, remoteRequest, "dls:abc"));
+        Assert.assertTrue(remoteRequest.source().ext().isEmpty());
+    }
+
+    @Test
+    public void testAddToWithoutSource() {
+        Assert.assertFalse(RequestCacheKeyExtBuilder.addTo(clusterService, new SearchRequest(), "dls:abc"));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final SearchRequest request = new SearchRequest().source(new SearchSourceBuilder());
+        RequestCacheKeyExtBuilder.addTo(clusterService, request, "fls:abc");
+        final RequestCacheKeyExtBuilder ext = (RequestCacheKeyExtBuilder) request.source().ext().get(0);
+
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            ext.writeTo(out);
+            Assert.assertEquals(ext, new RequestCacheKeyExtBuilder(out.bytes().streamInput()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RestrictionDigestsTest {
+
+    @Test
+    public void testDigestIsStable() {
+        final Map<String, Set<String>> first = new LinkedHashMap<>();
+        first.put("index_a", new LinkedHashSet<>(List.of("q1", "q2")));
+        first.put("index_b", new LinkedHashSet<>(List.of("q3")));
+
+        final Map<String, Set<String>> second = new LinkedHashMap<>();
+        second.put("index_b", new LinkedHashSet<>(List.of("q3")));
+        second.put("index_a", new LinkedHashSet<>(List.of("q2", "q1")));
+
+        Assert.assertEquals(RestrictionDigests.digest(first), RestrictionDigests.digest(second));
+        Assert.assertNotEquals(RestrictionDigests.digest(first), RestrictionDigests.digest(Map.of("index_a", Set.of("q1"))));
+    }
+
+    @Test
+    public void testDigestOfValues() {
+        Assert.assertEquals(RestrictionDigests.digest(List.of("a", "b")), RestrictionDigests.digest(Set.of("b", "a")));
+        Assert.assertNotEquals(RestrictionDigests.digest(List.of("a", "b")), RestrictionDigests.digest(List.of("ab")));
+    }
+}